@@ -1,9 +1,12 @@
 package com.schoolmanagement;
 
+import com.schoolmanagement.config.SchoolRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(SchoolRuntimeHints.class)
 public class SchoolManagementApplication {
     public static void main(String[] args) {
         SpringApplication.run(SchoolManagementApplication.class, args);
@@ -2,15 +2,22 @@ package com.schoolmanagement.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "teachers")
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teachers")
+@Table(name = "teachers", indexes = @Index(name = "idx_teachers_last_name_id", columnList = "last_name, id"))
 public class Teacher {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teacher_seq")
+    @SequenceGenerator(name = "teacher_seq", sequenceName = "teachers_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Teacher ID is required")
@@ -43,6 +50,7 @@ public class Teacher {
     private LocalDate dateOfBirth;
     
     @NotBlank(message = "Address is required")
+    @Basic(fetch = FetchType.LAZY)
     @Column(length = 500)
     private String address;
     
@@ -84,6 +92,7 @@ public class Teacher {
     @Column(name = "emergency_contact_phone")
     private String emergencyContactPhone;
     
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "profile_image_url")
     private String profileImageUrl;
     
@@ -94,9 +103,11 @@ public class Teacher {
     private LocalDateTime updatedAt;
     
     @OneToMany(mappedBy = "teacher", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "school-classes")
     private List<SchoolClass> classes;
     
     @OneToMany(mappedBy = "teacher", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teacher-subjects")
     private List<TeacherSubject> teacherSubjects;
     
     public enum TeacherStatus {
@@ -0,0 +1,85 @@
+package com.schoolmanagement.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * A graduated, transferred or expelled student moved out of the live tables. The student
+ * row and its grades, attendances and released enrollments are kept as one GZIP-compressed
+ * JSON document; rows are written once and never updated.
+ */
+@Entity
+@Immutable
+@Table(name = "archived_students",
+       indexes = @Index(name = "idx_archived_students_archived_at", columnList = "archived_at"))
+public class ArchivedStudent {
+    @Id
+    private Long id;
+    
+    @Column(name = "student_code", unique = true)
+    private String studentCode;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Student.StudentStatus status;
+    
+    @Column(name = "first_name")
+    private String firstName;
+    
+    @Column(name = "last_name")
+    private String lastName;
+    
+    @Column(name = "grade_count", nullable = false)
+    private int gradeCount;
+    
+    @Column(name = "attendance_count", nullable = false)
+    private int attendanceCount;
+    
+    @Column(name = "raw_bytes", nullable = false)
+    private int rawBytes;
+    
+    @Column(name = "compressed_bytes", nullable = false)
+    private int compressedBytes;
+    
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(nullable = false)
+    private byte[] payload;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+    
+    protected ArchivedStudent() {}
+    
+    public ArchivedStudent(Long id, String studentCode, Student.StudentStatus status, String firstName, String lastName,
+                           int gradeCount, int attendanceCount, int rawBytes, byte[] payload) {
+        this.id = id;
+        this.studentCode = studentCode;
+        this.status = status;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.gradeCount = gradeCount;
+        this.attendanceCount = attendanceCount;
+        this.rawBytes = rawBytes;
+        this.compressedBytes = payload.length;
+        this.payload = payload;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        archivedAt = LocalDateTime.now();
+    }
+    
+    public Long getId() { return id; }
+    public String getStudentCode() { return studentCode; }
+    public Student.StudentStatus getStatus() { return status; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public int getGradeCount() { return gradeCount; }
+    public int getAttendanceCount() { return attendanceCount; }
+    public int getRawBytes() { return rawBytes; }
+    public int getCompressedBytes() { return compressedBytes; }
+    public byte[] getPayload() { return payload; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+}
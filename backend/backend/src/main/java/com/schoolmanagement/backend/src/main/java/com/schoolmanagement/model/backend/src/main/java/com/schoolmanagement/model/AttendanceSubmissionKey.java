@@ -0,0 +1,50 @@
+package com.schoolmanagement.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency key of an applied attendance submission, written in the same transaction
+ * as the submission's attendance rows.
+ */
+@Entity
+@Table(name = "attendance_submission_keys",
+       indexes = @Index(name = "idx_attendance_submission_keys_applied", columnList = "applied_at"))
+public class AttendanceSubmissionKey {
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+    
+    @Column(name = "class_id")
+    private Long classId;
+    
+    @Column(name = "attendance_date", nullable = false)
+    private LocalDate attendanceDate;
+    
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+    
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+    
+    public AttendanceSubmissionKey() {}
+    
+    public AttendanceSubmissionKey(String idempotencyKey, Long classId, LocalDate attendanceDate, LocalDateTime receivedAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.classId = classId;
+        this.attendanceDate = attendanceDate;
+        this.receivedAt = receivedAt;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        appliedAt = LocalDateTime.now();
+    }
+    
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public Long getClassId() { return classId; }
+    public LocalDate getAttendanceDate() { return attendanceDate; }
+    public LocalDateTime getReceivedAt() { return receivedAt; }
+    public LocalDateTime getAppliedAt() { return appliedAt; }
+}
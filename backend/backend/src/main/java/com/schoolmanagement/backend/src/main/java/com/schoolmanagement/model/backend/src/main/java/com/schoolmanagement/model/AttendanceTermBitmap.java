@@ -0,0 +1,93 @@
+package com.schoolmanagement.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Compact attendance for one student over one term: one bitset per status,
+ * bit n = n-th day after the term start. Derived from the attendances table.
+ */
+@Entity
+@Table(name = "attendance_bitmaps",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "term_start"}),
+       indexes = @Index(name = "idx_attendance_bitmaps_class", columnList = "class_id"))
+public class AttendanceTermBitmap {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attendance_bitmap_seq")
+    @SequenceGenerator(name = "attendance_bitmap_seq", sequenceName = "attendance_bitmaps_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+    
+    @Column(name = "class_id")
+    private Long classId;
+    
+    @Column(name = "term_start", nullable = false)
+    private LocalDate termStart;
+    
+    @Column(name = "present_bits", length = 64)
+    private byte[] presentBits;
+    
+    @Column(name = "absent_bits", length = 64)
+    private byte[] absentBits;
+    
+    @Column(name = "late_bits", length = 64)
+    private byte[] lateBits;
+    
+    @Column(name = "excused_bits", length = 64)
+    private byte[] excusedBits;
+    
+    @Version
+    private Long version;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    // Constructors
+    public AttendanceTermBitmap() {}
+    
+    public AttendanceTermBitmap(Long studentId, Long classId, LocalDate termStart) {
+        this.studentId = studentId;
+        this.classId = classId;
+        this.termStart = termStart;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+    
+    public Long getClassId() { return classId; }
+    public void setClassId(Long classId) { this.classId = classId; }
+    
+    public LocalDate getTermStart() { return termStart; }
+    public void setTermStart(LocalDate termStart) { this.termStart = termStart; }
+    
+    public byte[] getPresentBits() { return presentBits; }
+    public void setPresentBits(byte[] presentBits) { this.presentBits = presentBits; }
+    
+    public byte[] getAbsentBits() { return absentBits; }
+    public void setAbsentBits(byte[] absentBits) { this.absentBits = absentBits; }
+    
+    public byte[] getLateBits() { return lateBits; }
+    public void setLateBits(byte[] lateBits) { this.lateBits = lateBits; }
+    
+    public byte[] getExcusedBits() { return excusedBits; }
+    public void setExcusedBits(byte[] excusedBits) { this.excusedBits = excusedBits; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,40 @@
+package com.schoolmanagement.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A downstream system's acknowledged position in the change feed.
+ */
+@Entity
+@Table(name = "change_feed_consumers")
+public class ChangeFeedConsumer {
+    @Id
+    @Column(length = 100)
+    private String name;
+    
+    @Column(name = "acked_event_id", nullable = false)
+    private long ackedEventId;
+    
+    @Column(name = "acked_at")
+    private LocalDateTime ackedAt;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    public ChangeFeedConsumer() {}
+    
+    public ChangeFeedConsumer(String name) {
+        this.name = name;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    public String getName() { return name; }
+    public long getAckedEventId() { return ackedEventId; }
+    public LocalDateTime getAckedAt() { return ackedAt; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
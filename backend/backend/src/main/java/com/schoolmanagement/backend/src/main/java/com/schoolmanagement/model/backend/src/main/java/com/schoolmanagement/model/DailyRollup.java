@@ -0,0 +1,56 @@
+package com.schoolmanagement.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Net change of one dashboard metric for one scope (the school, a class or a department)
+ * on one day. Rows are appended by each committing transaction and merged per
+ * (scope, metric, day) in the background, so a metric's value is the sum of its rows.
+ */
+@Entity
+@Table(name = "daily_rollups",
+       indexes = @Index(name = "idx_daily_rollups_date", columnList = "rollup_date"))
+public class DailyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_rollup_seq")
+    @SequenceGenerator(name = "daily_rollup_seq", sequenceName = "daily_rollups_seq", allocationSize = 50)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 12)
+    private Dimension dimension;
+    
+    @Column(name = "dimension_key", nullable = false)
+    private String dimensionKey;
+    
+    @Column(nullable = false, length = 60)
+    private String metric;
+    
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate day;
+    
+    @Column(nullable = false)
+    private double amount;
+    
+    public enum Dimension {
+        SCHOOL, CLASS, DEPARTMENT
+    }
+    
+    public DailyRollup() {}
+    
+    public DailyRollup(Dimension dimension, String dimensionKey, String metric, LocalDate day, double amount) {
+        this.dimension = dimension;
+        this.dimensionKey = dimensionKey;
+        this.metric = metric;
+        this.day = day;
+        this.amount = amount;
+    }
+    
+    public Long getId() { return id; }
+    public Dimension getDimension() { return dimension; }
+    public String getDimensionKey() { return dimensionKey; }
+    public String getMetric() { return metric; }
+    public LocalDate getDay() { return day; }
+    public double getAmount() { return amount; }
+}
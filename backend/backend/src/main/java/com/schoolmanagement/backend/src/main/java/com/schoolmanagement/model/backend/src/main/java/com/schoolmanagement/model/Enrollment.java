@@ -0,0 +1,85 @@
+package com.schoolmanagement.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A student's claim on an EnrollmentSlot: a timed reservation, a confirmed seat, a
+ * waitlist entry (ordered by id) or a released claim.
+ */
+@Entity
+@Table(name = "enrollments",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"slot_id", "student_id"}),
+       indexes = {
+           @Index(name = "idx_enrollments_slot_status", columnList = "slot_id, status, id"),
+           @Index(name = "idx_enrollments_status_expires", columnList = "status, expires_at")
+       })
+public class Enrollment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollment_seq")
+    @SequenceGenerator(name = "enrollment_seq", sequenceName = "enrollments_seq", allocationSize = 50)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "slot_id", nullable = false)
+    private EnrollmentSlot slot;
+    
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EnrollmentStatus status;
+    
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+    
+    @Version
+    private Long version;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public enum EnrollmentStatus {
+        RESERVED, CONFIRMED, WAITLISTED, RELEASED
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    public boolean holdsSeat() {
+        return status == EnrollmentStatus.RESERVED || status == EnrollmentStatus.CONFIRMED;
+    }
+    
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public EnrollmentSlot getSlot() { return slot; }
+    public void setSlot(EnrollmentSlot slot) { this.slot = slot; }
+    
+    public Student getStudent() { return student; }
+    public void setStudent(Student student) { this.student = student; }
+    
+    public EnrollmentStatus getStatus() { return status; }
+    public void setStatus(EnrollmentStatus status) { this.status = status; }
+    
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+    
+    public Long getVersion() { return version; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,72 @@
+package com.schoolmanagement.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Seats offered for a subject, optionally within one school class. Seat admission runs
+ * on in-memory counters; this row holds capacity and the confirmed-seat total, both
+ * guarded by optimistic versioning.
+ */
+@Entity
+@Table(name = "enrollment_slots",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"class_id", "subject_id"}))
+public class EnrollmentSlot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollment_slot_seq")
+    @SequenceGenerator(name = "enrollment_slot_seq", sequenceName = "enrollment_slots_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "class_id")
+    private Long classId;
+    
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "subject_id", nullable = false)
+    private Subject subject;
+    
+    @Column(nullable = false)
+    private int capacity;
+    
+    @Column(name = "confirmed_seats", nullable = false)
+    private int confirmedSeats;
+    
+    @Version
+    private Long version;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getClassId() { return classId; }
+    public void setClassId(Long classId) { this.classId = classId; }
+    
+    public Subject getSubject() { return subject; }
+    public void setSubject(Subject subject) { this.subject = subject; }
+    
+    public int getCapacity() { return capacity; }
+    public void setCapacity(int capacity) { this.capacity = capacity; }
+    
+    public int getConfirmedSeats() { return confirmedSeats; }
+    public void setConfirmedSeats(int confirmedSeats) { this.confirmedSeats = confirmedSeats; }
+    
+    public Long getVersion() { return version; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
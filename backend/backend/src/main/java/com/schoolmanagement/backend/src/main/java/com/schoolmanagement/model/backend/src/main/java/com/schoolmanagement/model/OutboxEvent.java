@@ -0,0 +1,66 @@
+package com.schoolmanagement.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One committed insert, update or delete of a Student, Teacher, Subject or SchoolClass,
+ * written in the same transaction as the change itself. Ids increase in commit-visible
+ * order and serve as the change feed's cursor.
+ */
+@Entity
+@Table(name = "outbox_events",
+       indexes = @Index(name = "idx_outbox_events_created", columnList = "created_at"))
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "entity_type", nullable = false, length = 50)
+    private String entityType;
+    
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ChangeOperation operation;
+    
+    @Column(name = "changed_properties", length = 1000)
+    private String changedProperties;
+    
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    public enum ChangeOperation {
+        INSERT, UPDATE, DELETE
+    }
+    
+    public OutboxEvent() {}
+    
+    public OutboxEvent(String entityType, Long entityId, ChangeOperation operation, String changedProperties, String payload) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.operation = operation;
+        this.changedProperties = changedProperties;
+        this.payload = payload;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    public Long getId() { return id; }
+    public String getEntityType() { return entityType; }
+    public Long getEntityId() { return entityId; }
+    public ChangeOperation getOperation() { return operation; }
+    public String getChangedProperties() { return changedProperties; }
+    public String getPayload() { return payload; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,23 @@
+package com.schoolmanagement.model;
+
+import jakarta.persistence.*;
+
+/**
+ * A single row the primary rewrites every few hundred milliseconds. Reading it back from
+ * a replica tells how far that replica's replay has got, without any vendor-specific
+ * replication view.
+ */
+@Entity
+@Table(name = "replication_heartbeat")
+public class ReplicationHeartbeat {
+    @Id
+    private Integer id;
+    
+    @Column(name = "beat_millis", nullable = false)
+    private long beatMillis;
+    
+    public ReplicationHeartbeat() {}
+    
+    public Integer getId() { return id; }
+    public long getBeatMillis() { return beatMillis; }
+}
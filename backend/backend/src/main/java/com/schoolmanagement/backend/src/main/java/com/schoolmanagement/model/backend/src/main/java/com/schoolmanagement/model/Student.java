@@ -2,15 +2,25 @@ package com.schoolmanagement.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "students")
+@DynamicUpdate
+@Table(name = "students", indexes = {
+    @Index(name = "idx_students_last_name_id", columnList = "last_name, id"),
+    @Index(name = "idx_students_class_id", columnList = "class_id"),
+    @Index(name = "idx_students_status_updated", columnList = "status, updated_at")
+})
+@NamedEntityGraph(name = "Student.classAndTeacher",
+    attributeNodes = @NamedAttributeNode(value = "schoolClass", subgraph = "schoolClass.teacher"),
+    subgraphs = @NamedSubgraph(name = "schoolClass.teacher", attributeNodes = @NamedAttributeNode("teacher")))
 public class Student {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_seq")
+    @SequenceGenerator(name = "student_seq", sequenceName = "students_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Student ID is required")
@@ -33,6 +43,7 @@ public class Student {
     private LocalDate dateOfBirth;
     
     @NotBlank(message = "Address is required")
+    @Basic(fetch = FetchType.LAZY)
     @Column(length = 500)
     private String address;
     
@@ -55,6 +66,7 @@ public class Student {
     @Column(name = "blood_group")
     private String bloodGroup;
     
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "medical_conditions")
     private String medicalConditions;
     
@@ -77,6 +89,7 @@ public class Student {
     @Column(name = "emergency_contact_phone")
     private String emergencyContactPhone;
     
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "profile_image_url")
     private String profileImageUrl;
     
@@ -0,0 +1,52 @@
+package com.schoolmanagement.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Directed edge "subject requires prerequisite", normalised from Subject.prerequisites.
+ */
+@Entity
+@Table(name = "subject_prerequisites",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"subject_id", "prerequisite_id"}),
+       indexes = @Index(name = "idx_subject_prerequisites_prerequisite", columnList = "prerequisite_id"))
+public class SubjectPrerequisite {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "subject_prerequisite_seq")
+    @SequenceGenerator(name = "subject_prerequisite_seq", sequenceName = "subject_prerequisites_seq", allocationSize = 50)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "subject_id", nullable = false)
+    private Subject subject;
+    
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "prerequisite_id", nullable = false)
+    private Subject prerequisite;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    public SubjectPrerequisite() {}
+    
+    public SubjectPrerequisite(Subject subject, Subject prerequisite) {
+        this.subject = subject;
+        this.prerequisite = prerequisite;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Subject getSubject() { return subject; }
+    public void setSubject(Subject subject) { this.subject = subject; }
+    
+    public Subject getPrerequisite() { return prerequisite; }
+    public void setPrerequisite(Subject prerequisite) { this.prerequisite = prerequisite; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
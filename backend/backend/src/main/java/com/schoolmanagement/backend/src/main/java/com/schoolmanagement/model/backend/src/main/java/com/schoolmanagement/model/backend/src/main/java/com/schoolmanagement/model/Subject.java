@@ -2,10 +2,14 @@ package com.schoolmanagement.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "subjects")
 @Table(name = "subjects")
 public class Subject {
     @Id
@@ -22,6 +26,7 @@ public class Subject {
     @Column(name = "subject_name")
     private String subjectName;
     
+    @Basic(fetch = FetchType.LAZY)
     @Column(length = 1000)
     private String description;
     
@@ -50,6 +55,7 @@ public class Subject {
     private LocalDateTime updatedAt;
     
     @OneToMany(mappedBy = "subject", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teacher-subjects")
     private List<TeacherSubject> teacherSubjects;
     
     @OneToMany(mappedBy = "subject", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -0,0 +1,31 @@
+package com.schoolmanagement.config;
+
+import com.schoolmanagement.service.tenant.TenantContext;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+
+/**
+ * Access to Hibernate's event listener registry for components that react to
+ * entity changes without the entity classes having to know about them.
+ */
+public final class HibernateEvents {
+    
+    private HibernateEvents() {}
+    
+    public static EventListenerRegistry registry(EntityManagerFactory entityManagerFactory) {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+    }
+    
+    /**
+     * The tenant whose schema a change was made in, so views fed by post-commit events
+     * apply it to that tenant's state only.
+     */
+    public static String tenantOf(SharedSessionContractImplementor session) {
+        Object tenant = session.getTenantIdentifier();
+        return tenant == null ? TenantContext.DEFAULT_TENANT : tenant.toString();
+    }
+}
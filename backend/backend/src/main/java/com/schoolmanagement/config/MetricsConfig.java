@@ -0,0 +1,53 @@
+package com.schoolmanagement.config;
+
+import com.schoolmanagement.service.metrics.RequestMetricsFilter;
+import com.schoolmanagement.service.metrics.SqlCaptureInspector;
+import com.schoolmanagement.service.metrics.TimedValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.validation.Validator;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+    private final ObjectProvider<jakarta.validation.Validator> beanValidator;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    
+    public MetricsConfig(ObjectProvider<jakarta.validation.Validator> beanValidator,
+                         ObjectProvider<MeterRegistry> meterRegistry) {
+        this.beanValidator = beanValidator;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer sqlCaptureCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlCaptureInspector());
+    }
+    
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(
+            MeterRegistry registry,
+            @Value("${school.metrics.slow-request-ms:500}") long slowRequestMillis,
+            @Value("${school.metrics.max-captured-statements:200}") int maxCapturedStatements,
+            @Value("${school.metrics.n-plus-one-threshold:10}") int nPlusOneThreshold) {
+        FilterRegistrationBean<RequestMetricsFilter> registration = new FilterRegistrationBean<>(
+                new RequestMetricsFilter(registry, slowRequestMillis, maxCapturedStatements, nPlusOneThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+    
+    /**
+     * Times @Valid validation of MVC arguments.
+     */
+    @Override
+    public Validator getValidator() {
+        return new TimedValidator(beanValidator.getObject(), meterRegistry.getObject());
+    }
+}
@@ -0,0 +1,127 @@
+package com.schoolmanagement.config;
+
+import com.schoolmanagement.service.routing.ReadWriteRoutingDataSource;
+import com.schoolmanagement.service.routing.ReadYourWritesFilter;
+import com.schoolmanagement.service.routing.ReplicaLagMonitor;
+import com.schoolmanagement.service.routing.RoutingJpaTransactionManager;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+/**
+ * Read/write routing (school.datasource.routing.enabled=true): read-only transactions run
+ * on a replica and everything else on the primary from spring.datasource.*, with
+ * read-your-writes and a lag cut-off (see ReadWriteRoutingDataSource). Every target has
+ * its own Hikari pool, named after it in the hikaricp.* meters. In virtual-thread mode
+ * each pool is gated separately instead of the routing data source as a whole. Tenancy
+ * composes unchanged: TenantConnectionProvider draws from the routed data source and
+ * switches schema on whichever target was chosen.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfig {
+    
+    @Bean
+    @ConditionalOnProperty(name = "school.datasource.routing.enabled", havingValue = "true")
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                 ReplicaRoutingProperties properties,
+                                                                 Environment environment, MeterRegistry meterRegistry) {
+        List<AutoCloseable> pools = new ArrayList<>();
+        DataSource built = dataSourceProperties.initializeDataSourceBuilder().build();
+        if (!(built instanceof HikariDataSource primary)) {
+            throw new IllegalStateException("Read/write routing needs Hikari pools, not " + built.getClass().getName());
+        }
+        configure(primary, ReadWriteRoutingDataSource.PRIMARY, environment, meterRegistry);
+        pools.add(primary);
+        
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (ReplicaRoutingProperties.Replica replica : properties.getReplicas()) {
+            String name = replica.getName() != null ? replica.getName() : "replica-" + (replicas.size() + 1);
+            HikariDataSource pool = DataSourceBuilder.create().type(HikariDataSource.class).url(replica.getUrl()).build();
+            configure(pool, name, environment, meterRegistry);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.determineUsername());
+            pool.setPassword(replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword());
+            if (replica.getMaximumPoolSize() > 0) {
+                pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            }
+            pool.setReadOnly(true);
+            pools.add(pool);
+            replicas.put(name, gate(pool, environment));
+        }
+        return new ReadWriteRoutingDataSource(gate(primary, environment), replicas, properties.getMaxLagMs(), pools,
+                meterRegistry);
+    }
+    
+    /**
+     * The data source JPA and everything else use; defers picking a target until a
+     * statement actually runs.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "school.datasource.routing.enabled", havingValue = "true")
+    public DataSource dataSource(ReadWriteRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "school.datasource.routing.enabled", havingValue = "true")
+    public JpaTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new RoutingJpaTransactionManager();
+        customizers.ifAvailable(c -> c.customize(transactionManager));
+        return transactionManager;
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "school.datasource.routing.enabled", havingValue = "true")
+    public ReplicaLagMonitor replicaLagMonitor(ReadWriteRoutingDataSource routing) {
+        return new ReplicaLagMonitor(routing);
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "school.datasource.routing.enabled", havingValue = "true")
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaRoutingProperties properties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(properties.getStickyCookie(), properties.getStickyMs()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 6);
+        return registration;
+    }
+    
+    private static void configure(HikariDataSource pool, String name, Environment environment, MeterRegistry meterRegistry) {
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+    }
+    
+    private static DataSource gate(HikariDataSource pool, Environment environment) {
+        if (!environment.getProperty("school.virtual-threads.enabled", Boolean.class, false)) {
+            return pool;
+        }
+        int permits = ReadWriteRoutingDataSource.PRIMARY.equals(pool.getPoolName())
+                ? environment.getProperty("school.virtual-threads.jdbc-permits", Integer.class, pool.getMaximumPoolSize())
+                : pool.getMaximumPoolSize();
+        long timeoutMillis = environment.getProperty("school.virtual-threads.jdbc-permit-timeout-ms", Long.class, 30_000L);
+        return new GatedDataSource(pool, permits, timeoutMillis);
+    }
+}
@@ -0,0 +1,63 @@
+package com.schoolmanagement.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Read replicas for read/write routing, e.g.
+ * school.datasource.routing.replicas[0].name=replica-1
+ * school.datasource.routing.replicas[0].url=jdbc:postgresql://replica-1:5432/school
+ * Replica pools take spring.datasource.hikari.* like the primary; username and password
+ * default to the primary's.
+ */
+@ConfigurationProperties(prefix = "school.datasource.routing")
+public class ReplicaRoutingProperties {
+    private boolean enabled;
+    private List<Replica> replicas = new ArrayList<>();
+    private long maxLagMs = 5_000;
+    private long heartbeatMs = 500;
+    private String stickyCookie = "school-last-write";
+    private long stickyMs = 30_000;
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public List<Replica> getReplicas() { return replicas; }
+    public void setReplicas(List<Replica> replicas) { this.replicas = replicas; }
+    
+    public long getMaxLagMs() { return maxLagMs; }
+    public void setMaxLagMs(long maxLagMs) { this.maxLagMs = maxLagMs; }
+    
+    public long getHeartbeatMs() { return heartbeatMs; }
+    public void setHeartbeatMs(long heartbeatMs) { this.heartbeatMs = heartbeatMs; }
+    
+    public String getStickyCookie() { return stickyCookie; }
+    public void setStickyCookie(String stickyCookie) { this.stickyCookie = stickyCookie; }
+    
+    public long getStickyMs() { return stickyMs; }
+    public void setStickyMs(long stickyMs) { this.stickyMs = stickyMs; }
+    
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize;
+        
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+        
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+        
+        public int getMaximumPoolSize() { return maximumPoolSize; }
+        public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+    }
+}
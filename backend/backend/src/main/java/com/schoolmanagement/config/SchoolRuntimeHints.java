@@ -0,0 +1,28 @@
+package com.schoolmanagement.config;
+
+import com.schoolmanagement.dto.AttendanceSubmission;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Reflection and resource hints for a native image: types serialized by Jackson outside
+ * of controller signatures, classes Hibernate loads by name from configuration, and the
+ * Caffeine JCache region file.
+ */
+public class SchoolRuntimeHints implements RuntimeHintsRegistrar {
+    
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        MemberCategory[] bean = {MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS,
+                MemberCategory.DECLARED_FIELDS};
+        hints.reflection()
+                .registerType(TypeReference.of(
+                        "com.schoolmanagement.service.attendance.AttendanceIngestService$LogRecord"), bean)
+                .registerType(AttendanceSubmission.Mark.class, bean)
+                .registerType(TypeReference.of("com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources().registerPattern("application.conf");
+    }
+}
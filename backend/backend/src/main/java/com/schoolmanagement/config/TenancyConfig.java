@@ -0,0 +1,91 @@
+package com.schoolmanagement.config;
+
+import com.schoolmanagement.service.tenant.TenantConnectionProvider;
+import com.schoolmanagement.service.tenant.TenantContext;
+import com.schoolmanagement.service.tenant.TenantFilter;
+import com.schoolmanagement.service.tenant.TenantIdentifierResolver;
+import com.schoolmanagement.service.tenant.TenantSchemaProvisioner;
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+
+/**
+ * Schema-per-school multi-tenancy (school.tenancy.enabled=true): tenant schemas are
+ * created or updated from the entity mappings at startup (unless provision-schemas is
+ * off), Hibernate routes every session to the schema of the school in the request's
+ * tenant header, connections come
+ * from the shared pool with a per-school concurrency cap, and http.server.requests is
+ * tagged by tenant so throughput and latency can be compared between schools.
+ */
+@Configuration
+@EnableConfigurationProperties(TenancyProperties.class)
+public class TenancyConfig {
+    
+    @Bean
+    @ConditionalOnProperty(name = "school.tenancy.enabled", havingValue = "true")
+    public TenantConnectionProvider tenantConnectionProvider(DataSource dataSource, TenancyProperties properties,
+                                                             MeterRegistry meterRegistry,
+                                                             PersistenceManagedTypes managedTypes,
+                                                             JpaProperties jpaProperties,
+                                                             HibernateProperties hibernateProperties) throws SQLException {
+        if (properties.isProvisionSchemas()) {
+            new TenantSchemaProvisioner(dataSource,
+                    hibernateProperties.determineHibernateProperties(jpaProperties.getProperties(), new HibernateSettings()),
+                    managedTypes.getManagedClassNames()).provision(properties.getSchemas());
+        }
+        TenantConnectionProvider provider = new TenantConnectionProvider(dataSource, properties.getSchemas(),
+                properties.getMaxConnectionsPerTenant(), properties.getConnectionWaitMs(), meterRegistry);
+        provider.verifySchemas();
+        return provider;
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "school.tenancy.enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer tenancyCustomizer(TenantConnectionProvider connectionProvider) {
+        return properties -> {
+            properties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER, connectionProvider);
+            properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new TenantIdentifierResolver());
+        };
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "school.tenancy.enabled", havingValue = "true")
+    public FilterRegistrationBean<TenantFilter> tenantFilter(TenancyProperties properties,
+                                                             TenantConnectionProvider connectionProvider) {
+        FilterRegistrationBean<TenantFilter> registration = new FilterRegistrationBean<>(new TenantFilter(
+                properties.getHeader(), connectionProvider::isKnown));
+        // ahead of RequestMetricsFilter so its meters carry the tenant
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "school.tenancy.enabled", havingValue = "true")
+    public ServerRequestObservationConvention tenantRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                Object tenant = context.getCarrier().getAttribute(TenantFilter.TENANT_ATTRIBUTE);
+                return super.getLowCardinalityKeyValues(context)
+                        .and(KeyValue.of("tenant", tenant != null ? tenant.toString() : TenantContext.DEFAULT_TENANT));
+            }
+        };
+    }
+}
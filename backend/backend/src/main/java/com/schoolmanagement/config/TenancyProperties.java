@@ -0,0 +1,55 @@
+package com.schoolmanagement.config;
+
+import com.schoolmanagement.service.tenant.TenantContext;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Schema-per-school tenancy, e.g.
+ * school.tenancy.schemas.north-high=NORTH_HIGH
+ * The "default" tenant always maps to the connection's own schema. Tenant schemas are
+ * created and updated from the entity mappings at startup unless provision-schemas is
+ * false (for deployments that migrate them separately).
+ */
+@ConfigurationProperties(prefix = "school.tenancy")
+public class TenancyProperties {
+    private boolean enabled;
+    private String header = "X-School-Id";
+    private Map<String, String> schemas = new LinkedHashMap<>();
+    private int maxConnectionsPerTenant;
+    private long connectionWaitMs = 30_000;
+    private boolean provisionSchemas = true;
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public String getHeader() { return header; }
+    public void setHeader(String header) { this.header = header; }
+    
+    public Map<String, String> getSchemas() { return schemas; }
+    public void setSchemas(Map<String, String> schemas) { this.schemas = schemas; }
+    
+    public int getMaxConnectionsPerTenant() { return maxConnectionsPerTenant; }
+    public void setMaxConnectionsPerTenant(int maxConnectionsPerTenant) { this.maxConnectionsPerTenant = maxConnectionsPerTenant; }
+    
+    public long getConnectionWaitMs() { return connectionWaitMs; }
+    public void setConnectionWaitMs(long connectionWaitMs) { this.connectionWaitMs = connectionWaitMs; }
+    
+    public boolean isProvisionSchemas() { return provisionSchemas; }
+    public void setProvisionSchemas(boolean provisionSchemas) { this.provisionSchemas = provisionSchemas; }
+    
+    /**
+     * Every tenant this instance serves, the default tenant first.
+     */
+    public Set<String> tenants() {
+        Set<String> tenants = new LinkedHashSet<>();
+        tenants.add(TenantContext.DEFAULT_TENANT);
+        if (enabled) {
+            tenants.addAll(schemas.keySet());
+        }
+        return tenants;
+    }
+}
@@ -0,0 +1,68 @@
+package com.schoolmanagement.config;
+
+import com.schoolmanagement.service.routing.ReadWriteRoutingDataSource;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import javax.sql.DataSource;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * Opt-in virtual-thread execution (school.virtual-threads.enabled=true): Tomcat and
+ * @Async/MVC async work run on virtual threads, and JDBC access is gated so the burst
+ * of concurrent requests cannot overwhelm the pool or the database.
+ */
+@Configuration
+@ConditionalOnProperty(name = "school.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+    
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        log.info("Serving web requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+    
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+    
+    @Bean
+    public static BeanPostProcessor jdbcGateBeanPostProcessor(Environment environment) {
+        int permits = environment.getProperty("school.virtual-threads.jdbc-permits", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long timeoutMillis = environment.getProperty("school.virtual-threads.jdbc-permit-timeout-ms", Long.class, 30_000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof GatedDataSource) && !isRouted(dataSource)) {
+                    log.info("Gating JDBC access for '{}' at {} concurrent connections", beanName, permits);
+                    return new GatedDataSource(dataSource, permits, timeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+    
+    /**
+     * Routed data sources gate each of their pools themselves (ReplicaRoutingConfig).
+     */
+    private static boolean isRouted(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(ReadWriteRoutingDataSource.class);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
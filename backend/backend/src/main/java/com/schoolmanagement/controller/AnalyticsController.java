@@ -0,0 +1,56 @@
+package com.schoolmanagement.controller;
+
+import com.schoolmanagement.dto.AnalyticsQuery;
+import com.schoolmanagement.dto.AnalyticsResult;
+import com.schoolmanagement.dto.AnalyticsSnapshotStats;
+import com.schoolmanagement.service.analytics.AnalyticsSnapshotService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+    private final AnalyticsSnapshotService analyticsService;
+    
+    public AnalyticsController(AnalyticsSnapshotService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+    
+    /**
+     * Runs a filter / group-by / aggregate query against the current snapshot; the
+     * transactional tables are not touched.
+     */
+    @PostMapping("/query")
+    public ResponseEntity<AnalyticsResult> query(@RequestBody AnalyticsQuery query) {
+        try {
+            return ResponseEntity.ok(analyticsService.query(query));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+    
+    @GetMapping("/snapshot")
+    public ResponseEntity<AnalyticsSnapshotStats> snapshot() {
+        try {
+            return ResponseEntity.ok(analyticsService.stats());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+    
+    @PostMapping("/snapshot/refresh")
+    public ResponseEntity<AnalyticsSnapshotStats> refresh() {
+        try {
+            return ResponseEntity.ok(analyticsService.refresh());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.schoolmanagement.controller;
+
+import com.schoolmanagement.dto.AttendanceDay;
+import com.schoolmanagement.dto.AttendanceRate;
+import com.schoolmanagement.service.attendance.AttendanceBitmapService;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/attendance")
+public class AttendanceAnalyticsController {
+    private final AttendanceBitmapService attendanceService;
+    
+    public AttendanceAnalyticsController(AttendanceBitmapService attendanceService) {
+        this.attendanceService = attendanceService;
+    }
+    
+    @GetMapping("/classes/{classId}/rate")
+    public ResponseEntity<AttendanceRate> classRate(@PathVariable Long classId,
+                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(attendanceService.classRate(classId, from, to));
+    }
+    
+    @GetMapping("/students/{studentId}/rate")
+    public ResponseEntity<AttendanceRate> studentRate(@PathVariable Long studentId,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(attendanceService.studentRate(studentId, from, to));
+    }
+    
+    @GetMapping("/students/{studentId}/days")
+    public ResponseEntity<List<AttendanceDay>> history(@PathVariable Long studentId,
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(attendanceService.history(studentId, from, to));
+    }
+    
+    @GetMapping("/below-threshold")
+    public ResponseEntity<List<AttendanceRate>> studentsBelow(@RequestParam(required = false) Long classId,
+                                                              @RequestParam(defaultValue = "0.85") double threshold,
+                                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(attendanceService.studentsBelow(classId, threshold, from, to));
+    }
+    
+    @PostMapping("/bitmaps/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        attendanceService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
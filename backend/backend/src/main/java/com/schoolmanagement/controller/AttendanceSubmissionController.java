@@ -0,0 +1,48 @@
+package com.schoolmanagement.controller;
+
+import com.schoolmanagement.dto.AttendanceIngestStats;
+import com.schoolmanagement.dto.AttendanceSubmission;
+import com.schoolmanagement.dto.AttendanceSubmissionAck;
+import com.schoolmanagement.service.attendance.AttendanceIngestService;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/attendance/submissions")
+public class AttendanceSubmissionController {
+    private final AttendanceIngestService ingestService;
+    
+    public AttendanceSubmissionController(AttendanceIngestService ingestService) {
+        this.ingestService = ingestService;
+    }
+    
+    @PostMapping
+    public ResponseEntity<AttendanceSubmissionAck> submit(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                          @RequestBody AttendanceSubmission submission) {
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            submission.setIdempotencyKey(idempotencyKey);
+        }
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ingestService.submit(submission));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(ingestService.retryAfterSeconds()))
+                    .build();
+        }
+    }
+    
+    @GetMapping("/stats")
+    public ResponseEntity<AttendanceIngestStats> stats() {
+        return ResponseEntity.ok(ingestService.stats());
+    }
+}
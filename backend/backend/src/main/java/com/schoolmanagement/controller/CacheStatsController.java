@@ -0,0 +1,24 @@
+package com.schoolmanagement.controller;
+
+import com.schoolmanagement.dto.CacheRegionStats;
+import com.schoolmanagement.service.cache.CacheStatsService;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheStatsController {
+    private final CacheStatsService cacheStatsService;
+    
+    public CacheStatsController(CacheStatsService cacheStatsService) {
+        this.cacheStatsService = cacheStatsService;
+    }
+    
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheRegionStats>> stats() {
+        return ResponseEntity.ok(cacheStatsService.stats());
+    }
+}
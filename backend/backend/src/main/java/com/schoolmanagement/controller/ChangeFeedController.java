@@ -0,0 +1,85 @@
+package com.schoolmanagement.controller;
+
+import com.schoolmanagement.dto.ChangeBatch;
+import com.schoolmanagement.dto.ChangeFeedPosition;
+import com.schoolmanagement.service.changefeed.ChangeFeedService;
+import com.schoolmanagement.service.tenant.TenantContext;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeFeedController {
+    private final ChangeFeedService changeFeedService;
+    private final long maxWaitMs;
+    private final long streamTimeoutMs;
+    
+    public ChangeFeedController(ChangeFeedService changeFeedService,
+                                @Value("${school.changefeed.max-wait-ms:30000}") long maxWaitMs,
+                                @Value("${school.changefeed.stream-timeout-ms:1800000}") long streamTimeoutMs) {
+        this.changeFeedService = changeFeedService;
+        this.maxWaitMs = maxWaitMs;
+        this.streamTimeoutMs = streamTimeoutMs;
+    }
+    
+    /**
+     * Long-poll: answers immediately when there are events after the cursor, otherwise
+     * once some are committed or waitMs has passed (with an empty batch).
+     */
+    @GetMapping
+    public CompletableFuture<ResponseEntity<ChangeBatch>> poll(@RequestParam String consumer,
+                                                               @RequestParam(required = false) Long after,
+                                                               @RequestParam(defaultValue = "500") int limit,
+                                                               @RequestParam(defaultValue = "0") long waitMs) {
+        long from;
+        try {
+            from = changeFeedService.resumePoint(consumer, after);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        String tenant = TenantContext.current();
+        return changeFeedService.awaitAfter(from, Math.min(waitMs, maxWaitMs))
+                .thenApplyAsync(ignored -> TenantContext.callAs(tenant, () ->
+                        ResponseEntity.ok(changeFeedService.read(consumer, from, limit))));
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestParam String consumer,
+                                             @RequestParam(required = false) Long after,
+                                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        try {
+            return ResponseEntity.ok(changeFeedService.subscribe(consumer, lastEventId != null ? lastEventId : after,
+                    streamTimeoutMs));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PostMapping("/consumers/{consumer}/ack")
+    public ResponseEntity<ChangeFeedPosition> acknowledge(@PathVariable String consumer, @RequestParam long upTo) {
+        try {
+            return ResponseEntity.ok(changeFeedService.acknowledge(consumer, upTo));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/consumers/{consumer}")
+    public ResponseEntity<ChangeFeedPosition> position(@PathVariable String consumer) {
+        try {
+            return ResponseEntity.ok(changeFeedService.position(consumer));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
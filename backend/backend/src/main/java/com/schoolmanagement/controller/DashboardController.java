@@ -0,0 +1,69 @@
+package com.schoolmanagement.controller;
+
+import com.schoolmanagement.dto.AttendanceTrendPoint;
+import com.schoolmanagement.dto.ClassEnrollment;
+import com.schoolmanagement.dto.DashboardSnapshot;
+import com.schoolmanagement.service.rollup.DashboardRollupService;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+    private final DashboardRollupService rollupService;
+    
+    public DashboardController(DashboardRollupService rollupService) {
+        this.rollupService = rollupService;
+    }
+    
+    /**
+     * Enrollment, teacher and recent attendance figures as of a day (today by default),
+     * for the school or one class.
+     */
+    @GetMapping
+    public ResponseEntity<DashboardSnapshot> snapshot(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+                                                      @RequestParam(required = false) Long classId) {
+        try {
+            return ResponseEntity.ok(rollupService.snapshot(asOf != null ? asOf : LocalDate.now(), classId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+    
+    @GetMapping("/attendance")
+    public ResponseEntity<List<AttendanceTrendPoint>> attendanceTrend(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                      @RequestParam(required = false) Long classId,
+                                                                      @RequestParam(defaultValue = "DAY") DashboardRollupService.Bucket bucket) {
+        try {
+            return ResponseEntity.ok(rollupService.attendanceTrend(from, to, classId, bucket));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+    
+    @GetMapping("/classes")
+    public ResponseEntity<List<ClassEnrollment>> classEnrollment(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        try {
+            return ResponseEntity.ok(rollupService.classEnrollment(asOf != null ? asOf : LocalDate.now()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+    
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        rollupService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.schoolmanagement.controller;
+
+import com.schoolmanagement.dto.PinningReport;
+import com.schoolmanagement.service.diagnostics.PinnedCarrierMonitor;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/diagnostics")
+public class DiagnosticsController {
+    private final ObjectProvider<PinnedCarrierMonitor> pinnedCarrierMonitor;
+    
+    public DiagnosticsController(ObjectProvider<PinnedCarrierMonitor> pinnedCarrierMonitor) {
+        this.pinnedCarrierMonitor = pinnedCarrierMonitor;
+    }
+    
+    @GetMapping("/pinning")
+    public ResponseEntity<PinningReport> pinning(@RequestParam(defaultValue = "20") int limit) {
+        PinnedCarrierMonitor monitor = pinnedCarrierMonitor.getIfAvailable();
+        if (monitor == null) {
+            return ResponseEntity.ok(new PinningReport(false, 0, 0, List.of()));
+        }
+        return ResponseEntity.ok(monitor.report(limit));
+    }
+}
@@ -0,0 +1,52 @@
+package com.schoolmanagement.controller;
+
+import com.schoolmanagement.dto.DuplicateCandidate;
+import com.schoolmanagement.dto.DuplicateScanStatus;
+import com.schoolmanagement.dto.StudentIntake;
+import com.schoolmanagement.service.dedupe.DuplicateDetectionService;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/students/duplicates")
+public class DuplicateController {
+    private final DuplicateDetectionService duplicateService;
+    
+    public DuplicateController(DuplicateDetectionService duplicateService) {
+        this.duplicateService = duplicateService;
+    }
+    
+    @PostMapping("/check")
+    public ResponseEntity<List<DuplicateCandidate>> check(@RequestBody StudentIntake intake,
+                                                          @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(duplicateService.check(intake, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+    
+    @PostMapping("/scan")
+    public ResponseEntity<DuplicateScanStatus> startScan() {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(duplicateService.startScan());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+    
+    @GetMapping("/scan")
+    public ResponseEntity<DuplicateScanStatus> scanStatus(@RequestParam(defaultValue = "100") int limit) {
+        DuplicateScanStatus status = duplicateService.scanStatus(limit);
+        return status == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(status);
+    }
+}
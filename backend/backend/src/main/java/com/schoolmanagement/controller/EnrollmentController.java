@@ -0,0 +1,70 @@
+package com.schoolmanagement.controller;
+
+import com.schoolmanagement.dto.EnrollmentResult;
+import com.schoolmanagement.dto.SlotAvailability;
+import com.schoolmanagement.service.enrollment.EnrollmentService;
+import java.util.function.Supplier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/enrollment")
+public class EnrollmentController {
+    private final EnrollmentService enrollmentService;
+    
+    public EnrollmentController(EnrollmentService enrollmentService) {
+        this.enrollmentService = enrollmentService;
+    }
+    
+    @PostMapping("/slots")
+    public ResponseEntity<SlotAvailability> createSlot(@RequestParam(required = false) Long classId,
+                                                       @RequestParam Long subjectId,
+                                                       @RequestParam int capacity) {
+        return handle(() -> enrollmentService.createSlot(classId, subjectId, capacity));
+    }
+    
+    @GetMapping("/slots/{slotId}")
+    public ResponseEntity<SlotAvailability> availability(@PathVariable Long slotId) {
+        return handle(() -> enrollmentService.availability(slotId));
+    }
+    
+    @PutMapping("/slots/{slotId}/capacity")
+    public ResponseEntity<SlotAvailability> updateCapacity(@PathVariable Long slotId,
+                                                           @RequestParam int capacity,
+                                                           @RequestParam(required = false) Long version) {
+        return handle(() -> enrollmentService.updateCapacity(slotId, capacity, version));
+    }
+    
+    @PostMapping("/slots/{slotId}/reservations")
+    public ResponseEntity<EnrollmentResult> reserve(@PathVariable Long slotId, @RequestParam Long studentId) {
+        return handle(() -> enrollmentService.reserve(slotId, studentId));
+    }
+    
+    @PostMapping("/{enrollmentId}/confirm")
+    public ResponseEntity<EnrollmentResult> confirm(@PathVariable Long enrollmentId) {
+        return handle(() -> enrollmentService.confirm(enrollmentId));
+    }
+    
+    @PostMapping("/{enrollmentId}/release")
+    public ResponseEntity<EnrollmentResult> release(@PathVariable Long enrollmentId) {
+        return handle(() -> enrollmentService.release(enrollmentId));
+    }
+    
+    private static <T> ResponseEntity<T> handle(Supplier<T> action) {
+        try {
+            return ResponseEntity.ok(action.get());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException | ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
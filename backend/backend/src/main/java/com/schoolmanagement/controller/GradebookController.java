@@ -0,0 +1,45 @@
+package com.schoolmanagement.controller;
+
+import com.schoolmanagement.dto.StudentGradeSummary;
+import com.schoolmanagement.dto.SubjectGradeSummary;
+import com.schoolmanagement.service.gradebook.GradebookService;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/gradebook")
+public class GradebookController {
+    private final GradebookService gradebookService;
+    
+    public GradebookController(GradebookService gradebookService) {
+        this.gradebookService = gradebookService;
+    }
+    
+    @GetMapping("/students/{studentId}")
+    public ResponseEntity<StudentGradeSummary> student(@PathVariable Long studentId) {
+        return ResponseEntity.ok(gradebookService.studentSummary(studentId));
+    }
+    
+    @GetMapping("/subjects/{subjectId}")
+    public ResponseEntity<SubjectGradeSummary> subject(@PathVariable Long subjectId) {
+        return ResponseEntity.ok(gradebookService.subjectSummary(subjectId));
+    }
+    
+    @GetMapping("/classes/{classId}/ranking")
+    public ResponseEntity<List<StudentGradeSummary>> ranking(@PathVariable Long classId,
+                                                             @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(gradebookService.classRanking(classId, limit));
+    }
+    
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        gradebookService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.schoolmanagement.controller;
+
+import com.schoolmanagement.dto.PrerequisiteSyncReport;
+import com.schoolmanagement.dto.SubjectEligibility;
+import com.schoolmanagement.dto.SubjectPrerequisites;
+import com.schoolmanagement.service.prerequisite.PrerequisiteGraphService;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/prerequisites")
+public class PrerequisiteController {
+    private final PrerequisiteGraphService graphService;
+    
+    public PrerequisiteController(PrerequisiteGraphService graphService) {
+        this.graphService = graphService;
+    }
+    
+    @GetMapping("/subjects/{subjectId}")
+    public ResponseEntity<SubjectPrerequisites> prerequisites(@PathVariable Long subjectId) {
+        try {
+            return ResponseEntity.ok(graphService.prerequisites(subjectId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    /**
+     * Body: the candidate student ids.
+     */
+    @PostMapping("/subjects/{subjectId}/eligibility")
+    public ResponseEntity<SubjectEligibility> eligibility(@PathVariable Long subjectId,
+                                                          @RequestBody List<Long> studentIds,
+                                                          @RequestParam(defaultValue = "false") boolean transitive) {
+        try {
+            return ResponseEntity.ok(graphService.eligibility(subjectId, studentIds, transitive));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/cycles")
+    public ResponseEntity<List<List<String>>> cycles() {
+        return ResponseEntity.ok(graphService.cycles());
+    }
+    
+    @PostMapping("/synchronize")
+    public ResponseEntity<PrerequisiteSyncReport> synchronize() {
+        return ResponseEntity.ok(graphService.synchronize(null));
+    }
+}
@@ -0,0 +1,64 @@
+package com.schoolmanagement.controller;
+
+import com.schoolmanagement.dto.ExportJobStatus;
+import com.schoolmanagement.service.export.ExportFormat;
+import com.schoolmanagement.service.export.ReportCardExportService;
+import com.schoolmanagement.service.tenant.TenantContext;
+import java.time.LocalDate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/exports/report-cards")
+public class ReportCardExportController {
+    private final ReportCardExportService exportService;
+    
+    public ReportCardExportController(ReportCardExportService exportService) {
+        this.exportService = exportService;
+    }
+    
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> download(@RequestParam(defaultValue = "CSV") ExportFormat format,
+                                                          @RequestParam(required = false) Long classId) {
+        String fileName = "report-cards" + (classId == null ? "" : "-class-" + classId) + "." + format.getExtension();
+        // the body is written on an async thread, outside the request's tenant binding
+        String tenant = TenantContext.current();
+        StreamingResponseBody body = out -> TenantContext.runAs(tenant,
+                () -> exportService.streamReportCards(out, format, classId));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+    
+    @PostMapping("/jobs")
+    public ResponseEntity<ExportJobStatus> start(@RequestParam(required = false) String label,
+                                                 @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        String jobLabel = label != null && !label.isBlank() ? label : "term-" + LocalDate.now();
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(exportService.startExport(jobLabel, format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/jobs/{label}")
+    public ResponseEntity<ExportJobStatus> status(@PathVariable String label) {
+        ExportJobStatus status;
+        try {
+            status = exportService.jobStatus(label);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return status == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(status);
+    }
+}
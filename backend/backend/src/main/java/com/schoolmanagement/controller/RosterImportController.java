@@ -0,0 +1,43 @@
+package com.schoolmanagement.controller;
+
+import com.schoolmanagement.dto.ImportReport;
+import com.schoolmanagement.service.importer.ImportFormat;
+import com.schoolmanagement.service.importer.RosterImportService;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/api/import")
+public class RosterImportController {
+    private final RosterImportService importService;
+    
+    public RosterImportController(RosterImportService importService) {
+        this.importService = importService;
+    }
+    
+    @PostMapping("/students")
+    public ResponseEntity<ImportReport> importStudents(@RequestParam("file") MultipartFile file,
+                                                       @RequestParam(required = false) ImportFormat format) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(importService.importStudents(in, resolveFormat(file, format)));
+        }
+    }
+    
+    @PostMapping("/teachers")
+    public ResponseEntity<ImportReport> importTeachers(@RequestParam("file") MultipartFile file,
+                                                       @RequestParam(required = false) ImportFormat format) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(importService.importTeachers(in, resolveFormat(file, format)));
+        }
+    }
+    
+    private static ImportFormat resolveFormat(MultipartFile file, ImportFormat requested) {
+        return requested != null ? requested : ImportFormat.fromFilename(file.getOriginalFilename());
+    }
+}
@@ -0,0 +1,41 @@
+package com.schoolmanagement.controller;
+
+import com.schoolmanagement.dto.SearchIndexStats;
+import com.schoolmanagement.dto.SearchResult;
+import com.schoolmanagement.service.search.SearchDocument;
+import com.schoolmanagement.service.search.SearchIndexService;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+    private final SearchIndexService searchService;
+    
+    public SearchController(SearchIndexService searchService) {
+        this.searchService = searchService;
+    }
+    
+    @GetMapping
+    public ResponseEntity<List<SearchResult>> search(@RequestParam("q") String query,
+                                                     @RequestParam(defaultValue = "10") int limit,
+                                                     @RequestParam(required = false) SearchDocument.Type type) {
+        return ResponseEntity.ok(searchService.search(query, limit, type));
+    }
+    
+    @GetMapping("/stats")
+    public ResponseEntity<SearchIndexStats> stats() {
+        return ResponseEntity.ok(searchService.stats());
+    }
+    
+    @PostMapping("/rebuild")
+    public ResponseEntity<SearchIndexStats> rebuild() {
+        searchService.rebuild();
+        return ResponseEntity.ok(searchService.stats());
+    }
+}
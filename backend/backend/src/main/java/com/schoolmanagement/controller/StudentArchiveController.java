@@ -0,0 +1,40 @@
+package com.schoolmanagement.controller;
+
+import com.schoolmanagement.dto.ArchiveReport;
+import com.schoolmanagement.dto.ArchivedStudentRecord;
+import com.schoolmanagement.service.archive.StudentArchiveService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/archive")
+public class StudentArchiveController {
+    private final StudentArchiveService archiveService;
+    
+    public StudentArchiveController(StudentArchiveService archiveService) {
+        this.archiveService = archiveService;
+    }
+    
+    @GetMapping("/students/{studentId}")
+    public ResponseEntity<ArchivedStudentRecord> find(@PathVariable String studentId) {
+        try {
+            return ResponseEntity.ok(archiveService.find(studentId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/report")
+    public ResponseEntity<ArchiveReport> report() {
+        return ResponseEntity.ok(archiveService.report());
+    }
+    
+    @PostMapping("/run")
+    public ResponseEntity<ArchiveReport> run() {
+        return ResponseEntity.ok(archiveService.run());
+    }
+}
@@ -0,0 +1,42 @@
+package com.schoolmanagement.controller;
+
+import com.schoolmanagement.dto.KeysetPage;
+import com.schoolmanagement.dto.StudentListFilter;
+import com.schoolmanagement.dto.StudentListItem;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.service.listing.DirectoryListingService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/students")
+public class StudentController {
+    private final DirectoryListingService listingService;
+    
+    public StudentController(DirectoryListingService listingService) {
+        this.listingService = listingService;
+    }
+    
+    @GetMapping
+    public ResponseEntity<KeysetPage<StudentListItem>> list(@RequestParam(required = false) Student.StudentStatus status,
+                                                            @RequestParam(required = false) Long classId,
+                                                            @RequestParam(required = false) String city,
+                                                            @RequestParam(defaultValue = "false") boolean includeClass,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "50") int size) {
+        StudentListFilter filter = new StudentListFilter();
+        filter.setStatus(status);
+        filter.setClassId(classId);
+        filter.setCity(city);
+        filter.setIncludeClass(includeClass);
+        try {
+            return ResponseEntity.ok(listingService.listStudents(filter, cursor, size));
+        } catch (IllegalArgumentException e) {
+            // a cursor that is not one we issued
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.schoolmanagement.controller;
+
+import com.schoolmanagement.dto.KeysetPage;
+import com.schoolmanagement.dto.TeacherListFilter;
+import com.schoolmanagement.dto.TeacherListItem;
+import com.schoolmanagement.model.Teacher;
+import com.schoolmanagement.service.listing.DirectoryListingService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/teachers")
+public class TeacherController {
+    private final DirectoryListingService listingService;
+    
+    public TeacherController(DirectoryListingService listingService) {
+        this.listingService = listingService;
+    }
+    
+    @GetMapping
+    public ResponseEntity<KeysetPage<TeacherListItem>> list(@RequestParam(required = false) Teacher.TeacherStatus status,
+                                                            @RequestParam(required = false) Long classId,
+                                                            @RequestParam(required = false) String city,
+                                                            @RequestParam(required = false) String department,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "50") int size) {
+        TeacherListFilter filter = new TeacherListFilter();
+        filter.setStatus(status);
+        filter.setClassId(classId);
+        filter.setCity(city);
+        filter.setDepartment(department);
+        try {
+            return ResponseEntity.ok(listingService.listTeachers(filter, cursor, size));
+        } catch (IllegalArgumentException e) {
+            // a cursor that is not one we issued
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
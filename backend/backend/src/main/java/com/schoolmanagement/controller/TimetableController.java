@@ -0,0 +1,43 @@
+package com.schoolmanagement.controller;
+
+import com.schoolmanagement.dto.TimetableRequest;
+import com.schoolmanagement.dto.TimetableResult;
+import com.schoolmanagement.service.timetable.TimetableService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/timetable")
+public class TimetableController {
+    private final TimetableService timetableService;
+    
+    public TimetableController(TimetableService timetableService) {
+        this.timetableService = timetableService;
+    }
+    
+    @PostMapping("/generate")
+    public ResponseEntity<TimetableResult> generate(@RequestBody(required = false) TimetableRequest request) {
+        try {
+            return ResponseEntity.ok(timetableService.generate(request != null ? request : new TimetableRequest()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping
+    public ResponseEntity<TimetableResult> latest() {
+        TimetableResult result = timetableService.latest();
+        return result == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(result);
+    }
+    
+    @PostMapping("/teachers/{teacherId}/resolve")
+    public ResponseEntity<TimetableResult> resolveForTeacher(@PathVariable Long teacherId) {
+        TimetableResult result = timetableService.resolveForTeacher(teacherId);
+        return result == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(result);
+    }
+}
@@ -0,0 +1,77 @@
+package com.schoolmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A filter / group-by / aggregate query over one table of the analytics snapshot.
+ * Filters are ANDed: a dimension filter keeps rows whose value is one of values, a
+ * measure filter keeps rows within [min, max]. Without aggregates the query counts rows.
+ */
+public class AnalyticsQuery {
+    private String table = "grades";
+    private List<Filter> filters = new ArrayList<>();
+    private List<String> groupBy = new ArrayList<>();
+    private List<Aggregate> aggregates = new ArrayList<>();
+    private int limit = 1000;
+    
+    public String getTable() { return table; }
+    public void setTable(String table) { this.table = table; }
+    
+    public List<Filter> getFilters() { return filters; }
+    public void setFilters(List<Filter> filters) { this.filters = filters; }
+    
+    public List<String> getGroupBy() { return groupBy; }
+    public void setGroupBy(List<String> groupBy) { this.groupBy = groupBy; }
+    
+    public List<Aggregate> getAggregates() { return aggregates; }
+    public void setAggregates(List<Aggregate> aggregates) { this.aggregates = aggregates; }
+    
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+    
+    public static class Filter {
+        private String column;
+        private List<String> values;
+        private Double min;
+        private Double max;
+        
+        public String getColumn() { return column; }
+        public void setColumn(String column) { this.column = column; }
+        
+        public List<String> getValues() { return values; }
+        public void setValues(List<String> values) { this.values = values; }
+        
+        public Double getMin() { return min; }
+        public void setMin(Double min) { this.min = min; }
+        
+        public Double getMax() { return max; }
+        public void setMax(Double max) { this.max = max; }
+    }
+    
+    public static class Aggregate {
+        private Function function = Function.COUNT;
+        private String column;
+        
+        public Aggregate() {}
+        
+        public Aggregate(Function function, String column) {
+            this.function = function;
+            this.column = column;
+        }
+        
+        public Function getFunction() { return function; }
+        public void setFunction(Function function) { this.function = function; }
+        
+        public String getColumn() { return column; }
+        public void setColumn(String column) { this.column = column; }
+    }
+    
+    /**
+     * COUNT counts matching rows (with a column: rows where it has a value); the others
+     * skip missing values.
+     */
+    public enum Function {
+        COUNT, SUM, AVG, MIN, MAX
+    }
+}
@@ -0,0 +1,40 @@
+package com.schoolmanagement.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Query result rows: the group-by values followed by the aggregates, in the order of
+ * columns, sorted by the group values. groups is the total before the limit.
+ */
+public class AnalyticsResult {
+    private final String table;
+    private final LocalDateTime snapshotBuiltAt;
+    private final long rowsScanned;
+    private final long rowsMatched;
+    private final int groups;
+    private final List<String> columns;
+    private final List<List<Object>> rows;
+    private final long elapsedMicros;
+    
+    public AnalyticsResult(String table, LocalDateTime snapshotBuiltAt, long rowsScanned, long rowsMatched, int groups,
+                           List<String> columns, List<List<Object>> rows, long elapsedMicros) {
+        this.table = table;
+        this.snapshotBuiltAt = snapshotBuiltAt;
+        this.rowsScanned = rowsScanned;
+        this.rowsMatched = rowsMatched;
+        this.groups = groups;
+        this.columns = columns;
+        this.rows = rows;
+        this.elapsedMicros = elapsedMicros;
+    }
+    
+    public String getTable() { return table; }
+    public LocalDateTime getSnapshotBuiltAt() { return snapshotBuiltAt; }
+    public long getRowsScanned() { return rowsScanned; }
+    public long getRowsMatched() { return rowsMatched; }
+    public int getGroups() { return groups; }
+    public List<String> getColumns() { return columns; }
+    public List<List<Object>> getRows() { return rows; }
+    public long getElapsedMicros() { return elapsedMicros; }
+}
@@ -0,0 +1,42 @@
+package com.schoolmanagement.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class AnalyticsSnapshotStats {
+    private final LocalDateTime builtAt;
+    private final long buildMillis;
+    private final long offHeapBytes;
+    private final List<Table> tables;
+    
+    public AnalyticsSnapshotStats(LocalDateTime builtAt, long buildMillis, long offHeapBytes, List<Table> tables) {
+        this.builtAt = builtAt;
+        this.buildMillis = buildMillis;
+        this.offHeapBytes = offHeapBytes;
+        this.tables = tables;
+    }
+    
+    public LocalDateTime getBuiltAt() { return builtAt; }
+    public long getBuildMillis() { return buildMillis; }
+    public long getOffHeapBytes() { return offHeapBytes; }
+    public List<Table> getTables() { return tables; }
+    
+    public static class Table {
+        private final String name;
+        private final int rows;
+        private final List<String> dimensions;
+        private final List<String> measures;
+        
+        public Table(String name, int rows, List<String> dimensions, List<String> measures) {
+            this.name = name;
+            this.rows = rows;
+            this.dimensions = dimensions;
+            this.measures = measures;
+        }
+        
+        public String getName() { return name; }
+        public int getRows() { return rows; }
+        public List<String> getDimensions() { return dimensions; }
+        public List<String> getMeasures() { return measures; }
+    }
+}
@@ -0,0 +1,42 @@
+package com.schoolmanagement.dto;
+
+public class ArchiveReport {
+    private final long archivedStudents;
+    private final long archivedGrades;
+    private final long archivedAttendances;
+    private final long rawBytes;
+    private final long compressedBytes;
+    private final long pendingCandidates;
+    private final long archivedThisProcess;
+    private final Double activeQueryBaselineMs;
+    private final Double activeQueryLatestMs;
+    
+    public ArchiveReport(long archivedStudents, long archivedGrades, long archivedAttendances, long rawBytes,
+                         long compressedBytes, long pendingCandidates, long archivedThisProcess,
+                         Double activeQueryBaselineMs, Double activeQueryLatestMs) {
+        this.archivedStudents = archivedStudents;
+        this.archivedGrades = archivedGrades;
+        this.archivedAttendances = archivedAttendances;
+        this.rawBytes = rawBytes;
+        this.compressedBytes = compressedBytes;
+        this.pendingCandidates = pendingCandidates;
+        this.archivedThisProcess = archivedThisProcess;
+        this.activeQueryBaselineMs = activeQueryBaselineMs;
+        this.activeQueryLatestMs = activeQueryLatestMs;
+    }
+    
+    public long getArchivedStudents() { return archivedStudents; }
+    public long getArchivedGrades() { return archivedGrades; }
+    public long getArchivedAttendances() { return archivedAttendances; }
+    public long getRawBytes() { return rawBytes; }
+    public long getCompressedBytes() { return compressedBytes; }
+    public double getCompressionRatio() { return compressedBytes == 0 ? 0 : (double) rawBytes / compressedBytes; }
+    public long getPendingCandidates() { return pendingCandidates; }
+    public long getArchivedThisProcess() { return archivedThisProcess; }
+    public Double getActiveQueryBaselineMs() { return activeQueryBaselineMs; }
+    public Double getActiveQueryLatestMs() { return activeQueryLatestMs; }
+    public Double getActiveQuerySpeedup() {
+        return activeQueryBaselineMs == null || activeQueryLatestMs == null || activeQueryLatestMs == 0
+                ? null : activeQueryBaselineMs / activeQueryLatestMs;
+    }
+}
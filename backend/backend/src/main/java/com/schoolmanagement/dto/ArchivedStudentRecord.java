@@ -0,0 +1,38 @@
+package com.schoolmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of an archived student; document holds the student, grades,
+ * attendances and enrollments exactly as they were when archived.
+ */
+public class ArchivedStudentRecord {
+    private final Long id;
+    private final String studentId;
+    private final String status;
+    private final String firstName;
+    private final String lastName;
+    private final LocalDateTime archivedAt;
+    private final String document;
+    
+    public ArchivedStudentRecord(Long id, String studentId, String status, String firstName, String lastName,
+                                 LocalDateTime archivedAt, String document) {
+        this.id = id;
+        this.studentId = studentId;
+        this.status = status;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.archivedAt = archivedAt;
+        this.document = document;
+    }
+    
+    public Long getId() { return id; }
+    public String getStudentId() { return studentId; }
+    public String getStatus() { return status; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    @JsonRawValue
+    public String getDocument() { return document; }
+}
@@ -0,0 +1,16 @@
+package com.schoolmanagement.dto;
+
+import java.time.LocalDate;
+
+public class AttendanceDay {
+    private final LocalDate date;
+    private final String status;
+    
+    public AttendanceDay(LocalDate date, String status) {
+        this.date = date;
+        this.status = status;
+    }
+    
+    public LocalDate getDate() { return date; }
+    public String getStatus() { return status; }
+}
@@ -0,0 +1,46 @@
+package com.schoolmanagement.dto;
+
+public class AttendanceIngestStats {
+    private final int queuedSubmissions;
+    private final int freeQueueSlots;
+    private final int pendingBatches;
+    private final long accepted;
+    private final long duplicates;
+    private final long rejected;
+    private final long replayed;
+    private final long batchesWritten;
+    private final long marksWritten;
+    private final long failedFlushes;
+    private final long deadLettered;
+    private final int logSegments;
+    
+    public AttendanceIngestStats(int queuedSubmissions, int freeQueueSlots, int pendingBatches, long accepted,
+                                 long duplicates, long rejected, long replayed, long batchesWritten, long marksWritten,
+                                 long failedFlushes, long deadLettered, int logSegments) {
+        this.queuedSubmissions = queuedSubmissions;
+        this.freeQueueSlots = freeQueueSlots;
+        this.pendingBatches = pendingBatches;
+        this.accepted = accepted;
+        this.duplicates = duplicates;
+        this.rejected = rejected;
+        this.replayed = replayed;
+        this.batchesWritten = batchesWritten;
+        this.marksWritten = marksWritten;
+        this.failedFlushes = failedFlushes;
+        this.deadLettered = deadLettered;
+        this.logSegments = logSegments;
+    }
+    
+    public int getQueuedSubmissions() { return queuedSubmissions; }
+    public int getFreeQueueSlots() { return freeQueueSlots; }
+    public int getPendingBatches() { return pendingBatches; }
+    public long getAccepted() { return accepted; }
+    public long getDuplicates() { return duplicates; }
+    public long getRejected() { return rejected; }
+    public long getReplayed() { return replayed; }
+    public long getBatchesWritten() { return batchesWritten; }
+    public long getMarksWritten() { return marksWritten; }
+    public long getFailedFlushes() { return failedFlushes; }
+    public long getDeadLettered() { return deadLettered; }
+    public int getLogSegments() { return logSegments; }
+}
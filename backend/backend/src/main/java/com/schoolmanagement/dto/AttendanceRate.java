@@ -0,0 +1,20 @@
+package com.schoolmanagement.dto;
+
+public class AttendanceRate {
+    private final Long studentId;
+    private final int attendedDays;
+    private final int recordedDays;
+    private final double rate;
+    
+    public AttendanceRate(Long studentId, int attendedDays, int recordedDays) {
+        this.studentId = studentId;
+        this.attendedDays = attendedDays;
+        this.recordedDays = recordedDays;
+        this.rate = recordedDays == 0 ? 1.0 : (double) attendedDays / recordedDays;
+    }
+    
+    public Long getStudentId() { return studentId; }
+    public int getAttendedDays() { return attendedDays; }
+    public int getRecordedDays() { return recordedDays; }
+    public double getRate() { return rate; }
+}
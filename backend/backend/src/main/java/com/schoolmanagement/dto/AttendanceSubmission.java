@@ -0,0 +1,45 @@
+package com.schoolmanagement.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One teacher's attendance marks for a class on a date.
+ */
+public class AttendanceSubmission {
+    private String idempotencyKey;
+    private Long classId;
+    private LocalDate date;
+    private List<Mark> marks = new ArrayList<>();
+    
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+    
+    public Long getClassId() { return classId; }
+    public void setClassId(Long classId) { this.classId = classId; }
+    
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+    
+    public List<Mark> getMarks() { return marks; }
+    public void setMarks(List<Mark> marks) { this.marks = marks; }
+    
+    public static class Mark {
+        private Long studentId;
+        private String status;
+        
+        public Mark() {}
+        
+        public Mark(Long studentId, String status) {
+            this.studentId = studentId;
+            this.status = status;
+        }
+        
+        public Long getStudentId() { return studentId; }
+        public void setStudentId(Long studentId) { this.studentId = studentId; }
+        
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+    }
+}
@@ -0,0 +1,20 @@
+package com.schoolmanagement.dto;
+
+public class AttendanceSubmissionAck {
+    private final String idempotencyKey;
+    private final boolean duplicate;
+    private final int marks;
+    private final long sequence;
+    
+    public AttendanceSubmissionAck(String idempotencyKey, boolean duplicate, int marks, long sequence) {
+        this.idempotencyKey = idempotencyKey;
+        this.duplicate = duplicate;
+        this.marks = marks;
+        this.sequence = sequence;
+    }
+    
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public boolean isDuplicate() { return duplicate; }
+    public int getMarks() { return marks; }
+    public long getSequence() { return sequence; }
+}
@@ -0,0 +1,32 @@
+package com.schoolmanagement.dto;
+
+import java.time.LocalDate;
+
+public class AttendanceTrendPoint {
+    private final LocalDate from;
+    private final LocalDate to;
+    private final long present;
+    private final long absent;
+    private final long late;
+    private final long excused;
+    private final double rate;
+    
+    public AttendanceTrendPoint(LocalDate from, LocalDate to, long present, long absent, long late, long excused) {
+        this.from = from;
+        this.to = to;
+        this.present = present;
+        this.absent = absent;
+        this.late = late;
+        this.excused = excused;
+        long recorded = present + absent + late;
+        this.rate = recorded == 0 ? 1.0 : (double) (present + late) / recorded;
+    }
+    
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public long getPresent() { return present; }
+    public long getAbsent() { return absent; }
+    public long getLate() { return late; }
+    public long getExcused() { return excused; }
+    public double getRate() { return rate; }
+}
@@ -0,0 +1,38 @@
+package com.schoolmanagement.dto;
+
+public class CacheRegionStats {
+    private final String name;
+    private final String layer;
+    private final long hits;
+    private final long misses;
+    private final long puts;
+    private final long evictions;
+    private final long invalidations;
+    private final long size;
+    
+    public CacheRegionStats(String name, String layer, long hits, long misses, long puts, long evictions,
+                            long invalidations, long size) {
+        this.name = name;
+        this.layer = layer;
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+        this.size = size;
+    }
+    
+    public String getName() { return name; }
+    public String getLayer() { return layer; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getPuts() { return puts; }
+    public long getEvictions() { return evictions; }
+    public long getInvalidations() { return invalidations; }
+    public long getSize() { return size; }
+    
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,26 @@
+package com.schoolmanagement.dto;
+
+import java.util.List;
+
+/**
+ * A page of the change feed. cursor is the id to pass as "after" for the next page and
+ * to acknowledge once the events have been processed.
+ */
+public class ChangeBatch {
+    private final String consumer;
+    private final List<ChangeEvent> events;
+    private final long cursor;
+    private final boolean hasMore;
+    
+    public ChangeBatch(String consumer, List<ChangeEvent> events, long cursor, boolean hasMore) {
+        this.consumer = consumer;
+        this.events = events;
+        this.cursor = cursor;
+        this.hasMore = hasMore;
+    }
+    
+    public String getConsumer() { return consumer; }
+    public List<ChangeEvent> getEvents() { return events; }
+    public long getCursor() { return cursor; }
+    public boolean isHasMore() { return hasMore; }
+}
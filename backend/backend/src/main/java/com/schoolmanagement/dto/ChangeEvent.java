@@ -0,0 +1,35 @@
+package com.schoolmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ChangeEvent {
+    private final long id;
+    private final String entityType;
+    private final Long entityId;
+    private final String operation;
+    private final List<String> changedProperties;
+    private final String payload;
+    private final LocalDateTime createdAt;
+    
+    public ChangeEvent(long id, String entityType, Long entityId, String operation, List<String> changedProperties,
+                       String payload, LocalDateTime createdAt) {
+        this.id = id;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.operation = operation;
+        this.changedProperties = changedProperties;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+    
+    public long getId() { return id; }
+    public String getEntityType() { return entityType; }
+    public Long getEntityId() { return entityId; }
+    public String getOperation() { return operation; }
+    public List<String> getChangedProperties() { return changedProperties; }
+    @JsonRawValue
+    public String getPayload() { return payload; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
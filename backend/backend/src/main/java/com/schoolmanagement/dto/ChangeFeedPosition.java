@@ -0,0 +1,22 @@
+package com.schoolmanagement.dto;
+
+import java.time.LocalDateTime;
+
+public class ChangeFeedPosition {
+    private final String consumer;
+    private final long ackedEventId;
+    private final long latestEventId;
+    private final LocalDateTime ackedAt;
+    
+    public ChangeFeedPosition(String consumer, long ackedEventId, long latestEventId, LocalDateTime ackedAt) {
+        this.consumer = consumer;
+        this.ackedEventId = ackedEventId;
+        this.latestEventId = latestEventId;
+        this.ackedAt = ackedAt;
+    }
+    
+    public String getConsumer() { return consumer; }
+    public long getAckedEventId() { return ackedEventId; }
+    public long getLatestEventId() { return latestEventId; }
+    public LocalDateTime getAckedAt() { return ackedAt; }
+}
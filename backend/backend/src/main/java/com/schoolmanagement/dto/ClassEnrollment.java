@@ -0,0 +1,22 @@
+package com.schoolmanagement.dto;
+
+import java.util.Map;
+
+public class ClassEnrollment {
+    private final Long classId;
+    private final long students;
+    private final Map<String, Long> byStatus;
+    private final Map<String, Long> byGender;
+    
+    public ClassEnrollment(Long classId, long students, Map<String, Long> byStatus, Map<String, Long> byGender) {
+        this.classId = classId;
+        this.students = students;
+        this.byStatus = byStatus;
+        this.byGender = byGender;
+    }
+    
+    public Long getClassId() { return classId; }
+    public long getStudents() { return students; }
+    public Map<String, Long> getByStatus() { return byStatus; }
+    public Map<String, Long> getByGender() { return byGender; }
+}
@@ -0,0 +1,41 @@
+package com.schoolmanagement.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public class DashboardSnapshot {
+    private final LocalDate asOf;
+    private final Long classId;
+    private final Map<String, Long> studentsByStatus;
+    private final Map<String, Long> studentsByGender;
+    private final long teacherHeadcount;
+    private final Map<String, Long> teachersByDepartment;
+    private final double averageYearsExperience;
+    private final double salaryTotal;
+    private final AttendanceTrendPoint recentAttendance;
+    
+    public DashboardSnapshot(LocalDate asOf, Long classId, Map<String, Long> studentsByStatus,
+                             Map<String, Long> studentsByGender, long teacherHeadcount,
+                             Map<String, Long> teachersByDepartment, double averageYearsExperience,
+                             double salaryTotal, AttendanceTrendPoint recentAttendance) {
+        this.asOf = asOf;
+        this.classId = classId;
+        this.studentsByStatus = studentsByStatus;
+        this.studentsByGender = studentsByGender;
+        this.teacherHeadcount = teacherHeadcount;
+        this.teachersByDepartment = teachersByDepartment;
+        this.averageYearsExperience = averageYearsExperience;
+        this.salaryTotal = salaryTotal;
+        this.recentAttendance = recentAttendance;
+    }
+    
+    public LocalDate getAsOf() { return asOf; }
+    public Long getClassId() { return classId; }
+    public Map<String, Long> getStudentsByStatus() { return studentsByStatus; }
+    public Map<String, Long> getStudentsByGender() { return studentsByGender; }
+    public long getTeacherHeadcount() { return teacherHeadcount; }
+    public Map<String, Long> getTeachersByDepartment() { return teachersByDepartment; }
+    public double getAverageYearsExperience() { return averageYearsExperience; }
+    public double getSalaryTotal() { return salaryTotal; }
+    public AttendanceTrendPoint getRecentAttendance() { return recentAttendance; }
+}
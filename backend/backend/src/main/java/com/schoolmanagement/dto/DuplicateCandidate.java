@@ -0,0 +1,36 @@
+package com.schoolmanagement.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * An existing student who may be the same person as an intake record.
+ */
+public class DuplicateCandidate {
+    private final Long id;
+    private final String studentId;
+    private final String name;
+    private final LocalDate dateOfBirth;
+    private final double score;
+    private final String level;
+    private final List<String> matchedOn;
+    
+    public DuplicateCandidate(Long id, String studentId, String name, LocalDate dateOfBirth, double score,
+                              String level, List<String> matchedOn) {
+        this.id = id;
+        this.studentId = studentId;
+        this.name = name;
+        this.dateOfBirth = dateOfBirth;
+        this.score = score;
+        this.level = level;
+        this.matchedOn = matchedOn;
+    }
+    
+    public Long getId() { return id; }
+    public String getStudentId() { return studentId; }
+    public String getName() { return name; }
+    public LocalDate getDateOfBirth() { return dateOfBirth; }
+    public double getScore() { return score; }
+    public String getLevel() { return level; }
+    public List<String> getMatchedOn() { return matchedOn; }
+}
@@ -0,0 +1,41 @@
+package com.schoolmanagement.dto;
+
+import java.util.List;
+
+/**
+ * Two stored students that a duplicate scan thinks may be the same person.
+ */
+public class DuplicatePair {
+    private final Long firstId;
+    private final String firstStudentId;
+    private final String firstName;
+    private final Long secondId;
+    private final String secondStudentId;
+    private final String secondName;
+    private final double score;
+    private final String level;
+    private final List<String> matchedOn;
+    
+    public DuplicatePair(Long firstId, String firstStudentId, String firstName, Long secondId, String secondStudentId,
+                         String secondName, double score, String level, List<String> matchedOn) {
+        this.firstId = firstId;
+        this.firstStudentId = firstStudentId;
+        this.firstName = firstName;
+        this.secondId = secondId;
+        this.secondStudentId = secondStudentId;
+        this.secondName = secondName;
+        this.score = score;
+        this.level = level;
+        this.matchedOn = matchedOn;
+    }
+    
+    public Long getFirstId() { return firstId; }
+    public String getFirstStudentId() { return firstStudentId; }
+    public String getFirstName() { return firstName; }
+    public Long getSecondId() { return secondId; }
+    public String getSecondStudentId() { return secondStudentId; }
+    public String getSecondName() { return secondName; }
+    public double getScore() { return score; }
+    public String getLevel() { return level; }
+    public List<String> getMatchedOn() { return matchedOn; }
+}
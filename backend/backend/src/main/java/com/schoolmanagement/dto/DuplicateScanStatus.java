@@ -0,0 +1,56 @@
+package com.schoolmanagement.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class DuplicateScanStatus {
+    private final long id;
+    private final String state;
+    private final String failure;
+    private final int students;
+    private final int totalBlocks;
+    private final int scannedBlocks;
+    private final int skippedBlocks;
+    private final long comparisons;
+    private final int pairsFound;
+    private final int probablePairs;
+    private final List<DuplicatePair> pairs;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime finishedAt;
+    private final long elapsedMillis;
+    
+    public DuplicateScanStatus(long id, String state, String failure, int students, int totalBlocks, int scannedBlocks,
+                               int skippedBlocks, long comparisons, int pairsFound, int probablePairs,
+                               List<DuplicatePair> pairs, LocalDateTime startedAt, LocalDateTime finishedAt,
+                               long elapsedMillis) {
+        this.id = id;
+        this.state = state;
+        this.failure = failure;
+        this.students = students;
+        this.totalBlocks = totalBlocks;
+        this.scannedBlocks = scannedBlocks;
+        this.skippedBlocks = skippedBlocks;
+        this.comparisons = comparisons;
+        this.pairsFound = pairsFound;
+        this.probablePairs = probablePairs;
+        this.pairs = pairs;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public long getId() { return id; }
+    public String getState() { return state; }
+    public String getFailure() { return failure; }
+    public int getStudents() { return students; }
+    public int getTotalBlocks() { return totalBlocks; }
+    public int getScannedBlocks() { return scannedBlocks; }
+    public int getSkippedBlocks() { return skippedBlocks; }
+    public long getComparisons() { return comparisons; }
+    public int getPairsFound() { return pairsFound; }
+    public int getProbablePairs() { return probablePairs; }
+    public List<DuplicatePair> getPairs() { return pairs; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public long getElapsedMillis() { return elapsedMillis; }
+}
@@ -0,0 +1,29 @@
+package com.schoolmanagement.dto;
+
+import java.time.LocalDateTime;
+
+public class EnrollmentResult {
+    private final Long enrollmentId;
+    private final Long slotId;
+    private final Long studentId;
+    private final String status;
+    private final long waitlistPosition;
+    private final LocalDateTime expiresAt;
+    
+    public EnrollmentResult(Long enrollmentId, Long slotId, Long studentId, String status, long waitlistPosition,
+                            LocalDateTime expiresAt) {
+        this.enrollmentId = enrollmentId;
+        this.slotId = slotId;
+        this.studentId = studentId;
+        this.status = status;
+        this.waitlistPosition = waitlistPosition;
+        this.expiresAt = expiresAt;
+    }
+    
+    public Long getEnrollmentId() { return enrollmentId; }
+    public Long getSlotId() { return slotId; }
+    public Long getStudentId() { return studentId; }
+    public String getStatus() { return status; }
+    public long getWaitlistPosition() { return waitlistPosition; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+}
@@ -0,0 +1,46 @@
+package com.schoolmanagement.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ExportJobStatus {
+    private final String label;
+    private final String format;
+    private final String directory;
+    private final String state;
+    private final int totalFiles;
+    private final int writtenFiles;
+    private final int skippedFiles;
+    private final List<String> failedFiles;
+    private final long rowsWritten;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime finishedAt;
+    
+    public ExportJobStatus(String label, String format, String directory, String state, int totalFiles,
+                           int writtenFiles, int skippedFiles, List<String> failedFiles, long rowsWritten,
+                           LocalDateTime startedAt, LocalDateTime finishedAt) {
+        this.label = label;
+        this.format = format;
+        this.directory = directory;
+        this.state = state;
+        this.totalFiles = totalFiles;
+        this.writtenFiles = writtenFiles;
+        this.skippedFiles = skippedFiles;
+        this.failedFiles = failedFiles;
+        this.rowsWritten = rowsWritten;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+    }
+    
+    public String getLabel() { return label; }
+    public String getFormat() { return format; }
+    public String getDirectory() { return directory; }
+    public String getState() { return state; }
+    public int getTotalFiles() { return totalFiles; }
+    public int getWrittenFiles() { return writtenFiles; }
+    public int getSkippedFiles() { return skippedFiles; }
+    public List<String> getFailedFiles() { return failedFiles; }
+    public long getRowsWritten() { return rowsWritten; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+}
@@ -0,0 +1,66 @@
+package com.schoolmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReport {
+    private final String target;
+    private final int maxReportedErrors;
+    private final List<ImportRowError> errors = new ArrayList<>();
+    private final List<ImportRowError> flagged = new ArrayList<>();
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private long rowsFlagged;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    
+    public ImportReport(String target, int maxReportedErrors) {
+        this.target = target;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+    
+    public void rowRead() {
+        rowsRead++;
+    }
+    
+    public void imported(int count) {
+        rowsImported += count;
+    }
+    
+    public void reject(long row, String message) {
+        rowsRejected++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new ImportRowError(row, message));
+        }
+    }
+    
+    /**
+     * Notes a row that was accepted but needs a human look, e.g. a probable duplicate.
+     */
+    public void flag(long row, String message) {
+        rowsFlagged++;
+        if (flagged.size() < maxReportedErrors) {
+            flagged.add(new ImportRowError(row, message));
+        }
+    }
+    
+    public void finish(long elapsedNanos) {
+        this.elapsedMillis = elapsedNanos / 1_000_000;
+        this.rowsPerSecond = elapsedNanos == 0 ? 0 : rowsRead * 1_000_000_000.0 / elapsedNanos;
+    }
+    
+    public String getTarget() { return target; }
+    public long getRowsRead() { return rowsRead; }
+    public long getRowsImported() { return rowsImported; }
+    public long getRowsRejected() { return rowsRejected; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public double getRowsPerSecond() { return rowsPerSecond; }
+    public long getRowsFlagged() { return rowsFlagged; }
+    public List<ImportRowError> getErrors() { return errors; }
+    public List<ImportRowError> getFlagged() { return flagged; }
+    
+    public boolean isErrorsTruncated() {
+        return rowsRejected > errors.size();
+    }
+}
@@ -0,0 +1,14 @@
+package com.schoolmanagement.dto;
+
+public class ImportRowError {
+    private final long row;
+    private final String message;
+    
+    public ImportRowError(long row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+    
+    public long getRow() { return row; }
+    public String getMessage() { return message; }
+}
@@ -0,0 +1,20 @@
+package com.schoolmanagement.dto;
+
+import java.util.List;
+
+public class KeysetPage<T> {
+    private final List<T> items;
+    private final String nextCursor;
+    
+    public KeysetPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+    
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
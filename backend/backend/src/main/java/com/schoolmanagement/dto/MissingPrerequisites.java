@@ -0,0 +1,16 @@
+package com.schoolmanagement.dto;
+
+import java.util.List;
+
+public class MissingPrerequisites {
+    private final Long studentId;
+    private final List<String> missingSubjectCodes;
+    
+    public MissingPrerequisites(Long studentId, List<String> missingSubjectCodes) {
+        this.studentId = studentId;
+        this.missingSubjectCodes = missingSubjectCodes;
+    }
+    
+    public Long getStudentId() { return studentId; }
+    public List<String> getMissingSubjectCodes() { return missingSubjectCodes; }
+}
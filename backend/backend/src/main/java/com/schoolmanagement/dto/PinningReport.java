@@ -0,0 +1,22 @@
+package com.schoolmanagement.dto;
+
+import java.util.List;
+
+public class PinningReport {
+    private final boolean active;
+    private final long thresholdMillis;
+    private final long totalEvents;
+    private final List<PinningSite> sites;
+    
+    public PinningReport(boolean active, long thresholdMillis, long totalEvents, List<PinningSite> sites) {
+        this.active = active;
+        this.thresholdMillis = thresholdMillis;
+        this.totalEvents = totalEvents;
+        this.sites = sites;
+    }
+    
+    public boolean isActive() { return active; }
+    public long getThresholdMillis() { return thresholdMillis; }
+    public long getTotalEvents() { return totalEvents; }
+    public List<PinningSite> getSites() { return sites; }
+}
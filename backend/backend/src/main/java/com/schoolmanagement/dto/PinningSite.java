@@ -0,0 +1,20 @@
+package com.schoolmanagement.dto;
+
+public class PinningSite {
+    private final String frame;
+    private final long events;
+    private final double totalMillis;
+    private final double maxMillis;
+    
+    public PinningSite(String frame, long events, double totalMillis, double maxMillis) {
+        this.frame = frame;
+        this.events = events;
+        this.totalMillis = totalMillis;
+        this.maxMillis = maxMillis;
+    }
+    
+    public String getFrame() { return frame; }
+    public long getEvents() { return events; }
+    public double getTotalMillis() { return totalMillis; }
+    public double getMaxMillis() { return maxMillis; }
+}
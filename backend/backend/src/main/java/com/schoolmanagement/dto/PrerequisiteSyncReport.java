@@ -0,0 +1,26 @@
+package com.schoolmanagement.dto;
+
+import java.util.List;
+
+public class PrerequisiteSyncReport {
+    private final int subjectsParsed;
+    private final int edgesAdded;
+    private final int edgesRemoved;
+    private final List<String> unresolved;
+    private final List<String> rejectedCycles;
+    
+    public PrerequisiteSyncReport(int subjectsParsed, int edgesAdded, int edgesRemoved,
+                                  List<String> unresolved, List<String> rejectedCycles) {
+        this.subjectsParsed = subjectsParsed;
+        this.edgesAdded = edgesAdded;
+        this.edgesRemoved = edgesRemoved;
+        this.unresolved = unresolved;
+        this.rejectedCycles = rejectedCycles;
+    }
+    
+    public int getSubjectsParsed() { return subjectsParsed; }
+    public int getEdgesAdded() { return edgesAdded; }
+    public int getEdgesRemoved() { return edgesRemoved; }
+    public List<String> getUnresolved() { return unresolved; }
+    public List<String> getRejectedCycles() { return rejectedCycles; }
+}
@@ -0,0 +1,19 @@
+package com.schoolmanagement.dto;
+
+public class RoomSpec {
+    private String name;
+    private int capacity;
+    
+    public RoomSpec() {}
+    
+    public RoomSpec(String name, int capacity) {
+        this.name = name;
+        this.capacity = capacity;
+    }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public int getCapacity() { return capacity; }
+    public void setCapacity(int capacity) { this.capacity = capacity; }
+}
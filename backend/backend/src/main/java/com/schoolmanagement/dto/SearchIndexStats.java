@@ -0,0 +1,25 @@
+package com.schoolmanagement.dto;
+
+import java.time.LocalDateTime;
+
+public class SearchIndexStats {
+    private final int documents;
+    private final int tokens;
+    private final int trigrams;
+    private final long lastRebuildMillis;
+    private final LocalDateTime lastRebuildAt;
+    
+    public SearchIndexStats(int documents, int tokens, int trigrams, long lastRebuildMillis, LocalDateTime lastRebuildAt) {
+        this.documents = documents;
+        this.tokens = tokens;
+        this.trigrams = trigrams;
+        this.lastRebuildMillis = lastRebuildMillis;
+        this.lastRebuildAt = lastRebuildAt;
+    }
+    
+    public int getDocuments() { return documents; }
+    public int getTokens() { return tokens; }
+    public int getTrigrams() { return trigrams; }
+    public long getLastRebuildMillis() { return lastRebuildMillis; }
+    public LocalDateTime getLastRebuildAt() { return lastRebuildAt; }
+}
@@ -0,0 +1,23 @@
+package com.schoolmanagement.dto;
+
+public class SearchResult {
+    private final String type;
+    private final Long id;
+    private final String title;
+    private final String subtitle;
+    private final double score;
+    
+    public SearchResult(String type, Long id, String title, String subtitle, double score) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.subtitle = subtitle;
+        this.score = score;
+    }
+    
+    public String getType() { return type; }
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getSubtitle() { return subtitle; }
+    public double getScore() { return score; }
+}
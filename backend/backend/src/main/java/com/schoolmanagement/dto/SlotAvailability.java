@@ -0,0 +1,33 @@
+package com.schoolmanagement.dto;
+
+public class SlotAvailability {
+    private final Long slotId;
+    private final Long classId;
+    private final Long subjectId;
+    private final int capacity;
+    private final int available;
+    private final long confirmed;
+    private final long waitlisted;
+    private final Long version;
+    
+    public SlotAvailability(Long slotId, Long classId, Long subjectId, int capacity, int available, long confirmed,
+                            long waitlisted, Long version) {
+        this.slotId = slotId;
+        this.classId = classId;
+        this.subjectId = subjectId;
+        this.capacity = capacity;
+        this.available = available;
+        this.confirmed = confirmed;
+        this.waitlisted = waitlisted;
+        this.version = version;
+    }
+    
+    public Long getSlotId() { return slotId; }
+    public Long getClassId() { return classId; }
+    public Long getSubjectId() { return subjectId; }
+    public int getCapacity() { return capacity; }
+    public int getAvailable() { return available; }
+    public long getConfirmed() { return confirmed; }
+    public long getWaitlisted() { return waitlisted; }
+    public Long getVersion() { return version; }
+}
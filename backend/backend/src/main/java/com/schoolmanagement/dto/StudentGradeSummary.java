@@ -0,0 +1,37 @@
+package com.schoolmanagement.dto;
+
+public class StudentGradeSummary {
+    private final Long studentId;
+    private final Long classId;
+    private final long gradeCount;
+    private final double totalCredits;
+    private final double weightedAverage;
+    private final double variance;
+    private final double gpa;
+    private final int rankInClass;
+    private final int classSize;
+    
+    public StudentGradeSummary(Long studentId, Long classId, long gradeCount, double totalCredits,
+                               double weightedAverage, double variance, double gpa, int rankInClass, int classSize) {
+        this.studentId = studentId;
+        this.classId = classId;
+        this.gradeCount = gradeCount;
+        this.totalCredits = totalCredits;
+        this.weightedAverage = weightedAverage;
+        this.variance = variance;
+        this.gpa = gpa;
+        this.rankInClass = rankInClass;
+        this.classSize = classSize;
+    }
+    
+    public Long getStudentId() { return studentId; }
+    public Long getClassId() { return classId; }
+    public long getGradeCount() { return gradeCount; }
+    public double getTotalCredits() { return totalCredits; }
+    public double getWeightedAverage() { return weightedAverage; }
+    public double getVariance() { return variance; }
+    public double getStandardDeviation() { return Math.sqrt(variance); }
+    public double getGpa() { return gpa; }
+    public int getRankInClass() { return rankInClass; }
+    public int getClassSize() { return classSize; }
+}
@@ -0,0 +1,37 @@
+package com.schoolmanagement.dto;
+
+import java.time.LocalDate;
+
+/**
+ * The identifying fields of a student about to be enrolled, checked against existing records.
+ */
+public class StudentIntake {
+    private String firstName;
+    private String lastName;
+    private LocalDate dateOfBirth;
+    private String parentGuardianPhone;
+    private String parentGuardianEmail;
+    private String postalCode;
+    private String address;
+    
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+    
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+    
+    public LocalDate getDateOfBirth() { return dateOfBirth; }
+    public void setDateOfBirth(LocalDate dateOfBirth) { this.dateOfBirth = dateOfBirth; }
+    
+    public String getParentGuardianPhone() { return parentGuardianPhone; }
+    public void setParentGuardianPhone(String parentGuardianPhone) { this.parentGuardianPhone = parentGuardianPhone; }
+    
+    public String getParentGuardianEmail() { return parentGuardianEmail; }
+    public void setParentGuardianEmail(String parentGuardianEmail) { this.parentGuardianEmail = parentGuardianEmail; }
+    
+    public String getPostalCode() { return postalCode; }
+    public void setPostalCode(String postalCode) { this.postalCode = postalCode; }
+    
+    public String getAddress() { return address; }
+    public void setAddress(String address) { this.address = address; }
+}
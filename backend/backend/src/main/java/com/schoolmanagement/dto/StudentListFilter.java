@@ -0,0 +1,22 @@
+package com.schoolmanagement.dto;
+
+import com.schoolmanagement.model.Student;
+
+public class StudentListFilter {
+    private Student.StudentStatus status;
+    private Long classId;
+    private String city;
+    private boolean includeClass;
+    
+    public Student.StudentStatus getStatus() { return status; }
+    public void setStatus(Student.StudentStatus status) { this.status = status; }
+    
+    public Long getClassId() { return classId; }
+    public void setClassId(Long classId) { this.classId = classId; }
+    
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+    
+    public boolean isIncludeClass() { return includeClass; }
+    public void setIncludeClass(boolean includeClass) { this.includeClass = includeClass; }
+}
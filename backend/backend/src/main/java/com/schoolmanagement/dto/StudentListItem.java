@@ -0,0 +1,47 @@
+package com.schoolmanagement.dto;
+
+import com.schoolmanagement.model.Student;
+
+public class StudentListItem {
+    private final Long id;
+    private final String studentId;
+    private final String firstName;
+    private final String lastName;
+    private final Student.StudentStatus status;
+    private final Student.Gender gender;
+    private final String city;
+    private final Long classId;
+    private final String className;
+    private final String classTeacherName;
+    
+    public StudentListItem(Long id, String studentId, String firstName, String lastName, Student.StudentStatus status,
+                           Student.Gender gender, String city, Long classId) {
+        this(id, studentId, firstName, lastName, status, gender, city, classId, null, null, null);
+    }
+    
+    public StudentListItem(Long id, String studentId, String firstName, String lastName, Student.StudentStatus status,
+                           Student.Gender gender, String city, Long classId, String className,
+                           String teacherFirstName, String teacherLastName) {
+        this.id = id;
+        this.studentId = studentId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.status = status;
+        this.gender = gender;
+        this.city = city;
+        this.classId = classId;
+        this.className = className;
+        this.classTeacherName = teacherLastName == null ? null : teacherFirstName + " " + teacherLastName;
+    }
+    
+    public Long getId() { return id; }
+    public String getStudentId() { return studentId; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public Student.StudentStatus getStatus() { return status; }
+    public Student.Gender getGender() { return gender; }
+    public String getCity() { return city; }
+    public Long getClassId() { return classId; }
+    public String getClassName() { return className; }
+    public String getClassTeacherName() { return classTeacherName; }
+}
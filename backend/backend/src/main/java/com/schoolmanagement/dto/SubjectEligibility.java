@@ -0,0 +1,29 @@
+package com.schoolmanagement.dto;
+
+import java.util.List;
+
+public class SubjectEligibility {
+    private final Long subjectId;
+    private final String subjectCode;
+    private final boolean transitive;
+    private final List<String> requiredSubjectCodes;
+    private final List<Long> eligibleStudentIds;
+    private final List<MissingPrerequisites> ineligible;
+    
+    public SubjectEligibility(Long subjectId, String subjectCode, boolean transitive, List<String> requiredSubjectCodes,
+                              List<Long> eligibleStudentIds, List<MissingPrerequisites> ineligible) {
+        this.subjectId = subjectId;
+        this.subjectCode = subjectCode;
+        this.transitive = transitive;
+        this.requiredSubjectCodes = requiredSubjectCodes;
+        this.eligibleStudentIds = eligibleStudentIds;
+        this.ineligible = ineligible;
+    }
+    
+    public Long getSubjectId() { return subjectId; }
+    public String getSubjectCode() { return subjectCode; }
+    public boolean isTransitive() { return transitive; }
+    public List<String> getRequiredSubjectCodes() { return requiredSubjectCodes; }
+    public List<Long> getEligibleStudentIds() { return eligibleStudentIds; }
+    public List<MissingPrerequisites> getIneligible() { return ineligible; }
+}
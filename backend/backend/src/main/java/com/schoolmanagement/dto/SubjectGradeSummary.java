@@ -0,0 +1,21 @@
+package com.schoolmanagement.dto;
+
+public class SubjectGradeSummary {
+    private final Long subjectId;
+    private final long gradeCount;
+    private final double average;
+    private final double variance;
+    
+    public SubjectGradeSummary(Long subjectId, long gradeCount, double average, double variance) {
+        this.subjectId = subjectId;
+        this.gradeCount = gradeCount;
+        this.average = average;
+        this.variance = variance;
+    }
+    
+    public Long getSubjectId() { return subjectId; }
+    public long getGradeCount() { return gradeCount; }
+    public double getAverage() { return average; }
+    public double getVariance() { return variance; }
+    public double getStandardDeviation() { return Math.sqrt(variance); }
+}
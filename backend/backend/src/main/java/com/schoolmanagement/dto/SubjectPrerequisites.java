@@ -0,0 +1,22 @@
+package com.schoolmanagement.dto;
+
+import java.util.List;
+
+public class SubjectPrerequisites {
+    private final Long subjectId;
+    private final String subjectCode;
+    private final List<String> direct;
+    private final List<String> transitive;
+    
+    public SubjectPrerequisites(Long subjectId, String subjectCode, List<String> direct, List<String> transitive) {
+        this.subjectId = subjectId;
+        this.subjectCode = subjectCode;
+        this.direct = direct;
+        this.transitive = transitive;
+    }
+    
+    public Long getSubjectId() { return subjectId; }
+    public String getSubjectCode() { return subjectCode; }
+    public List<String> getDirect() { return direct; }
+    public List<String> getTransitive() { return transitive; }
+}
@@ -0,0 +1,22 @@
+package com.schoolmanagement.dto;
+
+import com.schoolmanagement.model.Teacher;
+
+public class TeacherListFilter {
+    private Teacher.TeacherStatus status;
+    private Long classId;
+    private String city;
+    private String department;
+    
+    public Teacher.TeacherStatus getStatus() { return status; }
+    public void setStatus(Teacher.TeacherStatus status) { this.status = status; }
+    
+    public Long getClassId() { return classId; }
+    public void setClassId(Long classId) { this.classId = classId; }
+    
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+    
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+}
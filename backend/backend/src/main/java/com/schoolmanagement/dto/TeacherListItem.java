@@ -0,0 +1,35 @@
+package com.schoolmanagement.dto;
+
+import com.schoolmanagement.model.Teacher;
+
+public class TeacherListItem {
+    private final Long id;
+    private final String teacherId;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final Teacher.TeacherStatus status;
+    private final String city;
+    private final String specialization;
+    
+    public TeacherListItem(Long id, String teacherId, String firstName, String lastName, String email,
+                           Teacher.TeacherStatus status, String city, String specialization) {
+        this.id = id;
+        this.teacherId = teacherId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.status = status;
+        this.city = city;
+        this.specialization = specialization;
+    }
+    
+    public Long getId() { return id; }
+    public String getTeacherId() { return teacherId; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public String getEmail() { return email; }
+    public Teacher.TeacherStatus getStatus() { return status; }
+    public String getCity() { return city; }
+    public String getSpecialization() { return specialization; }
+}
@@ -0,0 +1,36 @@
+package com.schoolmanagement.dto;
+
+public class TimetableEntry {
+    private final Long classId;
+    private final String className;
+    private final Long subjectId;
+    private final String subjectCode;
+    private final Long teacherId;
+    private final String teacherName;
+    private final String room;
+    private final int day;
+    private final int period;
+    
+    public TimetableEntry(Long classId, String className, Long subjectId, String subjectCode, Long teacherId,
+                          String teacherName, String room, int day, int period) {
+        this.classId = classId;
+        this.className = className;
+        this.subjectId = subjectId;
+        this.subjectCode = subjectCode;
+        this.teacherId = teacherId;
+        this.teacherName = teacherName;
+        this.room = room;
+        this.day = day;
+        this.period = period;
+    }
+    
+    public Long getClassId() { return classId; }
+    public String getClassName() { return className; }
+    public Long getSubjectId() { return subjectId; }
+    public String getSubjectCode() { return subjectCode; }
+    public Long getTeacherId() { return teacherId; }
+    public String getTeacherName() { return teacherName; }
+    public String getRoom() { return room; }
+    public int getDay() { return day; }
+    public int getPeriod() { return period; }
+}
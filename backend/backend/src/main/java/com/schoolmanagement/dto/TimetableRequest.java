@@ -0,0 +1,42 @@
+package com.schoolmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inputs not stored in the schema. Slots are numbered day * periodsPerDay + period.
+ * Without classSubjects a class takes the subjects its students are graded in; without
+ * rooms each class gets a room sized to it.
+ */
+public class TimetableRequest {
+    private int days = 5;
+    private int periodsPerDay = 8;
+    private List<RoomSpec> rooms = new ArrayList<>();
+    private Map<Long, List<Long>> classSubjects = new HashMap<>();
+    private Map<Long, List<Integer>> teacherUnavailableSlots = new HashMap<>();
+    private long timeLimitMillis = 10_000;
+    private long seed = 1;
+    
+    public int getDays() { return days; }
+    public void setDays(int days) { this.days = days; }
+    
+    public int getPeriodsPerDay() { return periodsPerDay; }
+    public void setPeriodsPerDay(int periodsPerDay) { this.periodsPerDay = periodsPerDay; }
+    
+    public List<RoomSpec> getRooms() { return rooms; }
+    public void setRooms(List<RoomSpec> rooms) { this.rooms = rooms; }
+    
+    public Map<Long, List<Long>> getClassSubjects() { return classSubjects; }
+    public void setClassSubjects(Map<Long, List<Long>> classSubjects) { this.classSubjects = classSubjects; }
+    
+    public Map<Long, List<Integer>> getTeacherUnavailableSlots() { return teacherUnavailableSlots; }
+    public void setTeacherUnavailableSlots(Map<Long, List<Integer>> teacherUnavailableSlots) { this.teacherUnavailableSlots = teacherUnavailableSlots; }
+    
+    public long getTimeLimitMillis() { return timeLimitMillis; }
+    public void setTimeLimitMillis(long timeLimitMillis) { this.timeLimitMillis = timeLimitMillis; }
+    
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+}
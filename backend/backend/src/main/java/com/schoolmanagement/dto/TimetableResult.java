@@ -0,0 +1,43 @@
+package com.schoolmanagement.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class TimetableResult {
+    private final boolean feasible;
+    private final int hardViolations;
+    private final int softPenalty;
+    private final int lessons;
+    private final long solveMillis;
+    private final int workers;
+    private final long iterations;
+    private final List<String> unstaffed;
+    private final List<TimetableEntry> entries;
+    private final LocalDateTime generatedAt;
+    
+    public TimetableResult(boolean feasible, int hardViolations, int softPenalty, int lessons, long solveMillis,
+                           int workers, long iterations, List<String> unstaffed, List<TimetableEntry> entries,
+                           LocalDateTime generatedAt) {
+        this.feasible = feasible;
+        this.hardViolations = hardViolations;
+        this.softPenalty = softPenalty;
+        this.lessons = lessons;
+        this.solveMillis = solveMillis;
+        this.workers = workers;
+        this.iterations = iterations;
+        this.unstaffed = unstaffed;
+        this.entries = entries;
+        this.generatedAt = generatedAt;
+    }
+    
+    public boolean isFeasible() { return feasible; }
+    public int getHardViolations() { return hardViolations; }
+    public int getSoftPenalty() { return softPenalty; }
+    public int getLessons() { return lessons; }
+    public long getSolveMillis() { return solveMillis; }
+    public int getWorkers() { return workers; }
+    public long getIterations() { return iterations; }
+    public List<String> getUnstaffed() { return unstaffed; }
+    public List<TimetableEntry> getEntries() { return entries; }
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+}
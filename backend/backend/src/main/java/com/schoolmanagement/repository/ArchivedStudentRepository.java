@@ -0,0 +1,18 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.model.ArchivedStudent;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ArchivedStudentRepository extends JpaRepository<ArchivedStudent, Long> {
+    
+    Optional<ArchivedStudent> findByStudentCode(String studentCode);
+    
+    /**
+     * (students, grades, attendances, raw bytes, compressed bytes) over the whole archive.
+     */
+    @Query("select count(a), coalesce(sum(a.gradeCount), 0), coalesce(sum(a.attendanceCount), 0), "
+            + "coalesce(sum(a.rawBytes), 0), coalesce(sum(a.compressedBytes), 0) from ArchivedStudent a")
+    Object[] totals();
+}
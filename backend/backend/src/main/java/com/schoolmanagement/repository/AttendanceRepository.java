@@ -0,0 +1,15 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.model.Attendance;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
+    
+    @Query("select a from Attendance a where a.date = :date and a.student.id in :studentIds")
+    List<Attendance> findByDateAndStudentIds(@Param("date") LocalDate date, @Param("studentIds") Collection<Long> studentIds);
+}
@@ -0,0 +1,20 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.model.AttendanceSubmissionKey;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface AttendanceSubmissionKeyRepository extends JpaRepository<AttendanceSubmissionKey, String> {
+    
+    @Query("select k.idempotencyKey from AttendanceSubmissionKey k where k.idempotencyKey in :keys")
+    List<String> findExistingKeys(@Param("keys") Collection<String> keys);
+    
+    @Modifying
+    @Query("delete from AttendanceSubmissionKey k where k.appliedAt < :cutoff")
+    int deleteAppliedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
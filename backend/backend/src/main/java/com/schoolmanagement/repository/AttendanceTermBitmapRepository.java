@@ -0,0 +1,28 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.model.AttendanceTermBitmap;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+public interface AttendanceTermBitmapRepository extends JpaRepository<AttendanceTermBitmap, Long> {
+    
+    Optional<AttendanceTermBitmap> findByStudentIdAndTermStart(Long studentId, LocalDate termStart);
+    
+    @Query("select b from AttendanceTermBitmap b")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<AttendanceTermBitmap> streamAll();
+    
+    /**
+     * Raw attendance marks as scalars (student id, class id, date, status), for rebuilding bitmaps
+     * without materializing Attendance entities.
+     */
+    @Query("select s.id, c.id, a.date, a.status from Attendance a join a.student s left join s.schoolClass c")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamAttendanceMarks();
+}
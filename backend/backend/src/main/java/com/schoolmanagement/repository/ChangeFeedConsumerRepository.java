@@ -0,0 +1,19 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.model.ChangeFeedConsumer;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ChangeFeedConsumerRepository extends JpaRepository<ChangeFeedConsumer, String> {
+    
+    /**
+     * Moves the consumer forward only; a stale or repeated ack is a no-op.
+     */
+    @Modifying
+    @Query("update ChangeFeedConsumer c set c.ackedEventId = :upTo, c.ackedAt = :now "
+            + "where c.name = :name and c.ackedEventId < :upTo")
+    int advance(@Param("name") String name, @Param("upTo") long upTo, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,55 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.model.DailyRollup;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+public interface DailyRollupRepository extends JpaRepository<DailyRollup, Long> {
+    
+    List<DailyRollup> findByDay(LocalDate day);
+    
+    /**
+     * Net amount per (dimension, key, metric, day), however many uncompacted rows each has.
+     */
+    @Query("select r.dimension, r.dimensionKey, r.metric, r.day, sum(r.amount) from DailyRollup r "
+            + "group by r.dimension, r.dimensionKey, r.metric, r.day")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamTotals();
+    
+    /**
+     * Days holding more than one row for the same metric and scope, oldest first.
+     */
+    @Query("select distinct r.day from DailyRollup r group by r.dimension, r.dimensionKey, r.metric, r.day "
+            + "having count(r) > 1 order by r.day")
+    List<LocalDate> findDaysToCompact(Pageable page);
+    
+    /**
+     * Student facts as scalars (status, gender, class id, enrollment date), for rebuilding
+     * rollups without materializing Student entities.
+     */
+    @Query("select s.status, s.gender, c.id, s.enrollmentDate from Student s left join s.schoolClass c")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamStudentFacts();
+    
+    /**
+     * Teacher facts as scalars (status, specialization, years of experience, salary, hire date).
+     */
+    @Query("select t.status, t.specialization, t.yearsExperience, t.salary, t.hireDate from Teacher t")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamTeacherFacts();
+    
+    /**
+     * Attendance marks counted per (class id, date, status).
+     */
+    @Query("select c.id, a.date, a.status, count(a) from Attendance a join a.student s left join s.schoolClass c "
+            + "group by c.id, a.date, a.status")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamAttendanceCounts();
+}
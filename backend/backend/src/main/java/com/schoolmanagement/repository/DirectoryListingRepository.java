@@ -0,0 +1,98 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.dto.StudentListFilter;
+import com.schoolmanagement.dto.StudentListItem;
+import com.schoolmanagement.dto.TeacherListFilter;
+import com.schoolmanagement.dto.TeacherListItem;
+import com.schoolmanagement.service.listing.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Keyset (seek) queries over students and teachers ordered by (lastName, id).
+ * Each page is one SQL statement selecting only list columns into DTOs; related
+ * class and teacher names are joined into the same statement when requested, so
+ * there are no per-row lazy loads. Relies on the (last_name, id) indexes.
+ */
+@Repository
+public class DirectoryListingRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public List<StudentListItem> findStudents(StudentListFilter filter, KeysetCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder("select new com.schoolmanagement.dto.StudentListItem(")
+                .append("s.id, s.studentId, s.firstName, s.lastName, s.status, s.gender, s.city, c.id");
+        if (filter.isIncludeClass()) {
+            jpql.append(", c.className, t.firstName, t.lastName) from Student s left join s.schoolClass c left join c.teacher t");
+        } else {
+            jpql.append(") from Student s left join s.schoolClass c");
+        }
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder where = new StringBuilder();
+        if (filter.getStatus() != null) {
+            and(where, "s.status = :status");
+            params.put("status", filter.getStatus());
+        }
+        if (filter.getClassId() != null) {
+            and(where, "c.id = :classId");
+            params.put("classId", filter.getClassId());
+        }
+        if (filter.getCity() != null) {
+            and(where, "s.city = :city");
+            params.put("city", filter.getCity());
+        }
+        seek(where, params, "s", after);
+        jpql.append(where).append(" order by s.lastName, s.id");
+        return run(entityManager.createQuery(jpql.toString(), StudentListItem.class), params, limit);
+    }
+    
+    public List<TeacherListItem> findTeachers(TeacherListFilter filter, KeysetCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder("select new com.schoolmanagement.dto.TeacherListItem(")
+                .append("t.id, t.teacherId, t.firstName, t.lastName, t.email, t.status, t.city, t.specialization)")
+                .append(" from Teacher t");
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder where = new StringBuilder();
+        if (filter.getStatus() != null) {
+            and(where, "t.status = :status");
+            params.put("status", filter.getStatus());
+        }
+        if (filter.getCity() != null) {
+            and(where, "t.city = :city");
+            params.put("city", filter.getCity());
+        }
+        if (filter.getClassId() != null) {
+            and(where, "exists (select 1 from SchoolClass c where c.teacher = t and c.id = :classId)");
+            params.put("classId", filter.getClassId());
+        }
+        if (filter.getDepartment() != null) {
+            and(where, "exists (select 1 from TeacherSubject ts where ts.teacher = t and ts.subject.department = :department)");
+            params.put("department", filter.getDepartment());
+        }
+        seek(where, params, "t", after);
+        jpql.append(where).append(" order by t.lastName, t.id");
+        return run(entityManager.createQuery(jpql.toString(), TeacherListItem.class), params, limit);
+    }
+    
+    private static void seek(StringBuilder where, Map<String, Object> params, String alias, KeysetCursor after) {
+        if (after != null) {
+            and(where, "(" + alias + ".lastName > :afterLastName or (" + alias + ".lastName = :afterLastName and "
+                    + alias + ".id > :afterId))");
+            params.put("afterLastName", after.getLastName());
+            params.put("afterId", after.getId());
+        }
+    }
+    
+    private static void and(StringBuilder where, String condition) {
+        where.append(where.length() == 0 ? " where " : " and ").append(condition);
+    }
+    
+    private static <T> List<T> run(TypedQuery<T> query, Map<String, Object> params, int limit) {
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,39 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.model.Enrollment;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+    
+    @Query("select e from Enrollment e where e.slot.id = :slotId and e.student.id = :studentId")
+    Optional<Enrollment> findBySlotAndStudent(@Param("slotId") Long slotId, @Param("studentId") Long studentId);
+    
+    /**
+     * (slot id, seats held) counting reserved and confirmed enrollments.
+     */
+    @Query("select e.slot.id, count(e) from Enrollment e where e.status in "
+            + "(com.schoolmanagement.model.Enrollment.EnrollmentStatus.RESERVED, "
+            + "com.schoolmanagement.model.Enrollment.EnrollmentStatus.CONFIRMED) group by e.slot.id")
+    List<Object[]> countHeldSeats();
+    
+    @Query("select e from Enrollment e where e.slot.id = :slotId "
+            + "and e.status = com.schoolmanagement.model.Enrollment.EnrollmentStatus.WAITLISTED order by e.id")
+    List<Enrollment> findWaitlist(@Param("slotId") Long slotId, Pageable page);
+    
+    @Query("select count(e) from Enrollment e where e.slot.id = :slotId "
+            + "and e.status = com.schoolmanagement.model.Enrollment.EnrollmentStatus.WAITLISTED and e.id <= :enrollmentId")
+    long waitlistPosition(@Param("slotId") Long slotId, @Param("enrollmentId") Long enrollmentId);
+    
+    @Query("select count(e) from Enrollment e where e.slot.id = :slotId and e.status = :status")
+    long countBySlotAndStatus(@Param("slotId") Long slotId, @Param("status") Enrollment.EnrollmentStatus status);
+    
+    @Query("select e.id from Enrollment e where e.status = com.schoolmanagement.model.Enrollment.EnrollmentStatus.RESERVED "
+            + "and e.expiresAt < :now")
+    List<Long> findExpiredReservationIds(@Param("now") LocalDateTime now, Pageable page);
+}
@@ -0,0 +1,28 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.model.EnrollmentSlot;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface EnrollmentSlotRepository extends JpaRepository<EnrollmentSlot, Long> {
+    
+    /**
+     * (slot id, class id, subject id, capacity) for every slot.
+     */
+    @Query("select s.id, s.classId, s.subject.id, s.capacity from EnrollmentSlot s")
+    List<Object[]> findSlotCapacities();
+    
+    /**
+     * Sets confirmedSeats back to the slot's confirmed enrollments wherever the two differ,
+     * bumping the version; returns the number of slots corrected.
+     */
+    @Modifying
+    @Query("update EnrollmentSlot s set s.confirmedSeats = cast((select count(e) from Enrollment e where e.slot = s "
+            + "and e.status = com.schoolmanagement.model.Enrollment.EnrollmentStatus.CONFIRMED) as Integer), "
+            + "s.version = s.version + 1 "
+            + "where s.confirmedSeats <> (select count(e) from Enrollment e where e.slot = s "
+            + "and e.status = com.schoolmanagement.model.Enrollment.EnrollmentStatus.CONFIRMED)")
+    int reconcileConfirmedSeats();
+}
@@ -0,0 +1,43 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.model.Grade;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface GradeRepository extends JpaRepository<Grade, Long> {
+    
+    /**
+     * (student id, class id, subject id, subject credits, score, grade id) for every grade, as scalars.
+     */
+    @Query("select s.id, c.id, sub.id, sub.credits, g.score, g.id from Grade g join g.student s "
+            + "left join s.schoolClass c join g.subject sub where g.score is not null")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamGradeFacts();
+    
+    /**
+     * (score, subject credits, student gender, student status, student city, class name,
+     * subject department, subject type, subject name) for every grade.
+     */
+    @Query("select g.score, sub.credits, s.gender, s.status, s.city, c.className, sub.department, "
+            + "sub.subjectType, sub.subjectName from Grade g join g.student s left join s.schoolClass c "
+            + "join g.subject sub")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamAnalyticsFacts();
+    
+    /**
+     * Distinct (student id, subject id) pairs where the student scored at least passingScore,
+     * restricted to the given students and subjects.
+     */
+    @Query("select distinct g.student.id, g.subject.id from Grade g where g.student.id in :studentIds "
+            + "and g.subject.id in :subjectIds and g.score >= :passingScore")
+    List<Object[]> findPassedSubjects(@Param("studentIds") Collection<Long> studentIds,
+                                      @Param("subjectIds") Collection<Long> subjectIds,
+                                      @Param("passingScore") double passingScore);
+}
@@ -0,0 +1,23 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.model.OutboxEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    @Query("select e from OutboxEvent e where e.id > :after and e.id <= :upTo order by e.id")
+    List<OutboxEvent> findRange(@Param("after") long after, @Param("upTo") long upTo, Pageable page);
+    
+    @Query("select coalesce(max(e.id), 0) from OutboxEvent e")
+    long findMaxId();
+    
+    @Modifying
+    @Query("delete from OutboxEvent e where e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,42 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.model.Student;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Forward-only report-card rows: (student id, student number, first name, last name,
+ * class id, class name, subject code, subject name, credits, score), one row per grade
+ * and one row with null subject columns for a student without grades. Rows are ordered
+ * by student so writers can group them without buffering more than one student.
+ */
+public interface ReportCardRepository extends Repository<Student, Long> {
+    String ROW_SELECT = "select s.id, s.studentId, s.firstName, s.lastName, c.id, c.className, "
+            + "sub.subjectCode, sub.subjectName, sub.credits, g.score from Student s "
+            + "left join s.schoolClass c left join s.grades g left join g.subject sub ";
+    String ROW_ORDER = " order by s.lastName, s.id, sub.subjectCode";
+    
+    @Query(ROW_SELECT + ROW_ORDER)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Object[]> streamAll();
+    
+    @Query(ROW_SELECT + "where c.id = :classId" + ROW_ORDER)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Object[]> streamByClass(@Param("classId") Long classId);
+    
+    @Query(ROW_SELECT + "where c.id is null" + ROW_ORDER)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Object[]> streamUnassigned();
+    
+    @Query("select c.id from SchoolClass c order by c.id")
+    List<Long> findClassIds();
+}
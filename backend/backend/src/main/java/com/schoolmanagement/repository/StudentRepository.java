@@ -0,0 +1,83 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.model.Student;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface StudentRepository extends JpaRepository<Student, Long> {
+    
+    Optional<Student> findByStudentId(String studentId);
+    
+    /**
+     * Loads full entities for a listed page together with their class and class teacher
+     * in one statement, for callers that need more than the list projection.
+     */
+    @EntityGraph("Student.classAndTeacher")
+    List<Student> findByIdIn(Collection<Long> ids);
+    
+    /**
+     * (id, studentId, firstName, lastName, parentGuardianPhone) for every student.
+     */
+    @Query("select s.id, s.studentId, s.firstName, s.lastName, s.parentGuardianPhone from Student s")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamSearchFields();
+    
+    /**
+     * (id, studentId, firstName, lastName, dateOfBirth, parentGuardianPhone, postalCode,
+     * parentGuardianEmail, address) for every student.
+     */
+    @Query("select s.id, s.studentId, s.firstName, s.lastName, s.dateOfBirth, s.parentGuardianPhone, s.postalCode, "
+            + "s.parentGuardianEmail, s.address from Student s")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamMatchFields();
+    
+    /**
+     * (gender, status, city, state, class name, date of birth, enrollment date) for every student.
+     */
+    @Query("select s.gender, s.status, s.city, s.state, c.className, s.dateOfBirth, s.enrollmentDate "
+            + "from Student s left join s.schoolClass c")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamAnalyticsFields();
+    
+    /**
+     * Students in one of the given statuses, untouched since the cutoff and holding no live
+     * enrollment (only released ones), oldest change first.
+     */
+    @Query("select s.id from Student s where s.status in :statuses and s.updatedAt < :cutoff "
+            + "and not exists (select e.id from Enrollment e where e.student = s "
+            + "and e.status <> com.schoolmanagement.model.Enrollment.EnrollmentStatus.RELEASED) order by s.updatedAt, s.id")
+    List<Long> findArchivableIds(@Param("statuses") Collection<Student.StudentStatus> statuses,
+                                 @Param("cutoff") LocalDateTime cutoff, Pageable page);
+    
+    /**
+     * {@link #findArchivableIds} restricted to the given ids; re-checked inside the archiving
+     * transaction once the student rows are locked.
+     */
+    @Query("select s.id from Student s where s.id in :ids and s.status in :statuses and s.updatedAt < :cutoff "
+            + "and not exists (select e.id from Enrollment e where e.student = s "
+            + "and e.status <> com.schoolmanagement.model.Enrollment.EnrollmentStatus.RELEASED)")
+    List<Long> findArchivableAmong(@Param("ids") Collection<Long> ids,
+                                   @Param("statuses") Collection<Student.StudentStatus> statuses,
+                                   @Param("cutoff") LocalDateTime cutoff);
+    
+    @Query("select count(s) from Student s where s.status in :statuses")
+    long countByStatusIn(@Param("statuses") Collection<Student.StudentStatus> statuses);
+    
+    /**
+     * First page of the active-student directory, used to measure what archiving saves.
+     */
+    @Query("select s.id, s.studentId, s.firstName, s.lastName from Student s "
+            + "where s.status = com.schoolmanagement.model.Student.StudentStatus.ACTIVE order by s.lastName, s.id")
+    List<Object[]> findActivePage(Pageable page);
+}
@@ -0,0 +1,24 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.model.SubjectPrerequisite;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface SubjectPrerequisiteRepository extends JpaRepository<SubjectPrerequisite, Long> {
+    
+    /**
+     * (subject id, prerequisite id) for every edge.
+     */
+    @Query("select e.subject.id, e.prerequisite.id from SubjectPrerequisite e")
+    List<Object[]> findEdges();
+    
+    @Query("select e.prerequisite.id from SubjectPrerequisite e where e.subject.id = :subjectId")
+    List<Long> findPrerequisiteIds(@Param("subjectId") Long subjectId);
+    
+    @Modifying
+    @Query("delete from SubjectPrerequisite e where e.subject.id = :subjectId and e.prerequisite.id in :prerequisiteIds")
+    int deleteEdges(@Param("subjectId") Long subjectId, @Param("prerequisiteIds") List<Long> prerequisiteIds);
+}
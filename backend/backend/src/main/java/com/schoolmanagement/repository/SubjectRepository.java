@@ -0,0 +1,29 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.model.Subject;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+public interface SubjectRepository extends JpaRepository<Subject, Long> {
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Subject> findBySubjectCode(String subjectCode);
+    
+    /**
+     * (id, subjectCode, subjectName, department) for every subject.
+     */
+    @Query("select s.id, s.subjectCode, s.subjectName, s.department from Subject s")
+    Stream<Object[]> streamSearchFields();
+    
+    /**
+     * (id, subjectCode, subjectName, prerequisites) for every subject.
+     */
+    @Query("select s.id, s.subjectCode, s.subjectName, s.prerequisites from Subject s")
+    List<Object[]> findPrerequisiteColumns();
+}
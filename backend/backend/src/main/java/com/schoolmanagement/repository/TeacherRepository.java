@@ -0,0 +1,23 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.model.Teacher;
+import jakarta.persistence.QueryHint;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+public interface TeacherRepository extends JpaRepository<Teacher, Long> {
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Teacher> findByTeacherId(String teacherId);
+    
+    /**
+     * (id, teacherId, firstName, lastName, phoneNumber, email) for every teacher.
+     */
+    @Query("select t.id, t.teacherId, t.firstName, t.lastName, t.phoneNumber, t.email from Teacher t")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamSearchFields();
+}
@@ -0,0 +1,43 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.model.SchoolClass;
+import java.util.List;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Scalar inputs for timetable generation.
+ */
+public interface TimetableRepository extends Repository<SchoolClass, Long> {
+    
+    /**
+     * (class id, class name, student count).
+     */
+    @Query("select c.id, c.className, (select count(s) from Student s where s.schoolClass = c) from SchoolClass c order by c.id")
+    List<Object[]> findClassSizes();
+    
+    /**
+     * (teacher id, first name, last name, status).
+     */
+    @Query("select t.id, t.firstName, t.lastName, t.status from Teacher t order by t.id")
+    List<Object[]> findTeachers();
+    
+    /**
+     * (subject id, teacher id) for every teaching assignment.
+     */
+    @Query("select ts.subject.id, ts.teacher.id from TeacherSubject ts")
+    List<Object[]> findQualifications();
+    
+    /**
+     * (subject id, subject code, credits) for active subjects.
+     */
+    @Query("select s.id, s.subjectCode, s.credits from Subject s "
+            + "where s.status = com.schoolmanagement.model.Subject.SubjectStatus.ACTIVE order by s.id")
+    List<Object[]> findActiveSubjects();
+    
+    /**
+     * Distinct (class id, subject id) pairs that the class's students are graded in.
+     */
+    @Query("select distinct st.schoolClass.id, g.subject.id from Grade g join g.student st where st.schoolClass is not null")
+    List<Object[]> findGradedClassSubjects();
+}
@@ -0,0 +1,239 @@
+package com.schoolmanagement.service.analytics;
+
+import com.schoolmanagement.config.TenancyProperties;
+import com.schoolmanagement.dto.AnalyticsQuery;
+import com.schoolmanagement.dto.AnalyticsResult;
+import com.schoolmanagement.dto.AnalyticsSnapshotStats;
+import com.schoolmanagement.repository.GradeRepository;
+import com.schoolmanagement.repository.StudentRepository;
+import com.schoolmanagement.service.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Ad-hoc analytics over a columnar copy of students and grades, so analyses by gender,
+ * city, department or subject type never run against the transactional tables. Each
+ * tenant's snapshot is rebuilt every refresh-ms with one streaming read-only pass per table and
+ * swapped in whole; queries run on the snapshot current when they start, in parallel on
+ * a dedicated fork-join pool. Columns are held in direct buffers (size the JVM's
+ * -XX:MaxDirectMemorySize for about two snapshots per tenant, since the previous one is released
+ * only once collected).
+ *
+ * Tables:
+ * <ul>
+ *   <li>grades, one row per grade: dimensions gender, status, city, className, department,
+ *       subjectType, subject and scoreBand (ten-point band, e.g. "80-89"); measures score
+ *       and credits</li>
+ *   <li>students, one row per student: dimensions gender, status, city, state, className
+ *       and enrollmentYear; measure age (in whole years at the snapshot date)</li>
+ * </ul>
+ */
+@Service
+public class AnalyticsSnapshotService {
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsSnapshotService.class);
+    static final String GRADES = "grades";
+    static final String STUDENTS = "students";
+    
+    private final GradeRepository gradeRepository;
+    private final StudentRepository studentRepository;
+    private final TenancyProperties tenancy;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final boolean enabled;
+    private final ForkJoinPool pool;
+    private final ColumnarQueryExecutor executor;
+    
+    private final Map<String, TenantSnapshot> tenants = new ConcurrentHashMap<>();
+    
+    public AnalyticsSnapshotService(GradeRepository gradeRepository, StudentRepository studentRepository,
+                                    TenancyProperties tenancy, PlatformTransactionManager transactionManager,
+                                    @Value("${school.analytics.enabled:true}") boolean enabled,
+                                    @Value("${school.analytics.parallelism:0}") int parallelism,
+                                    @Value("${school.analytics.max-groups:100000}") int maxGroups) {
+        this.gradeRepository = gradeRepository;
+        this.studentRepository = studentRepository;
+        this.tenancy = tenancy;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.executor = new ColumnarQueryExecutor(pool, maxGroups);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshOnStartup() {
+        refreshAll();
+    }
+    
+    @Scheduled(fixedDelayString = "${school.analytics.refresh-ms:900000}",
+               initialDelayString = "${school.analytics.refresh-ms:900000}")
+    public void refreshInBackground() {
+        refreshAll();
+    }
+    
+    private void refreshAll() {
+        if (enabled) {
+            for (String tenant : tenancy.tenants()) {
+                TenantContext.runAs(tenant, this::refresh);
+            }
+        }
+    }
+    
+    /**
+     * Builds a fresh snapshot for the current tenant and swaps it in; queries keep using
+     * the old one until then.
+     */
+    public AnalyticsSnapshotStats refresh() {
+        if (!enabled) {
+            throw new IllegalStateException("Analytics snapshot is disabled");
+        }
+        TenantSnapshot tenant = tenant();
+        tenant.refreshLock.lock();
+        try {
+            return refresh(tenant);
+        } finally {
+            tenant.refreshLock.unlock();
+        }
+    }
+    
+    private AnalyticsSnapshotStats refresh(TenantSnapshot tenant) {
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        Map<String, ColumnarTable> tables = new LinkedHashMap<>();
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            tables.put(GRADES, buildGrades());
+            tables.put(STUDENTS, buildStudents(today));
+        });
+        Snapshot fresh = new Snapshot(tables, LocalDateTime.now(), (System.nanoTime() - start) / 1_000_000);
+        tenant.snapshot = fresh;
+        AnalyticsSnapshotStats stats = stats(fresh);
+        log.info("Analytics snapshot for {} built with {} grades and {} students ({} KiB off-heap) in {} ms",
+                TenantContext.current(), tables.get(GRADES).getRowCount(), tables.get(STUDENTS).getRowCount(), stats.getOffHeapBytes() / 1024,
+                fresh.buildMillis());
+        return stats;
+    }
+    
+    public AnalyticsResult query(AnalyticsQuery query) {
+        Snapshot current = requireSnapshot();
+        ColumnarTable table = current.tables().get(query.getTable());
+        if (table == null) {
+            throw new IllegalArgumentException("Unknown table '" + query.getTable() + "'; tables " + current.tables().keySet());
+        }
+        long start = System.nanoTime();
+        ColumnarQueryExecutor.Result result = executor.execute(table, query);
+        return new AnalyticsResult(table.getName(), current.builtAt(), result.rowsScanned(), result.rowsMatched(),
+                result.groups(), result.columns(), result.rows(), (System.nanoTime() - start) / 1_000);
+    }
+    
+    public AnalyticsSnapshotStats stats() {
+        return stats(requireSnapshot());
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+    
+    private TenantSnapshot tenant() {
+        return tenants.computeIfAbsent(TenantContext.current(), key -> new TenantSnapshot());
+    }
+    
+    private Snapshot requireSnapshot() {
+        Snapshot current = tenant().snapshot;
+        if (current == null) {
+            throw new IllegalStateException(enabled ? "Analytics snapshot is still loading" : "Analytics snapshot is disabled");
+        }
+        return current;
+    }
+    
+    private ColumnarTable buildGrades() {
+        ColumnarTable.Builder builder = ColumnarTable.builder(GRADES,
+                List.of("gender", "status", "city", "className", "department", "subjectType", "subject", "scoreBand"),
+                List.of("score", "credits"));
+        String[] dimensions = new String[8];
+        double[] measures = new double[2];
+        try (Stream<Object[]> facts = gradeRepository.streamAnalyticsFacts()) {
+            facts.forEach(row -> {
+                Double score = (Double) row[0];
+                for (int i = 0; i < 7; i++) {
+                    dimensions[i] = text(row[i + 2]);
+                }
+                dimensions[7] = score == null ? null : scoreBand(score);
+                measures[0] = number(score);
+                measures[1] = number(row[1]);
+                builder.add(dimensions, measures);
+            });
+        }
+        return builder.build();
+    }
+    
+    private ColumnarTable buildStudents(LocalDate today) {
+        ColumnarTable.Builder builder = ColumnarTable.builder(STUDENTS,
+                List.of("gender", "status", "city", "state", "className", "enrollmentYear"),
+                List.of("age"));
+        String[] dimensions = new String[6];
+        double[] measures = new double[1];
+        try (Stream<Object[]> rows = studentRepository.streamAnalyticsFields()) {
+            rows.forEach(row -> {
+                for (int i = 0; i < 5; i++) {
+                    dimensions[i] = text(row[i]);
+                }
+                LocalDate dateOfBirth = (LocalDate) row[5];
+                LocalDate enrollmentDate = (LocalDate) row[6];
+                dimensions[5] = enrollmentDate == null ? null : Integer.toString(enrollmentDate.getYear());
+                measures[0] = dateOfBirth == null ? Double.NaN : Period.between(dateOfBirth, today).getYears();
+                builder.add(dimensions, measures);
+            });
+        }
+        return builder.build();
+    }
+    
+    private static AnalyticsSnapshotStats stats(Snapshot snapshot) {
+        long offHeap = 0;
+        List<AnalyticsSnapshotStats.Table> tables = new ArrayList<>();
+        for (ColumnarTable table : snapshot.tables().values()) {
+            offHeap += table.offHeapBytes();
+            tables.add(new AnalyticsSnapshotStats.Table(table.getName(), table.getRowCount(), table.getDimensionNames(),
+                    table.getMeasureNames()));
+        }
+        return new AnalyticsSnapshotStats(snapshot.builtAt(), snapshot.buildMillis(), offHeap, tables);
+    }
+    
+    private static String scoreBand(double score) {
+        int low = (int) Math.floor(score / 10) * 10;
+        return low >= 90 ? "90-100" : low + "-" + (low + 9);
+    }
+    
+    private static String text(Object value) {
+        return value == null ? null : value.toString();
+    }
+    
+    private static double number(Object value) {
+        return value == null ? Double.NaN : ((Number) value).doubleValue();
+    }
+    
+    private record Snapshot(Map<String, ColumnarTable> tables, LocalDateTime builtAt, long buildMillis) {}
+    
+    private static final class TenantSnapshot {
+        private final ReentrantLock refreshLock = new ReentrantLock();
+        private volatile Snapshot snapshot;
+    }
+}
@@ -0,0 +1,323 @@
+package com.schoolmanagement.service.analytics;
+
+import com.schoolmanagement.dto.AnalyticsQuery;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs an AnalyticsQuery over a ColumnarTable. The row range is split into fork-join
+ * tasks; each task walks its rows in batches of BATCH, decoding a column's codes or
+ * values for the whole batch at once and narrowing a selection vector filter by filter,
+ * then adds the surviving rows into dense per-group arrays. Partial results are merged
+ * pairwise as tasks join.
+ *
+ * A group is addressed by the mixed-radix number of its dimension codes, so grouping is
+ * plain array indexing; the product of the grouped columns' cardinalities is capped by
+ * maxGroups.
+ */
+class ColumnarQueryExecutor {
+    static final int BATCH = 1024;
+    
+    private final ForkJoinPool pool;
+    private final int maxGroups;
+    
+    ColumnarQueryExecutor(ForkJoinPool pool, int maxGroups) {
+        this.pool = pool;
+        this.maxGroups = maxGroups;
+    }
+    
+    Result execute(ColumnarTable table, AnalyticsQuery query) {
+        Plan plan = plan(table, query);
+        int rows = table.getRowCount();
+        int threshold = Math.max(BATCH * 16, rows / (pool.getParallelism() * 4) + 1);
+        Partial total = pool.invoke(new ScanTask(plan, 0, rows, threshold));
+        
+        List<List<Object>> resultRows = new ArrayList<>();
+        long matched = 0;
+        int[] codes = new int[plan.groupColumns.length];
+        for (int key = 0; key < plan.groupCount; key++) {
+            long count = total.counts[key];
+            if (count == 0 && plan.groupColumns.length > 0) {
+                continue;
+            }
+            matched += count;
+            List<Object> row = new ArrayList<>(plan.groupColumns.length + plan.aggregates.length);
+            int rest = key;
+            for (int g = plan.groupColumns.length - 1; g >= 0; g--) {
+                codes[g] = rest % plan.groupColumns[g].cardinality();
+                rest /= plan.groupColumns[g].cardinality();
+            }
+            for (int g = 0; g < plan.groupColumns.length; g++) {
+                row.add(plan.groupColumns[g].value(codes[g]));
+            }
+            for (Aggregate aggregate : plan.aggregates) {
+                row.add(total.value(aggregate, key));
+            }
+            resultRows.add(row);
+        }
+        int groups = resultRows.size();
+        resultRows.sort(groupOrder(plan.groupColumns.length));
+        int limit = Math.max(0, query.getLimit());
+        return new Result(plan.columns, resultRows.size() > limit ? List.copyOf(resultRows.subList(0, limit)) : resultRows,
+                rows, matched, groups);
+    }
+    
+    record Result(List<String> columns, List<List<Object>> rows, long rowsScanned, long rowsMatched, int groups) {}
+    
+    private Plan plan(ColumnarTable table, AnalyticsQuery query) {
+        List<DictionaryColumn> dimensionFilters = new ArrayList<>();
+        List<boolean[]> accepted = new ArrayList<>();
+        List<MeasureColumn> rangeFilters = new ArrayList<>();
+        List<double[]> ranges = new ArrayList<>();
+        for (AnalyticsQuery.Filter filter : query.getFilters()) {
+            DictionaryColumn dimension = table.dimension(filter.getColumn());
+            MeasureColumn measure = table.measure(filter.getColumn());
+            if (dimension != null) {
+                if (filter.getValues() == null) {
+                    throw new IllegalArgumentException("Filter on " + filter.getColumn() + " needs values");
+                }
+                dimensionFilters.add(dimension);
+                accepted.add(dimension.accepting(filter.getValues()));
+            } else if (measure != null) {
+                rangeFilters.add(measure);
+                ranges.add(new double[] {
+                    filter.getMin() != null ? filter.getMin() : Double.NEGATIVE_INFINITY,
+                    filter.getMax() != null ? filter.getMax() : Double.POSITIVE_INFINITY
+                });
+            } else {
+                throw unknownColumn(table, filter.getColumn());
+            }
+        }
+        
+        DictionaryColumn[] groupColumns = new DictionaryColumn[query.getGroupBy().size()];
+        long groupCount = 1;
+        List<String> columns = new ArrayList<>();
+        for (int g = 0; g < groupColumns.length; g++) {
+            String name = query.getGroupBy().get(g);
+            groupColumns[g] = table.dimension(name);
+            if (groupColumns[g] == null) {
+                throw unknownColumn(table, name);
+            }
+            groupCount *= Math.max(1, groupColumns[g].cardinality());
+            if (groupCount > maxGroups) {
+                throw new IllegalArgumentException("Grouping by " + query.getGroupBy() + " allows more than "
+                        + maxGroups + " groups");
+            }
+            columns.add(name);
+        }
+        
+        List<AnalyticsQuery.Aggregate> requested = query.getAggregates().isEmpty()
+                ? List.of(new AnalyticsQuery.Aggregate(AnalyticsQuery.Function.COUNT, null))
+                : query.getAggregates();
+        Map<String, Integer> measureSlots = new LinkedHashMap<>();
+        List<MeasureColumn> measures = new ArrayList<>();
+        Aggregate[] aggregates = new Aggregate[requested.size()];
+        for (int a = 0; a < aggregates.length; a++) {
+            AnalyticsQuery.Aggregate aggregate = requested.get(a);
+            if (aggregate.getFunction() == null) {
+                throw new IllegalArgumentException("Aggregate function is required");
+            }
+            int slot = -1;
+            if (aggregate.getColumn() != null) {
+                MeasureColumn measure = table.measure(aggregate.getColumn());
+                if (measure == null) {
+                    throw unknownColumn(table, aggregate.getColumn());
+                }
+                slot = measureSlots.computeIfAbsent(measure.name(), name -> {
+                    measures.add(measure);
+                    return measures.size() - 1;
+                });
+            } else if (aggregate.getFunction() != AnalyticsQuery.Function.COUNT) {
+                throw new IllegalArgumentException(aggregate.getFunction() + " needs a measure column");
+            }
+            aggregates[a] = new Aggregate(aggregate.getFunction(), slot);
+            columns.add(aggregate.getColumn() == null ? "count"
+                    : aggregate.getFunction().name().toLowerCase() + "(" + aggregate.getColumn() + ")");
+        }
+        return new Plan(dimensionFilters.toArray(DictionaryColumn[]::new), accepted.toArray(boolean[][]::new),
+                rangeFilters.toArray(MeasureColumn[]::new), ranges.toArray(double[][]::new), groupColumns,
+                (int) groupCount, measures.toArray(MeasureColumn[]::new), aggregates, List.copyOf(columns));
+    }
+    
+    private static IllegalArgumentException unknownColumn(ColumnarTable table, String column) {
+        return new IllegalArgumentException("Unknown column '" + column + "' in " + table.getName() + "; dimensions "
+                + table.getDimensionNames() + ", measures " + table.getMeasureNames());
+    }
+    
+    /**
+     * Nulls first, then by string value, column by column.
+     */
+    private static Comparator<List<Object>> groupOrder(int groupColumns) {
+        Comparator<Object> value = Comparator.nullsFirst(Comparator.comparing(Object::toString));
+        Comparator<List<Object>> order = (a, b) -> 0;
+        for (int g = 0; g < groupColumns; g++) {
+            int index = g;
+            order = order.thenComparing(row -> row.get(index), value);
+        }
+        return order;
+    }
+    
+    private record Aggregate(AnalyticsQuery.Function function, int measure) {}
+    
+    private record Plan(DictionaryColumn[] dimensionFilters, boolean[][] accepted, MeasureColumn[] rangeFilters,
+                        double[][] ranges, DictionaryColumn[] groupColumns, int groupCount, MeasureColumn[] measures,
+                        Aggregate[] aggregates, List<String> columns) {}
+    
+    /**
+     * Per group: matching rows, and per measure the count of present values, sum, min and max.
+     */
+    private static final class Partial {
+        private final long[] counts;
+        private final long[][] present;
+        private final double[][] sums;
+        private final double[][] mins;
+        private final double[][] maxes;
+        
+        Partial(int groups, int measures) {
+            counts = new long[groups];
+            present = new long[measures][groups];
+            sums = new double[measures][groups];
+            mins = new double[measures][groups];
+            maxes = new double[measures][groups];
+            for (int m = 0; m < measures; m++) {
+                Arrays.fill(mins[m], Double.POSITIVE_INFINITY);
+                Arrays.fill(maxes[m], Double.NEGATIVE_INFINITY);
+            }
+        }
+        
+        void merge(Partial other) {
+            for (int key = 0; key < counts.length; key++) {
+                counts[key] += other.counts[key];
+            }
+            for (int m = 0; m < sums.length; m++) {
+                for (int key = 0; key < counts.length; key++) {
+                    present[m][key] += other.present[m][key];
+                    sums[m][key] += other.sums[m][key];
+                    mins[m][key] = Math.min(mins[m][key], other.mins[m][key]);
+                    maxes[m][key] = Math.max(maxes[m][key], other.maxes[m][key]);
+                }
+            }
+        }
+        
+        Object value(Aggregate aggregate, int key) {
+            int m = aggregate.measure();
+            boolean empty = m >= 0 && present[m][key] == 0;
+            return switch (aggregate.function()) {
+                case COUNT -> m < 0 ? counts[key] : present[m][key];
+                case SUM -> sums[m][key];
+                case AVG -> empty ? null : sums[m][key] / present[m][key];
+                case MIN -> empty ? null : mins[m][key];
+                case MAX -> empty ? null : maxes[m][key];
+            };
+        }
+    }
+    
+    private static final class ScanTask extends RecursiveTask<Partial> {
+        private final Plan plan;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        
+        ScanTask(Plan plan, int from, int to, int threshold) {
+            this.plan = plan;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+        
+        @Override
+        protected Partial compute() {
+            if (to - from > threshold) {
+                int mid = (from + to) >>> 1;
+                ScanTask right = new ScanTask(plan, mid, to, threshold);
+                right.fork();
+                Partial left = new ScanTask(plan, from, mid, threshold).compute();
+                left.merge(right.join());
+                return left;
+            }
+            return scan();
+        }
+        
+        private Partial scan() {
+            Partial partial = new Partial(plan.groupCount, plan.measures.length);
+            int[] selection = new int[BATCH];
+            int[] codes = new int[BATCH];
+            int[] keys = new int[BATCH];
+            double[] values = new double[BATCH];
+            for (int start = from; start < to; start += BATCH) {
+                int length = Math.min(BATCH, to - start);
+                int selected = length;
+                for (int i = 0; i < length; i++) {
+                    selection[i] = i;
+                }
+                for (int f = 0; f < plan.dimensionFilters.length && selected > 0; f++) {
+                    plan.dimensionFilters[f].decode(start, length, codes);
+                    boolean[] accepted = plan.accepted[f];
+                    int kept = 0;
+                    for (int i = 0; i < selected; i++) {
+                        int row = selection[i];
+                        if (accepted[codes[row]]) {
+                            selection[kept++] = row;
+                        }
+                    }
+                    selected = kept;
+                }
+                for (int f = 0; f < plan.rangeFilters.length && selected > 0; f++) {
+                    plan.rangeFilters[f].read(start, length, values);
+                    double min = plan.ranges[f][0];
+                    double max = plan.ranges[f][1];
+                    int kept = 0;
+                    for (int i = 0; i < selected; i++) {
+                        int row = selection[i];
+                        double value = values[row];
+                        if (value >= min && value <= max) {
+                            selection[kept++] = row;
+                        }
+                    }
+                    selected = kept;
+                }
+                if (selected == 0) {
+                    continue;
+                }
+                
+                Arrays.fill(keys, 0, length, 0);
+                for (DictionaryColumn column : plan.groupColumns) {
+                    column.decode(start, length, codes);
+                    int radix = column.cardinality();
+                    for (int i = 0; i < selected; i++) {
+                        int row = selection[i];
+                        keys[row] = keys[row] * radix + codes[row];
+                    }
+                }
+                for (int i = 0; i < selected; i++) {
+                    partial.counts[keys[selection[i]]]++;
+                }
+                for (int m = 0; m < plan.measures.length; m++) {
+                    plan.measures[m].read(start, length, values);
+                    long[] present = partial.present[m];
+                    double[] sums = partial.sums[m];
+                    double[] mins = partial.mins[m];
+                    double[] maxes = partial.maxes[m];
+                    for (int i = 0; i < selected; i++) {
+                        int row = selection[i];
+                        double value = values[row];
+                        if (!Double.isNaN(value)) {
+                            int key = keys[row];
+                            present[key]++;
+                            sums[key] += value;
+                            mins[key] = Math.min(mins[key], value);
+                            maxes[key] = Math.max(maxes[key], value);
+                        }
+                    }
+                }
+            }
+            return partial;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.schoolmanagement.service.analytics;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable table of dictionary-encoded dimension columns and double measure
+ * columns, all held off-heap. Built once per snapshot and only read afterwards, so any
+ * number of queries can scan it concurrently.
+ */
+public final class ColumnarTable {
+    private final String name;
+    private final int rowCount;
+    private final Map<String, DictionaryColumn> dimensions;
+    private final Map<String, MeasureColumn> measures;
+    
+    private ColumnarTable(String name, int rowCount, Map<String, DictionaryColumn> dimensions,
+                          Map<String, MeasureColumn> measures) {
+        this.name = name;
+        this.rowCount = rowCount;
+        this.dimensions = dimensions;
+        this.measures = measures;
+    }
+    
+    public String getName() { return name; }
+    public int getRowCount() { return rowCount; }
+    public List<String> getDimensionNames() { return List.copyOf(dimensions.keySet()); }
+    public List<String> getMeasureNames() { return List.copyOf(measures.keySet()); }
+    
+    DictionaryColumn dimension(String column) { return dimensions.get(column); }
+    
+    MeasureColumn measure(String column) { return measures.get(column); }
+    
+    public long offHeapBytes() {
+        long bytes = 0;
+        for (DictionaryColumn column : dimensions.values()) {
+            bytes += column.offHeapBytes();
+        }
+        for (MeasureColumn column : measures.values()) {
+            bytes += column.offHeapBytes();
+        }
+        return bytes;
+    }
+    
+    static Builder builder(String name, List<String> dimensionNames, List<String> measureNames) {
+        return new Builder(name, dimensionNames, measureNames);
+    }
+    
+    /**
+     * Appends rows into growing direct buffers, then narrows the dimension codes to the
+     * smallest width their dictionary allows. Not thread-safe.
+     */
+    static final class Builder {
+        private static final int INITIAL_CAPACITY = 4096;
+        private static final int MAX_ROWS = Integer.MAX_VALUE / Double.BYTES;
+        
+        private final String name;
+        private final List<String> dimensionNames;
+        private final List<String> measureNames;
+        private final List<Map<String, Integer>> codesByValue = new ArrayList<>();
+        private final List<List<String>> dictionaries = new ArrayList<>();
+        private final IntBuffer[] codes;
+        private final DoubleBuffer[] values;
+        private int capacity = INITIAL_CAPACITY;
+        private int rows;
+        
+        private Builder(String name, List<String> dimensionNames, List<String> measureNames) {
+            this.name = name;
+            this.dimensionNames = List.copyOf(dimensionNames);
+            this.measureNames = List.copyOf(measureNames);
+            this.codes = new IntBuffer[dimensionNames.size()];
+            this.values = new DoubleBuffer[measureNames.size()];
+            for (int i = 0; i < codes.length; i++) {
+                codesByValue.add(new HashMap<>());
+                dictionaries.add(new ArrayList<>());
+                codes[i] = ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+            }
+            for (int i = 0; i < values.length; i++) {
+                values[i] = ByteBuffer.allocateDirect(capacity * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+            }
+        }
+        
+        /**
+         * @param dimensionValues one value per dimension column, in declaration order
+         * @param measureValues one value per measure column, NaN when missing
+         */
+        void add(String[] dimensionValues, double[] measureValues) {
+            if (rows == capacity) {
+                grow();
+            }
+            for (int i = 0; i < codes.length; i++) {
+                List<String> dictionary = dictionaries.get(i);
+                int code = codesByValue.get(i).computeIfAbsent(dimensionValues[i], value -> {
+                    dictionary.add(value);
+                    return dictionary.size() - 1;
+                });
+                codes[i].put(rows, code);
+            }
+            for (int i = 0; i < values.length; i++) {
+                values[i].put(rows, measureValues[i]);
+            }
+            rows++;
+        }
+        
+        ColumnarTable build() {
+            Map<String, DictionaryColumn> dimensions = new LinkedHashMap<>();
+            for (int i = 0; i < codes.length; i++) {
+                String column = dimensionNames.get(i);
+                dimensions.put(column, new DictionaryColumn(column, dictionaries.get(i).toArray(String[]::new), codes[i], rows));
+            }
+            Map<String, MeasureColumn> measures = new LinkedHashMap<>();
+            for (int i = 0; i < values.length; i++) {
+                String column = measureNames.get(i);
+                measures.put(column, new MeasureColumn(column, values[i], rows));
+            }
+            return new ColumnarTable(name, rows, dimensions, measures);
+        }
+        
+        private void grow() {
+            if (capacity >= MAX_ROWS) {
+                throw new IllegalStateException("Analytics table " + name + " exceeds " + MAX_ROWS + " rows");
+            }
+            capacity = (int) Math.min(MAX_ROWS, (long) capacity * 2);
+            for (int i = 0; i < codes.length; i++) {
+                IntBuffer larger = ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+                larger.put(0, codes[i], 0, rows);
+                codes[i] = larger;
+            }
+            for (int i = 0; i < values.length; i++) {
+                DoubleBuffer larger = ByteBuffer.allocateDirect(capacity * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+                larger.put(0, values[i], 0, rows);
+                values[i] = larger;
+            }
+        }
+    }
+}
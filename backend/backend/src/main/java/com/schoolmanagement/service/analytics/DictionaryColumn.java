@@ -0,0 +1,83 @@
+package com.schoolmanagement.service.analytics;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * A string or enum column stored as dictionary codes in a direct buffer. Codes take one,
+ * two or four bytes per row depending on the number of distinct values, so a gender or
+ * subject type column costs one byte per row however long the strings are. Null is a
+ * dictionary entry like any other value.
+ */
+final class DictionaryColumn {
+    private final String name;
+    private final String[] dictionary;
+    private final int width;
+    private final ByteBuffer codes;
+    
+    DictionaryColumn(String name, String[] dictionary, IntBuffer source, int rows) {
+        this.name = name;
+        this.dictionary = dictionary;
+        this.width = dictionary.length <= 1 << 8 ? 1 : dictionary.length <= 1 << 16 ? 2 : 4;
+        this.codes = ByteBuffer.allocateDirect(Math.max(1, rows * width)).order(ByteOrder.nativeOrder());
+        for (int row = 0; row < rows; row++) {
+            int code = source.get(row);
+            switch (width) {
+                case 1 -> codes.put(row, (byte) code);
+                case 2 -> codes.putShort(row << 1, (short) code);
+                default -> codes.putInt(row << 2, code);
+            }
+        }
+    }
+    
+    String name() { return name; }
+    
+    int cardinality() { return dictionary.length; }
+    
+    String value(int code) { return dictionary[code]; }
+    
+    long offHeapBytes() { return codes.capacity(); }
+    
+    /**
+     * Decodes the codes of rows [from, from + length) into out.
+     */
+    void decode(int from, int length, int[] out) {
+        switch (width) {
+            case 1 -> {
+                for (int i = 0; i < length; i++) {
+                    out[i] = codes.get(from + i) & 0xFF;
+                }
+            }
+            case 2 -> {
+                for (int i = 0; i < length; i++) {
+                    out[i] = codes.getShort((from + i) << 1) & 0xFFFF;
+                }
+            }
+            default -> {
+                for (int i = 0; i < length; i++) {
+                    out[i] = codes.getInt((from + i) << 2);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Per code, whether its value is one of the given values; values not in the
+     * dictionary simply match nothing.
+     */
+    boolean[] accepting(Collection<String> values) {
+        boolean[] accepted = new boolean[dictionary.length];
+        for (int code = 0; code < dictionary.length; code++) {
+            for (String value : values) {
+                if (Objects.equals(dictionary[code], value)) {
+                    accepted[code] = true;
+                    break;
+                }
+            }
+        }
+        return accepted;
+    }
+}
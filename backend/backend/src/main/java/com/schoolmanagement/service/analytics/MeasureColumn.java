@@ -0,0 +1,32 @@
+package com.schoolmanagement.service.analytics;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+
+/**
+ * A numeric column as doubles in a direct buffer; a missing value is NaN.
+ */
+final class MeasureColumn {
+    private final String name;
+    private final DoubleBuffer values;
+    
+    MeasureColumn(String name, DoubleBuffer source, int rows) {
+        this.name = name;
+        this.values = ByteBuffer.allocateDirect(Math.max(Double.BYTES, rows * Double.BYTES))
+                .order(ByteOrder.nativeOrder())
+                .asDoubleBuffer();
+        this.values.put(0, source, 0, rows);
+    }
+    
+    String name() { return name; }
+    
+    long offHeapBytes() { return (long) values.capacity() * Double.BYTES; }
+    
+    /**
+     * Copies the values of rows [from, from + length) into out.
+     */
+    void read(int from, int length, double[] out) {
+        values.get(from, out, 0, length);
+    }
+}
@@ -0,0 +1,305 @@
+package com.schoolmanagement.service.archive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolmanagement.config.TenancyProperties;
+import com.schoolmanagement.dto.ArchiveReport;
+import com.schoolmanagement.dto.ArchivedStudentRecord;
+import com.schoolmanagement.model.ArchivedStudent;
+import com.schoolmanagement.model.Attendance;
+import com.schoolmanagement.model.Grade;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.repository.ArchivedStudentRepository;
+import com.schoolmanagement.repository.StudentRepository;
+import com.schoolmanagement.service.tenant.TenantContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves graduated, transferred and expelled students out of the live tables into
+ * archived_students, one compressed document per student.
+ *
+ * Runs incrementally in the background: each batch archives up to school.archive.batch-size
+ * students in one transaction, so a crash loses nothing and the next run carries on.
+ * Students are removed through the entity manager rather than bulk deletes, so their
+ * grades and attendances cascade with the usual post-commit events and the gradebook,
+ * attendance bitmaps, search index, caches and change feed all see the removal. Students
+ * with a reserved, confirmed or waitlisted enrollment are left alone.
+ *
+ * The active-student directory query is timed before the first batch of a process and
+ * after every run, so the report shows what archiving bought.
+ */
+@Service
+public class StudentArchiveService {
+    private static final Logger log = LoggerFactory.getLogger(StudentArchiveService.class);
+    private static final Set<Student.StudentStatus> ARCHIVABLE =
+            EnumSet.of(Student.StudentStatus.GRADUATED, Student.StudentStatus.TRANSFERRED, Student.StudentStatus.EXPELLED);
+    private static final int PROBE_RUNS = 5;
+    private static final int PROBE_PAGE = 50;
+    
+    private final StudentRepository studentRepository;
+    private final ArchivedStudentRepository archiveRepository;
+    private final TenancyProperties tenancy;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int graceDays;
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final Map<String, Double> baselineMs = new ConcurrentHashMap<>();
+    private final Map<String, Double> latestMs = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> archivedThisProcess = new ConcurrentHashMap<>();
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public StudentArchiveService(StudentRepository studentRepository, ArchivedStudentRepository archiveRepository,
+                                 TenancyProperties tenancy, ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${school.archive.enabled:true}") boolean enabled,
+                                 @Value("${school.archive.batch-size:100}") int batchSize,
+                                 @Value("${school.archive.max-batches-per-run:50}") int maxBatchesPerRun,
+                                 @Value("${school.archive.grace-days:30}") int graceDays) {
+        this.studentRepository = studentRepository;
+        this.archiveRepository = archiveRepository;
+        this.tenancy = tenancy;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.graceDays = graceDays;
+    }
+    
+    @Scheduled(fixedDelayString = "${school.archive.interval-ms:300000}",
+               initialDelayString = "${school.archive.initial-delay-ms:60000}")
+    public void archiveInBackground() {
+        if (enabled) {
+            for (String tenant : tenancy.tenants()) {
+                TenantContext.runAs(tenant, this::run);
+            }
+        }
+    }
+    
+    /**
+     * Archives the current tenant's candidates, up to max-batches-per-run batches.
+     */
+    public ArchiveReport run() {
+        runLock.lock();
+        try {
+            String tenant = TenantContext.current();
+            baselineMs.computeIfAbsent(tenant, t -> probeActiveQuery());
+            long archived = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int count = archiveBatch();
+                archived += count;
+                if (count < batchSize) {
+                    break;
+                }
+            }
+            if (archived > 0) {
+                archivedThisProcess.computeIfAbsent(tenant, t -> new AtomicLong()).addAndGet(archived);
+                latestMs.put(tenant, probeActiveQuery());
+                log.info("Archived {} students of {}; active directory query {} ms -> {} ms", archived, tenant,
+                        baselineMs.get(tenant), latestMs.get(tenant));
+            }
+            return report();
+        } finally {
+            runLock.unlock();
+        }
+    }
+    
+    public ArchiveReport report() {
+        String tenant = TenantContext.current();
+        Object[] totals = readOnlyTransactionTemplate.execute(status -> archiveRepository.totals());
+        long pending = readOnlyTransactionTemplate.execute(status -> studentRepository.countByStatusIn(ARCHIVABLE));
+        AtomicLong thisProcess = archivedThisProcess.get(tenant);
+        return new ArchiveReport(((Number) totals[0]).longValue(), ((Number) totals[1]).longValue(),
+                ((Number) totals[2]).longValue(), ((Number) totals[3]).longValue(), ((Number) totals[4]).longValue(),
+                pending, thisProcess == null ? 0 : thisProcess.get(), baselineMs.get(tenant),
+                latestMs.getOrDefault(tenant, baselineMs.get(tenant)));
+    }
+    
+    /**
+     * @throws IllegalArgumentException if no student with that code is archived
+     */
+    public ArchivedStudentRecord find(String studentId) {
+        return readOnlyTransactionTemplate.execute(status -> {
+            ArchivedStudent archived = archiveRepository.findByStudentCode(studentId)
+                    .orElseThrow(() -> new IllegalArgumentException("No archived student " + studentId));
+            return new ArchivedStudentRecord(archived.getId(), archived.getStudentCode(),
+                    archived.getStatus() == null ? null : archived.getStatus().name(), archived.getFirstName(),
+                    archived.getLastName(), archived.getArchivedAt(), gunzip(archived.getPayload()));
+        });
+    }
+    
+    private int archiveBatch() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(graceDays);
+        List<Long> ids = readOnlyTransactionTemplate.execute(status ->
+                studentRepository.findArchivableIds(ARCHIVABLE, cutoff, PageRequest.of(0, batchSize)));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return transactionTemplate.execute(status -> {
+            // lock the candidate rows, then re-check eligibility: a student may have been updated or
+            // taken a live enrollment since the candidate read
+            entityManager.createQuery("select s.id from Student s where s.id in :ids", Long.class)
+                    .setParameter("ids", ids)
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .getResultList();
+            List<Long> eligible = studentRepository.findArchivableAmong(ids, ARCHIVABLE, cutoff);
+            if (eligible.isEmpty()) {
+                return 0;
+            }
+            // two fetch joins over separate queries: both collections are bags
+            List<Student> students = entityManager.createQuery(
+                            "select distinct s from Student s left join fetch s.grades where s.id in :ids", Student.class)
+                    .setParameter("ids", eligible)
+                    .getResultList();
+            entityManager.createQuery("select distinct s from Student s left join fetch s.attendances where s.id in :ids",
+                            Student.class)
+                    .setParameter("ids", eligible)
+                    .getResultList();
+            Map<Long, List<Object[]>> enrollments = new HashMap<>();
+            for (Object[] row : entityManager.createQuery("select e.student.id, e.slot.id, e.status, e.createdAt "
+                            + "from Enrollment e where e.student.id in :ids", Object[].class)
+                    .setParameter("ids", eligible)
+                    .getResultList()) {
+                enrollments.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                        .add(Arrays.copyOfRange(row, 1, row.length));
+            }
+            for (Student student : students) {
+                byte[] json = document(student, enrollments.getOrDefault(student.getId(), List.of()));
+                entityManager.persist(new ArchivedStudent(student.getId(), student.getStudentId(), student.getStatus(),
+                        student.getFirstName(), student.getLastName(), sizeOf(student.getGrades()),
+                        sizeOf(student.getAttendances()), json.length, gzip(json)));
+            }
+            entityManager.flush();
+            // only released enrollments of archived students; a live one that still slips in fails the
+            // student delete on its foreign key and rolls the batch back instead of being dropped
+            entityManager.createQuery("delete from Enrollment e where e.student.id in :ids "
+                            + "and e.status = com.schoolmanagement.model.Enrollment.EnrollmentStatus.RELEASED")
+                    .setParameter("ids", eligible)
+                    .executeUpdate();
+            students.forEach(entityManager::remove);
+            return students.size();
+        });
+    }
+    
+    private byte[] document(Student student, List<Object[]> enrollments) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("id", student.getId());
+        values.put("studentId", student.getStudentId());
+        values.put("firstName", student.getFirstName());
+        values.put("lastName", student.getLastName());
+        values.put("dateOfBirth", student.getDateOfBirth());
+        values.put("gender", student.getGender());
+        values.put("status", student.getStatus());
+        values.put("enrollmentDate", student.getEnrollmentDate());
+        values.put("address", student.getAddress());
+        values.put("city", student.getCity());
+        values.put("state", student.getState());
+        values.put("postalCode", student.getPostalCode());
+        values.put("bloodGroup", student.getBloodGroup());
+        values.put("medicalConditions", student.getMedicalConditions());
+        values.put("parentGuardianName", student.getParentGuardianName());
+        values.put("parentGuardianPhone", student.getParentGuardianPhone());
+        values.put("parentGuardianEmail", student.getParentGuardianEmail());
+        values.put("emergencyContactName", student.getEmergencyContactName());
+        values.put("emergencyContactPhone", student.getEmergencyContactPhone());
+        values.put("profileImageUrl", student.getProfileImageUrl());
+        values.put("schoolClassId", student.getSchoolClass() == null ? null : student.getSchoolClass().getId());
+        values.put("createdAt", student.getCreatedAt());
+        values.put("updatedAt", student.getUpdatedAt());
+        // child rows as positional arrays; the column names are listed once
+        List<Object[]> grades = new ArrayList<>();
+        if (student.getGrades() != null) {
+            for (Grade grade : student.getGrades()) {
+                grades.add(new Object[] {grade.getId(), grade.getSubject() == null ? null : grade.getSubject().getId(),
+                        grade.getScore()});
+            }
+        }
+        values.put("gradeColumns", List.of("id", "subjectId", "score"));
+        values.put("grades", grades);
+        List<Object[]> attendances = new ArrayList<>();
+        if (student.getAttendances() != null) {
+            for (Attendance attendance : student.getAttendances()) {
+                attendances.add(new Object[] {attendance.getId(), attendance.getDate(), attendance.getStatus()});
+            }
+        }
+        values.put("attendanceColumns", List.of("id", "date", "status"));
+        values.put("attendances", attendances);
+        values.put("enrollmentColumns", List.of("slotId", "status", "createdAt"));
+        values.put("enrollments", enrollments);
+        try {
+            return objectMapper.writeValueAsBytes(values);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize student " + student.getId() + " for the archive", e);
+        }
+    }
+    
+    private double probeActiveQuery() {
+        double[] samples = new double[PROBE_RUNS];
+        for (int i = 0; i < PROBE_RUNS; i++) {
+            long start = System.nanoTime();
+            readOnlyTransactionTemplate.execute(status -> studentRepository.findActivePage(PageRequest.of(0, PROBE_PAGE)));
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return samples[PROBE_RUNS / 2];
+    }
+    
+    private static int sizeOf(List<?> rows) {
+        return rows == null ? 0 : rows.size();
+    }
+    
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+    
+    private static String gunzip(byte[] payload) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
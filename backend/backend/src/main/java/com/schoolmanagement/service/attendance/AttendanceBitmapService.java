@@ -0,0 +1,518 @@
+package com.schoolmanagement.service.attendance;
+
+import com.schoolmanagement.config.HibernateEvents;
+import com.schoolmanagement.config.TenancyProperties;
+import com.schoolmanagement.dto.AttendanceDay;
+import com.schoolmanagement.dto.AttendanceRate;
+import com.schoolmanagement.model.Attendance;
+import com.schoolmanagement.model.AttendanceTermBitmap;
+import com.schoolmanagement.model.SchoolClass;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.repository.AttendanceTermBitmapRepository;
+import com.schoolmanagement.service.routing.RoutingContext;
+import com.schoolmanagement.service.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Attendance engine backed by per-student, per-term bitsets, held separately for each
+ * tenant. Rate and at-risk queries are answered from memory without touching Attendance
+ * entities.
+ *
+ * The attendances table stays the source of truth (so Student.getAttendances() keeps
+ * working); committed inserts, updates and deletes of Attendance rows are applied here
+ * through Hibernate post-commit events, and changed bitmaps are written back to
+ * attendance_bitmaps in the background so restarts do not rescan the attendances table.
+ * A periodic reconcile pass recomputes the bitmaps from the attendances table and
+ * repairs any that differ, e.g. marks committed just before a crash and never flushed,
+ * or rows written by another process.
+ */
+@Service
+public class AttendanceBitmapService implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+    private static final Logger log = LoggerFactory.getLogger(AttendanceBitmapService.class);
+    private static final AttendanceMark[] MARKS = AttendanceMark.values();
+    
+    private final AttendanceTermBitmapRepository bitmapRepository;
+    private final AttendanceTermCalendar calendar;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TenancyProperties tenancy;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Map<String, TenantAttendance> tenants = new ConcurrentHashMap<>();
+    
+    public AttendanceBitmapService(AttendanceTermBitmapRepository bitmapRepository, AttendanceTermCalendar calendar,
+                                   EntityManagerFactory entityManagerFactory, TenancyProperties tenancy,
+                                   PlatformTransactionManager transactionManager) {
+        this.bitmapRepository = bitmapRepository;
+        this.calendar = calendar;
+        this.entityManagerFactory = entityManagerFactory;
+        this.tenancy = tenancy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.readOnlyTransactionTemplate.setName(RoutingContext.PRIMARY_READ);
+    }
+    
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = HibernateEvents.registry(entityManagerFactory);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (String tenant : tenancy.tenants()) {
+            TenantContext.runAs(tenant, this::loadTenant);
+        }
+    }
+    
+    private void loadTenant() {
+        long start = System.nanoTime();
+        if (bitmapRepository.count() == 0) {
+            rebuild();
+            return;
+        }
+        TenantAttendance tenant = tenant(TenantContext.current());
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<AttendanceTermBitmap> rows = bitmapRepository.streamAll()) {
+                rows.forEach(row -> loadRow(tenant, row));
+            }
+        });
+        log.info("Loaded attendance bitmaps for {} students of {} in {} ms", tenant.students.size(),
+                TenantContext.current(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    /**
+     * Recomputes every bitmap of the current tenant from the attendances table and
+     * persists the result.
+     */
+    public void rebuild() {
+        reconcile();
+    }
+    
+    @Scheduled(initialDelayString = "${school.attendance.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${school.attendance.reconcile-ms:86400000}")
+    public void reconcileInBackground() {
+        for (String tenant : tenancy.tenants()) {
+            TenantContext.runAs(tenant, this::reconcile);
+        }
+    }
+    
+    /**
+     * Recomputes the current tenant's bitmaps from the attendances table and replaces, in
+     * memory and in attendance_bitmaps, every term that differs. Marks committed while the
+     * table is streamed are replayed onto what was read before comparing, so they are not
+     * undone.
+     */
+    public void reconcile() {
+        TenantAttendance tenant = tenant(TenantContext.current());
+        tenant.reconcileLock.lock();
+        try {
+            reconcile(tenant);
+        } finally {
+            tenant.reconcileLock.unlock();
+        }
+    }
+    
+    private void reconcile(TenantAttendance tenant) {
+        long start = System.nanoTime();
+        Map<Long, StudentAttendance> expected = new HashMap<>();
+        int repaired;
+        synchronized (tenant.changeLock) {
+            tenant.replay = new ArrayList<>();
+        }
+        try {
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Object[]> marks = bitmapRepository.streamAttendanceMarks()) {
+                    marks.forEach(row -> mark(expected, (Long) row[0], (Long) row[1], (LocalDate) row[2],
+                            AttendanceMark.of((Enum<?>) row[3])));
+                }
+            });
+            synchronized (tenant.changeLock) {
+                for (RecordedMark m : tenant.replay) {
+                    mark(expected, m.studentId(), m.classId(), m.date(), m.mark());
+                }
+                repaired = repair(tenant, expected);
+            }
+        } finally {
+            synchronized (tenant.changeLock) {
+                tenant.replay = null;
+            }
+        }
+        flushDirty(tenant);
+        log.info("Reconciled attendance bitmaps for {} students of {} in {} ms, {} terms repaired",
+                expected.size(), TenantContext.current(), (System.nanoTime() - start) / 1_000_000, repaired);
+    }
+    
+    /**
+     * Records a committed mark for the current tenant.
+     */
+    public void record(Long studentId, Long classId, LocalDate date, AttendanceMark mark) {
+        record(tenant(TenantContext.current()), studentId, classId, date, mark);
+    }
+    
+    private void record(TenantAttendance tenant, Long studentId, Long classId, LocalDate date, AttendanceMark mark) {
+        synchronized (tenant.changeLock) {
+            StudentAttendance attendance = tenant.students.computeIfAbsent(studentId, id -> new StudentAttendance());
+            assignClass(tenant, studentId, attendance, classId);
+            LocalDate termStart = calendar.termStart(date);
+            attendance.terms.computeIfAbsent(termStart, this::newTerm).mark(date, mark);
+            tenant.dirty.add(new DirtyTerm(studentId, termStart));
+            if (tenant.replay != null) {
+                tenant.replay.add(new RecordedMark(studentId, classId, date, mark));
+            }
+        }
+    }
+    
+    public AttendanceRate studentRate(Long studentId, LocalDate from, LocalDate to) {
+        return studentRate(tenant(TenantContext.current()), studentId, from, to);
+    }
+    
+    private static AttendanceRate studentRate(TenantAttendance tenant, Long studentId, LocalDate from, LocalDate to) {
+        StudentAttendance attendance = tenant.students.get(studentId);
+        if (attendance == null) {
+            return new AttendanceRate(studentId, 0, 0);
+        }
+        int[] counts = attendance.count(from, to);
+        return new AttendanceRate(studentId, counts[0], counts[1]);
+    }
+    
+    public AttendanceRate classRate(Long classId, LocalDate from, LocalDate to) {
+        TenantAttendance tenant = tenant(TenantContext.current());
+        int attended = 0;
+        int recorded = 0;
+        for (Long studentId : tenant.studentsByClass.getOrDefault(classId, Set.of())) {
+            StudentAttendance attendance = tenant.students.get(studentId);
+            if (attendance != null) {
+                int[] counts = attendance.count(from, to);
+                attended += counts[0];
+                recorded += counts[1];
+            }
+        }
+        return new AttendanceRate(null, attended, recorded);
+    }
+    
+    /**
+     * Students whose attendance rate in [from, to] is below the threshold, lowest first.
+     * A null classId searches all students.
+     */
+    public List<AttendanceRate> studentsBelow(Long classId, double threshold, LocalDate from, LocalDate to) {
+        TenantAttendance tenant = tenant(TenantContext.current());
+        Iterable<Long> candidates = classId == null ? tenant.students.keySet()
+                : tenant.studentsByClass.getOrDefault(classId, Set.of());
+        List<AttendanceRate> result = new ArrayList<>();
+        for (Long studentId : candidates) {
+            AttendanceRate rate = studentRate(tenant, studentId, from, to);
+            if (rate.getRecordedDays() > 0 && rate.getRate() < threshold) {
+                result.add(rate);
+            }
+        }
+        result.sort(Comparator.comparingDouble(AttendanceRate::getRate));
+        return result;
+    }
+    
+    public List<AttendanceDay> history(Long studentId, LocalDate from, LocalDate to) {
+        List<AttendanceDay> days = new ArrayList<>();
+        StudentAttendance attendance = tenant(TenantContext.current()).students.get(studentId);
+        if (attendance == null) {
+            return days;
+        }
+        for (TermBitmap term : attendance.overlapping(from, to)) {
+            LocalDate start = from.isBefore(term.getTermStart()) ? term.getTermStart() : from;
+            for (LocalDate day = start; !day.isAfter(to) && day.isBefore(term.getTermEnd()); day = day.plusDays(1)) {
+                AttendanceMark mark = term.get(day);
+                if (mark != null) {
+                    days.add(new AttendanceDay(day, mark.name()));
+                }
+            }
+        }
+        return days;
+    }
+    
+    @Scheduled(fixedDelayString = "${school.attendance.bitmap-flush-ms:5000}")
+    public void flushDirty() {
+        tenants.forEach((tenant, attendance) -> TenantContext.runAs(tenant, () -> flushDirty(attendance)));
+    }
+    
+    /**
+     * Writes the tenant's changed terms to attendance_bitmaps; a term no longer held in
+     * memory has its row deleted. Terms are taken off the dirty set before writing, so
+     * marks arriving meanwhile dirty them again, and are put back if the write fails.
+     * Runs in the tenant's context.
+     */
+    private void flushDirty(TenantAttendance tenant) {
+        if (tenant.dirty.isEmpty()) {
+            return;
+        }
+        tenant.flushLock.lock();
+        try {
+            flush(tenant);
+        } finally {
+            tenant.flushLock.unlock();
+        }
+    }
+    
+    private void flush(TenantAttendance tenant) {
+        List<DirtyTerm> batch = new ArrayList<>(tenant.dirty);
+        tenant.dirty.removeAll(batch);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (DirtyTerm key : batch) {
+                    StudentAttendance attendance = tenant.students.get(key.studentId());
+                    TermBitmap term = attendance == null ? null : attendance.terms.get(key.termStart());
+                    if (term == null) {
+                        bitmapRepository.findByStudentIdAndTermStart(key.studentId(), key.termStart())
+                                .ifPresent(bitmapRepository::delete);
+                        continue;
+                    }
+                    AttendanceTermBitmap row = bitmapRepository.findByStudentIdAndTermStart(key.studentId(), key.termStart())
+                            .orElseGet(() -> new AttendanceTermBitmap(key.studentId(), attendance.classId, key.termStart()));
+                    row.setClassId(attendance.classId);
+                    row.setPresentBits(term.encode(AttendanceMark.PRESENT));
+                    row.setAbsentBits(term.encode(AttendanceMark.ABSENT));
+                    row.setLateBits(term.encode(AttendanceMark.LATE));
+                    row.setExcusedBits(term.encode(AttendanceMark.EXCUSED));
+                    bitmapRepository.save(row);
+                }
+            });
+        } catch (RuntimeException e) {
+            tenant.dirty.addAll(batch);
+            log.warn("Flushing {} attendance bitmaps of {} failed, will retry", batch.size(), TenantContext.current(), e);
+        }
+    }
+    
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Attendance attendance) {
+            apply(tenant(HibernateEvents.tenantOf(event.getSession())), attendance, AttendanceMark.of(attendance.getStatus()));
+        }
+    }
+    
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Attendance attendance) {
+            TenantAttendance tenant = tenant(HibernateEvents.tenantOf(event.getSession()));
+            int dateIndex = event.getPersister().getEntityMetamodel().getPropertyIndex("date");
+            Object oldDate = event.getOldState() == null ? null : event.getOldState()[dateIndex];
+            if (oldDate instanceof LocalDate previous && !previous.equals(attendance.getDate())) {
+                record(tenant, studentId(attendance), classId(attendance), previous, null);
+            }
+            apply(tenant, attendance, AttendanceMark.of(attendance.getStatus()));
+        }
+    }
+    
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Attendance attendance) {
+            apply(tenant(HibernateEvents.tenantOf(event.getSession())), attendance, null);
+        }
+    }
+    
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {}
+    
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+    
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+    
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Attendance.class.isAssignableFrom(persister.getMappedClass());
+    }
+    
+    private TenantAttendance tenant(String tenant) {
+        return tenants.computeIfAbsent(tenant, key -> new TenantAttendance());
+    }
+    
+    private void apply(TenantAttendance tenant, Attendance attendance, AttendanceMark mark) {
+        if (attendance.getStudent() != null && attendance.getDate() != null) {
+            record(tenant, studentId(attendance), classId(attendance), attendance.getDate(), mark);
+        }
+    }
+    
+    private static Long studentId(Attendance attendance) {
+        return attendance.getStudent().getId();
+    }
+    
+    private static Long classId(Attendance attendance) {
+        Student student = attendance.getStudent();
+        SchoolClass schoolClass = student == null ? null : student.getSchoolClass();
+        return schoolClass == null ? null : schoolClass.getId();
+    }
+    
+    private void loadRow(TenantAttendance tenant, AttendanceTermBitmap row) {
+        StudentAttendance attendance = tenant.students.computeIfAbsent(row.getStudentId(), id -> new StudentAttendance());
+        assignClass(tenant, row.getStudentId(), attendance, row.getClassId());
+        TermBitmap term = newTerm(row.getTermStart());
+        term.decode(AttendanceMark.PRESENT, row.getPresentBits());
+        term.decode(AttendanceMark.ABSENT, row.getAbsentBits());
+        term.decode(AttendanceMark.LATE, row.getLateBits());
+        term.decode(AttendanceMark.EXCUSED, row.getExcusedBits());
+        attendance.terms.put(row.getTermStart(), term);
+    }
+    
+    private static void assignClass(TenantAttendance tenant, Long studentId, StudentAttendance attendance, Long classId) {
+        if (classId == null || classId.equals(attendance.classId)) {
+            return;
+        }
+        if (attendance.classId != null) {
+            Set<Long> previous = tenant.studentsByClass.get(attendance.classId);
+            if (previous != null) {
+                previous.remove(studentId);
+            }
+        }
+        attendance.classId = classId;
+        tenant.studentsByClass.computeIfAbsent(classId, id -> ConcurrentHashMap.newKeySet()).add(studentId);
+    }
+    
+    private void mark(Map<Long, StudentAttendance> target, Long studentId, Long classId, LocalDate date,
+                      AttendanceMark mark) {
+        StudentAttendance attendance = target.computeIfAbsent(studentId, id -> new StudentAttendance());
+        if (classId != null) {
+            attendance.classId = classId;
+        }
+        attendance.terms.computeIfAbsent(calendar.termStart(date), this::newTerm).mark(date, mark);
+    }
+    
+    /**
+     * Makes the live bitmaps match {@code expected}, marking every replaced or dropped
+     * term dirty so the flush writes or deletes its row. Called under the tenant's changeLock.
+     */
+    private static int repair(TenantAttendance tenant, Map<Long, StudentAttendance> expected) {
+        int repaired = 0;
+        for (Map.Entry<Long, StudentAttendance> entry : expected.entrySet()) {
+            Long studentId = entry.getKey();
+            StudentAttendance live = tenant.students.computeIfAbsent(studentId, id -> new StudentAttendance());
+            assignClass(tenant, studentId, live, entry.getValue().classId);
+            for (TermBitmap term : entry.getValue().terms.values()) {
+                TermBitmap current = live.terms.get(term.getTermStart());
+                if (current == null || !sameMarks(current, term)) {
+                    live.terms.put(term.getTermStart(), term);
+                    tenant.dirty.add(new DirtyTerm(studentId, term.getTermStart()));
+                    repaired++;
+                }
+            }
+        }
+        for (Iterator<Map.Entry<Long, StudentAttendance>> it = tenant.students.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Long, StudentAttendance> entry = it.next();
+            StudentAttendance wanted = expected.get(entry.getKey());
+            StudentAttendance live = entry.getValue();
+            for (LocalDate termStart : live.terms.keySet()) {
+                if (wanted == null || !wanted.terms.containsKey(termStart)) {
+                    live.terms.remove(termStart);
+                    tenant.dirty.add(new DirtyTerm(entry.getKey(), termStart));
+                    repaired++;
+                }
+            }
+            if (wanted == null) {
+                it.remove();
+                if (live.classId != null) {
+                    Set<Long> members = tenant.studentsByClass.get(live.classId);
+                    if (members != null) {
+                        members.remove(entry.getKey());
+                    }
+                }
+            }
+        }
+        return repaired;
+    }
+    
+    private static boolean sameMarks(TermBitmap a, TermBitmap b) {
+        for (AttendanceMark mark : MARKS) {
+            if (!Arrays.equals(a.encode(mark), b.encode(mark))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private TermBitmap newTerm(LocalDate termStart) {
+        return new TermBitmap(termStart, calendar.nextTermStart(termStart));
+    }
+    
+    private record DirtyTerm(Long studentId, LocalDate termStart) {}
+    
+    private record RecordedMark(Long studentId, Long classId, LocalDate date, AttendanceMark mark) {}
+    
+    /**
+     * One tenant's bitmaps, the terms not yet written back and reconcile state.
+     */
+    private static final class TenantAttendance {
+        private final Map<Long, StudentAttendance> students = new ConcurrentHashMap<>();
+        private final Map<Long, Set<Long>> studentsByClass = new ConcurrentHashMap<>();
+        private final Set<DirtyTerm> dirty = ConcurrentHashMap.newKeySet();
+        private final ReentrantLock reconcileLock = new ReentrantLock();
+        private final ReentrantLock flushLock = new ReentrantLock();
+        // serializes marks with the repair step of a reconcile pass
+        private final Object changeLock = new Object();
+        // marks recorded while a reconcile pass streams, replayed onto what it read; null otherwise
+        private List<RecordedMark> replay;
+    }
+    
+    private static class StudentAttendance {
+        private volatile Long classId;
+        private final ConcurrentNavigableMap<LocalDate, TermBitmap> terms = new ConcurrentSkipListMap<>();
+        
+        Iterable<TermBitmap> overlapping(LocalDate from, LocalDate to) {
+            LocalDate first = terms.floorKey(from);
+            return terms.subMap(first != null ? first : from, true, to, true).values();
+        }
+        
+        /**
+         * @return {attended days, recorded days excluding excused}
+         */
+        int[] count(LocalDate from, LocalDate to) {
+            int attended = 0;
+            int recorded = 0;
+            for (TermBitmap term : overlapping(from, to)) {
+                for (AttendanceMark mark : MARKS) {
+                    if (mark == AttendanceMark.EXCUSED) {
+                        continue;
+                    }
+                    int days = term.count(mark, from, to);
+                    recorded += days;
+                    if (mark.isAttended()) {
+                        attended += days;
+                    }
+                }
+            }
+            return new int[] {attended, recorded};
+        }
+    }
+}
@@ -0,0 +1,530 @@
+package com.schoolmanagement.service.attendance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolmanagement.config.TenancyProperties;
+import com.schoolmanagement.dto.AttendanceIngestStats;
+import com.schoolmanagement.dto.AttendanceSubmission;
+import com.schoolmanagement.dto.AttendanceSubmissionAck;
+import com.schoolmanagement.model.Attendance;
+import com.schoolmanagement.model.AttendanceSubmissionKey;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.repository.AttendanceRepository;
+import com.schoolmanagement.repository.AttendanceSubmissionKeyRepository;
+import com.schoolmanagement.service.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Write-behind ingestion of attendance submissions.
+ *
+ * A submission is acknowledged once it is fsync'd to the local AttendanceWriteAheadLog,
+ * not once it is in the database. Accepted submissions are coalesced per class and date
+ * (the latest mark for a student wins) and written as one upsert batch per class/date
+ * every school.attendance.ingest.flush-ms, or earlier when a batch grows past
+ * max-batch-marks. The idempotency keys of a batch are stored in the same transaction as
+ * its attendance rows, so a replayed or retried submission is applied exactly once; keys
+ * already stored are looked up once per batch at flush time, not on every request.
+ *
+ * A batch that fails max-attempts times in a row has its submissions retried one by one,
+ * and a submission that still fails is appended to dead-letter.jsonl in the log directory
+ * and dropped from the queue, so one bad submission cannot hold back the newer ones
+ * merged into its batch or keep their queue slots forever.
+ *
+ * At most queue-capacity submissions may be waiting for the database; past that, submit
+ * waits offer-timeout-ms for room and then rejects, which the controller turns into 503
+ * with Retry-After. On startup the log is replayed and whatever was not yet applied is
+ * queued again. Assumes a single application node per log directory.
+ *
+ * All tenants share the log and the queue capacity. Each logged submission carries its
+ * tenant, batches never mix tenants, idempotency keys are unique per tenant, and every
+ * batch is written in its tenant's context.
+ */
+@Service
+public class AttendanceIngestService {
+    private static final Logger log = LoggerFactory.getLogger(AttendanceIngestService.class);
+    private static final int IN_CHUNK = 1000;
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final long LOG_TIMEOUT_SECONDS = 30;
+    private static final String DEAD_LETTER_FILE = "dead-letter.jsonl";
+    
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceSubmissionKeyRepository keyRepository;
+    private final ObjectMapper objectMapper;
+    private final TenancyProperties tenancy;
+    private final TransactionTemplate transactionTemplate;
+    private final Path logDirectory;
+    private final long segmentBytes;
+    private final long flushMs;
+    private final long offerTimeoutMs;
+    private final int maxBatchMarks;
+    private final int maxAttempts;
+    private final int keyRetentionDays;
+    private final Semaphore permits;
+    private final Map<TenantKey, Boolean> pendingKeys = new ConcurrentHashMap<>();
+    private final Map<TenantKey, Boolean> recentKeys;
+    private final Map<BatchKey, Batch> batches = new HashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong batchesWritten = new AtomicLong();
+    private final AtomicLong marksWritten = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private AttendanceWriteAheadLog wal;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public AttendanceIngestService(AttendanceRepository attendanceRepository,
+                                   AttendanceSubmissionKeyRepository keyRepository,
+                                   ObjectMapper objectMapper, TenancyProperties tenancy,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${school.attendance.ingest.log-dir:data/attendance-wal}") String logDirectory,
+                                   @Value("${school.attendance.ingest.segment-bytes:67108864}") long segmentBytes,
+                                   @Value("${school.attendance.ingest.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${school.attendance.ingest.flush-ms:500}") long flushMs,
+                                   @Value("${school.attendance.ingest.offer-timeout-ms:200}") long offerTimeoutMs,
+                                   @Value("${school.attendance.ingest.max-batch-marks:2000}") int maxBatchMarks,
+                                   @Value("${school.attendance.ingest.max-attempts:5}") int maxAttempts,
+                                   @Value("${school.attendance.ingest.recent-keys:100000}") int recentKeyCount,
+                                   @Value("${school.attendance.ingest.key-retention-days:30}") int keyRetentionDays) {
+        this.attendanceRepository = attendanceRepository;
+        this.keyRepository = keyRepository;
+        this.objectMapper = objectMapper;
+        this.tenancy = tenancy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.logDirectory = Path.of(logDirectory);
+        this.segmentBytes = segmentBytes;
+        this.flushMs = flushMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.maxBatchMarks = maxBatchMarks;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.keyRetentionDays = keyRetentionDays;
+        this.permits = new Semaphore(queueCapacity);
+        this.recentKeys = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TenantKey, Boolean> eldest) {
+                return size() > recentKeyCount;
+            }
+        });
+    }
+    
+    @PostConstruct
+    public void recover() throws IOException {
+        wal = new AttendanceWriteAheadLog(logDirectory, segmentBytes);
+        wal.replay((segment, payload) -> {
+            LogRecord record = objectMapper.readValue(payload, LogRecord.class);
+            TenantKey key = TenantKey.of(record);
+            if (pendingKeys.containsKey(key)
+                    || TenantContext.callAs(key.tenant(), () -> keyRepository.existsById(record.key()))) {
+                return false;
+            }
+            pendingKeys.put(key, Boolean.TRUE);
+            enqueue(new Pending(record, toStatuses(record.marks()), segment, permits.tryAcquire()));
+            replayed.incrementAndGet();
+            return true;
+        });
+        wal.start();
+        if (replayed.get() > 0) {
+            log.info("Replayed {} unapplied attendance submissions from {}", replayed.get(), logDirectory);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() throws IOException {
+        flush();
+        wal.close();
+    }
+    
+    /**
+     * Logs the submission durably and queues it for the current tenant's database.
+     *
+     * @throws IllegalArgumentException if the submission is malformed
+     * @throws RejectedExecutionException if the queue stays full for offer-timeout-ms
+     */
+    public AttendanceSubmissionAck submit(AttendanceSubmission submission) {
+        if (submission.getDate() == null) {
+            throw new IllegalArgumentException("Attendance date is required");
+        }
+        if (submission.getMarks() == null || submission.getMarks().isEmpty()) {
+            throw new IllegalArgumentException("At least one attendance mark is required");
+        }
+        String key = submission.getIdempotencyKey() == null || submission.getIdempotencyKey().isBlank()
+                ? UUID.randomUUID().toString() : submission.getIdempotencyKey().trim();
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key longer than " + MAX_KEY_LENGTH + " characters");
+        }
+        Map<Long, Attendance.AttendanceStatus> statuses = toStatuses(submission.getMarks());
+        String tenant = TenantContext.current();
+        TenantKey tenantKey = new TenantKey(tenant, key);
+        if (isKnown(tenantKey)) {
+            duplicates.incrementAndGet();
+            return new AttendanceSubmissionAck(key, true, statuses.size(), 0);
+        }
+        try {
+            if (!permits.tryAcquire(offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                rejected.incrementAndGet();
+                throw new RejectedExecutionException("Attendance ingest queue is full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for the attendance ingest queue", e);
+        }
+        if (pendingKeys.putIfAbsent(tenantKey, Boolean.TRUE) != null) {
+            permits.release();
+            duplicates.incrementAndGet();
+            return new AttendanceSubmissionAck(key, true, statuses.size(), 0);
+        }
+        LogRecord record = new LogRecord(tenant, key, submission.getClassId(), submission.getDate(),
+                LocalDateTime.now(), submission.getMarks());
+        AttendanceWriteAheadLog.Segment segment;
+        try {
+            segment = wal.append(objectMapper.writeValueAsBytes(record)).get(LOG_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            pendingKeys.remove(tenantKey);
+            permits.release();
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            throw new UncheckedIOException("Could not log attendance submission " + key,
+                    cause instanceof IOException io ? io : new IOException(cause));
+        }
+        if (enqueue(new Pending(record, statuses, segment, true))) {
+            CompletableFuture.runAsync(this::flush);
+        }
+        accepted.incrementAndGet();
+        return new AttendanceSubmissionAck(key, false, statuses.size(), sequence.incrementAndGet());
+    }
+    
+    /**
+     * Writes every pending class/date batch; a failed batch goes back to the queue and is
+     * retried on the next flush, with marks that arrived in the meantime taking precedence,
+     * until it has failed max-attempts times and its submissions are tried one by one.
+     */
+    @Scheduled(fixedDelayString = "${school.attendance.ingest.flush-ms:500}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            Map<BatchKey, Batch> drained;
+            synchronized (batches) {
+                drained = new HashMap<>(batches);
+                batches.clear();
+            }
+            for (Map.Entry<BatchKey, Batch> entry : drained.entrySet()) {
+                BatchKey key = entry.getKey();
+                Batch batch = entry.getValue();
+                try {
+                    int written = TenantContext.callAs(key.tenant(),
+                            () -> transactionTemplate.execute(status -> apply(key, batch)));
+                    applied(batch, written);
+                } catch (RuntimeException e) {
+                    failedFlushes.incrementAndGet();
+                    if (++batch.attempts < maxAttempts) {
+                        log.warn("Attendance batch of {} for class {} on {} failed (attempt {} of {}); will retry",
+                                key.tenant(), key.classId(), key.date(), batch.attempts, maxAttempts, e);
+                        requeue(key, batch);
+                    } else {
+                        log.warn("Attendance batch of {} for class {} on {} failed {} times; applying its {} submissions "
+                                + "one by one", key.tenant(), key.classId(), key.date(), batch.attempts,
+                                batch.submissions.size(), e);
+                        applyIndividually(key, batch);
+                    }
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${school.attendance.ingest.key-cleanup-ms:3600000}")
+    public void purgeExpiredKeys() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(keyRetentionDays);
+        for (String tenant : tenancy.tenants()) {
+            Integer purged = TenantContext.callAs(tenant,
+                    () -> transactionTemplate.execute(status -> keyRepository.deleteAppliedBefore(cutoff)));
+            if (purged != null && purged > 0) {
+                log.debug("Purged {} attendance idempotency keys of {} applied before {}", purged, tenant, cutoff);
+            }
+        }
+    }
+    
+    public AttendanceIngestStats stats() {
+        int pendingBatches;
+        synchronized (batches) {
+            pendingBatches = batches.size();
+        }
+        return new AttendanceIngestStats(pendingKeys.size(), permits.availablePermits(), pendingBatches,
+                accepted.get(), duplicates.get(), rejected.get(), replayed.get(), batchesWritten.get(),
+                marksWritten.get(), failedFlushes.get(), deadLettered.get(), wal.segmentCount());
+    }
+    
+    /**
+     * Suggested client back-off after a rejection: one flush interval, at least a second.
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1, (flushMs + 999) / 1000);
+    }
+    
+    private int apply(BatchKey key, Batch batch) {
+        Set<String> alreadyApplied = storedKeys(batch.submissions);
+        Map<Long, Attendance.AttendanceStatus> marks = batch.marks;
+        if (!alreadyApplied.isEmpty()) {
+            // replayed or retried after being applied: rebuild the marks without those submissions
+            marks = new LinkedHashMap<>();
+            for (Pending pending : batch.submissions) {
+                if (!alreadyApplied.contains(pending.record.key())) {
+                    marks.putAll(pending.statuses);
+                }
+            }
+        }
+        batch.duplicates = alreadyApplied.size();
+        List<Long> studentIds = new ArrayList<>(marks.keySet());
+        Set<Long> known = new HashSet<>(studentIds.size() * 2);
+        Map<Long, Attendance> existing = new HashMap<>(studentIds.size() * 2);
+        for (int from = 0; from < studentIds.size(); from += IN_CHUNK) {
+            List<Long> chunk = studentIds.subList(from, Math.min(from + IN_CHUNK, studentIds.size()));
+            known.addAll(entityManager.createQuery("select s.id from Student s where s.id in :ids", Long.class)
+                    .setParameter("ids", chunk)
+                    .getResultList());
+            for (Attendance attendance : attendanceRepository.findByDateAndStudentIds(key.date(), chunk)) {
+                existing.put(attendance.getStudent().getId(), attendance);
+            }
+        }
+        int written = 0;
+        for (Map.Entry<Long, Attendance.AttendanceStatus> mark : marks.entrySet()) {
+            if (!known.contains(mark.getKey())) {
+                log.warn("Dropping attendance mark for unknown student {}", mark.getKey());
+                continue;
+            }
+            Attendance attendance = existing.get(mark.getKey());
+            if (attendance == null) {
+                attendance = new Attendance();
+                attendance.setStudent(entityManager.getReference(Student.class, mark.getKey()));
+                attendance.setDate(key.date());
+                attendance.setStatus(mark.getValue());
+                entityManager.persist(attendance);
+                written++;
+            } else if (attendance.getStatus() != mark.getValue()) {
+                attendance.setStatus(mark.getValue());
+                written++;
+            }
+        }
+        for (Pending pending : batch.submissions) {
+            if (!alreadyApplied.contains(pending.record.key())) {
+                entityManager.persist(new AttendanceSubmissionKey(pending.record.key(), pending.record.classId(),
+                        pending.record.date(), pending.record.receivedAt()));
+            }
+        }
+        return written;
+    }
+    
+    private Set<String> storedKeys(List<Pending> submissions) {
+        List<String> keys = new ArrayList<>(submissions.size());
+        for (Pending pending : submissions) {
+            keys.add(pending.record.key());
+        }
+        Set<String> stored = new HashSet<>();
+        for (int from = 0; from < keys.size(); from += IN_CHUNK) {
+            stored.addAll(keyRepository.findExistingKeys(keys.subList(from, Math.min(from + IN_CHUNK, keys.size()))));
+        }
+        return stored;
+    }
+    
+    private void applied(Batch batch, int written) {
+        for (Pending pending : batch.submissions) {
+            release(pending);
+            wal.applied(pending.segment);
+        }
+        duplicates.addAndGet(batch.duplicates);
+        batchesWritten.incrementAndGet();
+        marksWritten.addAndGet(written);
+    }
+    
+    private void release(Pending pending) {
+        TenantKey key = TenantKey.of(pending.record);
+        recentKeys.put(key, Boolean.TRUE);
+        pendingKeys.remove(key);
+        if (pending.holdsPermit) {
+            permits.release();
+        }
+    }
+    
+    /**
+     * Applies each submission of a batch that keeps failing in its own transaction, in
+     * arrival order so the latest mark still wins; those that fail alone are dead-lettered.
+     */
+    private void applyIndividually(BatchKey key, Batch failed) {
+        for (Pending pending : failed.submissions) {
+            Batch single = new Batch();
+            single.marks.putAll(pending.statuses);
+            single.submissions.add(pending);
+            try {
+                int written = TenantContext.callAs(key.tenant(),
+                        () -> transactionTemplate.execute(status -> apply(key, single)));
+                applied(single, written);
+            } catch (RuntimeException e) {
+                deadLetter(pending, e);
+            }
+        }
+    }
+    
+    /**
+     * Moves a submission that cannot be applied out of the queue and into dead-letter.jsonl.
+     * If even that write fails its log segment is kept, so it is replayed on the next start.
+     */
+    private void deadLetter(Pending pending, RuntimeException failure) {
+        deadLettered.incrementAndGet();
+        release(pending);
+        try {
+            String line = objectMapper.writeValueAsString(new DeadLetter(pending.record, rootMessage(failure), LocalDateTime.now()));
+            Files.writeString(logDirectory.resolve(DEAD_LETTER_FILE), line + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+            wal.applied(pending.segment);
+            log.error("Dead-lettered attendance submission {} of {} for class {} on {}: {}", pending.record.key(),
+                    pending.record.tenantOrDefault(), pending.record.classId(), pending.record.date(),
+                    rootMessage(failure));
+        } catch (IOException e) {
+            log.error("Could not dead-letter attendance submission {}; it stays in the log for replay",
+                    pending.record.key(), e);
+        }
+    }
+    
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+    
+    /**
+     * @return true if the batch has grown past max-batch-marks and should be flushed early
+     */
+    private boolean enqueue(Pending pending) {
+        BatchKey key = new BatchKey(pending.record.tenantOrDefault(), pending.record.classId(), pending.record.date());
+        synchronized (batches) {
+            Batch batch = batches.computeIfAbsent(key, k -> new Batch());
+            batch.marks.putAll(pending.statuses);
+            batch.submissions.add(pending);
+            return batch.marks.size() >= maxBatchMarks;
+        }
+    }
+    
+    private void requeue(BatchKey key, Batch failed) {
+        synchronized (batches) {
+            Batch newer = batches.get(key);
+            if (newer != null) {
+                failed.marks.putAll(newer.marks);
+                failed.submissions.addAll(newer.submissions);
+            }
+            batches.put(key, failed);
+        }
+    }
+    
+    /**
+     * Duplicates seen recently by this node; older ones are caught when their batch is written.
+     */
+    private boolean isKnown(TenantKey key) {
+        return pendingKeys.containsKey(key) || recentKeys.containsKey(key);
+    }
+    
+    private static Map<Long, Attendance.AttendanceStatus> toStatuses(List<AttendanceSubmission.Mark> marks) {
+        Map<Long, Attendance.AttendanceStatus> statuses = new LinkedHashMap<>();
+        for (AttendanceSubmission.Mark mark : marks) {
+            if (mark == null || mark.getStudentId() == null || mark.getStatus() == null) {
+                throw new IllegalArgumentException("Each attendance mark needs a studentId and a status");
+            }
+            try {
+                statuses.put(mark.getStudentId(),
+                        Attendance.AttendanceStatus.valueOf(mark.getStatus().trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown attendance status: " + mark.getStatus());
+            }
+        }
+        return statuses;
+    }
+    
+    /**
+     * A logged submission; the tenant is null in records logged before tenancy, which
+     * belong to the default tenant.
+     */
+    record LogRecord(String tenant, String key, Long classId, LocalDate date, LocalDateTime receivedAt,
+                     List<AttendanceSubmission.Mark> marks) {
+        String tenantOrDefault() {
+            return tenant != null ? tenant : TenantContext.DEFAULT_TENANT;
+        }
+    }
+    
+    record DeadLetter(LogRecord submission, String error, LocalDateTime failedAt) {}
+    
+    private record BatchKey(String tenant, Long classId, LocalDate date) {}
+    
+    private record TenantKey(String tenant, String key) {
+        static TenantKey of(LogRecord record) {
+            return new TenantKey(record.tenantOrDefault(), record.key());
+        }
+    }
+    
+    private static final class Batch {
+        private final Map<Long, Attendance.AttendanceStatus> marks = new LinkedHashMap<>();
+        private final List<Pending> submissions = new ArrayList<>();
+        private int attempts;
+        private int duplicates;
+    }
+    
+    private static final class Pending {
+        private final LogRecord record;
+        private final Map<Long, Attendance.AttendanceStatus> statuses;
+        private final AttendanceWriteAheadLog.Segment segment;
+        private final boolean holdsPermit;
+        
+        Pending(LogRecord record, Map<Long, Attendance.AttendanceStatus> statuses,
+                AttendanceWriteAheadLog.Segment segment, boolean holdsPermit) {
+            this.record = record;
+            this.statuses = statuses;
+            this.segment = segment;
+            this.holdsPermit = holdsPermit;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.schoolmanagement.service.attendance;
+
+/**
+ * Attendance statuses tracked by the bitmap store, matched to the Attendance
+ * status enum by name. LATE counts as attended; EXCUSED days are left out of the rate.
+ */
+public enum AttendanceMark {
+    PRESENT, ABSENT, LATE, EXCUSED;
+    
+    public boolean isAttended() {
+        return this == PRESENT || this == LATE;
+    }
+    
+    public static AttendanceMark of(Enum<?> status) {
+        return status == null ? null : valueOf(status.name());
+    }
+}
@@ -0,0 +1,64 @@
+package com.schoolmanagement.service.attendance;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Splits the year into terms starting on the configured month-days
+ * (school.attendance.term-starts, e.g. "01-06,04-20,09-01").
+ */
+@Component
+public class AttendanceTermCalendar {
+    private final MonthDay[] termStarts;
+    
+    public AttendanceTermCalendar(@Value("${school.attendance.term-starts:01-01,09-01}") String termStarts) {
+        this.termStarts = Arrays.stream(termStarts.split(","))
+                .map(String::trim)
+                .map(s -> MonthDay.parse("--" + s))
+                .sorted()
+                .toArray(MonthDay[]::new);
+        if (this.termStarts.length == 0) {
+            throw new IllegalArgumentException("school.attendance.term-starts must list at least one date");
+        }
+    }
+    
+    public LocalDate termStart(LocalDate date) {
+        for (int i = termStarts.length - 1; i >= 0; i--) {
+            LocalDate start = termStarts[i].atYear(date.getYear());
+            if (!start.isAfter(date)) {
+                return start;
+            }
+        }
+        return termStarts[termStarts.length - 1].atYear(date.getYear() - 1);
+    }
+    
+    public LocalDate nextTermStart(LocalDate termStart) {
+        return followingStart(termStart);
+    }
+    
+    /**
+     * Term starts of every term overlapping [from, to], in order.
+     */
+    public List<LocalDate> termsBetween(LocalDate from, LocalDate to) {
+        List<LocalDate> terms = new ArrayList<>();
+        for (LocalDate term = termStart(from); !term.isAfter(to); term = followingStart(term)) {
+            terms.add(term);
+        }
+        return terms;
+    }
+    
+    private LocalDate followingStart(LocalDate termStart) {
+        for (MonthDay start : termStarts) {
+            LocalDate candidate = start.atYear(termStart.getYear());
+            if (candidate.isAfter(termStart)) {
+                return candidate;
+            }
+        }
+        return termStarts[0].atYear(termStart.getYear() + 1);
+    }
+}
@@ -0,0 +1,310 @@
+package com.schoolmanagement.service.attendance;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only, segmented log of accepted attendance submissions. Records are framed as
+ * [length][crc32c][payload]; one writer thread group-commits whatever is queued with a
+ * single fsync and only then completes the callers' futures, so an acknowledged
+ * submission survives a crash. A segment is deleted once it is sealed and every record
+ * in it has been applied to the database.
+ */
+final class AttendanceWriteAheadLog implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(AttendanceWriteAheadLog.class);
+    private static final String PREFIX = "attendance-";
+    private static final String SUFFIX = ".log";
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+    private static final int MAX_GROUP = 1024;
+    
+    private final Path directory;
+    private final long segmentBytes;
+    private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final BlockingQueue<Append> appends = new LinkedBlockingQueue<>();
+    private volatile boolean closed;
+    private Segment active;
+    private Thread writer;
+    
+    AttendanceWriteAheadLog(Path directory, long segmentBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).forEach(path -> {
+                String name = path.getFileName().toString();
+                long number = Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+                Segment segment = new Segment(number, path);
+                segment.sealed = true;
+                segments.put(number, segment);
+            });
+        }
+    }
+    
+    /**
+     * Hands every intact record of the existing segments, oldest first, to the handler;
+     * records the handler reports as still pending keep their segment alive. A torn or
+     * corrupt tail is truncated.
+     */
+    void replay(RecordHandler handler) throws IOException {
+        for (Segment segment : segments.values()) {
+            long good = 0;
+            try (InputStream in = Files.newInputStream(segment.path);
+                 DataInputStream data = new DataInputStream(new BufferedInputStream(in, 64 * 1024))) {
+                CRC32C crc = new CRC32C();
+                while (true) {
+                    int length;
+                    try {
+                        length = data.readInt();
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    if (length <= 0 || length > MAX_RECORD_BYTES) {
+                        break;
+                    }
+                    int checksum;
+                    byte[] payload = new byte[length];
+                    try {
+                        checksum = data.readInt();
+                        data.readFully(payload);
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    crc.reset();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != checksum) {
+                        break;
+                    }
+                    good += 8 + length;
+                    if (handler.replay(segment, payload)) {
+                        segment.unapplied.incrementAndGet();
+                    }
+                }
+            }
+            if (good < Files.size(segment.path)) {
+                log.warn("Truncating torn tail of {} at byte {}", segment.path, good);
+                try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.WRITE)) {
+                    channel.truncate(good);
+                    channel.force(true);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Deletes fully applied segments, opens a fresh segment and starts the writer.
+     */
+    void start() throws IOException {
+        for (Segment segment : new ArrayList<>(segments.values())) {
+            deleteIfDone(segment);
+        }
+        active = open(segments.isEmpty() ? 1 : segments.lastKey() + 1);
+        writer = new Thread(this::writeLoop, "attendance-wal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+    
+    /**
+     * Completes once the payload is on disk, with the segment that holds it.
+     */
+    CompletableFuture<Segment> append(byte[] payload) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new IOException("Attendance log is closed"));
+        }
+        Append append = new Append(payload);
+        appends.add(append);
+        return append.future;
+    }
+    
+    void applied(Segment segment) {
+        if (segment.unapplied.decrementAndGet() == 0) {
+            deleteIfDone(segment);
+        }
+    }
+    
+    int segmentCount() {
+        return segments.size();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (writer != null) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (active != null) {
+            active.channel.close();
+        }
+    }
+    
+    private void writeLoop() {
+        List<Append> group = new ArrayList<>();
+        CRC32C crc = new CRC32C();
+        while (!closed || !appends.isEmpty()) {
+            try {
+                Append first = appends.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.clear();
+                group.add(first);
+                appends.drainTo(group, MAX_GROUP - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (active.torn && !discardTail(active)) {
+                IOException e = new IOException("Attendance log segment " + active.path + " has a torn tail");
+                group.forEach(append -> append.future.completeExceptionally(e));
+                continue;
+            }
+            Segment segment = active;
+            long written = segment.size;
+            try {
+                for (Append append : group) {
+                    crc.reset();
+                    crc.update(append.payload);
+                    ByteBuffer frame = ByteBuffer.allocate(8 + append.payload.length);
+                    frame.putInt(append.payload.length).putInt((int) crc.getValue()).put(append.payload).flip();
+                    while (frame.hasRemaining()) {
+                        written += segment.channel.write(frame);
+                    }
+                }
+                segment.channel.force(false);
+                segment.size = written;
+                segment.unapplied.addAndGet(group.size());
+                group.forEach(append -> append.future.complete(segment));
+                if (segment.size >= segmentBytes) {
+                    rotate();
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("Attendance log write failed", e);
+                group.forEach(append -> append.future.completeExceptionally(e));
+                if (written != segment.size) {
+                    segment.torn = true;
+                    discardTail(segment);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Cuts the frames of a failed group off the segment; left in place, replay would stop
+     * at the first of them and truncate every acknowledged record written after it. If
+     * the segment cannot be truncated it is sealed at the tear and writing moves on to a
+     * new segment.
+     *
+     * @return false if neither worked, in which case nothing may be appended yet
+     */
+    private boolean discardTail(Segment segment) {
+        try {
+            segment.channel.truncate(segment.size);
+            segment.channel.force(false);
+            segment.torn = false;
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not truncate {} back to byte {}; moving to a new segment", segment.path, segment.size, e);
+        }
+        try {
+            rotate();
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not open a new attendance log segment", e);
+            return false;
+        }
+    }
+    
+    private void rotate() throws IOException {
+        Segment sealed = active;
+        active = open(sealed.number + 1);
+        sealed.sealed = true;
+        try {
+            sealed.channel.close();
+        } finally {
+            deleteIfDone(sealed);
+        }
+    }
+    
+    private Segment open(long number) throws IOException {
+        Path path = directory.resolve(String.format("%s%012d%s", PREFIX, number, SUFFIX));
+        Segment segment = new Segment(number, path);
+        segment.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segment.size = segment.channel.size();
+        segments.put(number, segment);
+        return segment;
+    }
+    
+    private void deleteIfDone(Segment segment) {
+        if (segment.sealed && segment.unapplied.get() == 0 && segment.deleted.compareAndSet(false, true)) {
+            segments.remove(segment.number);
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                log.warn("Could not delete applied attendance log segment {}", segment.path, e);
+            }
+        }
+    }
+    
+    interface RecordHandler {
+        /**
+         * @return true if the record still has to be applied
+         */
+        boolean replay(Segment segment, byte[] payload) throws IOException;
+    }
+    
+    static final class Segment {
+        private final long number;
+        private final Path path;
+        private final AtomicInteger unapplied = new AtomicInteger();
+        private final AtomicBoolean deleted = new AtomicBoolean();
+        private volatile boolean sealed;
+        private FileChannel channel;
+        // end of the last group that was written and forced
+        private long size;
+        // bytes of a failed group may follow size
+        private boolean torn;
+        
+        Segment(long number, Path path) {
+            this.number = number;
+            this.path = path;
+        }
+    }
+    
+    private static final class Append {
+        private final byte[] payload;
+        private final CompletableFuture<Segment> future = new CompletableFuture<>();
+        
+        Append(byte[] payload) {
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.schoolmanagement.service.attendance;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+
+/**
+ * In-memory attendance for one student and term. Bit n of each status set is
+ * the n-th day after termStart; at most one status bit is set per day.
+ */
+public class TermBitmap {
+    private static final AttendanceMark[] MARKS = AttendanceMark.values();
+    
+    private final LocalDate termStart;
+    private final LocalDate termEnd;
+    private final BitSet[] bits = new BitSet[MARKS.length];
+    
+    public TermBitmap(LocalDate termStart, LocalDate termEnd) {
+        this.termStart = termStart;
+        this.termEnd = termEnd;
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = new BitSet();
+        }
+    }
+    
+    public LocalDate getTermStart() { return termStart; }
+    public LocalDate getTermEnd() { return termEnd; }
+    
+    public synchronized void mark(LocalDate date, AttendanceMark mark) {
+        int day = dayIndex(date);
+        for (BitSet set : bits) {
+            set.clear(day);
+        }
+        if (mark != null) {
+            bits[mark.ordinal()].set(day);
+        }
+    }
+    
+    public synchronized AttendanceMark get(LocalDate date) {
+        int day = dayIndex(date);
+        for (AttendanceMark mark : MARKS) {
+            if (bits[mark.ordinal()].get(day)) {
+                return mark;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Number of days marked with the given status within [from, to] (inclusive), clipped to the term.
+     */
+    public synchronized int count(AttendanceMark mark, LocalDate from, LocalDate to) {
+        LocalDate start = from.isBefore(termStart) ? termStart : from;
+        LocalDate end = to.isBefore(termEnd) ? to : termEnd.minusDays(1);
+        if (end.isBefore(start)) {
+            return 0;
+        }
+        return bits[mark.ordinal()].get(dayIndex(start), dayIndex(end) + 1).cardinality();
+    }
+    
+    public synchronized byte[] encode(AttendanceMark mark) {
+        return bits[mark.ordinal()].toByteArray();
+    }
+    
+    public synchronized void decode(AttendanceMark mark, byte[] encoded) {
+        bits[mark.ordinal()] = encoded == null ? new BitSet() : BitSet.valueOf(encoded);
+    }
+    
+    private int dayIndex(LocalDate date) {
+        if (date.isBefore(termStart) || !date.isBefore(termEnd)) {
+            throw new IllegalArgumentException(date + " is outside the term starting " + termStart);
+        }
+        return (int) ChronoUnit.DAYS.between(termStart, date);
+    }
+}
@@ -0,0 +1,69 @@
+package com.schoolmanagement.service.cache;
+
+import com.schoolmanagement.dto.CacheRegionStats;
+import jakarta.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+/**
+ * Hit/miss/eviction counters per Hibernate cache region, from Hibernate statistics plus
+ * the JCache statistics MBean for evictions. Hibernate statistics cost a little on every
+ * session, so they are only collected, and regions only listed, with
+ * school.cache.hibernate-statistics=true.
+ */
+@Service
+public class CacheStatsService {
+    private static final String HIBERNATE_QUERY_REGION = "default-query-results-region";
+    
+    private final EntityManagerFactory entityManagerFactory;
+    
+    public CacheStatsService(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+    
+    public List<CacheRegionStats> stats() {
+        List<CacheRegionStats> result = new ArrayList<>();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return result;
+        }
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = region.equals(HIBERNATE_QUERY_REGION)
+                    ? statistics.getQueryRegionStatistics(region)
+                    : statistics.getDomainDataRegionStatistics(region);
+            if (stats != null) {
+                result.add(new CacheRegionStats(region, "hibernate", stats.getHitCount(), stats.getMissCount(),
+                        stats.getPutCount(), jcacheEvictions(region), 0, stats.getElementCountInMemory()));
+            }
+        }
+        return result;
+    }
+    
+    private static long jcacheEvictions(String region) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            Set<ObjectName> names = server.queryNames(
+                    new ObjectName("javax.cache:type=CacheStatistics,CacheManager=*,Cache=" + ObjectName.quote(region)), null);
+            if (names.isEmpty()) {
+                names = server.queryNames(
+                        new ObjectName("javax.cache:type=CacheStatistics,CacheManager=*,Cache=" + region), null);
+            }
+            long evictions = 0;
+            for (ObjectName name : names) {
+                evictions += (Long) server.getAttribute(name, "CacheEvictions");
+            }
+            return evictions;
+        } catch (JMException | RuntimeException e) {
+            return -1;
+        }
+    }
+}
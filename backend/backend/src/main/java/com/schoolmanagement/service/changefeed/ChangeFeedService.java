@@ -0,0 +1,277 @@
+package com.schoolmanagement.service.changefeed;
+
+import com.schoolmanagement.config.TenancyProperties;
+import com.schoolmanagement.dto.ChangeBatch;
+import com.schoolmanagement.dto.ChangeEvent;
+import com.schoolmanagement.dto.ChangeFeedPosition;
+import com.schoolmanagement.model.ChangeFeedConsumer;
+import com.schoolmanagement.model.OutboxEvent;
+import com.schoolmanagement.repository.ChangeFeedConsumerRepository;
+import com.schoolmanagement.repository.OutboxEventRepository;
+import com.schoolmanagement.service.routing.RoutingContext;
+import com.schoolmanagement.service.tenant.TenantContext;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Cursor-based reads over the outbox for downstream consumers (parent portal, library,
+ * billing). Each consumer has a durable acknowledged offset; reads without an explicit
+ * cursor resume from it, so anything not acknowledged is delivered again (at least
+ * once). Long-poll readers are parked until a commit writes new events, and SSE
+ * subscribers are pushed each new batch as it becomes visible. Offsets, cursors and
+ * subscriptions are per tenant, like the outbox tables themselves.
+ */
+@Service
+public class ChangeFeedService {
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedService.class);
+    private static final int MAX_NAME_LENGTH = 100;
+    
+    private final OutboxEventRepository eventRepository;
+    private final ChangeFeedConsumerRepository consumerRepository;
+    private final OutboxRecorder recorder;
+    private final TenancyProperties tenancy;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int maxBatch;
+    private final int retentionDays;
+    private final Map<String, AtomicLong> latestCommitted = new ConcurrentHashMap<>();
+    private final Map<CompletableFuture<Void>, Waiter> waiters = new ConcurrentHashMap<>();
+    private final Map<SseEmitter, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final ExecutorService pusher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "change-feed-push");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean pushScheduled = new AtomicBoolean();
+    
+    public ChangeFeedService(OutboxEventRepository eventRepository, ChangeFeedConsumerRepository consumerRepository,
+                             OutboxRecorder recorder, TenancyProperties tenancy,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${school.changefeed.max-batch:500}") int maxBatch,
+                             @Value("${school.changefeed.retention-days:7}") int retentionDays) {
+        this.eventRepository = eventRepository;
+        this.consumerRepository = consumerRepository;
+        this.recorder = recorder;
+        this.tenancy = tenancy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.readOnlyTransactionTemplate.setName(RoutingContext.PRIMARY_READ);
+        this.maxBatch = maxBatch;
+        this.retentionDays = retentionDays;
+        recorder.addCommitListener(this::committed);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        latest();
+    }
+    
+    /**
+     * Events after the cursor (or after the consumer's acknowledged offset when cursor is
+     * null), oldest first.
+     */
+    public ChangeBatch read(String consumer, Long after, int limit) {
+        ChangeFeedConsumer registered = register(consumer);
+        long from = after != null ? after : registered.getAckedEventId();
+        return readAfter(consumer, from, limit);
+    }
+    
+    /**
+     * Completes once events newer than the cursor have been committed, or after waitMs.
+     */
+    public CompletableFuture<Void> awaitAfter(long after, long waitMs) {
+        AtomicLong latest = latest();
+        if (latest.get() > after || waitMs <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        waiters.put(waiter, new Waiter(TenantContext.current(), after));
+        waiter.whenComplete((v, e) -> waiters.remove(waiter));
+        if (latest.get() > after) {
+            waiter.complete(null);
+        }
+        return waiter.completeOnTimeout(null, waitMs, TimeUnit.MILLISECONDS);
+    }
+    
+    public long resumePoint(String consumer, Long after) {
+        return after != null ? after : register(consumer).getAckedEventId();
+    }
+    
+    /**
+     * Records that the consumer has processed every event up to and including upTo.
+     */
+    public ChangeFeedPosition acknowledge(String consumer, long upTo) {
+        register(consumer);
+        long visible = Math.min(upTo, Math.min(recorder.watermark(), latest().get()));
+        transactionTemplate.executeWithoutResult(status -> consumerRepository.advance(consumer, visible, LocalDateTime.now()));
+        return position(consumer);
+    }
+    
+    public ChangeFeedPosition position(String consumer) {
+        ChangeFeedConsumer registered = consumerRepository.findById(consumer)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown change feed consumer: " + consumer));
+        return new ChangeFeedPosition(consumer, registered.getAckedEventId(), latest().get(), registered.getAckedAt());
+    }
+    
+    public SseEmitter subscribe(String consumer, Long after, long timeoutMs) {
+        long from = resumePoint(consumer, after);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        subscriptions.put(emitter, new Subscription(TenantContext.current(), consumer, from));
+        emitter.onCompletion(() -> subscriptions.remove(emitter));
+        emitter.onTimeout(() -> subscriptions.remove(emitter));
+        emitter.onError(e -> subscriptions.remove(emitter));
+        schedulePush();
+        return emitter;
+    }
+    
+    /**
+     * Keeps idle SSE connections open through proxies and catches up any subscriber that
+     * missed a push.
+     */
+    @Scheduled(fixedDelayString = "${school.changefeed.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (SseEmitter emitter : subscriptions.keySet()) {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                subscriptions.remove(emitter);
+            }
+        }
+        schedulePush();
+    }
+    
+    @Scheduled(fixedDelayString = "${school.changefeed.purge-ms:3600000}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        for (String tenant : tenancy.tenants()) {
+            Integer purged = TenantContext.callAs(tenant, () ->
+                    transactionTemplate.execute(status -> eventRepository.deleteCreatedBefore(cutoff)));
+            if (purged != null && purged > 0) {
+                log.info("Purged {} change feed events of {} created before {}", purged, tenant, cutoff);
+            }
+        }
+    }
+    
+    private ChangeBatch readAfter(String consumer, long after, int limit) {
+        int size = Math.max(1, Math.min(limit, maxBatch));
+        long upTo = recorder.watermark();
+        List<OutboxEvent> rows = readOnlyTransactionTemplate.execute(status ->
+                eventRepository.findRange(after, upTo, PageRequest.of(0, size + 1)));
+        boolean hasMore = rows.size() > size;
+        List<ChangeEvent> events = new ArrayList<>(Math.min(rows.size(), size));
+        for (OutboxEvent row : rows.subList(0, Math.min(rows.size(), size))) {
+            events.add(new ChangeEvent(row.getId(), row.getEntityType(), row.getEntityId(), row.getOperation().name(),
+                    row.getChangedProperties() == null ? null : Arrays.asList(row.getChangedProperties().split(",")),
+                    row.getPayload(), row.getCreatedAt()));
+        }
+        long cursor = events.isEmpty() ? after : events.get(events.size() - 1).getId();
+        return new ChangeBatch(consumer, events, cursor, hasMore);
+    }
+    
+    private ChangeFeedConsumer register(String consumer) {
+        if (consumer == null || consumer.isBlank() || consumer.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("A consumer name of at most " + MAX_NAME_LENGTH + " characters is required");
+        }
+        return consumerRepository.findById(consumer).orElseGet(() -> transactionTemplate.execute(status ->
+                consumerRepository.findById(consumer).orElseGet(() -> consumerRepository.save(new ChangeFeedConsumer(consumer)))));
+    }
+    
+    private AtomicLong latest() {
+        String tenant = TenantContext.current();
+        AtomicLong latest = latestCommitted.get(tenant);
+        if (latest == null) {
+            long max = readOnlyTransactionTemplate.execute(status -> eventRepository.findMaxId());
+            latest = latestCommitted.computeIfAbsent(tenant, t -> new AtomicLong());
+            latest.accumulateAndGet(max, Math::max);
+        }
+        return latest;
+    }
+    
+    private void committed(String tenant, long maxId) {
+        latestCommitted.computeIfAbsent(tenant, t -> new AtomicLong()).accumulateAndGet(maxId, Math::max);
+        waiters.forEach((waiter, pending) -> {
+            if (pending.tenant().equals(tenant) && maxId > pending.after()) {
+                waiter.complete(null);
+            }
+        });
+        if (!subscriptions.isEmpty()) {
+            schedulePush();
+        }
+    }
+    
+    private void schedulePush() {
+        if (pushScheduled.compareAndSet(false, true)) {
+            pusher.execute(() -> {
+                pushScheduled.set(false);
+                push();
+            });
+        }
+    }
+    
+    private void push() {
+        for (Map.Entry<SseEmitter, Subscription> entry : subscriptions.entrySet()) {
+            Subscription subscription = entry.getValue();
+            TenantContext.runAs(subscription.tenant, () -> push(entry.getKey(), subscription));
+        }
+    }
+    
+    private void push(SseEmitter emitter, Subscription subscription) {
+        try {
+            ChangeBatch batch;
+            do {
+                batch = readAfter(subscription.consumer, subscription.cursor, maxBatch);
+                if (batch.getEvents().isEmpty()) {
+                    break;
+                }
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(batch.getCursor()))
+                        .name("changes")
+                        .data(batch));
+                subscription.cursor = batch.getCursor();
+            } while (batch.isHasMore());
+        } catch (IOException | IllegalStateException e) {
+            subscriptions.remove(emitter);
+        } catch (RuntimeException e) {
+            log.warn("Change feed push to {} failed", subscription.consumer, e);
+            emitter.completeWithError(e);
+            subscriptions.remove(emitter);
+        }
+    }
+    
+    private record Waiter(String tenant, long after) {}
+    
+    private static final class Subscription {
+        private final String tenant;
+        private final String consumer;
+        private long cursor;
+        
+        Subscription(String tenant, String consumer, long cursor) {
+            this.tenant = tenant;
+            this.consumer = consumer;
+            this.cursor = cursor;
+        }
+    }
+}
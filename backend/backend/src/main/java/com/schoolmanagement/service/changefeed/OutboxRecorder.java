@@ -0,0 +1,247 @@
+package com.schoolmanagement.service.changefeed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolmanagement.config.HibernateEvents;
+import com.schoolmanagement.model.OutboxEvent;
+import com.schoolmanagement.model.SchoolClass;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.Subject;
+import com.schoolmanagement.model.Teacher;
+import com.schoolmanagement.service.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ObjLongConsumer;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes an OutboxEvent for every insert, update and delete of the tracked entities as
+ * part of the transaction that made the change, so the feed can never disagree with the
+ * tables. Snapshots are taken when Hibernate flushes the change (the same point at which
+ * the entities' @PrePersist/@PreUpdate hooks have already run) and persisted just before
+ * commit; a rolled-back transaction leaves no events.
+ *
+ * Outbox ids come from a sequence, so a transaction can commit an id lower than one that
+ * is already visible. Ids are therefore registered as in flight from allocation until
+ * their transaction completes, and readers only see ids below the oldest one still in
+ * flight (see watermark()), tracked per tenant since each tenant schema has its own
+ * sequence. This holds for a single application node.
+ */
+@Component
+public class OutboxRecorder implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+    private static final Set<Class<?>> TRACKED = Set.of(Student.class, Teacher.class, Subject.class, SchoolClass.class);
+    
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectMapper objectMapper;
+    private final Set<String> excludedProperties;
+    private final Map<SharedSessionContractImplementor, List<OutboxEvent>> pending = new ConcurrentHashMap<>();
+    private final Map<String, TreeSet<Long>> inFlight = new ConcurrentHashMap<>();
+    private final List<ObjLongConsumer<String>> commitListeners = new CopyOnWriteArrayList<>();
+    
+    public OutboxRecorder(EntityManagerFactory entityManagerFactory, ObjectMapper objectMapper,
+                          @Value("${school.changefeed.excluded-properties:}") List<String> excludedProperties) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.objectMapper = objectMapper;
+        this.excludedProperties = Set.copyOf(excludedProperties);
+    }
+    
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = HibernateEvents.registry(entityManagerFactory);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+    
+    /**
+     * Highest outbox id of the current tenant below which every event is either
+     * committed or rolled back.
+     */
+    public long watermark() {
+        TreeSet<Long> ids = inFlight(TenantContext.current());
+        synchronized (ids) {
+            return ids.isEmpty() ? Long.MAX_VALUE : ids.first() - 1;
+        }
+    }
+    
+    /**
+     * Called after each commit that wrote events, with the tenant and the highest id written.
+     */
+    public void addCommitListener(ObjLongConsumer<String> listener) {
+        commitListeners.add(listener);
+    }
+    
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (tracked(event.getPersister())) {
+            record(event.getSession(), event.getPersister(), event.getId(), OutboxEvent.ChangeOperation.INSERT,
+                    event.getState(), null);
+        }
+    }
+    
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        EntityPersister persister = event.getPersister();
+        if (!tracked(persister)) {
+            return;
+        }
+        List<String> changed = new ArrayList<>();
+        int[] dirty = event.getDirtyProperties();
+        if (dirty != null) {
+            for (int index : dirty) {
+                if (published(persister, index)) {
+                    changed.add(persister.getPropertyNames()[index]);
+                }
+            }
+            if (changed.isEmpty()) {
+                return;
+            }
+        }
+        record(event.getSession(), persister, event.getId(), OutboxEvent.ChangeOperation.UPDATE, event.getState(), changed);
+    }
+    
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (tracked(event.getPersister())) {
+            record(event.getSession(), event.getPersister(), event.getId(), OutboxEvent.ChangeOperation.DELETE,
+                    event.getDeletedState(), null);
+        }
+    }
+    
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+    
+    private void record(EventSource session, EntityPersister persister, Object id, OutboxEvent.ChangeOperation operation,
+                        Object[] state, List<String> changed) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(snapshot(session, persister, state));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize change of " + persister.getEntityName() + " " + id, e);
+        }
+        OutboxEvent event = new OutboxEvent(persister.getMappedClass().getSimpleName(), (Long) id, operation,
+                changed == null ? null : String.join(",", changed), payload);
+        List<OutboxEvent> events = pending.computeIfAbsent(session, s -> {
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::write);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) this::completed);
+            return new ArrayList<>();
+        });
+        events.add(event);
+    }
+    
+    private void write(SessionImplementor session) {
+        List<OutboxEvent> events = pending.get(session);
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+        TreeSet<Long> ids = inFlight(tenantOf(session));
+        synchronized (ids) {
+            for (OutboxEvent event : events) {
+                session.persist(event);
+                ids.add(event.getId());
+            }
+        }
+        session.flush();
+    }
+    
+    private void completed(boolean success, SharedSessionContractImplementor session) {
+        List<OutboxEvent> events = pending.remove(session);
+        if (events == null) {
+            return;
+        }
+        String tenant = tenantOf(session);
+        TreeSet<Long> ids = inFlight(tenant);
+        long max = 0;
+        synchronized (ids) {
+            for (OutboxEvent event : events) {
+                if (event.getId() != null) {
+                    ids.remove(event.getId());
+                    max = Math.max(max, event.getId());
+                }
+            }
+        }
+        if (success && max > 0) {
+            for (ObjLongConsumer<String> listener : commitListeners) {
+                listener.accept(tenant, max);
+            }
+        }
+    }
+    
+    private TreeSet<Long> inFlight(String tenant) {
+        return inFlight.computeIfAbsent(tenant, t -> new TreeSet<>());
+    }
+    
+    private static String tenantOf(SharedSessionContractImplementor session) {
+        Object tenant = session.getTenantIdentifier();
+        return tenant != null ? tenant.toString() : TenantContext.DEFAULT_TENANT;
+    }
+    
+    private Map<String, Object> snapshot(SharedSessionContractImplementor session, EntityPersister persister, Object[] state) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (state == null) {
+            return values;
+        }
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        for (int i = 0; i < names.length; i++) {
+            if (!published(persister, i)) {
+                continue;
+            }
+            Object value = state[i];
+            if (value == LazyPropertyInitializer.UNFETCHED_PROPERTY) {
+                // lazy basic column never loaded in this session, so it cannot have changed
+                continue;
+            }
+            if (types[i].isEntityType()) {
+                values.put(names[i] + "Id", value == null ? null : identifier(session, value));
+            } else {
+                values.put(names[i], value);
+            }
+        }
+        return values;
+    }
+    
+    private boolean published(EntityPersister persister, int index) {
+        return !persister.getPropertyTypes()[index].isCollectionType()
+                && !excludedProperties.contains(persister.getPropertyNames()[index]);
+    }
+    
+    private static Object identifier(SharedSessionContractImplementor session, Object entity) {
+        if (entity instanceof HibernateProxy proxy) {
+            return proxy.getHibernateLazyInitializer().getInternalIdentifier();
+        }
+        return session.getEntityPersister(null, entity).getIdentifier(entity, session);
+    }
+    
+    private static boolean tracked(EntityPersister persister) {
+        return TRACKED.contains(persister.getMappedClass());
+    }
+}
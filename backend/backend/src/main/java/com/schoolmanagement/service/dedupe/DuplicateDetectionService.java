@@ -0,0 +1,444 @@
+package com.schoolmanagement.service.dedupe;
+
+import com.schoolmanagement.config.HibernateEvents;
+import com.schoolmanagement.config.TenancyProperties;
+import com.schoolmanagement.dto.DuplicateCandidate;
+import com.schoolmanagement.dto.DuplicatePair;
+import com.schoolmanagement.dto.DuplicateScanStatus;
+import com.schoolmanagement.dto.StudentIntake;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.repository.StudentRepository;
+import com.schoolmanagement.service.routing.RoutingContext;
+import com.schoolmanagement.service.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Finds students who were enrolled twice. Every student's identifying fields are kept in
+ * memory, filed under a few blocking keys (see {@link StudentFingerprint#blockingKeys}),
+ * so an intake record is only scored against the handful of students it shares a block
+ * with rather than the whole district. A batch scan does the same for every stored pair
+ * by walking the blocks in parallel. Each tenant's index is built at startup and kept
+ * current from committed student changes in its schema, like the search index.
+ */
+@Service
+public class DuplicateDetectionService implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+    private static final Logger log = LoggerFactory.getLogger(DuplicateDetectionService.class);
+    private static final int MAX_CANDIDATES = 50;
+    // below this many candidates an intake check is cheaper on the calling thread
+    private static final int PARALLEL_CANDIDATES = 512;
+    
+    private final StudentRepository studentRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TenancyProperties tenancy;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final MatchScorer scorer;
+    private final int maxBlockSize;
+    private final int maxScanPairs;
+    private final ForkJoinPool pool;
+    private final ExecutorService scanExecutor;
+    private final AtomicLong scanIds = new AtomicLong();
+    private final Map<String, TenantDuplicates> tenants = new ConcurrentHashMap<>();
+    
+    public DuplicateDetectionService(StudentRepository studentRepository, EntityManagerFactory entityManagerFactory,
+                                     TenancyProperties tenancy, PlatformTransactionManager transactionManager,
+                                     @Value("${school.dedupe.probable-threshold:0.88}") double probableThreshold,
+                                     @Value("${school.dedupe.possible-threshold:0.75}") double possibleThreshold,
+                                     @Value("${school.dedupe.max-block-size:2000}") int maxBlockSize,
+                                     @Value("${school.dedupe.max-scan-pairs:10000}") int maxScanPairs,
+                                     @Value("${school.dedupe.parallelism:0}") int parallelism) {
+        this.studentRepository = studentRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.tenancy = tenancy;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.readOnlyTransactionTemplate.setName(RoutingContext.PRIMARY_READ);
+        this.scorer = new MatchScorer(probableThreshold, possibleThreshold);
+        this.maxBlockSize = maxBlockSize;
+        this.maxScanPairs = maxScanPairs;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.scanExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "duplicate-scan");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = HibernateEvents.registry(entityManagerFactory);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        scanExecutor.shutdownNow();
+        pool.shutdownNow();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (String tenant : tenancy.tenants()) {
+            TenantContext.runAs(tenant, this::rebuild);
+        }
+    }
+    
+    /**
+     * Builds a fresh index for the current tenant and swaps it in; checks keep using the
+     * old one until then. Changes committed while the rows stream are replayed onto the
+     * fresh index first.
+     */
+    public void rebuild() {
+        TenantDuplicates tenant = tenant(TenantContext.current());
+        tenant.rebuildLock.lock();
+        try {
+            rebuild(tenant);
+        } finally {
+            tenant.rebuildLock.unlock();
+        }
+    }
+    
+    private void rebuild(TenantDuplicates tenant) {
+        long start = System.nanoTime();
+        DuplicateIndex fresh = new DuplicateIndex();
+        synchronized (tenant.changeLock) {
+            tenant.replay = new ArrayList<>();
+        }
+        try {
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = studentRepository.streamMatchFields()) {
+                    rows.forEach(r -> fresh.put(StudentFingerprint.of((Long) r[0], (String) r[1], (String) r[2], (String) r[3],
+                            (LocalDate) r[4], (String) r[5], (String) r[6], (String) r[7], (String) r[8])));
+                }
+            });
+            synchronized (tenant.changeLock) {
+                tenant.replay.forEach(change -> change.accept(fresh));
+                tenant.index = fresh;
+            }
+        } finally {
+            synchronized (tenant.changeLock) {
+                tenant.replay = null;
+            }
+        }
+        tenant.ready = true;
+        log.info("Duplicate index for {} built with {} students in {} blocks in {} ms", TenantContext.current(),
+                fresh.size(), fresh.blockCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    /**
+     * Stored students who may be the same person as the intake record, best match first.
+     */
+    public List<DuplicateCandidate> check(StudentIntake intake, int limit) {
+        if (isBlank(intake.getFirstName()) || isBlank(intake.getLastName())) {
+            throw new IllegalArgumentException("firstName and lastName are required");
+        }
+        TenantDuplicates tenant = tenant(TenantContext.current());
+        if (!tenant.ready) {
+            throw new IllegalStateException("Duplicate index is still loading");
+        }
+        StudentFingerprint fingerprint = StudentFingerprint.of(null, null, intake.getFirstName(), intake.getLastName(),
+                intake.getDateOfBirth(), intake.getParentGuardianPhone(), intake.getPostalCode(),
+                intake.getParentGuardianEmail(), intake.getAddress());
+        return match(tenant.index, fingerprint).stream()
+                .limit(Math.min(limit, MAX_CANDIDATES))
+                .map(scored -> {
+                    StudentFingerprint other = scored.fingerprint();
+                    return new DuplicateCandidate(other.id(), other.studentId(), other.displayName(),
+                            other.dateOfBirthValue(), scored.match().score(), scored.match().level(),
+                            scored.match().reasons());
+                })
+                .toList();
+    }
+    
+    /**
+     * A one-line description of the best probable duplicate of a student about to be
+     * imported, or null if there is none. Imports are not held up while the index loads.
+     */
+    public String describeProbableDuplicate(Student student) {
+        TenantDuplicates tenant = tenant(TenantContext.current());
+        if (!tenant.ready) {
+            return null;
+        }
+        StudentFingerprint fingerprint = StudentFingerprint.of(null, null, student.getFirstName(), student.getLastName(),
+                student.getDateOfBirth(), student.getParentGuardianPhone(), student.getPostalCode(),
+                student.getParentGuardianEmail(), student.getAddress());
+        return match(tenant.index, fingerprint).stream()
+                .filter(scored -> MatchScorer.PROBABLE.equals(scored.match().level()))
+                .findFirst()
+                .map(scored -> "probable duplicate of " + scored.fingerprint().studentId() + " ("
+                        + scored.fingerprint().displayName() + ", score " + scored.match().score() + ", matched on "
+                        + String.join(", ", scored.match().reasons()) + ")")
+                .orElse(null);
+    }
+    
+    private List<Scored> match(DuplicateIndex current, StudentFingerprint fingerprint) {
+        Set<Long> candidates = current.candidates(fingerprint, maxBlockSize);
+        List<Scored> matches;
+        if (candidates.size() < PARALLEL_CANDIDATES) {
+            matches = candidates.stream().map(id -> score(current, fingerprint, id)).filter(s -> s != null)
+                    .collect(Collectors.toCollection(ArrayList::new));
+        } else {
+            matches = pool.submit(() -> candidates.parallelStream().map(id -> score(current, fingerprint, id))
+                    .filter(s -> s != null).collect(Collectors.toCollection(ArrayList::new))).join();
+        }
+        matches.sort(Comparator.comparingDouble((Scored s) -> s.match().score()).reversed());
+        return matches;
+    }
+    
+    private Scored score(DuplicateIndex current, StudentFingerprint fingerprint, Long id) {
+        StudentFingerprint other = current.get(id);
+        if (other == null) {
+            return null;
+        }
+        MatchScorer.Match match = scorer.score(fingerprint, other);
+        return match == null ? null : new Scored(other, match);
+    }
+    
+    /**
+     * Starts a scan of the current tenant's students for duplicates, or returns the one
+     * already running. Scans of different tenants queue behind each other.
+     */
+    public DuplicateScanStatus startScan() {
+        TenantDuplicates tenant = tenant(TenantContext.current());
+        if (!tenant.ready) {
+            throw new IllegalStateException("Duplicate index is still loading");
+        }
+        synchronized (tenant) {
+            DuplicateScan running = tenant.lastScan;
+            if (running != null && running.isRunning()) {
+                return running.status(0);
+            }
+            DuplicateScan scan = new DuplicateScan(scanIds.incrementAndGet(), maxScanPairs);
+            tenant.lastScan = scan;
+            scanExecutor.execute(() -> runScan(tenant, scan));
+            return scan.status(0);
+        }
+    }
+    
+    /**
+     * The current tenant's most recent scan with up to {@code limit} of its highest-scoring
+     * pairs, or null if none ran yet.
+     */
+    public DuplicateScanStatus scanStatus(int limit) {
+        DuplicateScan scan = tenant(TenantContext.current()).lastScan;
+        return scan == null ? null : scan.status(Math.min(limit, maxScanPairs));
+    }
+    
+    private void runScan(TenantDuplicates tenant, DuplicateScan scan) {
+        DuplicateIndex current = tenant.index;
+        List<Map.Entry<String, Set<Long>>> blocks = new ArrayList<>(current.blocks());
+        scan.started(current.size(), blocks.size());
+        try {
+            pool.submit(() -> blocks.parallelStream().forEach(block -> scanBlock(current, scan, block.getKey(), block.getValue())))
+                    .join();
+            scan.finished(null);
+            DuplicateScanStatus status = scan.status(0);
+            log.info("Duplicate scan {} compared {} pairs in {} blocks ({} skipped) and found {} ({} probable) in {} ms",
+                    status.getId(), status.getComparisons(), status.getScannedBlocks(), status.getSkippedBlocks(),
+                    status.getPairsFound(), status.getProbablePairs(), status.getElapsedMillis());
+        } catch (RuntimeException e) {
+            log.error("Duplicate scan failed", e);
+            scan.finished(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+    
+    /**
+     * Compares every pair in one block. A pair sharing several blocks is only compared in
+     * the lowest-keyed one it is not too large for, so each pair is scored exactly once
+     * without tracking which pairs were already seen.
+     */
+    private void scanBlock(DuplicateIndex current, DuplicateScan scan, String key, Set<Long> ids) {
+        if (ids.size() > maxBlockSize) {
+            scan.skipped();
+            return;
+        }
+        List<StudentFingerprint> members = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            StudentFingerprint fingerprint = current.get(id);
+            if (fingerprint != null) {
+                members.add(fingerprint);
+            }
+        }
+        String[][] keys = new String[members.size()][];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = members.get(i).blockingKeys();
+        }
+        long comparisons = 0;
+        for (int i = 0; i < members.size(); i++) {
+            for (int j = i + 1; j < members.size(); j++) {
+                if (!key.equals(firstSharedKey(current, keys[i], keys[j]))) {
+                    continue;
+                }
+                comparisons++;
+                StudentFingerprint a = members.get(i);
+                StudentFingerprint b = members.get(j);
+                MatchScorer.Match match = scorer.score(a, b);
+                if (match != null) {
+                    StudentFingerprint first = a.id() < b.id() ? a : b;
+                    StudentFingerprint second = first == a ? b : a;
+                    scan.found(new DuplicatePair(first.id(), first.studentId(), first.displayName(), second.id(),
+                            second.studentId(), second.displayName(), match.score(), match.level(), match.reasons()));
+                }
+            }
+        }
+        scan.scanned(comparisons);
+    }
+    
+    private String firstSharedKey(DuplicateIndex current, String[] a, String[] b) {
+        String first = null;
+        for (String key : a) {
+            if ((first == null || key.compareTo(first) < 0) && contains(b, key) && current.blockSize(key) <= maxBlockSize) {
+                first = key;
+            }
+        }
+        return first;
+    }
+    
+    private static boolean contains(String[] keys, String key) {
+        for (String candidate : keys) {
+            if (candidate.equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Student student) {
+            tenant(HibernateEvents.tenantOf(event.getSession())).change(put(student, event.getPersister(), event.getState()));
+        }
+    }
+    
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Student student) {
+            tenant(HibernateEvents.tenantOf(event.getSession())).change(put(student, event.getPersister(), event.getState()));
+        }
+    }
+    
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Student student) {
+            Long id = student.getId();
+            tenant(HibernateEvents.tenantOf(event.getSession())).change(target -> target.remove(id));
+        }
+    }
+    
+    private TenantDuplicates tenant(String tenant) {
+        return tenants.computeIfAbsent(tenant, key -> new TenantDuplicates());
+    }
+    
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {}
+    
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+    
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+    
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Student.class.isAssignableFrom(persister.getMappedClass());
+    }
+    
+    /**
+     * Indexes the student as committed, with the fields read now rather than on replay.
+     * The address is a lazy column: when the session never loaded it, it cannot have
+     * changed, so the value already in the target index is kept instead of triggering a
+     * load after commit.
+     */
+    private static Consumer<DuplicateIndex> put(Student student, EntityPersister persister, Object[] state) {
+        Object address = state[persister.getEntityMetamodel().getPropertyIndex("address")];
+        boolean unfetched = address == LazyPropertyInitializer.UNFETCHED_PROPERTY;
+        Long id = student.getId();
+        String studentId = student.getStudentId();
+        String firstName = student.getFirstName();
+        String lastName = student.getLastName();
+        LocalDate dateOfBirth = student.getDateOfBirth();
+        String phone = student.getParentGuardianPhone();
+        String postalCode = student.getPostalCode();
+        String email = student.getParentGuardianEmail();
+        return target -> {
+            String addressText;
+            if (unfetched) {
+                StudentFingerprint previous = target.get(id);
+                addressText = previous != null ? previous.address() : null;
+            } else {
+                addressText = (String) address;
+            }
+            target.put(StudentFingerprint.of(id, studentId, firstName, lastName, dateOfBirth, phone, postalCode, email,
+                    addressText));
+        };
+    }
+    
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+    
+    private record Scored(StudentFingerprint fingerprint, MatchScorer.Match match) {}
+    
+    /**
+     * One tenant's index, rebuild state and latest scan.
+     */
+    private static final class TenantDuplicates {
+        private final ReentrantLock rebuildLock = new ReentrantLock();
+        private final Object changeLock = new Object();
+        private volatile DuplicateIndex index = new DuplicateIndex();
+        // changes committed while a rebuild streams, replayed onto its result; null otherwise
+        private List<Consumer<DuplicateIndex>> replay;
+        private volatile boolean ready;
+        private volatile DuplicateScan lastScan;
+        
+        /**
+         * Applies a committed change, and remembers it for replay if a rebuild is streaming.
+         * Puts and removes by id are idempotent, so replaying one the stream already saw is harmless.
+         */
+        void change(Consumer<DuplicateIndex> change) {
+            synchronized (changeLock) {
+                change.accept(index);
+                if (replay != null) {
+                    replay.add(change);
+                }
+            }
+        }
+    }
+}
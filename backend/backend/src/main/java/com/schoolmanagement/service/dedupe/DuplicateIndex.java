@@ -0,0 +1,80 @@
+package com.schoolmanagement.service.dedupe;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Student fingerprints by id plus the blocks they are filed under. Lookups are lock-free;
+ * writers are serialized so a record's old block memberships are removed before its new
+ * ones are added.
+ */
+class DuplicateIndex {
+    private final Map<Long, StudentFingerprint> fingerprints = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> blocks = new ConcurrentHashMap<>();
+    
+    synchronized void put(StudentFingerprint fingerprint) {
+        StudentFingerprint previous = fingerprints.put(fingerprint.id(), fingerprint);
+        if (previous != null) {
+            unfile(previous);
+        }
+        for (String key : fingerprint.blockingKeys()) {
+            blocks.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(fingerprint.id());
+        }
+    }
+    
+    synchronized void remove(Long id) {
+        StudentFingerprint previous = fingerprints.remove(id);
+        if (previous != null) {
+            unfile(previous);
+        }
+    }
+    
+    private void unfile(StudentFingerprint fingerprint) {
+        for (String key : fingerprint.blockingKeys()) {
+            blocks.computeIfPresent(key, (k, members) -> {
+                members.remove(fingerprint.id());
+                return members.isEmpty() ? null : members;
+            });
+        }
+    }
+    
+    StudentFingerprint get(Long id) {
+        return fingerprints.get(id);
+    }
+    
+    int blockSize(String key) {
+        Set<Long> members = blocks.get(key);
+        return members == null ? 0 : members.size();
+    }
+    
+    /**
+     * Ids sharing at least one block with the fingerprint, ignoring blocks larger than
+     * {@code maxBlockSize} (a shared postal code in a dense district says little on its own).
+     */
+    Set<Long> candidates(StudentFingerprint fingerprint, int maxBlockSize) {
+        Set<Long> ids = new HashSet<>();
+        for (String key : fingerprint.blockingKeys()) {
+            Set<Long> members = blocks.get(key);
+            if (members != null && members.size() <= maxBlockSize) {
+                ids.addAll(members);
+            }
+        }
+        ids.remove(fingerprint.id());
+        return ids;
+    }
+    
+    Collection<Map.Entry<String, Set<Long>>> blocks() {
+        return blocks.entrySet();
+    }
+    
+    int size() {
+        return fingerprints.size();
+    }
+    
+    int blockCount() {
+        return blocks.size();
+    }
+}
@@ -0,0 +1,101 @@
+package com.schoolmanagement.service.dedupe;
+
+import com.schoolmanagement.dto.DuplicatePair;
+import com.schoolmanagement.dto.DuplicateScanStatus;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress and findings of one pass over every block of the index.
+ */
+class DuplicateScan {
+    // lower score first; on equal scores the pair with higher ids, so ties keep a stable set
+    private static final Comparator<DuplicatePair> WEAKEST_FIRST = Comparator.comparingDouble(DuplicatePair::getScore)
+            .thenComparing(DuplicatePair::getFirstId, Comparator.reverseOrder())
+            .thenComparing(DuplicatePair::getSecondId, Comparator.reverseOrder());
+    
+    private final long id;
+    private final int maxPairs;
+    private final AtomicInteger scannedBlocks = new AtomicInteger();
+    private final AtomicInteger skippedBlocks = new AtomicInteger();
+    private final AtomicLong comparisons = new AtomicLong();
+    private final AtomicInteger pairsFound = new AtomicInteger();
+    private final AtomicInteger probablePairs = new AtomicInteger();
+    // the best maxPairs pairs so far, weakest at the head
+    private final PriorityQueue<DuplicatePair> pairs = new PriorityQueue<>(WEAKEST_FIRST);
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startNanos = System.nanoTime();
+    private volatile int totalBlocks;
+    private volatile int students;
+    private volatile List<DuplicatePair> ranked;
+    private volatile String failure;
+    private volatile LocalDateTime finishedAt;
+    private volatile long elapsedMillis;
+    
+    DuplicateScan(long id, int maxPairs) {
+        this.id = id;
+        this.maxPairs = maxPairs;
+    }
+    
+    boolean isRunning() {
+        return finishedAt == null;
+    }
+    
+    void started(int students, int totalBlocks) {
+        this.students = students;
+        this.totalBlocks = totalBlocks;
+    }
+    
+    void scanned(long blockComparisons) {
+        scannedBlocks.incrementAndGet();
+        comparisons.addAndGet(blockComparisons);
+    }
+    
+    void skipped() {
+        skippedBlocks.incrementAndGet();
+    }
+    
+    /**
+     * Records a pair; every pair is counted, but only the {@code maxPairs} highest-scoring
+     * ones are kept.
+     */
+    void found(DuplicatePair pair) {
+        if (MatchScorer.PROBABLE.equals(pair.getLevel())) {
+            probablePairs.incrementAndGet();
+        }
+        pairsFound.incrementAndGet();
+        synchronized (pairs) {
+            if (pairs.size() < maxPairs) {
+                pairs.add(pair);
+            } else if (maxPairs > 0 && WEAKEST_FIRST.compare(pair, pairs.peek()) > 0) {
+                pairs.poll();
+                pairs.add(pair);
+            }
+        }
+    }
+    
+    void finished(String failure) {
+        List<DuplicatePair> sorted;
+        synchronized (pairs) {
+            sorted = new ArrayList<>(pairs);
+        }
+        sorted.sort(WEAKEST_FIRST.reversed());
+        this.ranked = sorted;
+        this.failure = failure;
+        this.elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        this.finishedAt = LocalDateTime.now();
+    }
+    
+    DuplicateScanStatus status(int limit) {
+        String state = isRunning() ? "RUNNING" : failure == null ? "COMPLETED" : "FAILED";
+        List<DuplicatePair> top = ranked == null ? List.of() : List.copyOf(ranked.subList(0, Math.min(limit, ranked.size())));
+        long elapsed = isRunning() ? (System.nanoTime() - startNanos) / 1_000_000 : elapsedMillis;
+        return new DuplicateScanStatus(id, state, failure, students, totalBlocks, scannedBlocks.get(), skippedBlocks.get(),
+                comparisons.get(), pairsFound.get(), probablePairs.get(), top, startedAt, finishedAt, elapsed);
+    }
+}
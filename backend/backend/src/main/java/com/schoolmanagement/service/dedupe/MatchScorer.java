@@ -0,0 +1,136 @@
+package com.schoolmanagement.service.dedupe;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scores how likely two fingerprints describe the same student. Each field both records
+ * carry contributes its similarity in [0, 1] times a weight, and the score is the
+ * weighted average, so a missing phone number neither helps nor hurts.
+ */
+class MatchScorer {
+    static final String PROBABLE = "PROBABLE";
+    static final String POSSIBLE = "POSSIBLE";
+    
+    private static final double LAST_NAME = 3;
+    private static final double FIRST_NAME = 3;
+    private static final double DATE_OF_BIRTH = 3;
+    private static final double PHONE = 2;
+    private static final double POSTAL_CODE = 1;
+    private static final double EMAIL = 1;
+    private static final double ADDRESS = 1;
+    // names at least this similar count as agreeing, and a pair whose first names are
+    // further apart (twins, siblings) is never rated above POSSIBLE
+    private static final double NAME_AGREES = 0.9;
+    private static final double FIRST_NAME_FOR_PROBABLE = 0.8;
+    
+    private final double probableThreshold;
+    private final double possibleThreshold;
+    
+    MatchScorer(double probableThreshold, double possibleThreshold) {
+        this.probableThreshold = probableThreshold;
+        this.possibleThreshold = possibleThreshold;
+    }
+    
+    double getPossibleThreshold() { return possibleThreshold; }
+    
+    /**
+     * The match between two records, or null when they score below the possible threshold.
+     */
+    Match score(StudentFingerprint a, StudentFingerprint b) {
+        double first = TextMatching.jaroWinkler(a.firstName(), b.firstName());
+        double last = TextMatching.jaroWinkler(a.lastName(), b.lastName());
+        boolean swapped = false;
+        double swappedFirst = TextMatching.jaroWinkler(a.firstName(), b.lastName());
+        double swappedLast = TextMatching.jaroWinkler(a.lastName(), b.firstName());
+        if (swappedFirst + swappedLast > first + last) {
+            first = swappedFirst;
+            last = swappedLast;
+            swapped = true;
+        }
+        
+        double total = LAST_NAME * last + FIRST_NAME * first;
+        double weight = LAST_NAME + FIRST_NAME;
+        List<String> reasons = new ArrayList<>(6);
+        if (last >= NAME_AGREES && first >= NAME_AGREES) {
+            reasons.add(swapped ? "name (first/last swapped)" : "name");
+        } else if (last >= NAME_AGREES) {
+            reasons.add("last name");
+        }
+        
+        if (a.dateOfBirth() != StudentFingerprint.NO_DATE && b.dateOfBirth() != StudentFingerprint.NO_DATE) {
+            double dob = dateSimilarity(a.dateOfBirthValue(), b.dateOfBirthValue());
+            total += DATE_OF_BIRTH * dob;
+            weight += DATE_OF_BIRTH;
+            if (dob == 1) {
+                reasons.add("date of birth");
+            } else if (dob > 0) {
+                reasons.add("date of birth (likely typo)");
+            }
+        }
+        if (a.phone() != null && b.phone() != null) {
+            weight += PHONE;
+            if (a.phone().equals(b.phone())) {
+                total += PHONE;
+                reasons.add("guardian phone");
+            }
+        }
+        if (a.postalCode() != null && b.postalCode() != null) {
+            weight += POSTAL_CODE;
+            if (a.postalCode().equals(b.postalCode())) {
+                total += POSTAL_CODE;
+                reasons.add("postal code");
+            }
+        }
+        if (a.email() != null && b.email() != null) {
+            weight += EMAIL;
+            if (a.email().equals(b.email())) {
+                total += EMAIL;
+                reasons.add("guardian email");
+            }
+        }
+        if (a.address() != null && b.address() != null) {
+            double overlap = TextMatching.wordOverlap(a.address(), b.address());
+            total += ADDRESS * overlap;
+            weight += ADDRESS;
+            if (overlap >= 0.5) {
+                reasons.add("address");
+            }
+        }
+        
+        double score = total / weight;
+        if (score < possibleThreshold) {
+            return null;
+        }
+        String level = score >= probableThreshold && first >= FIRST_NAME_FOR_PROBABLE ? PROBABLE : POSSIBLE;
+        return new Match(Math.round(score * 1000) / 1000.0, level, List.copyOf(reasons));
+    }
+    
+    /**
+     * 1 for the same date; 0.8 for day and month swapped (03/04 vs 04/03); 0.6 for one
+     * differing digit or a year off by one, the usual keying errors; otherwise 0.
+     */
+    static double dateSimilarity(LocalDate a, LocalDate b) {
+        if (a.equals(b)) {
+            return 1;
+        }
+        if (a.getYear() == b.getYear() && a.getMonthValue() == b.getDayOfMonth() && a.getDayOfMonth() == b.getMonthValue()) {
+            return 0.8;
+        }
+        String x = String.format("%04d%02d%02d", a.getYear(), a.getMonthValue(), a.getDayOfMonth());
+        String y = String.format("%04d%02d%02d", b.getYear(), b.getMonthValue(), b.getDayOfMonth());
+        int differing = 0;
+        for (int i = 0; i < x.length() && differing < 2; i++) {
+            if (x.charAt(i) != y.charAt(i)) {
+                differing++;
+            }
+        }
+        if (differing == 1 || (Math.abs(a.getYear() - b.getYear()) == 1 && a.getDayOfYear() == b.getDayOfYear())) {
+            return 0.6;
+        }
+        return 0;
+    }
+    
+    record Match(double score, String level, List<String> reasons) {}
+}
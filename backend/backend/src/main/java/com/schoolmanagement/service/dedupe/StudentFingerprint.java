@@ -0,0 +1,56 @@
+package com.schoolmanagement.service.dedupe;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * The normalized fields of one student that matching looks at. A null field was missing
+ * or unusable in the source record and is left out of both blocking and scoring.
+ *
+ * @param id          database id, or null for an intake record that is not stored yet
+ * @param studentId   the student's school-issued identifier, for display
+ * @param displayName first and last name as entered, for display
+ * @param dateOfBirth epoch day of the date of birth, or {@link #NO_DATE}
+ */
+record StudentFingerprint(Long id, String studentId, String displayName, String firstName, String lastName,
+                          long dateOfBirth, String phone, String postalCode, String email, String address) {
+    static final long NO_DATE = Long.MIN_VALUE;
+    
+    static StudentFingerprint of(Long id, String studentId, String firstName, String lastName, LocalDate dateOfBirth,
+                                 String guardianPhone, String postalCode, String guardianEmail, String address) {
+        return new StudentFingerprint(id, studentId, firstName + " " + lastName,
+                TextMatching.name(firstName), TextMatching.name(lastName),
+                dateOfBirth == null ? NO_DATE : dateOfBirth.toEpochDay(),
+                TextMatching.phone(guardianPhone), TextMatching.postalCode(postalCode),
+                TextMatching.email(guardianEmail), TextMatching.words(address));
+    }
+    
+    /**
+     * Keys of the blocks this record is filed under. Two records are only ever compared
+     * if they share at least one key, so each key tolerates a different kind of data-entry
+     * error: the date of birth survives a misspelled name, the phonetic surname key survives
+     * a mistyped date, and the guardian phone and postal code keys catch the rest.
+     */
+    String[] blockingKeys() {
+        String surname = TextMatching.soundex(lastName);
+        String[] keys = new String[4];
+        int count = 0;
+        if (dateOfBirth != NO_DATE) {
+            keys[count++] = "d:" + dateOfBirth;
+        }
+        if (surname != null && firstName != null) {
+            keys[count++] = "n:" + surname + firstName.charAt(0);
+        }
+        if (phone != null) {
+            keys[count++] = "p:" + phone;
+        }
+        if (postalCode != null && surname != null) {
+            keys[count++] = "z:" + postalCode + ":" + surname;
+        }
+        return count == keys.length ? keys : Arrays.copyOf(keys, count);
+    }
+    
+    LocalDate dateOfBirthValue() {
+        return dateOfBirth == NO_DATE ? null : LocalDate.ofEpochDay(dateOfBirth);
+    }
+}
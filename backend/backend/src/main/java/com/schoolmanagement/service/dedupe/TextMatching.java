@@ -0,0 +1,180 @@
+package com.schoolmanagement.service.dedupe;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalization, phonetic coding and string similarity for record matching.
+ */
+final class TextMatching {
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_LETTERS = Pattern.compile("[^a-z]");
+    private static final Pattern NON_WORD = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^A-Z0-9]");
+    // American Soundex digit per letter A..Z; '0' for vowels, H, W and Y
+    private static final String SOUNDEX_CODES = "01230120022455012623010202";
+    
+    private TextMatching() {}
+    
+    /**
+     * Lower-case ASCII letters only: accents stripped, spaces, hyphens and apostrophes
+     * dropped, so "O'Neil-Smith" and "oneil smith" compare equal. Null when nothing is left.
+     */
+    static String name(String value) {
+        if (value == null) {
+            return null;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        String letters = NON_LETTERS.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll("");
+        return letters.isEmpty() ? null : letters;
+    }
+    
+    /**
+     * Lower-case words separated by single spaces, for addresses.
+     */
+    static String words(String value) {
+        if (value == null) {
+            return null;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        String words = NON_WORD.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+        return words.isEmpty() ? null : words;
+    }
+    
+    /**
+     * The last ten digits, so "+1 (555) 010-2030" and "5550102030" compare equal; null
+     * when fewer than seven digits are present.
+     */
+    static String phone(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        if (digits.length() < 7) {
+            return null;
+        }
+        return digits.length() > 10 ? digits.substring(digits.length() - 10) : digits.toString();
+    }
+    
+    static String postalCode(String value) {
+        if (value == null) {
+            return null;
+        }
+        String code = NON_ALNUM.matcher(value.toUpperCase(Locale.ROOT)).replaceAll("");
+        return code.isEmpty() ? null : code;
+    }
+    
+    static String email(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * American Soundex of a normalized name (see {@link #name}), e.g. "robert" and
+     * "rupert" are both R163.
+     */
+    static String soundex(String normalizedName) {
+        if (normalizedName == null || normalizedName.isEmpty()) {
+            return null;
+        }
+        StringBuilder code = new StringBuilder(4).append(Character.toUpperCase(normalizedName.charAt(0)));
+        char previous = SOUNDEX_CODES.charAt(normalizedName.charAt(0) - 'a');
+        for (int i = 1; i < normalizedName.length() && code.length() < 4; i++) {
+            char letter = normalizedName.charAt(i);
+            char digit = SOUNDEX_CODES.charAt(letter - 'a');
+            if (digit != '0' && digit != previous) {
+                code.append(digit);
+            }
+            // H and W do not separate letters with the same code; vowels do
+            if (letter != 'h' && letter != 'w') {
+                previous = digit;
+            }
+        }
+        while (code.length() < 4) {
+            code.append('0');
+        }
+        return code.toString();
+    }
+    
+    /**
+     * Jaro-Winkler similarity in [0, 1], with the usual 0.1 prefix scale over up to four
+     * common leading characters. 0 when either side is null.
+     */
+    static double jaroWinkler(String a, String b) {
+        if (a == null || b == null) {
+            return 0;
+        }
+        if (a.equals(b)) {
+            return 1;
+        }
+        int window = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+        boolean[] matchedA = new boolean[a.length()];
+        boolean[] matchedB = new boolean[b.length()];
+        int matches = 0;
+        for (int i = 0; i < a.length(); i++) {
+            int from = Math.max(0, i - window);
+            int to = Math.min(b.length(), i + window + 1);
+            for (int j = from; j < to; j++) {
+                if (!matchedB[j] && a.charAt(i) == b.charAt(j)) {
+                    matchedA[i] = true;
+                    matchedB[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0;
+        }
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < a.length(); i++) {
+            if (matchedA[i]) {
+                while (!matchedB[j]) {
+                    j++;
+                }
+                if (a.charAt(i) != b.charAt(j)) {
+                    transpositions++;
+                }
+                j++;
+            }
+        }
+        double m = matches;
+        double jaro = (m / a.length() + m / b.length() + (m - transpositions / 2.0) / m) / 3;
+        int prefix = 0;
+        while (prefix < Math.min(4, Math.min(a.length(), b.length())) && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * 0.1 * (1 - jaro);
+    }
+    
+    /**
+     * Share of distinct words the two texts have in common (Jaccard); 0 when either is null.
+     */
+    static double wordOverlap(String a, String b) {
+        if (a == null || b == null) {
+            return 0;
+        }
+        Set<String> left = new HashSet<>(Arrays.asList(a.split(" ")));
+        Set<String> right = new HashSet<>(Arrays.asList(b.split(" ")));
+        int common = 0;
+        for (String word : left) {
+            if (right.contains(word)) {
+                common++;
+            }
+        }
+        right.addAll(left);
+        return (double) common / right.size();
+    }
+}
@@ -0,0 +1,123 @@
+package com.schoolmanagement.service.diagnostics;
+
+import com.schoolmanagement.dto.PinningReport;
+import com.schoolmanagement.dto.PinningSite;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streams JFR jdk.VirtualThreadPinned events in-process and attributes each one to the
+ * first stack frame in Hibernate, H2, Hikari or our own code (the frame holding the
+ * monitor that pinned the carrier), so pinning hot spots can be read from an endpoint.
+ */
+@Component
+@ConditionalOnProperty(name = "school.virtual-threads.enabled", havingValue = "true")
+public class PinnedCarrierMonitor implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(PinnedCarrierMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String[] WATCHED_PACKAGES = {"org.hibernate.", "org.h2.", "com.zaxxer.hikari.", "com.schoolmanagement."};
+    private static final int MAX_SITES = 500;
+    
+    private final long thresholdMillis;
+    private final Map<String, SiteCounter> sites = new ConcurrentHashMap<>();
+    private final AtomicLong totalEvents = new AtomicLong();
+    private volatile RecordingStream stream;
+    
+    public PinnedCarrierMonitor(@Value("${school.virtual-threads.pinning-threshold-ms:20}") long thresholdMillis) {
+        this.thresholdMillis = thresholdMillis;
+    }
+    
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::record);
+        recording.startAsync();
+        stream = recording;
+        log.info("Watching for virtual threads pinned longer than {} ms", thresholdMillis);
+    }
+    
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+    
+    public PinningReport report(int limit) {
+        List<PinningSite> top = sites.entrySet().stream()
+                .map(e -> e.getValue().toSite(e.getKey()))
+                .sorted(Comparator.comparingDouble(PinningSite::getTotalMillis).reversed())
+                .limit(limit)
+                .toList();
+        return new PinningReport(isRunning(), thresholdMillis, totalEvents.get(), top);
+    }
+    
+    private void record(RecordedEvent event) {
+        totalEvents.incrementAndGet();
+        String site = attribute(event.getStackTrace());
+        if (sites.size() >= MAX_SITES && !sites.containsKey(site)) {
+            site = "(other)";
+        }
+        sites.computeIfAbsent(site, key -> new SiteCounter()).add(event.getDuration().toNanos());
+    }
+    
+    private static String attribute(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "(no stack trace)";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            for (String watched : WATCHED_PACKAGES) {
+                if (type.startsWith(watched)) {
+                    return describe(frame);
+                }
+            }
+        }
+        return describe(stackTrace.getFrames().get(0));
+    }
+    
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+    
+    private static class SiteCounter {
+        private long events;
+        private long totalNanos;
+        private long maxNanos;
+        
+        synchronized void add(long nanos) {
+            events++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+        
+        synchronized PinningSite toSite(String frame) {
+            return new PinningSite(frame, events, totalNanos / 1e6, maxNanos / 1e6);
+        }
+    }
+}
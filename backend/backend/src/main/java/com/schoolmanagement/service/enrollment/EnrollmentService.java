@@ -0,0 +1,423 @@
+package com.schoolmanagement.service.enrollment;
+
+import com.schoolmanagement.config.TenancyProperties;
+import com.schoolmanagement.dto.EnrollmentResult;
+import com.schoolmanagement.dto.SlotAvailability;
+import com.schoolmanagement.model.Enrollment;
+import com.schoolmanagement.model.EnrollmentSlot;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.Subject;
+import com.schoolmanagement.repository.EnrollmentRepository;
+import com.schoolmanagement.repository.EnrollmentSlotRepository;
+import com.schoolmanagement.service.routing.RoutingContext;
+import com.schoolmanagement.service.tenant.TenantContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Seat reservation for enrollment slots under heavy contention.
+ *
+ * Admission is decided by a striped in-memory SeatCounter per slot, never by reading and
+ * re-writing a seat count, so concurrent requests neither oversell nor queue on a row
+ * lock. The enrollment row is written afterwards (unique per slot and student, with
+ * @Version against racing confirm/release/expiry); if that write fails the seat goes
+ * back. Confirmed-seat totals are folded into EnrollmentSlot in one versioned update per
+ * slot per flush, and capacity changes go through the slot's @Version as well.
+ *
+ * A reservation holds its seat for school.enrollment.hold-seconds until confirmed;
+ * expired holds and releases pass the seat to the head of the waitlist. Counters are kept
+ * per tenant (slot ids repeat across schools) and, with the confirmed-seat totals, are
+ * rebuilt from each tenant's enrollments table on startup; they assume a single
+ * application node.
+ */
+@Service
+public class EnrollmentService {
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentService.class);
+    private static final int SWEEP_BATCH = 500;
+    private static final int PROMOTION_ATTEMPTS = 10;
+    
+    private final EnrollmentRepository enrollmentRepository;
+    private final EnrollmentSlotRepository slotRepository;
+    private final TenancyProperties tenancy;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Duration hold;
+    private final int stripes;
+    private final Map<String, Map<Long, SlotState>> tenants = new ConcurrentHashMap<>();
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public EnrollmentService(EnrollmentRepository enrollmentRepository, EnrollmentSlotRepository slotRepository,
+                             TenancyProperties tenancy, PlatformTransactionManager transactionManager,
+                             @Value("${school.enrollment.hold-seconds:300}") long holdSeconds,
+                             @Value("${school.enrollment.stripes:0}") int stripes) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.slotRepository = slotRepository;
+        this.tenancy = tenancy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.readOnlyTransactionTemplate.setName(RoutingContext.PRIMARY_READ);
+        this.hold = Duration.ofSeconds(holdSeconds);
+        this.stripes = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (String tenant : tenancy.tenants()) {
+            TenantContext.runAs(tenant, this::loadTenant);
+        }
+    }
+    
+    /**
+     * Rebuilds the current tenant's seat counters from the enrollments table. Confirmed-seat
+     * deltas not yet flushed when the previous process stopped are lost, so the stored
+     * totals are first reset to the confirmed enrollments they summarise.
+     */
+    private void loadTenant() {
+        Map<Long, SlotState> slots = slots();
+        Integer corrected = transactionTemplate.execute(status -> slotRepository.reconcileConfirmedSeats());
+        if (corrected != null && corrected > 0) {
+            log.warn("Confirmed-seat totals of {} enrollment slots of {} did not match their enrollments and were reset",
+                    corrected, TenantContext.current());
+        }
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            Map<Long, Long> held = new HashMap<>();
+            for (Object[] row : enrollmentRepository.countHeldSeats()) {
+                held.put((Long) row[0], (Long) row[1]);
+            }
+            for (Object[] row : slotRepository.findSlotCapacities()) {
+                Long slotId = (Long) row[0];
+                int capacity = (Integer) row[3];
+                int free = capacity - held.getOrDefault(slotId, 0L).intValue();
+                slots.put(slotId, new SlotState(capacity, new SeatCounter(Math.max(0, free), stripes)));
+            }
+        });
+        log.info("Enrollment counters loaded for {} slots of {}", slots.size(), TenantContext.current());
+    }
+    
+    public SlotAvailability createSlot(Long classId, Long subjectId, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative");
+        }
+        Long slotId = transactionTemplate.execute(status -> {
+            EnrollmentSlot slot = new EnrollmentSlot();
+            slot.setClassId(classId);
+            slot.setSubject(entityManager.getReference(Subject.class, subjectId));
+            slot.setCapacity(capacity);
+            return slotRepository.saveAndFlush(slot).getId();
+        });
+        slots().put(slotId, new SlotState(capacity, new SeatCounter(capacity, stripes)));
+        return availability(slotId);
+    }
+    
+    /**
+     * Changes capacity if the slot is still at expectedVersion (when given).
+     */
+    public SlotAvailability updateCapacity(Long slotId, int capacity, Long expectedVersion) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative");
+        }
+        SlotState state = state(slotId);
+        synchronized (state) {
+            Integer previous = transactionTemplate.execute(status -> {
+                EnrollmentSlot slot = slotRepository.findById(slotId)
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown enrollment slot " + slotId));
+                if (expectedVersion != null && !expectedVersion.equals(slot.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(EnrollmentSlot.class, slotId);
+                }
+                int old = slot.getCapacity();
+                slot.setCapacity(capacity);
+                slotRepository.saveAndFlush(slot);
+                return old;
+            });
+            state.counter.adjust(capacity - previous);
+            state.capacity = capacity;
+        }
+        promoteWaitlist(slotId);
+        return availability(slotId);
+    }
+    
+    public SlotAvailability availability(Long slotId) {
+        SlotState state = state(slotId);
+        return readOnlyTransactionTemplate.execute(status -> {
+            EnrollmentSlot slot = slotRepository.findById(slotId)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown enrollment slot " + slotId));
+            return new SlotAvailability(slotId, slot.getClassId(), slot.getSubject().getId(), state.capacity,
+                    state.counter.available(),
+                    enrollmentRepository.countBySlotAndStatus(slotId, Enrollment.EnrollmentStatus.CONFIRMED),
+                    enrollmentRepository.countBySlotAndStatus(slotId, Enrollment.EnrollmentStatus.WAITLISTED),
+                    slot.getVersion());
+        });
+    }
+    
+    /**
+     * Reserves a seat, or waitlists the student when the slot is full. Repeating the call
+     * for a student who already holds a claim returns that claim unchanged.
+     */
+    public EnrollmentResult reserve(Long slotId, Long studentId) {
+        SlotState state = state(slotId);
+        Enrollment existing = readOnlyTransactionTemplate.execute(status ->
+                enrollmentRepository.findBySlotAndStudent(slotId, studentId).orElse(null));
+        if (existing != null && existing.getStatus() != Enrollment.EnrollmentStatus.RELEASED) {
+            return result(existing);
+        }
+        boolean seat = state.counter.tryAcquire();
+        boolean[] written = new boolean[1];
+        Enrollment saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                Enrollment enrollment = enrollmentRepository.findBySlotAndStudent(slotId, studentId).orElse(null);
+                if (enrollment != null && enrollment.getStatus() != Enrollment.EnrollmentStatus.RELEASED) {
+                    return enrollment;
+                }
+                if (enrollment == null) {
+                    enrollment = new Enrollment();
+                    enrollment.setSlot(entityManager.getReference(EnrollmentSlot.class, slotId));
+                    enrollment.setStudent(entityManager.getReference(Student.class, studentId));
+                }
+                enrollment.setStatus(seat ? Enrollment.EnrollmentStatus.RESERVED : Enrollment.EnrollmentStatus.WAITLISTED);
+                enrollment.setExpiresAt(seat ? LocalDateTime.now().plus(hold) : null);
+                written[0] = true;
+                return enrollmentRepository.saveAndFlush(enrollment);
+            });
+        } catch (DataIntegrityViolationException | ObjectOptimisticLockingFailureException e) {
+            // lost a race with the same student's concurrent request, or the student does not exist
+            if (seat) {
+                state.counter.release();
+            }
+            Enrollment current = readOnlyTransactionTemplate.execute(status ->
+                    enrollmentRepository.findBySlotAndStudent(slotId, studentId).orElse(null));
+            if (current == null) {
+                throw new IllegalArgumentException("Unknown student " + studentId);
+            }
+            return result(current);
+        } catch (RuntimeException e) {
+            if (seat) {
+                state.counter.release();
+            }
+            throw e;
+        }
+        if (seat && !written[0]) {
+            state.counter.release();
+        }
+        if (!seat && written[0]) {
+            // a seat freed between the failed acquire and the waitlist insert must not stay idle
+            promoteWaitlist(slotId);
+            Long enrollmentId = saved.getId();
+            return result(readOnlyTransactionTemplate.execute(status -> find(enrollmentId)));
+        }
+        return result(saved);
+    }
+    
+    public EnrollmentResult confirm(Long enrollmentId) {
+        boolean[] changed = new boolean[1];
+        Enrollment confirmed;
+        try {
+            confirmed = transactionTemplate.execute(status -> {
+                Enrollment enrollment = find(enrollmentId);
+                if (enrollment.getStatus() == Enrollment.EnrollmentStatus.CONFIRMED) {
+                    return enrollment;
+                }
+                if (enrollment.getStatus() != Enrollment.EnrollmentStatus.RESERVED) {
+                    throw new IllegalStateException("Enrollment " + enrollmentId + " is " + enrollment.getStatus());
+                }
+                if (enrollment.getExpiresAt() != null && enrollment.getExpiresAt().isBefore(LocalDateTime.now())) {
+                    throw new IllegalStateException("Reservation " + enrollmentId + " has expired");
+                }
+                enrollment.setStatus(Enrollment.EnrollmentStatus.CONFIRMED);
+                enrollment.setExpiresAt(null);
+                changed[0] = true;
+                return enrollmentRepository.saveAndFlush(enrollment);
+            });
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new IllegalStateException("Enrollment " + enrollmentId + " changed concurrently", e);
+        }
+        if (changed[0]) {
+            state(confirmed.getSlot().getId()).confirmedDelta.incrementAndGet();
+        }
+        return result(confirmed);
+    }
+    
+    public EnrollmentResult release(Long enrollmentId) {
+        return release(enrollmentId, false);
+    }
+    
+    @Scheduled(fixedDelayString = "${school.enrollment.expiry-sweep-ms:10000}")
+    public void expireInBackground() {
+        for (String tenant : tenancy.tenants()) {
+            TenantContext.runAs(tenant, this::expireReservations);
+        }
+    }
+    
+    /**
+     * Releases the current tenant's reservations whose hold has run out.
+     */
+    public void expireReservations() {
+        List<Long> expired;
+        do {
+            expired = readOnlyTransactionTemplate.execute(status ->
+                    enrollmentRepository.findExpiredReservationIds(LocalDateTime.now(), PageRequest.of(0, SWEEP_BATCH)));
+            for (Long enrollmentId : expired) {
+                try {
+                    release(enrollmentId, true);
+                } catch (IllegalStateException e) {
+                    log.debug("Expiry of enrollment {} skipped: {}", enrollmentId, e.getMessage());
+                }
+            }
+        } while (expired.size() == SWEEP_BATCH);
+    }
+    
+    @Scheduled(fixedDelayString = "${school.enrollment.flush-ms:1000}")
+    public void flushInBackground() {
+        tenants.forEach((tenant, slots) -> TenantContext.runAs(tenant, this::flushConfirmedSeats));
+    }
+    
+    /**
+     * Folds the current tenant's confirmed-seat deltas into EnrollmentSlot.confirmedSeats,
+     * one versioned update per slot; a version conflict keeps the delta for the next flush.
+     */
+    public void flushConfirmedSeats() {
+        slots().forEach((slotId, state) -> {
+            int delta = state.confirmedDelta.getAndSet(0);
+            if (delta == 0) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> slotRepository.findById(slotId).ifPresent(slot -> {
+                    slot.setConfirmedSeats(slot.getConfirmedSeats() + delta);
+                    slotRepository.saveAndFlush(slot);
+                }));
+            } catch (RuntimeException e) {
+                state.confirmedDelta.addAndGet(delta);
+                log.debug("Confirmed-seat flush for slot {} deferred: {}", slotId, e.getMessage());
+            }
+        });
+    }
+    
+    private EnrollmentResult release(Long enrollmentId, boolean onlyIfExpired) {
+        Enrollment.EnrollmentStatus[] freed = new Enrollment.EnrollmentStatus[1];
+        Enrollment released;
+        try {
+            released = transactionTemplate.execute(status -> {
+                Enrollment enrollment = find(enrollmentId);
+                boolean expired = enrollment.getStatus() == Enrollment.EnrollmentStatus.RESERVED
+                        && enrollment.getExpiresAt() != null && enrollment.getExpiresAt().isBefore(LocalDateTime.now());
+                if (enrollment.getStatus() == Enrollment.EnrollmentStatus.RELEASED || (onlyIfExpired && !expired)) {
+                    return enrollment;
+                }
+                freed[0] = enrollment.getStatus();
+                enrollment.setStatus(Enrollment.EnrollmentStatus.RELEASED);
+                enrollment.setExpiresAt(null);
+                return enrollmentRepository.saveAndFlush(enrollment);
+            });
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new IllegalStateException("Enrollment " + enrollmentId + " changed concurrently", e);
+        }
+        Long slotId = released.getSlot().getId();
+        SlotState state = state(slotId);
+        if (freed[0] == Enrollment.EnrollmentStatus.CONFIRMED) {
+            state.confirmedDelta.decrementAndGet();
+        }
+        if (freed[0] == Enrollment.EnrollmentStatus.RESERVED || freed[0] == Enrollment.EnrollmentStatus.CONFIRMED) {
+            state.counter.release();
+            promoteWaitlist(slotId);
+        }
+        return result(released);
+    }
+    
+    /**
+     * Hands free seats to the oldest waitlist entries as reservations.
+     */
+    private void promoteWaitlist(Long slotId) {
+        SlotState state = state(slotId);
+        int conflicts = 0;
+        while (conflicts < PROMOTION_ATTEMPTS && state.counter.tryAcquire()) {
+            Boolean promoted;
+            try {
+                promoted = transactionTemplate.execute(status -> {
+                    List<Enrollment> head = enrollmentRepository.findWaitlist(slotId, PageRequest.of(0, 1));
+                    if (head.isEmpty()) {
+                        return false;
+                    }
+                    Enrollment next = head.get(0);
+                    next.setStatus(Enrollment.EnrollmentStatus.RESERVED);
+                    next.setExpiresAt(LocalDateTime.now().plus(hold));
+                    enrollmentRepository.saveAndFlush(next);
+                    return true;
+                });
+            } catch (ObjectOptimisticLockingFailureException e) {
+                state.counter.release();
+                conflicts++;
+                continue;
+            } catch (RuntimeException e) {
+                state.counter.release();
+                throw e;
+            }
+            if (!Boolean.TRUE.equals(promoted)) {
+                state.counter.release();
+                return;
+            }
+        }
+    }
+    
+    private Enrollment find(Long enrollmentId) {
+        return enrollmentRepository.findById(enrollmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown enrollment " + enrollmentId));
+    }
+    
+    private Map<Long, SlotState> slots() {
+        return tenants.computeIfAbsent(TenantContext.current(), tenant -> new ConcurrentHashMap<>());
+    }
+    
+    private SlotState state(Long slotId) {
+        SlotState state = slots().get(slotId);
+        if (state == null) {
+            throw new IllegalArgumentException("Unknown enrollment slot " + slotId);
+        }
+        return state;
+    }
+    
+    private EnrollmentResult result(Enrollment enrollment) {
+        Long slotId = enrollment.getSlot().getId();
+        long position = 0;
+        if (enrollment.getStatus() == Enrollment.EnrollmentStatus.WAITLISTED) {
+            position = Objects.requireNonNullElse(readOnlyTransactionTemplate.execute(status ->
+                    enrollmentRepository.waitlistPosition(slotId, enrollment.getId())), 0L);
+        }
+        return new EnrollmentResult(enrollment.getId(), slotId, enrollment.getStudent().getId(),
+                enrollment.getStatus().name(), position, enrollment.getExpiresAt());
+    }
+    
+    private static final class SlotState {
+        private final SeatCounter counter;
+        private final AtomicInteger confirmedDelta = new AtomicInteger();
+        private volatile int capacity;
+        
+        SlotState(int capacity, SeatCounter counter) {
+            this.capacity = capacity;
+            this.counter = counter;
+        }
+    }
+}
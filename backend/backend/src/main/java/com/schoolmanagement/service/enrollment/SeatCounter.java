@@ -0,0 +1,104 @@
+package com.schoolmanagement.service.enrollment;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Free seats of one slot split across cache-line-padded stripes. A thread starts at a
+ * random stripe and CAS-decrements the first positive one, so concurrent reservations
+ * mostly touch different cache lines instead of spinning on one counter. A stripe is
+ * never taken below zero, so the sum of successful acquires can never exceed the seats
+ * that were put in.
+ *
+ * Shrinking capacity below the free seats records a debt. While it is owed, releases
+ * pay it off instead of freeing a seat, and a free seat an acquire finds pays it off
+ * rather than being handed out, so no owed seat is given away whatever the interleaving.
+ */
+final class SeatCounter {
+    private static final int PAD = 16;
+    
+    private final int stripes;
+    private final AtomicIntegerArray cells;
+    private final AtomicInteger debt = new AtomicInteger();
+    
+    SeatCounter(int available, int stripes) {
+        this.stripes = Math.max(1, stripes);
+        this.cells = new AtomicIntegerArray(this.stripes * PAD);
+        for (int i = 0; i < this.stripes; i++) {
+            cells.set(i * PAD, available / this.stripes + (i < available % this.stripes ? 1 : 0));
+        }
+    }
+    
+    boolean tryAcquire() {
+        while (takeFree()) {
+            if (!payDebt()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    void release() {
+        if (!payDebt()) {
+            putFree();
+        }
+    }
+    
+    /**
+     * Adds (or with a negative delta removes) free seats after a capacity change.
+     */
+    void adjust(int delta) {
+        for (int i = 0; i < delta; i++) {
+            release();
+        }
+        if (delta < 0) {
+            // owed before draining, so a release racing the drain pays it instead of freeing a seat
+            debt.addAndGet(-delta);
+            while (debt.get() > 0 && takeFree()) {
+                if (!payDebt()) {
+                    putFree();
+                    break;
+                }
+            }
+        }
+    }
+    
+    private boolean takeFree() {
+        int start = ThreadLocalRandom.current().nextInt(stripes);
+        for (int i = 0; i < stripes; i++) {
+            int cell = ((start + i) % stripes) * PAD;
+            int free = cells.get(cell);
+            while (free > 0) {
+                if (cells.compareAndSet(cell, free, free - 1)) {
+                    return true;
+                }
+                free = cells.get(cell);
+            }
+        }
+        return false;
+    }
+    
+    private void putFree() {
+        cells.incrementAndGet(ThreadLocalRandom.current().nextInt(stripes) * PAD);
+    }
+    
+    private boolean payDebt() {
+        int owed = debt.get();
+        while (owed > 0) {
+            if (debt.compareAndSet(owed, owed - 1)) {
+                return true;
+            }
+            owed = debt.get();
+        }
+        return false;
+    }
+    
+    int available() {
+        int sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += cells.get(i * PAD);
+        }
+        return Math.max(0, sum - debt.get());
+    }
+}
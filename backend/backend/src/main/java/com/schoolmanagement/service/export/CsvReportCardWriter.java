@@ -0,0 +1,63 @@
+package com.schoolmanagement.service.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Flat CSV, one line per grade (RFC 4180 quoting), written through a fixed-size buffer.
+ */
+public class CsvReportCardWriter implements ReportCardWriter {
+    private static final String HEADER =
+            "studentId,firstName,lastName,className,subjectCode,subjectName,credits,score\r\n";
+    
+    private final Writer writer;
+    
+    public CsvReportCardWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(HEADER);
+    }
+    
+    @Override
+    public void write(ReportCardRow row) throws IOException {
+        field(row.getStudentId()).append(',');
+        field(row.getFirstName()).append(',');
+        field(row.getLastName()).append(',');
+        field(row.getClassName()).append(',');
+        field(row.getSubjectCode()).append(',');
+        field(row.getSubjectName()).append(',');
+        field(row.getCredits() == null ? null : row.getCredits().toString()).append(',');
+        field(row.getScore() == null ? null : row.getScore().toString()).append("\r\n");
+    }
+    
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+    
+    private Writer field(String value) throws IOException {
+        if (value == null) {
+            return writer;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return writer.append(value);
+        }
+        writer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '"') {
+                writer.append('"');
+            }
+            writer.append(ch);
+        }
+        return writer.append('"');
+    }
+}
@@ -0,0 +1,16 @@
+package com.schoolmanagement.service.export;
+
+public enum ExportFormat {
+    CSV("csv", "text/csv"), JSON("json", "application/json");
+    
+    private final String extension;
+    private final String contentType;
+    
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+    
+    public String getExtension() { return extension; }
+    public String getContentType() { return contentType; }
+}
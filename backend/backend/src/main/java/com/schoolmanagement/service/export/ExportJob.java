@@ -0,0 +1,77 @@
+package com.schoolmanagement.service.export;
+
+import com.schoolmanagement.dto.ExportJobStatus;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one per-class export run into a directory.
+ */
+class ExportJob {
+    private final String label;
+    private final ExportFormat format;
+    private final Path directory;
+    private final int totalFiles;
+    private final AtomicInteger pending;
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicLong rows = new AtomicLong();
+    private final List<String> failed = new CopyOnWriteArrayList<>();
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private volatile LocalDateTime finishedAt;
+    
+    ExportJob(String label, ExportFormat format, Path directory, int totalFiles) {
+        this.label = label;
+        this.format = format;
+        this.directory = directory;
+        this.totalFiles = totalFiles;
+        this.pending = new AtomicInteger(totalFiles);
+        if (totalFiles == 0) {
+            finishedAt = startedAt;
+        }
+    }
+    
+    ExportFormat getFormat() { return format; }
+    Path getDirectory() { return directory; }
+    
+    boolean isRunning() {
+        return finishedAt == null;
+    }
+    
+    boolean finishedBefore(LocalDateTime cutoff) {
+        LocalDateTime finished = finishedAt;
+        return finished != null && finished.isBefore(cutoff);
+    }
+    
+    void written(long rowCount) {
+        written.incrementAndGet();
+        rows.addAndGet(rowCount);
+        done();
+    }
+    
+    void skipped() {
+        skipped.incrementAndGet();
+        done();
+    }
+    
+    void failed(String fileName) {
+        failed.add(fileName);
+        done();
+    }
+    
+    private void done() {
+        if (pending.decrementAndGet() == 0) {
+            finishedAt = LocalDateTime.now();
+        }
+    }
+    
+    ExportJobStatus status() {
+        String state = isRunning() ? "RUNNING" : failed.isEmpty() ? "COMPLETED" : "INCOMPLETE";
+        return new ExportJobStatus(label, format.name(), directory.toString(), state, totalFiles,
+                written.get(), skipped.get(), List.copyOf(failed), rows.get(), startedAt, finishedAt);
+    }
+}
@@ -0,0 +1,72 @@
+package com.schoolmanagement.service.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * JSON array of report cards, one object per student with a nested grades array,
+ * emitted with the Jackson streaming generator as rows arrive.
+ */
+public class JsonReportCardWriter implements ReportCardWriter {
+    private static final JsonFactory FACTORY = new JsonFactory();
+    
+    private final JsonGenerator generator;
+    private Long currentStudent;
+    
+    public JsonReportCardWriter(OutputStream out) throws IOException {
+        this.generator = FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        generator.writeStartArray();
+    }
+    
+    @Override
+    public void write(ReportCardRow row) throws IOException {
+        if (!Objects.equals(currentStudent, row.getStudentPk())) {
+            if (currentStudent != null) {
+                endStudent();
+            }
+            currentStudent = row.getStudentPk();
+            generator.writeStartObject();
+            generator.writeStringField("studentId", row.getStudentId());
+            generator.writeStringField("firstName", row.getFirstName());
+            generator.writeStringField("lastName", row.getLastName());
+            generator.writeStringField("className", row.getClassName());
+            generator.writeArrayFieldStart("grades");
+        }
+        if (row.hasGrade()) {
+            generator.writeStartObject();
+            generator.writeStringField("subjectCode", row.getSubjectCode());
+            generator.writeStringField("subjectName", row.getSubjectName());
+            if (row.getCredits() != null) {
+                generator.writeNumberField("credits", row.getCredits());
+            }
+            if (row.getScore() != null) {
+                generator.writeNumberField("score", row.getScore());
+            }
+            generator.writeEndObject();
+        }
+    }
+    
+    @Override
+    public void finish() throws IOException {
+        if (currentStudent != null) {
+            endStudent();
+            currentStudent = null;
+        }
+        generator.writeEndArray();
+        generator.flush();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+    
+    private void endStudent() throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+}
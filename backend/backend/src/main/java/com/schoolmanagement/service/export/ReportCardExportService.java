@@ -0,0 +1,196 @@
+package com.schoolmanagement.service.export;
+
+import com.schoolmanagement.dto.ExportJobStatus;
+import com.schoolmanagement.repository.ReportCardRepository;
+import com.schoolmanagement.service.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Report-card export that never materialises entity graphs: rows come from a scalar,
+ * forward-only query stream (fetch size 1000) and are rendered as they are read, so
+ * memory stays bounded by the JDBC fetch window and the writer buffer.
+ *
+ * Whole-school exports to disk run one task per class on a fixed pool, into a directory
+ * per tenant and label. Each class is written to "<file>.part" and renamed when complete; re-running the same label skips
+ * classes whose final file already exists, so an interrupted run resumes where it stopped.
+ * Finished jobs are forgotten job-retention-hours after they end; their files stay.
+ */
+@Service
+public class ReportCardExportService {
+    private static final Logger log = LoggerFactory.getLogger(ReportCardExportService.class);
+    private static final String UNASSIGNED = "unassigned";
+    
+    private final ReportCardRepository reportCardRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Path exportRoot;
+    private final ExecutorService exportExecutor;
+    private final long jobRetentionHours;
+    private final Map<JobKey, ExportJob> jobs = new ConcurrentHashMap<>();
+    
+    public ReportCardExportService(ReportCardRepository reportCardRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${school.export.directory:exports}") String exportDirectory,
+                                   @Value("${school.export.parallelism:0}") int parallelism,
+                                   @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+                                   @Value("${school.export.job-retention-hours:24}") long jobRetentionHours) {
+        this.reportCardRepository = reportCardRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.exportRoot = Paths.get(exportDirectory);
+        this.jobRetentionHours = jobRetentionHours;
+        // every task holds a connection for its whole stream; leave half the pool to requests
+        int threads = Math.min(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                Math.max(1, connectionPoolSize / 2));
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.exportExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "report-export-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        exportExecutor.shutdownNow();
+    }
+    
+    /**
+     * Streams report cards for one class, or the whole school when classId is null, to out.
+     */
+    public long streamReportCards(OutputStream out, ExportFormat format, Long classId) {
+        return write(out, format, classId == null ? reportCardRepository::streamAll
+                : () -> reportCardRepository.streamByClass(classId));
+    }
+    
+    /**
+     * Starts (or resumes) a per-class export of the current tenant into
+     * exportRoot/tenant/label; returns the running job's status if that label is already
+     * in progress.
+     *
+     * @throws IllegalArgumentException if the label is empty or only dots
+     */
+    public ExportJobStatus startExport(String label, ExportFormat format) {
+        String tenant = TenantContext.current();
+        String safeLabel = safeLabel(label);
+        JobKey key = new JobKey(tenant, safeLabel);
+        ExportJob running = jobs.get(key);
+        if (running != null && running.isRunning()) {
+            return running.status();
+        }
+        Path tenantRoot = exportRoot.resolve(tenant).normalize();
+        Path directory = tenantRoot.resolve(safeLabel).normalize();
+        if (!directory.startsWith(tenantRoot) || directory.equals(tenantRoot)) {
+            throw new IllegalArgumentException("Invalid export label: " + label);
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create export directory " + directory, e);
+        }
+        List<Long> classIds = readOnlyTransactionTemplate.execute(status -> reportCardRepository.findClassIds());
+        List<Long> targets = new ArrayList<>(classIds);
+        targets.add(null);
+        ExportJob created = new ExportJob(safeLabel, format, directory, targets.size());
+        // a concurrent start of the same label may have won since the check above
+        ExportJob job = jobs.compute(key, (k, current) -> current != null && current.isRunning() ? current : created);
+        if (job != created) {
+            return job.status();
+        }
+        for (Long classId : targets) {
+            exportExecutor.execute(() -> TenantContext.runAs(tenant, () -> exportClass(job, classId)));
+        }
+        return job.status();
+    }
+    
+    /**
+     * @throws IllegalArgumentException if the label is empty or only dots
+     */
+    public ExportJobStatus jobStatus(String label) {
+        ExportJob job = jobs.get(new JobKey(TenantContext.current(), safeLabel(label)));
+        return job == null ? null : job.status();
+    }
+    
+    @Scheduled(fixedDelayString = "${school.export.job-prune-ms:600000}")
+    public void pruneJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(jobRetentionHours);
+        jobs.values().removeIf(job -> job.finishedBefore(cutoff));
+    }
+    
+    /**
+     * Keeps the label a single path segment: "." and ".." would resolve outside the
+     * tenant's export directory.
+     */
+    private static String safeLabel(String label) {
+        String safe = label.replaceAll("[^A-Za-z0-9._-]", "_");
+        if (safe.chars().allMatch(c -> c == '.')) {
+            throw new IllegalArgumentException("Export label must not be empty or only dots: " + label);
+        }
+        return safe;
+    }
+    
+    private void exportClass(ExportJob job, Long classId) {
+        String fileName = (classId == null ? UNASSIGNED : "class-" + classId) + "." + job.getFormat().getExtension();
+        Path target = job.getDirectory().resolve(fileName);
+        if (Files.exists(target)) {
+            job.skipped();
+            return;
+        }
+        Path part = job.getDirectory().resolve(fileName + ".part");
+        try {
+            long rows;
+            try (OutputStream out = Files.newOutputStream(part)) {
+                rows = write(out, job.getFormat(), classId == null ? reportCardRepository::streamUnassigned
+                        : () -> reportCardRepository.streamByClass(classId));
+            }
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            job.written(rows);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Report-card export of {} failed", fileName, e);
+            job.failed(fileName);
+        }
+    }
+    
+    private long write(OutputStream out, ExportFormat format, Supplier<Stream<Object[]>> rows) {
+        Long count = readOnlyTransactionTemplate.execute(status -> {
+            long written = 0;
+            try (Stream<Object[]> stream = rows.get()) {
+                ReportCardWriter writer = ReportCardWriter.open(out, format);
+                for (Object[] row : (Iterable<Object[]>) stream::iterator) {
+                    writer.write(new ReportCardRow(row));
+                    written++;
+                }
+                writer.finish();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return written;
+        });
+        return count == null ? 0 : count;
+    }
+    
+    private record JobKey(String tenant, String label) {}
+}
@@ -0,0 +1,45 @@
+package com.schoolmanagement.service.export;
+
+/**
+ * One projected report-card row; subject columns are null for a student without grades.
+ */
+public class ReportCardRow {
+    private final Long studentPk;
+    private final String studentId;
+    private final String firstName;
+    private final String lastName;
+    private final Long classId;
+    private final String className;
+    private final String subjectCode;
+    private final String subjectName;
+    private final Integer credits;
+    private final Double score;
+    
+    public ReportCardRow(Object[] row) {
+        this.studentPk = (Long) row[0];
+        this.studentId = (String) row[1];
+        this.firstName = (String) row[2];
+        this.lastName = (String) row[3];
+        this.classId = (Long) row[4];
+        this.className = (String) row[5];
+        this.subjectCode = (String) row[6];
+        this.subjectName = (String) row[7];
+        this.credits = (Integer) row[8];
+        this.score = row[9] == null ? null : ((Number) row[9]).doubleValue();
+    }
+    
+    public Long getStudentPk() { return studentPk; }
+    public String getStudentId() { return studentId; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public Long getClassId() { return classId; }
+    public String getClassName() { return className; }
+    public String getSubjectCode() { return subjectCode; }
+    public String getSubjectName() { return subjectName; }
+    public Integer getCredits() { return credits; }
+    public Double getScore() { return score; }
+    
+    public boolean hasGrade() {
+        return subjectCode != null;
+    }
+}
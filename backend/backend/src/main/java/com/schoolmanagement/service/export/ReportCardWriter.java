@@ -0,0 +1,23 @@
+package com.schoolmanagement.service.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Incremental report-card renderer. Rows arrive grouped by student; implementations keep
+ * at most the current student in memory and flush as they go.
+ */
+public interface ReportCardWriter extends Closeable {
+    
+    void write(ReportCardRow row) throws IOException;
+    
+    /**
+     * Completes the document (closing arrays/objects) and flushes; does not close the stream.
+     */
+    void finish() throws IOException;
+    
+    static ReportCardWriter open(OutputStream out, ExportFormat format) throws IOException {
+        return format == ExportFormat.JSON ? new JsonReportCardWriter(out) : new CsvReportCardWriter(out);
+    }
+}
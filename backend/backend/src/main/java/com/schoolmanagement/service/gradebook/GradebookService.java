@@ -0,0 +1,423 @@
+package com.schoolmanagement.service.gradebook;
+
+import com.schoolmanagement.config.HibernateEvents;
+import com.schoolmanagement.config.TenancyProperties;
+import com.schoolmanagement.dto.StudentGradeSummary;
+import com.schoolmanagement.dto.SubjectGradeSummary;
+import com.schoolmanagement.model.Grade;
+import com.schoolmanagement.model.SchoolClass;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.Subject;
+import com.schoolmanagement.repository.GradeRepository;
+import com.schoolmanagement.service.routing.RoutingContext;
+import com.schoolmanagement.service.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps per-student (credit-weighted) and per-subject grade statistics for each tenant
+ * current as grades are committed in that tenant's schema, so report cards and dashboards read them in O(1) instead of
+ * loading Student.getGrades() / Subject.getGrades().
+ *
+ * Each grade's contribution (student, subject, score and the credits it was counted
+ * with) is kept too, so a change is applied as "replace grade X" and removes exactly
+ * what was added, whatever the subject's credits are now. That also makes changes
+ * idempotent, which is what lets a rebuild replay the changes committed while it was
+ * streaming onto the fresh statistics before swapping them in.
+ *
+ * Class ranks are recomputed lazily: a grade change marks the student's class stale and
+ * the next rank lookup for that class re-sorts it once.
+ */
+@Service
+public class GradebookService implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+    private static final Logger log = LoggerFactory.getLogger(GradebookService.class);
+    
+    private final GradeRepository gradeRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TenancyProperties tenancy;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final double maxScore;
+    private final double gpaScale;
+    private final Map<String, TenantGradebook> tenants = new ConcurrentHashMap<>();
+    
+    public GradebookService(GradeRepository gradeRepository, EntityManagerFactory entityManagerFactory,
+                            TenancyProperties tenancy, PlatformTransactionManager transactionManager,
+                            @Value("${school.grades.max-score:100}") double maxScore,
+                            @Value("${school.grades.gpa-scale:4.0}") double gpaScale) {
+        this.gradeRepository = gradeRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.tenancy = tenancy;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.readOnlyTransactionTemplate.setName(RoutingContext.PRIMARY_READ);
+        this.maxScore = maxScore;
+        this.gpaScale = gpaScale;
+    }
+    
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = HibernateEvents.registry(entityManagerFactory);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (String tenant : tenancy.tenants()) {
+            TenantContext.runAs(tenant, this::rebuild);
+        }
+    }
+    
+    /**
+     * Recomputes the current tenant's statistics with one streaming pass over the grades
+     * table. Lookups keep using the current statistics until the new ones, with every
+     * change committed in the meantime replayed onto them, are swapped in.
+     */
+    public void rebuild() {
+        TenantGradebook tenant = tenant(TenantContext.current());
+        tenant.rebuildLock.lock();
+        try {
+            rebuild(tenant);
+        } finally {
+            tenant.rebuildLock.unlock();
+        }
+    }
+    
+    private void rebuild(TenantGradebook tenant) {
+        long start = System.nanoTime();
+        Gradebook fresh = new Gradebook();
+        synchronized (tenant.changeLock) {
+            tenant.replay = new ArrayList<>();
+        }
+        try {
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Object[]> facts = gradeRepository.streamGradeFacts()) {
+                    facts.forEach(row -> {
+                        Long studentId = (Long) row[0];
+                        double credits = ((Number) row[3]).doubleValue();
+                        double score = ((Number) row[4]).doubleValue();
+                        fresh.place(studentId, (Long) row[1]);
+                        fresh.put((Long) row[5], new GradeFact(studentId, (Long) row[2], score, credits));
+                    });
+                }
+            });
+            synchronized (tenant.changeLock) {
+                tenant.replay.forEach(change -> change.accept(fresh));
+                log.info("Gradebook statistics for {} built for {} students and {} subjects in {} ms ({} changes replayed)",
+                        TenantContext.current(), fresh.studentStats.size(), fresh.subjectStats.size(),
+                        (System.nanoTime() - start) / 1_000_000, tenant.replay.size());
+                tenant.book = fresh;
+            }
+        } finally {
+            synchronized (tenant.changeLock) {
+                tenant.replay = null;
+            }
+        }
+    }
+    
+    public StudentGradeSummary studentSummary(Long studentId) {
+        return studentSummary(tenant(TenantContext.current()).book, studentId);
+    }
+    
+    private StudentGradeSummary studentSummary(Gradebook current, Long studentId) {
+        StudentStats stats = current.studentStats.get(studentId);
+        if (stats == null) {
+            return new StudentGradeSummary(studentId, null, 0, 0, 0, 0, 0, 0, 0);
+        }
+        RunningStats grades = stats.grades;
+        double mean = grades.getMean();
+        ClassRanking ranking = stats.classId == null ? null : current.ranking(stats.classId);
+        return new StudentGradeSummary(studentId, stats.classId, grades.getCount(), grades.getWeightSum(), mean,
+                grades.getVariance(), toGpa(mean), ranking == null ? 0 : ranking.rankOf(studentId),
+                ranking == null ? 0 : ranking.size());
+    }
+    
+    public SubjectGradeSummary subjectSummary(Long subjectId) {
+        RunningStats stats = tenant(TenantContext.current()).book.subjectStats.get(subjectId);
+        if (stats == null) {
+            return new SubjectGradeSummary(subjectId, 0, 0, 0);
+        }
+        return new SubjectGradeSummary(subjectId, stats.getCount(), stats.getMean(), stats.getVariance());
+    }
+    
+    /**
+     * The class ranking, best first, limited to the top {@code limit} students.
+     */
+    public List<StudentGradeSummary> classRanking(Long classId, int limit) {
+        Gradebook current = tenant(TenantContext.current()).book;
+        List<StudentGradeSummary> result = new ArrayList<>();
+        for (Long studentId : current.ranking(classId).top(limit)) {
+            result.add(studentSummary(current, studentId));
+        }
+        return result;
+    }
+    
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Grade grade) {
+            gradeChanged(tenant(HibernateEvents.tenantOf(event.getSession())), grade);
+        }
+    }
+    
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        TenantGradebook tenant = tenant(HibernateEvents.tenantOf(event.getSession()));
+        Object entity = event.getEntity();
+        if (entity instanceof Grade grade) {
+            gradeChanged(tenant, grade);
+        } else if (entity instanceof Student student) {
+            Long studentId = student.getId();
+            Long classId = classIdOf(student);
+            tenant.change(b -> {
+                if (b.studentStats.containsKey(studentId)) {
+                    b.place(studentId, classId);
+                }
+            });
+        } else if (entity instanceof Subject subject && event.getOldState() != null) {
+            int creditsIndex = event.getPersister().getEntityMetamodel().getPropertyIndex("credits");
+            if (!Objects.equals(event.getOldState()[creditsIndex], subject.getCredits())) {
+                Long subjectId = subject.getId();
+                double credits = creditsOf(subject);
+                tenant.change(b -> b.recredit(subjectId, credits));
+            }
+        }
+    }
+    
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Grade grade) {
+            Long gradeId = grade.getId();
+            tenant(HibernateEvents.tenantOf(event.getSession())).change(b -> b.remove(gradeId));
+        }
+    }
+    
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {}
+    
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+    
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+    
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return Grade.class.isAssignableFrom(type) || Student.class.isAssignableFrom(type)
+                || Subject.class.isAssignableFrom(type);
+    }
+    
+    private TenantGradebook tenant(String tenant) {
+        return tenants.computeIfAbsent(tenant, key -> new TenantGradebook());
+    }
+    
+    private static void gradeChanged(TenantGradebook tenant, Grade grade) {
+        Long gradeId = grade.getId();
+        Student student = grade.getStudent();
+        Subject subject = grade.getSubject();
+        if (student == null || subject == null || grade.getScore() == null) {
+            tenant.change(b -> b.remove(gradeId));
+            return;
+        }
+        Long classId = classIdOf(student);
+        GradeFact fact = new GradeFact(student.getId(), subject.getId(), grade.getScore(), creditsOf(subject));
+        tenant.change(b -> {
+            b.place(fact.studentId(), classId);
+            b.put(gradeId, fact);
+        });
+    }
+    
+    private double toGpa(double mean) {
+        return maxScore <= 0 ? 0 : Math.min(gpaScale, mean / maxScore * gpaScale);
+    }
+    
+    private static double creditsOf(Subject subject) {
+        return subject.getCredits() == null ? 1 : subject.getCredits();
+    }
+    
+    private static Long classIdOf(Student student) {
+        SchoolClass schoolClass = student.getSchoolClass();
+        return schoolClass == null ? null : schoolClass.getId();
+    }
+    
+    /**
+     * One grade's contribution to the statistics.
+     */
+    private record GradeFact(Long studentId, Long subjectId, double score, double credits) {}
+    
+    /**
+     * One tenant's statistics and rebuild state.
+     */
+    private static final class TenantGradebook {
+        private final ReentrantLock rebuildLock = new ReentrantLock();
+        // serializes changes with the swap at the end of a rebuild
+        private final Object changeLock = new Object();
+        private volatile Gradebook book = new Gradebook();
+        // changes committed while a rebuild streams, replayed onto its result; null otherwise
+        private List<Consumer<Gradebook>> replay;
+        
+        /**
+         * Applies a committed change, and remembers it for replay if a rebuild is streaming.
+         */
+        void change(Consumer<Gradebook> change) {
+            synchronized (changeLock) {
+                change.accept(book);
+                if (replay != null) {
+                    replay.add(change);
+                }
+            }
+        }
+    }
+    
+    /**
+     * One consistent set of statistics. Written only under changeLock (or by the rebuild
+     * that owns it before it is published); read without locking.
+     */
+    private static class Gradebook {
+        private final Map<Long, GradeFact> grades = new ConcurrentHashMap<>();
+        private final Map<Long, StudentStats> studentStats = new ConcurrentHashMap<>();
+        private final Map<Long, RunningStats> subjectStats = new ConcurrentHashMap<>();
+        private final Map<Long, Set<Long>> studentsByClass = new ConcurrentHashMap<>();
+        private final Map<Long, ClassRanking> rankings = new ConcurrentHashMap<>();
+        
+        /**
+         * Counts the grade as {@code fact}, replacing whatever it was counted as before.
+         */
+        void put(Long gradeId, GradeFact fact) {
+            remove(gradeId);
+            grades.put(gradeId, fact);
+            StudentStats stats = studentStats.computeIfAbsent(fact.studentId(), id -> new StudentStats());
+            stats.grades.add(fact.score(), fact.credits());
+            subjectStats.computeIfAbsent(fact.subjectId(), id -> new RunningStats()).add(fact.score(), 1);
+            invalidate(stats.classId);
+        }
+        
+        void remove(Long gradeId) {
+            GradeFact previous = grades.remove(gradeId);
+            if (previous == null) {
+                return;
+            }
+            StudentStats stats = studentStats.get(previous.studentId());
+            if (stats != null) {
+                stats.grades.remove(previous.score(), previous.credits());
+                invalidate(stats.classId);
+            }
+            RunningStats perSubject = subjectStats.get(previous.subjectId());
+            if (perSubject != null) {
+                perSubject.remove(previous.score(), 1);
+            }
+        }
+        
+        /**
+         * Re-weights every grade of the subject with its new credits.
+         */
+        void recredit(Long subjectId, double credits) {
+            List<Map.Entry<Long, GradeFact>> affected = new ArrayList<>();
+            for (Map.Entry<Long, GradeFact> entry : grades.entrySet()) {
+                if (entry.getValue().subjectId().equals(subjectId) && entry.getValue().credits() != credits) {
+                    affected.add(entry);
+                }
+            }
+            for (Map.Entry<Long, GradeFact> entry : affected) {
+                GradeFact fact = entry.getValue();
+                put(entry.getKey(), new GradeFact(fact.studentId(), subjectId, fact.score(), credits));
+            }
+        }
+        
+        void place(Long studentId, Long classId) {
+            StudentStats stats = studentStats.computeIfAbsent(studentId, id -> new StudentStats());
+            if (classId != null && !classId.equals(stats.classId)) {
+                if (stats.classId != null) {
+                    Set<Long> previous = studentsByClass.get(stats.classId);
+                    if (previous != null) {
+                        previous.remove(studentId);
+                    }
+                    invalidate(stats.classId);
+                }
+                stats.classId = classId;
+                studentsByClass.computeIfAbsent(classId, id -> ConcurrentHashMap.newKeySet()).add(studentId);
+                invalidate(classId);
+            }
+        }
+        
+        private void invalidate(Long classId) {
+            if (classId != null) {
+                rankings.remove(classId);
+            }
+        }
+        
+        ClassRanking ranking(Long classId) {
+            return rankings.computeIfAbsent(classId, id -> {
+                Map<Long, Double> means = new HashMap<>();
+                for (Long studentId : studentsByClass.getOrDefault(id, Set.of())) {
+                    StudentStats stats = studentStats.get(studentId);
+                    if (stats != null && stats.grades.getCount() > 0) {
+                        means.put(studentId, stats.grades.getMean());
+                    }
+                }
+                List<Long> members = new ArrayList<>(means.keySet());
+                members.sort(Comparator.comparingDouble(means::get).reversed());
+                return new ClassRanking(members);
+            });
+        }
+    }
+    
+    private static class StudentStats {
+        private volatile Long classId;
+        private final RunningStats grades = new RunningStats();
+    }
+    
+    private static class ClassRanking {
+        private final List<Long> ordered;
+        private final Map<Long, Integer> ranks = new HashMap<>();
+        
+        ClassRanking(List<Long> ordered) {
+            this.ordered = ordered;
+            for (int i = 0; i < ordered.size(); i++) {
+                ranks.put(ordered.get(i), i + 1);
+            }
+        }
+        
+        int rankOf(Long studentId) {
+            return ranks.getOrDefault(studentId, 0);
+        }
+        
+        int size() {
+            return ordered.size();
+        }
+        
+        List<Long> top(int limit) {
+            return ordered.subList(0, Math.max(0, Math.min(limit, ordered.size())));
+        }
+    }
+}
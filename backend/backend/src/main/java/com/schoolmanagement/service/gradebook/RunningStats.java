@@ -0,0 +1,61 @@
+package com.schoolmanagement.service.gradebook;
+
+/**
+ * Weighted running mean and variance (West's weighted form of Welford's update),
+ * supporting removal by running the update backwards so a changed grade can be applied
+ * as remove(old) + add(new). Unlike a sum of squares, the squared deviations never
+ * cancel each other out, so the variance stays accurate when scores are close together.
+ */
+public class RunningStats {
+    private long count;
+    private double weightSum;
+    private double mean;
+    private double squaredDeviations;
+    
+    public synchronized void add(double value, double weight) {
+        count++;
+        if (weight == 0) {
+            return;
+        }
+        weightSum += weight;
+        double delta = value - mean;
+        mean += weight / weightSum * delta;
+        squaredDeviations += weight * delta * (value - mean);
+    }
+    
+    public synchronized void remove(double value, double weight) {
+        if (count == 0) {
+            return;
+        }
+        count--;
+        double remaining = weightSum - weight;
+        if (count == 0 || remaining <= 0) {
+            weightSum = 0;
+            mean = 0;
+            squaredDeviations = 0;
+            return;
+        }
+        if (weight == 0) {
+            return;
+        }
+        double delta = value - mean;
+        mean -= weight / remaining * delta;
+        squaredDeviations -= weight * delta * (value - mean);
+        weightSum = remaining;
+    }
+    
+    public synchronized long getCount() { return count; }
+    public synchronized double getWeightSum() { return weightSum; }
+    public synchronized double getWeightedSum() { return weightSum * mean; }
+    
+    public synchronized double getMean() {
+        return mean;
+    }
+    
+    public synchronized double getVariance() {
+        if (weightSum == 0) {
+            return 0;
+        }
+        return Math.max(0, squaredDeviations / weightSum);
+    }
+}
@@ -0,0 +1,92 @@
+package com.schoolmanagement.service.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 style CSV reader: first line is the header, fields may be quoted,
+ * quoted fields may contain commas, doubled quotes and line breaks.
+ */
+public class CsvRecordReader implements RecordReader {
+    private final BufferedReader reader;
+    private final List<String> header;
+    private long rowNumber = 1;
+    
+    public CsvRecordReader(InputStream in) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        List<String> fields = readFields();
+        if (fields == null) {
+            throw new IOException("CSV input is empty");
+        }
+        if (!fields.isEmpty() && fields.get(0).startsWith("\uFEFF")) {
+            fields.set(0, fields.get(0).substring(1));
+        }
+        this.header = fields;
+    }
+    
+    @Override
+    public ImportRecord next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readFields();
+            if (fields == null) {
+                return null;
+            }
+            rowNumber++;
+        } while (fields.size() == 1 && fields.get(0).isEmpty());
+        
+        ImportRecord record = new ImportRecord(rowNumber);
+        for (int i = 0; i < header.size() && i < fields.size(); i++) {
+            record.put(header.get(i), fields.get(i));
+        }
+        return record;
+    }
+    
+    private List<String> readFields() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>(header == null ? 16 : header.size());
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,12 @@
+package com.schoolmanagement.service.importer;
+
+public enum ImportFormat {
+    CSV, JSON;
+    
+    public static ImportFormat fromFilename(String filename) {
+        if (filename != null && filename.toLowerCase().endsWith(".json")) {
+            return JSON;
+        }
+        return CSV;
+    }
+}
@@ -0,0 +1,93 @@
+package com.schoolmanagement.service.importer;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One input row keyed by normalized column name, so "first_name", "firstName"
+ * and "First Name" all resolve to the same value.
+ */
+public class ImportRecord {
+    private final long rowNumber;
+    private final Map<String, String> values = new HashMap<>();
+    
+    public ImportRecord(long rowNumber) {
+        this.rowNumber = rowNumber;
+    }
+    
+    public static String normalizeKey(String key) {
+        StringBuilder sb = new StringBuilder(key.length());
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+    
+    public void put(String key, String value) {
+        values.put(normalizeKey(key), value);
+    }
+    
+    public long getRowNumber() { return rowNumber; }
+    
+    public String getString(String key) {
+        String value = values.get(normalizeKey(key));
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+    
+    public LocalDate getDate(String key) {
+        String value = getString(key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(key + " must be an ISO date (yyyy-MM-dd): " + value);
+        }
+    }
+    
+    public Integer getInteger(String key) {
+        String value = getString(key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be a whole number: " + value);
+        }
+    }
+    
+    public Double getDouble(String key) {
+        String value = getString(key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be a number: " + value);
+        }
+    }
+    
+    public <E extends Enum<E>> E getEnum(String key, Class<E> type) {
+        String value = getString(key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase().replace(' ', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(key + " has unknown value: " + value);
+        }
+    }
+}
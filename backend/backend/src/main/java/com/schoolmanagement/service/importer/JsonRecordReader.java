@@ -0,0 +1,51 @@
+package com.schoolmanagement.service.importer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streams a top-level JSON array of flat objects, one object per record.
+ */
+public class JsonRecordReader implements RecordReader {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    
+    private final JsonParser parser;
+    private long rowNumber;
+    
+    public JsonRecordReader(InputStream in) throws IOException {
+        this.parser = JSON_FACTORY.createParser(in);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("JSON import must be an array of objects");
+        }
+    }
+    
+    @Override
+    public ImportRecord next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Expected an object at element " + (rowNumber + 1));
+        }
+        ImportRecord record = new ImportRecord(++rowNumber);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                parser.skipChildren();
+            } else if (value != JsonToken.VALUE_NULL) {
+                record.put(name, parser.getText());
+            }
+        }
+        return record;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,23 @@
+package com.schoolmanagement.service.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Forward-only reader over an import file. Only the current record is held in memory.
+ */
+public interface RecordReader extends Closeable {
+    
+    /**
+     * @return the next record, or {@code null} at end of input
+     */
+    ImportRecord next() throws IOException;
+    
+    static RecordReader open(InputStream in, ImportFormat format) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvRecordReader(in);
+            case JSON -> new JsonRecordReader(in);
+        };
+    }
+}
@@ -0,0 +1,170 @@
+package com.schoolmanagement.service.importer;
+
+import com.schoolmanagement.dto.ImportReport;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.Teacher;
+import com.schoolmanagement.service.dedupe.DuplicateDetectionService;
+import com.schoolmanagement.service.metrics.TimedValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams roster files into the database. Rows are mapped and validated one at a
+ * time and written in JDBC batches, each batch in its own transaction with the
+ * persistence context cleared afterwards, so memory use does not grow with file size.
+ * If a batch fails (e.g. a duplicate student ID) its rows are retried one by one so
+ * only the offending rows are rejected. Students that look like an existing student
+ * are still imported but flagged in the report for review.
+ */
+@Service
+public class RosterImportService {
+    private static final Logger log = LoggerFactory.getLogger(RosterImportService.class);
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final DuplicateDetectionService duplicateService;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    
+    public RosterImportService(PlatformTransactionManager transactionManager, Validator validator, MeterRegistry meterRegistry,
+                               DuplicateDetectionService duplicateService,
+                               @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize,
+                               @Value("${school.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = new TimedValidator(validator, meterRegistry);
+        this.duplicateService = duplicateService;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+    
+    public ImportReport importStudents(InputStream in, ImportFormat format) throws IOException {
+        return importRecords("students", in, format, StudentRecordMapper::map,
+                duplicateService::describeProbableDuplicate);
+    }
+    
+    public ImportReport importTeachers(InputStream in, ImportFormat format) throws IOException {
+        return importRecords("teachers", in, format, TeacherRecordMapper::map, teacher -> null);
+    }
+    
+    private <T> ImportReport importRecords(String target, InputStream in, ImportFormat format,
+                                           Function<ImportRecord, T> mapper,
+                                           Function<T, String> reviewer) throws IOException {
+        ImportReport report = new ImportReport(target, maxReportedErrors);
+        List<ImportRecord> pending = new ArrayList<>(batchSize);
+        List<T> batch = new ArrayList<>(batchSize);
+        long start = System.nanoTime();
+        
+        try (RecordReader reader = RecordReader.open(in, format)) {
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                report.rowRead();
+                T entity = mapAndValidate(record, mapper, report);
+                if (entity == null) {
+                    continue;
+                }
+                String note = reviewer.apply(entity);
+                if (note != null) {
+                    report.flag(record.getRowNumber(), note);
+                }
+                pending.add(record);
+                batch.add(entity);
+                if (batch.size() >= batchSize) {
+                    writeBatch(pending, batch, mapper, report);
+                }
+            }
+            writeBatch(pending, batch, mapper, report);
+        }
+        
+        report.finish(System.nanoTime() - start);
+        log.info("Imported {} of {} {} rows ({} rejected, {} flagged) in {} ms, {} rows/sec",
+                report.getRowsImported(), report.getRowsRead(), target, report.getRowsRejected(), report.getRowsFlagged(),
+                report.getElapsedMillis(), String.format("%.1f", report.getRowsPerSecond()));
+        return report;
+    }
+    
+    private <T> T mapAndValidate(ImportRecord record, Function<ImportRecord, T> mapper, ImportReport report) {
+        T entity;
+        try {
+            entity = mapper.apply(record);
+        } catch (IllegalArgumentException e) {
+            report.reject(record.getRowNumber(), e.getMessage());
+            return null;
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(entity);
+        if (!violations.isEmpty()) {
+            report.reject(record.getRowNumber(), describe(violations));
+            return null;
+        }
+        return entity;
+    }
+    
+    private <T> void writeBatch(List<ImportRecord> pending, List<T> batch, Function<ImportRecord, T> mapper,
+                                ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            persist(batch);
+            report.imported(batch.size());
+        } catch (DataAccessException | PersistenceException e) {
+            log.debug("Batch of {} rows failed, retrying row by row", batch.size(), e);
+            for (ImportRecord record : pending) {
+                try {
+                    persist(List.of(mapper.apply(record)));
+                    report.imported(1);
+                } catch (DataAccessException | PersistenceException rowFailure) {
+                    report.reject(record.getRowNumber(), rootMessage(rowFailure));
+                }
+            }
+        }
+        pending.clear();
+        batch.clear();
+    }
+    
+    private <T> void persist(List<T> entities) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (T entity : entities) {
+                entityManager.persist(entity);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+    
+    private static <T> String describe(Set<ConstraintViolation<T>> violations) {
+        return violations.stream()
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+    
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,32 @@
+package com.schoolmanagement.service.importer;
+
+import com.schoolmanagement.model.Student;
+
+public final class StudentRecordMapper {
+    
+    private StudentRecordMapper() {}
+    
+    public static Student map(ImportRecord record) {
+        Student student = new Student();
+        student.setStudentId(record.getString("studentId"));
+        student.setFirstName(record.getString("firstName"));
+        student.setLastName(record.getString("lastName"));
+        student.setDateOfBirth(record.getDate("dateOfBirth"));
+        student.setAddress(record.getString("address"));
+        student.setCity(record.getString("city"));
+        student.setState(record.getString("state"));
+        student.setPostalCode(record.getString("postalCode"));
+        student.setEnrollmentDate(record.getDate("enrollmentDate"));
+        student.setStatus(record.getEnum("status", Student.StudentStatus.class));
+        student.setGender(record.getEnum("gender", Student.Gender.class));
+        student.setBloodGroup(record.getString("bloodGroup"));
+        student.setMedicalConditions(record.getString("medicalConditions"));
+        student.setParentGuardianName(record.getString("parentGuardianName"));
+        student.setParentGuardianPhone(record.getString("parentGuardianPhone"));
+        student.setParentGuardianEmail(record.getString("parentGuardianEmail"));
+        student.setEmergencyContactName(record.getString("emergencyContactName"));
+        student.setEmergencyContactPhone(record.getString("emergencyContactPhone"));
+        student.setProfileImageUrl(record.getString("profileImageUrl"));
+        return student;
+    }
+}
@@ -0,0 +1,33 @@
+package com.schoolmanagement.service.importer;
+
+import com.schoolmanagement.model.Teacher;
+
+public final class TeacherRecordMapper {
+    
+    private TeacherRecordMapper() {}
+    
+    public static Teacher map(ImportRecord record) {
+        Teacher teacher = new Teacher();
+        teacher.setTeacherId(record.getString("teacherId"));
+        teacher.setFirstName(record.getString("firstName"));
+        teacher.setLastName(record.getString("lastName"));
+        teacher.setEmail(record.getString("email"));
+        teacher.setPhoneNumber(record.getString("phoneNumber"));
+        teacher.setDateOfBirth(record.getDate("dateOfBirth"));
+        teacher.setAddress(record.getString("address"));
+        teacher.setCity(record.getString("city"));
+        teacher.setState(record.getString("state"));
+        teacher.setPostalCode(record.getString("postalCode"));
+        teacher.setHireDate(record.getDate("hireDate"));
+        teacher.setQualification(record.getString("qualification"));
+        teacher.setSpecialization(record.getString("specialization"));
+        teacher.setYearsExperience(record.getInteger("yearsExperience"));
+        teacher.setSalary(record.getDouble("salary"));
+        teacher.setStatus(record.getEnum("status", Teacher.TeacherStatus.class));
+        teacher.setGender(record.getEnum("gender", Teacher.Gender.class));
+        teacher.setEmergencyContactName(record.getString("emergencyContactName"));
+        teacher.setEmergencyContactPhone(record.getString("emergencyContactPhone"));
+        teacher.setProfileImageUrl(record.getString("profileImageUrl"));
+        return teacher;
+    }
+}
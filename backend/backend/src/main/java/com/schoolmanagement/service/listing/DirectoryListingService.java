@@ -0,0 +1,48 @@
+package com.schoolmanagement.service.listing;
+
+import com.schoolmanagement.dto.KeysetPage;
+import com.schoolmanagement.dto.StudentListFilter;
+import com.schoolmanagement.dto.StudentListItem;
+import com.schoolmanagement.dto.TeacherListFilter;
+import com.schoolmanagement.dto.TeacherListItem;
+import com.schoolmanagement.repository.DirectoryListingRepository;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional(readOnly = true)
+public class DirectoryListingService {
+    public static final int MAX_PAGE_SIZE = 200;
+    
+    private final DirectoryListingRepository listingRepository;
+    
+    public DirectoryListingService(DirectoryListingRepository listingRepository) {
+        this.listingRepository = listingRepository;
+    }
+    
+    public KeysetPage<StudentListItem> listStudents(StudentListFilter filter, String cursor, int size) {
+        int pageSize = clamp(size);
+        List<StudentListItem> rows = listingRepository.findStudents(filter, KeysetCursor.decode(cursor), pageSize + 1);
+        return page(rows, pageSize, s -> new KeysetCursor(s.getLastName(), s.getId()));
+    }
+    
+    public KeysetPage<TeacherListItem> listTeachers(TeacherListFilter filter, String cursor, int size) {
+        int pageSize = clamp(size);
+        List<TeacherListItem> rows = listingRepository.findTeachers(filter, KeysetCursor.decode(cursor), pageSize + 1);
+        return page(rows, pageSize, t -> new KeysetCursor(t.getLastName(), t.getId()));
+    }
+    
+    private static <T> KeysetPage<T> page(List<T> rows, int pageSize, Function<T, KeysetCursor> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new KeysetPage<>(items, cursorOf.apply(items.get(pageSize - 1)).encode());
+    }
+    
+    private static int clamp(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
@@ -0,0 +1,38 @@
+package com.schoolmanagement.service.listing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position after the last row of a page, ordered by (lastName, id).
+ */
+public class KeysetCursor {
+    private final String lastName;
+    private final Long id;
+    
+    public KeysetCursor(String lastName, Long id) {
+        this.lastName = lastName;
+        this.id = id;
+    }
+    
+    public String getLastName() { return lastName; }
+    public Long getId() { return id; }
+    
+    public String encode() {
+        String raw = id + ":" + lastName;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new KeysetCursor(raw.substring(separator + 1), Long.valueOf(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
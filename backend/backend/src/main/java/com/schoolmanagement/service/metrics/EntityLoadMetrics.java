@@ -0,0 +1,52 @@
+package com.schoolmanagement.service.metrics;
+
+import com.schoolmanagement.config.HibernateEvents;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts entity loads by entity type (hibernate.entity.loads{entity=...}). With a sample
+ * rate below 1 only that fraction of loads is counted, each weighted by 1/rate.
+ */
+@Component
+public class EntityLoadMetrics implements PostLoadEventListener {
+    private final MeterRegistry meterRegistry;
+    private final EntityManagerFactory entityManagerFactory;
+    private final double sampleRate;
+    private final Map<Class<?>, Counter> counters = new ConcurrentHashMap<>();
+    
+    public EntityLoadMetrics(MeterRegistry meterRegistry, EntityManagerFactory entityManagerFactory,
+                             @Value("${school.metrics.entity-load-sample-rate:1.0}") double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.entityManagerFactory = entityManagerFactory;
+        this.sampleRate = Math.max(0.0001, Math.min(1.0, sampleRate));
+    }
+    
+    @PostConstruct
+    void registerListener() {
+        HibernateEvents.registry(entityManagerFactory).appendListeners(EventType.POST_LOAD, this);
+    }
+    
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        Class<?> type = event.getPersister().getMappedClass();
+        counters.computeIfAbsent(type, t -> Counter.builder("hibernate.entity.loads")
+                        .description("Entities loaded into a persistence context")
+                        .tag("entity", t.getSimpleName())
+                        .register(meterRegistry))
+                .increment(1.0 / sampleRate);
+    }
+}
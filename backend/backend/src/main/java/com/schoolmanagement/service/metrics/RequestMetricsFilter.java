@@ -0,0 +1,92 @@
+package com.schoolmanagement.service.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.schoolmanagement.service.tenant.TenantContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Per-request SQL accounting: records statements per request (tagged by URI pattern and
+ * tenant), flags suspected N+1 patterns and logs the SQL of requests slower than the
+ * threshold.
+ * Endpoint latency histograms come from Spring Boot's http.server.requests timer.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsFilter.class);
+    private static final Logger slowLog = LoggerFactory.getLogger("com.schoolmanagement.slow-requests");
+    
+    private final MeterRegistry meterRegistry;
+    private final long slowRequestMillis;
+    private final int maxCapturedStatements;
+    private final int nPlusOneThreshold;
+    
+    public RequestMetricsFilter(MeterRegistry meterRegistry, long slowRequestMillis, int maxCapturedStatements,
+                                int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestMillis = slowRequestMillis;
+        this.maxCapturedStatements = maxCapturedStatements;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestSqlContext context = RequestSqlContext.begin(maxCapturedStatements);
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestSqlContext.end();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            String uri = uriPattern(request);
+            String tenant = TenantContext.current();
+            DistributionSummary.builder("hibernate.statements.per.request")
+                    .description("SQL statements issued while handling one request")
+                    .tag("uri", uri)
+                    .tag("tenant", tenant)
+                    .register(meterRegistry)
+                    .record(context.getStatementCount());
+            
+            Map<String, Integer> repeated = context.repeatedStatements(nPlusOneThreshold);
+            if (!repeated.isEmpty()) {
+                meterRegistry.counter("hibernate.n_plus_one.suspected", "uri", uri, "tenant", tenant).increment();
+                repeated.forEach((sql, count) ->
+                        log.warn("Possible N+1 on {} {}: {} executions of {}", request.getMethod(), uri, count, sql));
+            }
+            if (elapsedMillis >= slowRequestMillis) {
+                logSlowRequest(request, response, uri, elapsedMillis, context);
+            }
+        }
+    }
+    
+    private void logSlowRequest(HttpServletRequest request, HttpServletResponse response, String uri,
+                                long elapsedMillis, RequestSqlContext context) {
+        StringBuilder message = new StringBuilder()
+                .append(request.getMethod()).append(' ').append(request.getRequestURI())
+                .append(" (").append(uri).append(") status=").append(response.getStatus())
+                .append(" took ").append(elapsedMillis).append(" ms with ")
+                .append(context.getStatementCount()).append(" statements");
+        int n = 0;
+        for (String sql : context.getStatements()) {
+            message.append("\n  [").append(++n).append("] ").append(sql);
+        }
+        if (context.getStatementCount() > context.getStatements().size()) {
+            message.append("\n  ... ").append(context.getStatementCount() - context.getStatements().size()).append(" more");
+        }
+        slowLog.warn(message.toString());
+    }
+    
+    private static String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
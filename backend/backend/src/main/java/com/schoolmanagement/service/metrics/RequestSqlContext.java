@@ -0,0 +1,77 @@
+package com.schoolmanagement.service.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL issued on the current request thread. Statements are counted always; their text is
+ * kept up to a cap (only the reference, Hibernate already holds the string) so slow
+ * requests can log what they ran.
+ */
+public final class RequestSqlContext {
+    private static final ThreadLocal<RequestSqlContext> CURRENT = new ThreadLocal<>();
+    
+    private final int maxCaptured;
+    private final List<String> statements = new ArrayList<>();
+    private final Map<String, Integer> repeats = new HashMap<>();
+    private int statementCount;
+    
+    private RequestSqlContext(int maxCaptured) {
+        this.maxCaptured = maxCaptured;
+    }
+    
+    public static RequestSqlContext begin(int maxCaptured) {
+        RequestSqlContext context = new RequestSqlContext(maxCaptured);
+        CURRENT.set(context);
+        return context;
+    }
+    
+    public static void end() {
+        CURRENT.remove();
+    }
+    
+    static void record(String sql) {
+        RequestSqlContext context = CURRENT.get();
+        if (context != null) {
+            context.statementCount++;
+            if (context.statements.size() < context.maxCaptured) {
+                context.statements.add(sql);
+            }
+            if (isQuery(sql)) {
+                context.repeats.merge(sql, 1, Integer::sum);
+            }
+        }
+    }
+    
+    private static boolean isQuery(String sql) {
+        int i = 0;
+        while (i < sql.length() && (Character.isWhitespace(sql.charAt(i)) || sql.charAt(i) == '(')) {
+            i++;
+        }
+        return sql.regionMatches(true, i, "select", 0, 6) || sql.regionMatches(true, i, "with", 0, 4);
+    }
+    
+    public int getStatementCount() { return statementCount; }
+    
+    public List<String> getStatements() {
+        return Collections.unmodifiableList(statements);
+    }
+    
+    /**
+     * Queries issued at least {@code threshold} times with identical SQL in this request,
+     * the usual signature of lazy collections loaded in a loop (N+1). Inserts, updates and
+     * deletes are not counted: a JDBC batch prepares the same statement once per row.
+     */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        Map<String, Integer> result = new HashMap<>();
+        repeats.forEach((sql, count) -> {
+            if (count >= threshold) {
+                result.put(sql, count);
+            }
+        });
+        return result;
+    }
+}
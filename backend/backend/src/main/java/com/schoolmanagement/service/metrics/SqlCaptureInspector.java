@@ -0,0 +1,15 @@
+package com.schoolmanagement.service.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Sees every SQL statement Hibernate prepares and records it against the current request.
+ */
+public class SqlCaptureInspector implements StatementInspector {
+    
+    @Override
+    public String inspect(String sql) {
+        RequestSqlContext.record(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,59 @@
+package com.schoolmanagement.service.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.Set;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+/**
+ * Bean validation that records validation.time{target=...}. Used for MVC @Valid
+ * arguments and by services that validate explicitly.
+ */
+public class TimedValidator extends SpringValidatorAdapter {
+    private final MeterRegistry meterRegistry;
+    
+    public TimedValidator(Validator targetValidator, MeterRegistry meterRegistry) {
+        super(targetValidator);
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public void validate(Object target, Errors errors) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            super.validate(target, errors);
+        } finally {
+            sample.stop(timer(target));
+        }
+    }
+    
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            super.validate(target, errors, validationHints);
+        } finally {
+            sample.stop(timer(target));
+        }
+    }
+    
+    @Override
+    public <T> Set<ConstraintViolation<T>> validate(T object, Class<?>... groups) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return super.validate(object, groups);
+        } finally {
+            sample.stop(timer(object));
+        }
+    }
+    
+    private Timer timer(Object target) {
+        return Timer.builder("validation.time")
+                .description("Bean validation time per validated type")
+                .tag("target", target == null ? "null" : target.getClass().getSimpleName())
+                .register(meterRegistry);
+    }
+}
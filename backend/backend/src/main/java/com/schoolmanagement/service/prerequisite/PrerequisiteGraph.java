@@ -0,0 +1,226 @@
+package com.schoolmanagement.service.prerequisite;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable prerequisite graph over dense subject indexes. Direct prerequisites and the
+ * transitive closure are one BitSet per subject; closures are computed once per strongly
+ * connected component in Tarjan's emission order (dependencies first), so building is
+ * O(V + E) word operations over V-bit sets. Subjects on a cycle are reported and their
+ * closure includes the whole cycle.
+ */
+public final class PrerequisiteGraph {
+    private final long[] subjectIds;
+    private final String[] subjectCodes;
+    private final Map<Long, Integer> indexById;
+    private final BitSet[] direct;
+    private final BitSet[] closure;
+    private final List<List<Long>> cycles;
+    private final int edgeCount;
+    
+    private PrerequisiteGraph(long[] subjectIds, String[] subjectCodes, Map<Long, Integer> indexById,
+                              BitSet[] direct, int edgeCount) {
+        this.subjectIds = subjectIds;
+        this.subjectCodes = subjectCodes;
+        this.indexById = indexById;
+        this.direct = direct;
+        this.edgeCount = edgeCount;
+        this.closure = new BitSet[subjectIds.length];
+        this.cycles = new ArrayList<>();
+        new Tarjan().run();
+    }
+    
+    public static PrerequisiteGraph empty() {
+        return new PrerequisiteGraph(new long[0], new String[0], Map.of(), new BitSet[0], 0);
+    }
+    
+    /**
+     * @param subjects subject id to code
+     * @param edges (subject id, prerequisite id) pairs; edges naming unknown subjects are ignored
+     */
+    public static PrerequisiteGraph build(Map<Long, String> subjects, Collection<long[]> edges) {
+        long[] ids = new long[subjects.size()];
+        String[] codes = new String[subjects.size()];
+        Map<Long, Integer> indexById = new HashMap<>(subjects.size() * 2);
+        int i = 0;
+        for (Map.Entry<Long, String> subject : subjects.entrySet()) {
+            ids[i] = subject.getKey();
+            codes[i] = subject.getValue();
+            indexById.put(subject.getKey(), i++);
+        }
+        BitSet[] direct = new BitSet[ids.length];
+        for (int n = 0; n < ids.length; n++) {
+            direct[n] = new BitSet(ids.length);
+        }
+        int edgeCount = 0;
+        for (long[] edge : edges) {
+            Integer from = indexById.get(edge[0]);
+            Integer to = indexById.get(edge[1]);
+            if (from != null && to != null && !direct[from].get(to)) {
+                direct[from].set(to);
+                edgeCount++;
+            }
+        }
+        return new PrerequisiteGraph(ids, codes, indexById, direct, edgeCount);
+    }
+    
+    public int getSubjectCount() { return subjectIds.length; }
+    public int getEdgeCount() { return edgeCount; }
+    public List<List<Long>> getCycles() { return cycles; }
+    
+    public boolean contains(Long subjectId) {
+        return indexById.containsKey(subjectId);
+    }
+    
+    /**
+     * Dense index of a subject, or -1 when unknown.
+     */
+    public int indexOf(Long subjectId) {
+        Integer index = indexById.get(subjectId);
+        return index == null ? -1 : index;
+    }
+    
+    public Long subjectId(int index) {
+        return subjectIds[index];
+    }
+    
+    public String subjectCode(int index) {
+        return subjectCodes[index];
+    }
+    
+    /**
+     * Prerequisites of the subject as dense indexes; the returned set must not be modified.
+     */
+    public BitSet required(Long subjectId, boolean transitive) {
+        int index = indexOf(subjectId);
+        if (index < 0) {
+            return new BitSet();
+        }
+        return transitive ? closure[index] : direct[index];
+    }
+    
+    /**
+     * True when adding "subject requires prerequisite" would close a cycle.
+     */
+    public boolean wouldCreateCycle(Long subjectId, Long prerequisiteId) {
+        if (subjectId.equals(prerequisiteId)) {
+            return true;
+        }
+        int subject = indexOf(subjectId);
+        int prerequisite = indexOf(prerequisiteId);
+        return subject >= 0 && prerequisite >= 0 && closure[prerequisite].get(subject);
+    }
+    
+    public List<Long> ids(BitSet indexes) {
+        List<Long> ids = new ArrayList<>(indexes.cardinality());
+        for (int i = indexes.nextSetBit(0); i >= 0; i = indexes.nextSetBit(i + 1)) {
+            ids.add(subjectIds[i]);
+        }
+        return ids;
+    }
+    
+    public List<String> codes(BitSet indexes) {
+        List<String> codes = new ArrayList<>(indexes.cardinality());
+        for (int i = indexes.nextSetBit(0); i >= 0; i = indexes.nextSetBit(i + 1)) {
+            codes.add(subjectCodes[i]);
+        }
+        return codes;
+    }
+    
+    /**
+     * Iterative Tarjan SCC; components are emitted after every component they depend on.
+     */
+    private final class Tarjan {
+        private final int n = subjectIds.length;
+        private final int[] order = new int[n];
+        private final int[] low = new int[n];
+        private final boolean[] onStack = new boolean[n];
+        private final int[] stack = new int[n];
+        private final int[] callStack = new int[n];
+        private final int[] nextEdge = new int[n];
+        private int stackSize;
+        private int counter;
+        
+        void run() {
+            Arrays.fill(order, -1);
+            for (int root = 0; root < n; root++) {
+                if (order[root] < 0) {
+                    visit(root);
+                }
+            }
+        }
+        
+        private void visit(int root) {
+            int depth = 0;
+            enter(root);
+            callStack[depth++] = root;
+            while (depth > 0) {
+                int v = callStack[depth - 1];
+                int w = direct[v].nextSetBit(nextEdge[v]);
+                if (w >= 0) {
+                    nextEdge[v] = w + 1;
+                    if (order[w] < 0) {
+                        enter(w);
+                        callStack[depth++] = w;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], order[w]);
+                    }
+                    continue;
+                }
+                depth--;
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+                if (low[v] == order[v]) {
+                    emitComponent(v);
+                }
+            }
+        }
+        
+        private void enter(int v) {
+            order[v] = counter;
+            low[v] = counter++;
+            stack[stackSize++] = v;
+            onStack[v] = true;
+        }
+        
+        private void emitComponent(int root) {
+            List<Integer> members = new ArrayList<>();
+            int w;
+            do {
+                w = stack[--stackSize];
+                onStack[w] = false;
+                members.add(w);
+            } while (w != root);
+            BitSet reach = new BitSet(n);
+            for (int member : members) {
+                BitSet edges = direct[member];
+                reach.or(edges);
+                for (int dep = edges.nextSetBit(0); dep >= 0; dep = edges.nextSetBit(dep + 1)) {
+                    if (closure[dep] != null) {
+                        reach.or(closure[dep]);
+                    }
+                }
+            }
+            boolean cyclic = members.size() > 1 || direct[root].get(root);
+            if (cyclic) {
+                List<Long> cycle = new ArrayList<>(members.size());
+                for (int member : members) {
+                    reach.set(member);
+                    cycle.add(subjectIds[member]);
+                }
+                cycles.add(cycle);
+            }
+            for (int member : members) {
+                closure[member] = reach;
+            }
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package com.schoolmanagement.service.prerequisite;
+
+import com.schoolmanagement.config.HibernateEvents;
+import com.schoolmanagement.config.TenancyProperties;
+import com.schoolmanagement.dto.MissingPrerequisites;
+import com.schoolmanagement.dto.PrerequisiteSyncReport;
+import com.schoolmanagement.dto.SubjectEligibility;
+import com.schoolmanagement.dto.SubjectPrerequisites;
+import com.schoolmanagement.model.Subject;
+import com.schoolmanagement.model.SubjectPrerequisite;
+import com.schoolmanagement.repository.GradeRepository;
+import com.schoolmanagement.repository.SubjectPrerequisiteRepository;
+import com.schoolmanagement.repository.SubjectRepository;
+import com.schoolmanagement.service.routing.RoutingContext;
+import com.schoolmanagement.service.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Owns the subject_prerequisites edge table and each tenant's in-memory prerequisite graph.
+ *
+ * Subject.prerequisites stays the editable source: synchronize() parses it into edges
+ * (adding and removing as needed, rejecting edges that would close a cycle), and a
+ * committed change to a subject's column re-synchronizes just that subject. Any committed
+ * subject or edge change marks that tenant's graph stale; the next read rebuilds it once.
+ */
+@Service
+public class PrerequisiteGraphService implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+    private static final Logger log = LoggerFactory.getLogger(PrerequisiteGraphService.class);
+    private static final int IN_CLAUSE_CHUNK = 1000;
+    
+    private final SubjectRepository subjectRepository;
+    private final SubjectPrerequisiteRepository edgeRepository;
+    private final GradeRepository gradeRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TenancyProperties tenancy;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final double passingScore;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final Map<String, TenantGraph> tenants = new ConcurrentHashMap<>();
+    private final ExecutorService syncExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "prerequisite-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public PrerequisiteGraphService(SubjectRepository subjectRepository, SubjectPrerequisiteRepository edgeRepository,
+                                    GradeRepository gradeRepository, EntityManagerFactory entityManagerFactory,
+                                    TenancyProperties tenancy, PlatformTransactionManager transactionManager,
+                                    @Value("${school.grades.passing-score:50}") double passingScore) {
+        this.subjectRepository = subjectRepository;
+        this.edgeRepository = edgeRepository;
+        this.gradeRepository = gradeRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.tenancy = tenancy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.readOnlyTransactionTemplate.setName(RoutingContext.PRIMARY_READ);
+        this.passingScore = passingScore;
+    }
+    
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = HibernateEvents.registry(entityManagerFactory);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        syncExecutor.shutdownNow();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        for (String tenant : tenancy.tenants()) {
+            TenantContext.runAs(tenant, () -> {
+                PrerequisiteSyncReport report = synchronize(null);
+                log.info("Prerequisite graph for {} synchronized: {} subjects, {} edges added, {} removed, {} unresolved, "
+                        + "{} rejected", tenant, report.getSubjectsParsed(), report.getEdgesAdded(),
+                        report.getEdgesRemoved(), report.getUnresolved().size(), report.getRejectedCycles().size());
+            });
+        }
+    }
+    
+    /**
+     * Parses the current tenant's Subject.prerequisites into edges for one subject, or all
+     * subjects when subjectId is null.
+     */
+    public PrerequisiteSyncReport synchronize(Long subjectId) {
+        TenantGraph tenant = tenant(TenantContext.current());
+        tenant.syncLock.lock();
+        try {
+            PrerequisiteSyncReport report = parseEdges(subjectId);
+            tenant.stale = true;
+            return report;
+        } finally {
+            tenant.syncLock.unlock();
+        }
+    }
+    
+    private PrerequisiteSyncReport parseEdges(Long subjectId) {
+        return transactionTemplate.execute(status -> {
+            Map<Long, String> codes = new LinkedHashMap<>();
+            PrerequisiteParser parser = new PrerequisiteParser();
+            List<Object[]> subjects = subjectRepository.findPrerequisiteColumns();
+            for (Object[] row : subjects) {
+                codes.put((Long) row[0], (String) row[1]);
+                parser.addSubject((Long) row[0], (String) row[1], (String) row[2]);
+            }
+            Map<Long, Set<Long>> edges = new HashMap<>();
+            for (Object[] edge : edgeRepository.findEdges()) {
+                edges.computeIfAbsent((Long) edge[0], id -> new LinkedHashSet<>()).add((Long) edge[1]);
+            }
+            int parsed = 0;
+            int added = 0;
+            int removed = 0;
+            List<String> unresolved = new ArrayList<>();
+            List<String> rejected = new ArrayList<>();
+            PrerequisiteGraph checker = null;
+            for (Object[] row : subjects) {
+                Long id = (Long) row[0];
+                if (subjectId != null && !subjectId.equals(id)) {
+                    continue;
+                }
+                parsed++;
+                PrerequisiteParser.Result result = parser.parse((String) row[3]);
+                result.getUnresolved().forEach(token -> unresolved.add(codes.get(id) + ": " + token));
+                Set<Long> current = edges.computeIfAbsent(id, key -> new LinkedHashSet<>());
+                List<Long> dropped = current.stream().filter(p -> !result.getPrerequisiteIds().contains(p)).toList();
+                if (!dropped.isEmpty()) {
+                    removed += edgeRepository.deleteEdges(id, dropped);
+                    dropped.forEach(current::remove);
+                    checker = null;
+                }
+                for (Long prerequisiteId : result.getPrerequisiteIds()) {
+                    if (current.contains(prerequisiteId)) {
+                        continue;
+                    }
+                    if (checker == null) {
+                        checker = PrerequisiteGraph.build(codes, flatten(edges));
+                    }
+                    if (checker.wouldCreateCycle(id, prerequisiteId)) {
+                        rejected.add(codes.get(id) + " -> " + codes.get(prerequisiteId));
+                        continue;
+                    }
+                    entityManager.persist(new SubjectPrerequisite(entityManager.getReference(Subject.class, id),
+                            entityManager.getReference(Subject.class, prerequisiteId)));
+                    current.add(prerequisiteId);
+                    added++;
+                    checker = null;
+                }
+            }
+            return new PrerequisiteSyncReport(parsed, added, removed, unresolved, rejected);
+        });
+    }
+    
+    public SubjectPrerequisites prerequisites(Long subjectId) {
+        PrerequisiteGraph current = graph();
+        int index = requireIndex(current, subjectId);
+        return new SubjectPrerequisites(subjectId, current.subjectCode(index),
+                current.codes(current.required(subjectId, false)), current.codes(current.required(subjectId, true)));
+    }
+    
+    public List<List<String>> cycles() {
+        PrerequisiteGraph current = graph();
+        return current.getCycles().stream()
+                .map(cycle -> cycle.stream().map(id -> current.subjectCode(current.indexOf(id))).toList())
+                .toList();
+    }
+    
+    /**
+     * Which of the given students have passed every prerequisite of the subject (direct
+     * prerequisites, or the whole chain when transitive). Passing grades for all students
+     * and required subjects are read in one query per 1000 students and folded into one
+     * bitset per student; each check is then a single andNot over the required set.
+     */
+    public SubjectEligibility eligibility(Long subjectId, Collection<Long> studentIds, boolean transitive) {
+        PrerequisiteGraph current = graph();
+        int index = requireIndex(current, subjectId);
+        BitSet required = current.required(subjectId, transitive);
+        List<Long> students = studentIds.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, BitSet> passed = new HashMap<>();
+        if (!required.isEmpty() && !students.isEmpty()) {
+            List<Long> requiredIds = current.ids(required);
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < students.size(); from += IN_CLAUSE_CHUNK) {
+                    List<Long> chunk = students.subList(from, Math.min(from + IN_CLAUSE_CHUNK, students.size()));
+                    for (Object[] row : gradeRepository.findPassedSubjects(chunk, requiredIds, passingScore)) {
+                        int subject = current.indexOf((Long) row[1]);
+                        if (subject >= 0) {
+                            passed.computeIfAbsent((Long) row[0], id -> new BitSet()).set(subject);
+                        }
+                    }
+                }
+            });
+        }
+        List<Long> eligible = new ArrayList<>();
+        List<MissingPrerequisites> ineligible = new ArrayList<>();
+        for (Long studentId : students) {
+            BitSet missing = (BitSet) required.clone();
+            BitSet studentPassed = passed.get(studentId);
+            if (studentPassed != null) {
+                missing.andNot(studentPassed);
+            }
+            if (missing.isEmpty()) {
+                eligible.add(studentId);
+            } else {
+                ineligible.add(new MissingPrerequisites(studentId, current.codes(missing)));
+            }
+        }
+        return new SubjectEligibility(subjectId, current.subjectCode(index), transitive, current.codes(required),
+                eligible, ineligible);
+    }
+    
+    private PrerequisiteGraph graph() {
+        TenantGraph tenant = tenant(TenantContext.current());
+        if (tenant.stale) {
+            tenant.rebuildLock.lock();
+            try {
+                if (tenant.stale) {
+                    tenant.stale = false;
+                    tenant.graph = load();
+                }
+            } finally {
+                tenant.rebuildLock.unlock();
+            }
+        }
+        return tenant.graph;
+    }
+    
+    private PrerequisiteGraph load() {
+        PrerequisiteGraph graph = readOnlyTransactionTemplate.execute(status -> {
+            Map<Long, String> codes = new LinkedHashMap<>();
+            for (Object[] row : subjectRepository.findPrerequisiteColumns()) {
+                codes.put((Long) row[0], (String) row[1]);
+            }
+            List<long[]> edges = new ArrayList<>();
+            for (Object[] edge : edgeRepository.findEdges()) {
+                edges.add(new long[]{(Long) edge[0], (Long) edge[1]});
+            }
+            return PrerequisiteGraph.build(codes, edges);
+        });
+        if (!graph.getCycles().isEmpty()) {
+            log.warn("Prerequisite graph for {} contains {} cycle(s)", TenantContext.current(), graph.getCycles().size());
+        }
+        return graph;
+    }
+    
+    private TenantGraph tenant(String tenant) {
+        return tenants.computeIfAbsent(tenant, key -> new TenantGraph());
+    }
+    
+    private void resynchronize(String tenant, Long subjectId) {
+        syncExecutor.execute(() -> TenantContext.runAs(tenant, () -> {
+            try {
+                synchronize(subjectId);
+            } catch (RuntimeException e) {
+                log.warn("Re-synchronizing prerequisites of subject {} for {} failed", subjectId, tenant, e);
+            }
+        }));
+    }
+    
+    private static int requireIndex(PrerequisiteGraph graph, Long subjectId) {
+        int index = graph.indexOf(subjectId);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown subject " + subjectId);
+        }
+        return index;
+    }
+    
+    private static List<long[]> flatten(Map<Long, Set<Long>> edges) {
+        List<long[]> flat = new ArrayList<>();
+        edges.forEach((subject, prerequisites) -> prerequisites.forEach(p -> flat.add(new long[]{subject, p})));
+        return flat;
+    }
+    
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        String tenant = HibernateEvents.tenantOf(event.getSession());
+        tenant(tenant).stale = true;
+        if (event.getEntity() instanceof Subject subject && subject.getPrerequisites() != null) {
+            resynchronize(tenant, subject.getId());
+        }
+    }
+    
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        String tenant = HibernateEvents.tenantOf(event.getSession());
+        tenant(tenant).stale = true;
+        if (event.getEntity() instanceof Subject subject && event.getOldState() != null) {
+            int index = event.getPersister().getEntityMetamodel().getPropertyIndex("prerequisites");
+            if (!Objects.equals(event.getOldState()[index], subject.getPrerequisites())) {
+                resynchronize(tenant, subject.getId());
+            }
+        }
+    }
+    
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        tenant(HibernateEvents.tenantOf(event.getSession())).stale = true;
+    }
+    
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {}
+    
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+    
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+    
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return Subject.class.isAssignableFrom(type) || SubjectPrerequisite.class.isAssignableFrom(type);
+    }
+    
+    /**
+     * One tenant's graph; stale until the first read after startup or a committed change.
+     */
+    private static final class TenantGraph {
+        private final ReentrantLock syncLock = new ReentrantLock();
+        private final ReentrantLock rebuildLock = new ReentrantLock();
+        private volatile PrerequisiteGraph graph = PrerequisiteGraph.empty();
+        private volatile boolean stale = true;
+    }
+}
@@ -0,0 +1,91 @@
+package com.schoolmanagement.service.prerequisite;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the free-form Subject.prerequisites column ("MATH101, PHY101", "Math 101 and
+ * Physics; CS-100", "None") into subject ids. Tokens are matched against subject codes
+ * ignoring case, spaces and dashes, then against subject names; anything left is
+ * reported as unresolved.
+ */
+public class PrerequisiteParser {
+    private static final Pattern SEPARATORS = Pattern.compile("\\s*(?:[,;/&|+\\n]|\\band\\b)\\s*", Pattern.CASE_INSENSITIVE);
+    private static final Set<String> EMPTY_MARKERS = Set.of("", "NONE", "NA", "N/A", "NIL", "-");
+    
+    private final Map<String, Long> idsByCode = new HashMap<>();
+    private final Map<String, Long> idsByName = new HashMap<>();
+    
+    public void addSubject(Long id, String code, String name) {
+        if (code != null) {
+            idsByCode.put(normalizeCode(code), id);
+        }
+        if (name != null) {
+            idsByName.put(name.trim().toLowerCase(Locale.ROOT), id);
+        }
+    }
+    
+    public Result parse(String column) {
+        Set<Long> ids = new LinkedHashSet<>();
+        List<String> unresolved = new ArrayList<>();
+        if (column == null || EMPTY_MARKERS.contains(column.trim().toUpperCase(Locale.ROOT))) {
+            return new Result(ids, unresolved);
+        }
+        for (String raw : SEPARATORS.split(column)) {
+            String token = raw.replaceAll("^[(\\[\\s]+|[)\\]\\s.]+$", "");
+            if (EMPTY_MARKERS.contains(token.toUpperCase(Locale.ROOT))) {
+                continue;
+            }
+            Long id = resolve(token);
+            if (id != null) {
+                ids.add(id);
+                continue;
+            }
+            // "MATH101 PHY101" without separators
+            boolean allResolved = token.indexOf(' ') > 0;
+            List<Long> parts = new ArrayList<>();
+            for (String part : token.split("\\s+")) {
+                Long partId = resolve(part);
+                if (partId == null) {
+                    allResolved = false;
+                    break;
+                }
+                parts.add(partId);
+            }
+            if (allResolved) {
+                ids.addAll(parts);
+            } else {
+                unresolved.add(token);
+            }
+        }
+        return new Result(ids, unresolved);
+    }
+    
+    private Long resolve(String token) {
+        Long id = idsByCode.get(normalizeCode(token));
+        return id != null ? id : idsByName.get(token.toLowerCase(Locale.ROOT));
+    }
+    
+    private static String normalizeCode(String code) {
+        return code.replaceAll("[\\s_-]", "").toUpperCase(Locale.ROOT);
+    }
+    
+    public static class Result {
+        private final Set<Long> prerequisiteIds;
+        private final List<String> unresolved;
+        
+        Result(Set<Long> prerequisiteIds, List<String> unresolved) {
+            this.prerequisiteIds = prerequisiteIds;
+            this.unresolved = unresolved;
+        }
+        
+        public Set<Long> getPrerequisiteIds() { return prerequisiteIds; }
+        public List<String> getUnresolved() { return unresolved; }
+    }
+}
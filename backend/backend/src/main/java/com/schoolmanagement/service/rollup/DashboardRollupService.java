@@ -0,0 +1,370 @@
+package com.schoolmanagement.service.rollup;
+
+import com.schoolmanagement.config.TenancyProperties;
+import com.schoolmanagement.dto.AttendanceTrendPoint;
+import com.schoolmanagement.dto.ClassEnrollment;
+import com.schoolmanagement.dto.DashboardSnapshot;
+import com.schoolmanagement.model.DailyRollup;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.Teacher;
+import com.schoolmanagement.repository.DailyRollupRepository;
+import com.schoolmanagement.service.attendance.AttendanceMark;
+import com.schoolmanagement.service.routing.RoutingContext;
+import com.schoolmanagement.service.tenant.TenantContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Dashboard figures served from precomputed daily rollups instead of group-bys over the
+ * entity tables. Each tenant's rollups are held in memory as running totals per metric
+ * and scope, loaded from daily_rollups at startup (or rebuilt from the entity tables when
+ * that is empty) and kept current from RollupRecorder's committed deltas. Any "as of"
+ * date or date range is answered by a few binary searches.
+ *
+ * History starts with the rollups: a rebuild counts every student and teacher in their
+ * current state from their enrollment or hire date, and later status changes are dated
+ * by the day they are made.
+ */
+@Service
+public class DashboardRollupService {
+    private static final Logger log = LoggerFactory.getLogger(DashboardRollupService.class);
+    private static final int RECENT_ATTENDANCE_DAYS = 30;
+    private static final int REBUILD_FLUSH_ROWS = 1000;
+    
+    private final DailyRollupRepository rollupRepository;
+    private final RollupRecorder recorder;
+    private final TenancyProperties tenancy;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int compactionMaxDays;
+    private final int maxTrendPoints;
+    private final Map<String, TenantRollups> tenants = new ConcurrentHashMap<>();
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public enum Bucket {
+        DAY, WEEK, MONTH
+    }
+    
+    public DashboardRollupService(DailyRollupRepository rollupRepository, RollupRecorder recorder,
+                                  TenancyProperties tenancy, PlatformTransactionManager transactionManager,
+                                  @Value("${school.rollup.compaction-max-days:100}") int compactionMaxDays,
+                                  @Value("${school.rollup.max-trend-points:1000}") int maxTrendPoints) {
+        this.rollupRepository = rollupRepository;
+        this.recorder = recorder;
+        this.tenancy = tenancy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.readOnlyTransactionTemplate.setName(RoutingContext.PRIMARY_READ);
+        this.compactionMaxDays = compactionMaxDays;
+        this.maxTrendPoints = maxTrendPoints;
+        recorder.addCommitListener(this::apply);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (String tenant : tenancy.tenants()) {
+            TenantContext.runAs(tenant, () -> {
+                if (rollupRepository.count() == 0) {
+                    rebuild();
+                } else {
+                    reload();
+                }
+            });
+        }
+    }
+    
+    /**
+     * Replaces the current tenant's in-memory rollups with the totals in daily_rollups.
+     */
+    public void reload() {
+        String tenant = TenantContext.current();
+        recorder.exclusive(tenant, () -> {
+            long start = System.nanoTime();
+            TenantRollups rollups = new TenantRollups();
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = rollupRepository.streamTotals()) {
+                    rows.forEach(row -> rollups.add(new RollupCell((DailyRollup.Dimension) row[0], (String) row[1],
+                            (String) row[2], (LocalDate) row[3]), ((Number) row[4]).doubleValue()));
+                }
+            });
+            tenants.put(tenant, rollups);
+            log.info("Loaded {} rollup series for {} in {} ms", rollups.seriesCount(), tenant,
+                    (System.nanoTime() - start) / 1_000_000);
+            return null;
+        });
+    }
+    
+    /**
+     * Recomputes the current tenant's rollups from the entity tables, replacing
+     * daily_rollups, and reloads them. Status history recorded so far is lost.
+     */
+    public void rebuild() {
+        String tenant = TenantContext.current();
+        recorder.exclusive(tenant, () -> {
+            long start = System.nanoTime();
+            int rows = transactionTemplate.execute(status -> {
+                rollupRepository.deleteAllInBatch();
+                Map<RollupCell, Double> cells = new HashMap<>();
+                LocalDate today = LocalDate.now();
+                try (Stream<Object[]> students = rollupRepository.streamStudentFacts()) {
+                    students.forEach(row -> RollupMetrics.student(cells, (Student.StudentStatus) row[0],
+                            (Student.Gender) row[1], (Long) row[2], row[3] != null ? (LocalDate) row[3] : today, 1));
+                }
+                try (Stream<Object[]> teachers = rollupRepository.streamTeacherFacts()) {
+                    teachers.forEach(row -> RollupMetrics.teacher(cells, (Teacher.TeacherStatus) row[0], (String) row[1],
+                            (Integer) row[2], (Double) row[3], row[4] != null ? (LocalDate) row[4] : today, 1));
+                }
+                try (Stream<Object[]> attendance = rollupRepository.streamAttendanceCounts()) {
+                    attendance.forEach(row -> {
+                        AttendanceMark mark = AttendanceMark.of((Enum<?>) row[2]);
+                        if (mark != null && row[1] != null) {
+                            RollupMetrics.attendance(cells, (Long) row[0], (LocalDate) row[1], mark,
+                                    ((Number) row[3]).doubleValue());
+                        }
+                    });
+                }
+                int written = 0;
+                for (Map.Entry<RollupCell, Double> cell : cells.entrySet()) {
+                    RollupCell key = cell.getKey();
+                    entityManager.persist(new DailyRollup(key.dimension(), key.key(), key.metric(), key.day(), cell.getValue()));
+                    if (++written % REBUILD_FLUSH_ROWS == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                }
+                return written;
+            });
+            log.info("Rebuilt {} rollup rows for {} in {} ms", rows, tenant, (System.nanoTime() - start) / 1_000_000);
+            reload();
+            return null;
+        });
+    }
+    
+    @Scheduled(fixedDelayString = "${school.rollup.compaction-ms:600000}",
+               initialDelayString = "${school.rollup.compaction-initial-delay-ms:120000}")
+    public void compactInBackground() {
+        for (String tenant : tenancy.tenants()) {
+            TenantContext.runAs(tenant, this::compact);
+        }
+    }
+    
+    /**
+     * Merges the current tenant's rows per (scope, metric, day), up to compaction-max-days
+     * days per call. Totals are unchanged, so the in-memory rollups are left alone; rows
+     * committed while a day is compacted are simply merged on a later pass.
+     *
+     * @return number of rows removed
+     */
+    public int compact() {
+        List<LocalDate> days = readOnlyTransactionTemplate.execute(status ->
+                rollupRepository.findDaysToCompact(PageRequest.of(0, compactionMaxDays)));
+        int removed = 0;
+        for (LocalDate day : days) {
+            removed += transactionTemplate.execute(status -> compactDay(day));
+        }
+        if (removed > 0) {
+            log.debug("Compacted {} rollup rows over {} days for {}", removed, days.size(), TenantContext.current());
+        }
+        return removed;
+    }
+    
+    public DashboardSnapshot snapshot(LocalDate asOf, Long classId) {
+        TenantRollups rollups = rollups();
+        Map<String, RollupSeries> students = classId == null
+                ? rollups.metrics(DailyRollup.Dimension.SCHOOL, RollupMetrics.SCHOOL_KEY)
+                : rollups.metrics(DailyRollup.Dimension.CLASS, classId.toString());
+        Map<String, RollupSeries> school = rollups.metrics(DailyRollup.Dimension.SCHOOL, RollupMetrics.SCHOOL_KEY);
+        Map<String, Long> teachersByDepartment = new TreeMap<>();
+        rollups.scope(DailyRollup.Dimension.DEPARTMENT).forEach((department, metrics) -> {
+            long headcount = Math.round(asOf(metrics, RollupMetrics.TEACHER_HEADCOUNT, asOf));
+            if (headcount != 0) {
+                teachersByDepartment.put(department, headcount);
+            }
+        });
+        double experienceCount = asOf(school, RollupMetrics.TEACHER_EXPERIENCE_COUNT, asOf);
+        double averageExperience = experienceCount > 0
+                ? asOf(school, RollupMetrics.TEACHER_EXPERIENCE_SUM, asOf) / experienceCount
+                : 0;
+        return new DashboardSnapshot(asOf, classId, counts(students, RollupMetrics.STUDENT_STATUS, asOf),
+                counts(students, RollupMetrics.STUDENT_GENDER, asOf),
+                Math.round(asOf(school, RollupMetrics.TEACHER_HEADCOUNT, asOf)), teachersByDepartment,
+                averageExperience, asOf(school, RollupMetrics.TEACHER_SALARY_SUM, asOf),
+                attendance(students, asOf.minusDays(RECENT_ATTENDANCE_DAYS - 1), asOf));
+    }
+    
+    /**
+     * Attendance counts per bucket from {@code from} to {@code to}; buckets start at
+     * {@code from} and the last one ends at {@code to}. A null classId covers the school.
+     *
+     * @throws IllegalArgumentException if the range is empty or spans more than
+     *         max-trend-points buckets
+     */
+    public List<AttendanceTrendPoint> attendanceTrend(LocalDate from, LocalDate to, Long classId, Bucket bucket) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' is before 'from'");
+        }
+        Map<String, RollupSeries> metrics = classId == null
+                ? rollups().metrics(DailyRollup.Dimension.SCHOOL, RollupMetrics.SCHOOL_KEY)
+                : rollups().metrics(DailyRollup.Dimension.CLASS, classId.toString());
+        List<AttendanceTrendPoint> points = new ArrayList<>();
+        for (LocalDate start = from; !start.isAfter(to); start = next(start, bucket)) {
+            if (points.size() == maxTrendPoints) {
+                throw new IllegalArgumentException("More than " + maxTrendPoints + " " + bucket + " buckets requested");
+            }
+            LocalDate end = next(start, bucket).minusDays(1);
+            points.add(attendance(metrics, start, end.isAfter(to) ? to : end));
+        }
+        return points;
+    }
+    
+    /**
+     * Enrollment per class as of the given day, for classes with any students.
+     */
+    public List<ClassEnrollment> classEnrollment(LocalDate asOf) {
+        List<ClassEnrollment> classes = new ArrayList<>();
+        rollups().scope(DailyRollup.Dimension.CLASS).forEach((classId, metrics) -> {
+            Map<String, Long> byStatus = counts(metrics, RollupMetrics.STUDENT_STATUS, asOf);
+            long students = byStatus.values().stream().mapToLong(Long::longValue).sum();
+            if (students != 0) {
+                classes.add(new ClassEnrollment(Long.valueOf(classId), students, byStatus,
+                        counts(metrics, RollupMetrics.STUDENT_GENDER, asOf)));
+            }
+        });
+        classes.sort(Comparator.comparing(ClassEnrollment::getClassId));
+        return classes;
+    }
+    
+    private void apply(String tenant, Map<RollupCell, Double> deltas) {
+        TenantRollups rollups = tenants.get(tenant);
+        if (rollups != null) {
+            deltas.forEach(rollups::add);
+        }
+    }
+    
+    private int compactDay(LocalDate day) {
+        Map<SeriesKey, List<DailyRollup>> groups = rollupRepository.findByDay(day).stream()
+                .collect(Collectors.groupingBy(SeriesKey::of));
+        int removed = 0;
+        for (Map.Entry<SeriesKey, List<DailyRollup>> group : groups.entrySet()) {
+            List<DailyRollup> rows = group.getValue();
+            if (rows.size() < 2) {
+                continue;
+            }
+            double total = rows.stream().mapToDouble(DailyRollup::getAmount).sum();
+            rollupRepository.deleteAllInBatch(rows);
+            removed += rows.size();
+            if (total != 0) {
+                SeriesKey key = group.getKey();
+                rollupRepository.save(new DailyRollup(key.dimension(), key.key(), key.metric(), day, total));
+                removed--;
+            }
+        }
+        return removed;
+    }
+    
+    private TenantRollups rollups() {
+        TenantRollups rollups = tenants.get(TenantContext.current());
+        if (rollups == null) {
+            throw new IllegalStateException("Dashboard rollups for " + TenantContext.current() + " are still loading");
+        }
+        return rollups;
+    }
+    
+    private static AttendanceTrendPoint attendance(Map<String, RollupSeries> metrics, LocalDate from, LocalDate to) {
+        return new AttendanceTrendPoint(from, to, between(metrics, AttendanceMark.PRESENT, from, to),
+                between(metrics, AttendanceMark.ABSENT, from, to), between(metrics, AttendanceMark.LATE, from, to),
+                between(metrics, AttendanceMark.EXCUSED, from, to));
+    }
+    
+    private static long between(Map<String, RollupSeries> metrics, AttendanceMark mark, LocalDate from, LocalDate to) {
+        RollupSeries series = metrics.get(RollupMetrics.ATTENDANCE + mark.name());
+        return series == null ? 0 : Math.round(series.between(from, to));
+    }
+    
+    private static double asOf(Map<String, RollupSeries> metrics, String metric, LocalDate day) {
+        RollupSeries series = metrics.get(metric);
+        return series == null ? 0 : series.asOf(day);
+    }
+    
+    private static Map<String, Long> counts(Map<String, RollupSeries> metrics, String prefix, LocalDate day) {
+        Map<String, Long> counts = new TreeMap<>();
+        metrics.forEach((metric, series) -> {
+            if (metric.startsWith(prefix)) {
+                long count = Math.round(series.asOf(day));
+                if (count != 0) {
+                    counts.put(metric.substring(prefix.length()), count);
+                }
+            }
+        });
+        return counts;
+    }
+    
+    private static LocalDate next(LocalDate start, Bucket bucket) {
+        return switch (bucket) {
+            case DAY -> start.plusDays(1);
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+        };
+    }
+    
+    private record SeriesKey(DailyRollup.Dimension dimension, String key, String metric) {
+        static SeriesKey of(DailyRollup row) {
+            return new SeriesKey(row.getDimension(), row.getDimensionKey(), row.getMetric());
+        }
+    }
+    
+    /**
+     * One tenant's series, by dimension, then scope key, then metric.
+     */
+    private static final class TenantRollups {
+        private final Map<DailyRollup.Dimension, Map<String, Map<String, RollupSeries>>> series = new ConcurrentHashMap<>();
+        
+        void add(RollupCell cell, double amount) {
+            series.computeIfAbsent(cell.dimension(), d -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(cell.key(), k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(cell.metric(), m -> new RollupSeries())
+                    .add(cell.day(), amount);
+        }
+        
+        Map<String, Map<String, RollupSeries>> scope(DailyRollup.Dimension dimension) {
+            return series.getOrDefault(dimension, Map.of());
+        }
+        
+        Map<String, RollupSeries> metrics(DailyRollup.Dimension dimension, String key) {
+            return scope(dimension).getOrDefault(key, Map.of());
+        }
+        
+        int seriesCount() {
+            int count = 0;
+            for (Map<String, Map<String, RollupSeries>> scopes : series.values()) {
+                for (Map<String, RollupSeries> metrics : scopes.values()) {
+                    count += metrics.size();
+                }
+            }
+            return count;
+        }
+    }
+}
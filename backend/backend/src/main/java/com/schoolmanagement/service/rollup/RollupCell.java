@@ -0,0 +1,9 @@
+package com.schoolmanagement.service.rollup;
+
+import com.schoolmanagement.model.DailyRollup;
+import java.time.LocalDate;
+
+/**
+ * One metric of one scope on one day: the unit rollup deltas are recorded in.
+ */
+public record RollupCell(DailyRollup.Dimension dimension, String key, String metric, LocalDate day) {}
@@ -0,0 +1,93 @@
+package com.schoolmanagement.service.rollup;
+
+import com.schoolmanagement.model.DailyRollup;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.Teacher;
+import com.schoolmanagement.service.attendance.AttendanceMark;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * What one Student, Teacher or attendance mark contributes to each rollup. A change is
+ * recorded as the contributions of the new state minus those of the old, so every metric
+ * here has to be a plain sum over entities (averages are derived from a sum and a count).
+ *
+ * Students and teachers are stock metrics: they count from their enrollment or hire date
+ * and "as of" a day is the running total. Attendance marks are flows dated by the
+ * attendance day and are summed over a range.
+ */
+final class RollupMetrics {
+    static final String SCHOOL_KEY = "school";
+    static final String UNASSIGNED = "unassigned";
+    
+    static final String STUDENT_STATUS = "students.status.";
+    static final String STUDENT_GENDER = "students.gender.";
+    static final String TEACHER_STATUS = "teachers.status.";
+    static final String TEACHER_HEADCOUNT = "teachers.headcount";
+    static final String TEACHER_EXPERIENCE_SUM = "teachers.experience.sum";
+    static final String TEACHER_EXPERIENCE_COUNT = "teachers.experience.count";
+    static final String TEACHER_SALARY_SUM = "teachers.salary.sum";
+    static final String ATTENDANCE = "attendance.";
+    
+    private RollupMetrics() {}
+    
+    static void student(Map<RollupCell, Double> sink, Student.StudentStatus status, Student.Gender gender,
+                        Long classId, LocalDate day, double weight) {
+        studentScope(sink, DailyRollup.Dimension.SCHOOL, SCHOOL_KEY, status, gender, day, weight);
+        if (classId != null) {
+            studentScope(sink, DailyRollup.Dimension.CLASS, classId.toString(), status, gender, day, weight);
+        }
+    }
+    
+    /**
+     * Terminated teachers keep their status count but leave headcount, experience and
+     * salary totals.
+     */
+    static void teacher(Map<RollupCell, Double> sink, Teacher.TeacherStatus status, String department,
+                        Integer yearsExperience, Double salary, LocalDate day, double weight) {
+        String departmentKey = department == null || department.isBlank() ? UNASSIGNED : department;
+        teacherScope(sink, DailyRollup.Dimension.SCHOOL, SCHOOL_KEY, status, yearsExperience, salary, day, weight);
+        teacherScope(sink, DailyRollup.Dimension.DEPARTMENT, departmentKey, status, yearsExperience, salary, day, weight);
+    }
+    
+    static void attendance(Map<RollupCell, Double> sink, Long classId, LocalDate date, AttendanceMark mark, double weight) {
+        add(sink, DailyRollup.Dimension.SCHOOL, SCHOOL_KEY, ATTENDANCE + mark.name(), date, weight);
+        if (classId != null) {
+            add(sink, DailyRollup.Dimension.CLASS, classId.toString(), ATTENDANCE + mark.name(), date, weight);
+        }
+    }
+    
+    private static void studentScope(Map<RollupCell, Double> sink, DailyRollup.Dimension dimension, String key,
+                                     Student.StudentStatus status, Student.Gender gender, LocalDate day, double weight) {
+        if (status != null) {
+            add(sink, dimension, key, STUDENT_STATUS + status.name(), day, weight);
+        }
+        if (gender != null) {
+            add(sink, dimension, key, STUDENT_GENDER + gender.name(), day, weight);
+        }
+    }
+    
+    private static void teacherScope(Map<RollupCell, Double> sink, DailyRollup.Dimension dimension, String key,
+                                     Teacher.TeacherStatus status, Integer yearsExperience, Double salary,
+                                     LocalDate day, double weight) {
+        if (status != null) {
+            add(sink, dimension, key, TEACHER_STATUS + status.name(), day, weight);
+        }
+        if (status == Teacher.TeacherStatus.TERMINATED) {
+            return;
+        }
+        add(sink, dimension, key, TEACHER_HEADCOUNT, day, weight);
+        if (yearsExperience != null) {
+            add(sink, dimension, key, TEACHER_EXPERIENCE_SUM, day, weight * yearsExperience);
+            add(sink, dimension, key, TEACHER_EXPERIENCE_COUNT, day, weight);
+        }
+        if (salary != null) {
+            add(sink, dimension, key, TEACHER_SALARY_SUM, day, weight * salary);
+        }
+    }
+    
+    private static void add(Map<RollupCell, Double> sink, DailyRollup.Dimension dimension, String key, String metric,
+                            LocalDate day, double amount) {
+        sink.merge(new RollupCell(dimension, key, metric, day), amount, Double::sum);
+    }
+}
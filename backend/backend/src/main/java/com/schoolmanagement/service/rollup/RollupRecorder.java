@@ -0,0 +1,299 @@
+package com.schoolmanagement.service.rollup;
+
+import com.schoolmanagement.config.HibernateEvents;
+import com.schoolmanagement.model.Attendance;
+import com.schoolmanagement.model.DailyRollup;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.Teacher;
+import com.schoolmanagement.service.attendance.AttendanceMark;
+import com.schoolmanagement.service.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns inserts, updates and deletes of Student, Teacher and Attendance into rollup
+ * deltas and appends them to daily_rollups in the transaction that made the change, so
+ * the rollups can never disagree with the tables. Deltas are collected as Hibernate
+ * flushes and written just before commit; a rolled-back transaction leaves none.
+ *
+ * Attendance rows deleted together with their student (archiving, cascades) are not
+ * subtracted: past attendance stays in the trends after the student record is gone.
+ *
+ * Committed deltas are handed to commit listeners to update in-memory indexes. A
+ * transaction holds its tenant's shared lock from writing its deltas until listeners
+ * have run, so exclusive() can load an index from the table without missing or
+ * double-counting a commit.
+ */
+@Component
+public class RollupRecorder implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+    private static final Logger log = LoggerFactory.getLogger(RollupRecorder.class);
+    private static final int CLASS_LOOKUP_CHUNK = 1000;
+    
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<SharedSessionContractImplementor, Pending> pending = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantReadWriteLock> locks = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, Map<RollupCell, Double>>> commitListeners = new CopyOnWriteArrayList<>();
+    
+    public RollupRecorder(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+    
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = HibernateEvents.registry(entityManagerFactory);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+    
+    /**
+     * Called after each commit that wrote rollup deltas, with the tenant and the deltas.
+     */
+    public void addCommitListener(BiConsumer<String, Map<RollupCell, Double>> listener) {
+        commitListeners.add(listener);
+    }
+    
+    /**
+     * Runs the action while no transaction of the tenant is between writing its deltas and
+     * notifying commit listeners.
+     */
+    public <T> T exclusive(String tenant, Supplier<T> action) {
+        Lock lock = lock(tenant).writeLock();
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (tracked(event.getPersister())) {
+            contribute(pending(event.getSession()), event.getSession(), event.getPersister(), event.getState(), null, 1);
+        }
+    }
+    
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        EntityPersister persister = event.getPersister();
+        if (!tracked(persister)) {
+            return;
+        }
+        if (event.getOldState() == null) {
+            log.warn("No previous state for {} {}; rollups not updated", persister.getEntityName(), event.getId());
+            return;
+        }
+        Pending changes = pending(event.getSession());
+        LocalDate today = LocalDate.now();
+        contribute(changes, event.getSession(), persister, event.getOldState(), today, -1);
+        contribute(changes, event.getSession(), persister, event.getState(), today, 1);
+    }
+    
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (!tracked(event.getPersister())) {
+            return;
+        }
+        Pending changes = pending(event.getSession());
+        if (event.getEntity() instanceof Student) {
+            changes.deletedStudents.add((Long) event.getId());
+        }
+        contribute(changes, event.getSession(), event.getPersister(), event.getDeletedState(), LocalDate.now(), -1);
+    }
+    
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+    
+    /**
+     * @param changeDay day a Student or Teacher change takes effect, or null for an insert,
+     *                  which counts from the entity's own enrollment or hire date
+     */
+    private void contribute(Pending changes, SharedSessionContractImplementor session, EntityPersister persister,
+                            Object[] state, LocalDate changeDay, double weight) {
+        Class<?> type = persister.getMappedClass();
+        if (type == Student.class) {
+            LocalDate day = effectiveDay((LocalDate) value(persister, state, "enrollmentDate"), changeDay);
+            RollupMetrics.student(changes.deltas, (Student.StudentStatus) value(persister, state, "status"),
+                    (Student.Gender) value(persister, state, "gender"),
+                    identifier(session, value(persister, state, "schoolClass")), day, weight);
+        } else if (type == Teacher.class) {
+            LocalDate day = effectiveDay((LocalDate) value(persister, state, "hireDate"), changeDay);
+            RollupMetrics.teacher(changes.deltas, (Teacher.TeacherStatus) value(persister, state, "status"),
+                    (String) value(persister, state, "specialization"), (Integer) value(persister, state, "yearsExperience"),
+                    (Double) value(persister, state, "salary"), day, weight);
+        } else {
+            Long studentId = identifier(session, value(persister, state, "student"));
+            LocalDate date = (LocalDate) value(persister, state, "date");
+            AttendanceMark mark = AttendanceMark.of((Enum<?>) value(persister, state, "status"));
+            if (studentId != null && date != null && mark != null) {
+                changes.attendance.add(new AttendanceChange(studentId, date, mark, weight));
+            }
+        }
+    }
+    
+    /**
+     * A change never takes effect before the entity itself counts, otherwise a status
+     * change of a student enrolling next month would show up in today's totals.
+     */
+    private static LocalDate effectiveDay(LocalDate startDay, LocalDate changeDay) {
+        LocalDate start = startDay != null ? startDay : LocalDate.now();
+        return changeDay != null && changeDay.isAfter(start) ? changeDay : start;
+    }
+    
+    private Pending pending(SharedSessionContractImplementor session) {
+        return pending.computeIfAbsent(session, s -> {
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::write);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) this::completed);
+            return new Pending();
+        });
+    }
+    
+    private void write(SessionImplementor session) {
+        Pending changes = pending.get(session);
+        if (changes == null) {
+            return;
+        }
+        resolveAttendance(session, changes);
+        changes.deltas.values().removeIf(amount -> amount == 0.0);
+        if (changes.deltas.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<RollupCell, Double> delta : changes.deltas.entrySet()) {
+            RollupCell cell = delta.getKey();
+            session.persist(new DailyRollup(cell.dimension(), cell.key(), cell.metric(), cell.day(), delta.getValue()));
+        }
+        session.flush();
+        Lock lock = lock(tenantOf(session)).readLock();
+        lock.lock();
+        changes.commitLock = lock;
+    }
+    
+    /**
+     * Attributes attendance changes to the student's class, looked up once per transaction
+     * rather than per mark, and drops those of students deleted in the same transaction.
+     */
+    private void resolveAttendance(SessionImplementor session, Pending changes) {
+        List<AttendanceChange> live = new ArrayList<>();
+        Set<Long> studentIds = new HashSet<>();
+        for (AttendanceChange change : changes.attendance) {
+            if (!changes.deletedStudents.contains(change.studentId())) {
+                live.add(change);
+                studentIds.add(change.studentId());
+            }
+        }
+        changes.attendance.clear();
+        if (live.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> classIds = new HashMap<>();
+        List<Long> ids = new ArrayList<>(studentIds);
+        for (int from = 0; from < ids.size(); from += CLASS_LOOKUP_CHUNK) {
+            List<Object[]> rows = session.createQuery("select s.id, c.id from Student s left join s.schoolClass c "
+                            + "where s.id in :ids", Object[].class)
+                    .setParameter("ids", ids.subList(from, Math.min(from + CLASS_LOOKUP_CHUNK, ids.size())))
+                    .getResultList();
+            for (Object[] row : rows) {
+                if (row[1] != null) {
+                    classIds.put((Long) row[0], (Long) row[1]);
+                }
+            }
+        }
+        for (AttendanceChange change : live) {
+            RollupMetrics.attendance(changes.deltas, classIds.get(change.studentId()), change.date(), change.mark(),
+                    change.weight());
+        }
+    }
+    
+    private void completed(boolean success, SharedSessionContractImplementor session) {
+        Pending changes = pending.remove(session);
+        if (changes == null || changes.commitLock == null) {
+            return;
+        }
+        try {
+            if (success) {
+                String tenant = tenantOf(session);
+                Map<RollupCell, Double> deltas = Collections.unmodifiableMap(changes.deltas);
+                for (BiConsumer<String, Map<RollupCell, Double>> listener : commitListeners) {
+                    try {
+                        listener.accept(tenant, deltas);
+                    } catch (RuntimeException e) {
+                        log.error("Rollup commit listener failed for tenant {}", tenant, e);
+                    }
+                }
+            }
+        } finally {
+            changes.commitLock.unlock();
+        }
+    }
+    
+    private ReentrantReadWriteLock lock(String tenant) {
+        return locks.computeIfAbsent(tenant, t -> new ReentrantReadWriteLock());
+    }
+    
+    private static String tenantOf(SharedSessionContractImplementor session) {
+        Object tenant = session.getTenantIdentifier();
+        return tenant != null ? tenant.toString() : TenantContext.DEFAULT_TENANT;
+    }
+    
+    private static Object value(EntityPersister persister, Object[] state, String property) {
+        return state[persister.getEntityMetamodel().getPropertyIndex(property)];
+    }
+    
+    private static Long identifier(SharedSessionContractImplementor session, Object entity) {
+        if (entity == null) {
+            return null;
+        }
+        if (entity instanceof HibernateProxy proxy) {
+            return (Long) proxy.getHibernateLazyInitializer().getInternalIdentifier();
+        }
+        return (Long) session.getEntityPersister(null, entity).getIdentifier(entity, session);
+    }
+    
+    private static boolean tracked(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == Student.class || type == Teacher.class || type == Attendance.class;
+    }
+    
+    private record AttendanceChange(Long studentId, LocalDate date, AttendanceMark mark, double weight) {}
+    
+    private static final class Pending {
+        private final Map<RollupCell, Double> deltas = new HashMap<>();
+        private final List<AttendanceChange> attendance = new ArrayList<>();
+        private final Set<Long> deletedStudents = new HashSet<>();
+        private Lock commitLock;
+    }
+}
@@ -0,0 +1,54 @@
+package com.schoolmanagement.service.rollup;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * The daily net changes of one metric, stored as a running total per day that has a
+ * change. Both the value as of a date and the sum over a date range are a binary search.
+ * Changes almost always land on the latest day, which only touches the last slot;
+ * back-dated ones (late attendance entries) shift the totals after them.
+ */
+final class RollupSeries {
+    private long[] days = new long[8];
+    private double[] totals = new double[8];
+    private int size;
+    
+    synchronized void add(LocalDate day, double delta) {
+        long epochDay = day.toEpochDay();
+        int index = Arrays.binarySearch(days, 0, size, epochDay);
+        if (index < 0) {
+            index = -index - 1;
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size * 2);
+                totals = Arrays.copyOf(totals, size * 2);
+            }
+            System.arraycopy(days, index, days, index + 1, size - index);
+            System.arraycopy(totals, index, totals, index + 1, size - index);
+            days[index] = epochDay;
+            totals[index] = index == 0 ? 0 : totals[index - 1];
+            size++;
+        }
+        for (int i = index; i < size; i++) {
+            totals[i] += delta;
+        }
+    }
+    
+    /**
+     * Sum of every change up to and including the given day.
+     */
+    synchronized double asOf(LocalDate day) {
+        int index = Arrays.binarySearch(days, 0, size, day.toEpochDay());
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return index < 0 ? 0 : totals[index];
+    }
+    
+    /**
+     * Sum of the changes in [from, to].
+     */
+    double between(LocalDate from, LocalDate to) {
+        return asOf(to) - asOf(from.minusDays(1));
+    }
+}
@@ -0,0 +1,151 @@
+package com.schoolmanagement.service.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Sends connections of read-only transactions to a replica and everything else,
+ * including read-only transactions named RoutingContext.PRIMARY_READ, to the primary.
+ * Replicas are taken round-robin among those that are up, no more than max-lag behind
+ * the primary and, for a caller with a read-your-writes floor, have replayed past the
+ * caller's last write. When none qualifies the read goes to the primary. Replica state
+ * is kept current by ReplicaLagMonitor; until its first heartbeat round every read
+ * goes to the primary.
+ *
+ * Sits behind a LazyConnectionDataSourceProxy, so the route is chosen when the first
+ * statement runs, not when the transaction begins.
+ *
+ * Meters: school.datasource.connections.routed (route, reason) counts routing decisions;
+ * school.datasource.replica.lag and school.datasource.replica.up are per replica.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    public static final String PRIMARY = "primary";
+    
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final List<AutoCloseable> pools;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    
+    /**
+     * @param pools the pools behind primary and replicas, closed with this data source
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long maxLagMillis,
+                                      List<AutoCloseable> pools, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLagMillis = maxLagMillis;
+        this.pools = List.copyOf(pools);
+        this.meterRegistry = meterRegistry;
+        List<Replica> states = new ArrayList<>();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            if (PRIMARY.equals(name) || targets.containsKey(name)) {
+                throw new IllegalArgumentException("Duplicate data source name: " + name);
+            }
+            Replica replica = new Replica(name, dataSource);
+            states.add(replica);
+            targets.put(name, dataSource);
+            Gauge.builder("school.datasource.replica.lag", replica, r -> r.lagMillis)
+                    .tag("replica", name)
+                    .baseUnit("milliseconds")
+                    .description("How far the replica's replay trails the primary's last heartbeat")
+                    .register(meterRegistry);
+            Gauge.builder("school.datasource.replica.up", replica, r -> r.up ? 1 : 0)
+                    .tag("replica", name)
+                    .description("Whether the replica answered the last heartbeat round")
+                    .register(meterRegistry);
+        });
+        this.replicas = List.copyOf(states);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+    
+    public DataSource getPrimary() { return primary; }
+    
+    List<Replica> replicas() { return replicas; }
+    
+    /**
+     * Per replica: whether it is up and its lag in milliseconds (-1 before the first heartbeat).
+     */
+    public Map<String, Long> replicaLag() {
+        Map<String, Long> lag = new LinkedHashMap<>();
+        for (Replica replica : replicas) {
+            lag.put(replica.name, replica.up ? replica.lagMillis : -1);
+        }
+        return lag;
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        RoutingContext.Intent intent = RoutingContext.currentIntent();
+        if (intent == RoutingContext.Intent.READ_WRITE) {
+            return route(PRIMARY, "write");
+        }
+        if (intent == RoutingContext.Intent.PRIMARY_READ) {
+            return route(PRIMARY, "primary-read");
+        }
+        if (replicas.isEmpty()) {
+            return route(PRIMARY, "no-replica");
+        }
+        long floor = RoutingContext.readFloor();
+        boolean behindFloor = false;
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.up || replica.lagMillis > maxLagMillis) {
+                continue;
+            }
+            if (replica.replayedUpTo < floor) {
+                behindFloor = true;
+                continue;
+            }
+            return route(replica.name, "read");
+        }
+        return route(PRIMARY, behindFloor ? "read-your-writes" : "no-replica");
+    }
+    
+    @Override
+    public void close() throws Exception {
+        for (AutoCloseable pool : pools) {
+            pool.close();
+        }
+    }
+    
+    private String route(String route, String reason) {
+        counters.computeIfAbsent(route + '|' + reason, key -> Counter.builder("school.datasource.connections.routed")
+                .tag("route", route)
+                .tag("reason", reason)
+                .description("Connections handed out, by target and routing reason")
+                .register(meterRegistry))
+                .increment();
+        return route;
+    }
+    
+    static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        volatile boolean up;
+        volatile long replayedUpTo = -1;
+        volatile long lagMillis = -1;
+        
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
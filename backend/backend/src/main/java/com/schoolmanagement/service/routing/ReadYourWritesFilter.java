@@ -0,0 +1,67 @@
+package com.schoolmanagement.service.routing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Carries read-your-writes across requests in a cookie holding the time of the client's
+ * last committed write. Reads in later requests go only to replicas that have replayed
+ * past it, so a client sees its own changes even right after saving. The cookie lasts
+ * sticky-ms; a replica still behind after that is over max-lag and excluded anyway.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private final String cookieName;
+    private final long stickyMillis;
+    
+    public ReadYourWritesFilter(String cookieName, long stickyMillis) {
+        this.cookieName = cookieName;
+        this.stickyMillis = stickyMillis;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RoutingContext.bind(lastWrite(request), committedAt -> {
+            if (!response.isCommitted()) {
+                Cookie cookie = new Cookie(cookieName, Long.toString(committedAt));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, stickyMillis / 1000));
+                response.addCookie(cookie);
+            }
+        });
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RoutingContext.clear();
+        }
+    }
+    
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+    
+    private long lastWrite(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (cookieName.equals(cookie.getName())) {
+                try {
+                    long committedAt = Long.parseLong(cookie.getValue());
+                    return committedAt + stickyMillis >= System.currentTimeMillis() ? committedAt : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
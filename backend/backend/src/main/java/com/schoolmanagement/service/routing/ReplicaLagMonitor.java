@@ -0,0 +1,107 @@
+package com.schoolmanagement.service.routing;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Writes the current time into replication_heartbeat on the primary every heartbeat-ms,
+ * then reads it back from each replica. A replica's lag is how far its copy trails the
+ * last heartbeat this instance wrote, and the value it holds is the point its replay has
+ * reached, which read-your-writes compares against the caller's last write. A replica
+ * that cannot be read, or has no heartbeat row yet, is marked down.
+ *
+ * Heartbeats from several application instances share the row, so their clocks should
+ * be synchronized; a fast clock on one instance makes replicas look fresher to the others.
+ */
+public class ReplicaLagMonitor {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    private static final int HEARTBEAT_ID = 1;
+    
+    private final ReadWriteRoutingDataSource routing;
+    private volatile long lastBeat = -1;
+    private volatile boolean primaryFailing;
+    
+    public ReplicaLagMonitor(ReadWriteRoutingDataSource routing) {
+        this.routing = routing;
+    }
+    
+    @Scheduled(fixedDelayString = "${school.datasource.routing.heartbeat-ms:500}")
+    public void heartbeat() {
+        long beat = System.currentTimeMillis();
+        try {
+            writeBeat(routing.getPrimary(), beat);
+            lastBeat = beat;
+            if (primaryFailing) {
+                primaryFailing = false;
+                log.info("Replication heartbeat on the primary recovered");
+            }
+        } catch (SQLException e) {
+            if (!primaryFailing) {
+                primaryFailing = true;
+                log.warn("Replication heartbeat on the primary failed: {}", e.getMessage());
+            }
+        }
+        for (ReadWriteRoutingDataSource.Replica replica : routing.replicas()) {
+            observe(replica);
+        }
+    }
+    
+    private void observe(ReadWriteRoutingDataSource.Replica replica) {
+        try {
+            long replayed = readBeat(replica.dataSource);
+            replica.replayedUpTo = replayed;
+            replica.lagMillis = lastBeat < 0 ? -1 : Math.max(0, lastBeat - replayed);
+            if (!replica.up && lastBeat >= 0) {
+                log.info("Replica {} is up, {} ms behind", replica.name, replica.lagMillis);
+            }
+            replica.up = lastBeat >= 0;
+        } catch (SQLException e) {
+            if (replica.up) {
+                log.warn("Replica {} is down: {}", replica.name, e.getMessage());
+            }
+            replica.up = false;
+        }
+    }
+    
+    private static void writeBeat(DataSource primary, long beat) throws SQLException {
+        try (Connection connection = primary.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            try (PreparedStatement update = connection.prepareStatement(
+                    "update replication_heartbeat set beat_millis = ? where id = ?")) {
+                update.setLong(1, beat);
+                update.setInt(2, HEARTBEAT_ID);
+                if (update.executeUpdate() == 0) {
+                    try (PreparedStatement insert = connection.prepareStatement(
+                            "insert into replication_heartbeat (id, beat_millis) values (?, ?)")) {
+                        insert.setInt(1, HEARTBEAT_ID);
+                        insert.setLong(2, beat);
+                        insert.executeUpdate();
+                    }
+                }
+            }
+            if (!autoCommit) {
+                connection.commit();
+            }
+        }
+    }
+    
+    private static long readBeat(DataSource replica) throws SQLException {
+        try (Connection connection = replica.getConnection();
+             PreparedStatement select = connection.prepareStatement(
+                     "select beat_millis from replication_heartbeat where id = ?")) {
+            select.setInt(1, HEARTBEAT_ID);
+            try (ResultSet row = select.executeQuery()) {
+                if (!row.next()) {
+                    throw new SQLException("No heartbeat row replicated yet");
+                }
+                return row.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.schoolmanagement.service.routing;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.LongConsumer;
+
+/**
+ * What the current thread's next JDBC connection should be routed by: the intent of the
+ * innermost active transaction (maintained by RoutingJpaTransactionManager, so it is
+ * known before Hibernate asks for a connection), and the read-your-writes floor,
+ * the time of the caller's last write, which a replica must have replayed past before it
+ * may serve the caller. The floor comes from the request (ReadYourWritesFilter) and rises
+ * with every write the thread commits.
+ */
+public final class RoutingContext {
+    /**
+     * Name for read-only transactions that must still read the primary: loaders of
+     * in-memory state that is afterwards kept current from commit events, which would
+     * silently miss the commits a lagging replica had not replayed yet.
+     */
+    public static final String PRIMARY_READ = "primary-read";
+    
+    private static final ThreadLocal<Deque<Intent>> TRANSACTIONS = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<Long> READ_FLOOR = new ThreadLocal<>();
+    private static final ThreadLocal<LongConsumer> WRITE_LISTENER = new ThreadLocal<>();
+    
+    private RoutingContext() {}
+    
+    public enum Intent {
+        READ_WRITE, READ_ONLY, PRIMARY_READ
+    }
+    
+    /**
+     * The innermost transaction's intent; READ_WRITE outside transactions.
+     */
+    public static Intent currentIntent() {
+        Intent intent = TRANSACTIONS.get().peek();
+        return intent != null ? intent : Intent.READ_WRITE;
+    }
+    
+    /**
+     * Epoch millis a replica must have replayed up to before serving this thread; 0 for any.
+     */
+    public static long readFloor() {
+        Long floor = READ_FLOOR.get();
+        return floor != null ? floor : 0;
+    }
+    
+    static void beginTransaction(Intent intent) {
+        TRANSACTIONS.get().push(intent);
+    }
+    
+    static void endTransaction() {
+        Deque<Intent> transactions = TRANSACTIONS.get();
+        transactions.poll();
+        if (transactions.isEmpty()) {
+            TRANSACTIONS.remove();
+        }
+    }
+    
+    static void recordWrite(long committedAt) {
+        READ_FLOOR.set(Math.max(readFloor(), committedAt));
+        LongConsumer listener = WRITE_LISTENER.get();
+        if (listener != null) {
+            listener.accept(committedAt);
+        }
+    }
+    
+    static void bind(long floor, LongConsumer writeListener) {
+        if (floor > 0) {
+            READ_FLOOR.set(floor);
+        }
+        WRITE_LISTENER.set(writeListener);
+    }
+    
+    static void clear() {
+        READ_FLOOR.remove();
+        WRITE_LISTENER.remove();
+    }
+}
@@ -0,0 +1,65 @@
+package com.schoolmanagement.service.routing;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+/**
+ * Publishes each transaction's routing intent to RoutingContext before the transaction
+ * obtains its connection, and records committed read-write transactions as writes for
+ * read-your-writes. Setting the flag here rather than reading
+ * TransactionSynchronizationManager at connection time matters with tenancy: the
+ * TenantConnectionProvider switches schema as soon as Hibernate asks for a connection,
+ * which is before Spring exposes the flag.
+ *
+ * Read-only transactions named RoutingContext.PRIMARY_READ stay on the primary. A
+ * suspended transaction pushes a read-write marker, so code running without a
+ * transaction (PROPAGATION_NOT_SUPPORTED) inside a read-only one goes to the primary.
+ * Every committed read-write transaction counts as a write, whether or not it changed
+ * anything.
+ */
+public class RoutingJpaTransactionManager extends JpaTransactionManager {
+    
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        RoutingContext.beginTransaction(!definition.isReadOnly() ? RoutingContext.Intent.READ_WRITE
+                : RoutingContext.PRIMARY_READ.equals(definition.getName()) ? RoutingContext.Intent.PRIMARY_READ
+                : RoutingContext.Intent.READ_ONLY);
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException e) {
+            RoutingContext.endTransaction();
+            throw e;
+        }
+    }
+    
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        super.doCommit(status);
+        if (!status.isReadOnly()) {
+            RoutingContext.recordWrite(System.currentTimeMillis());
+        }
+    }
+    
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            RoutingContext.endTransaction();
+        }
+    }
+    
+    @Override
+    protected Object doSuspend(Object transaction) {
+        Object suspended = super.doSuspend(transaction);
+        RoutingContext.beginTransaction(RoutingContext.Intent.READ_WRITE);
+        return suspended;
+    }
+    
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        RoutingContext.endTransaction();
+        super.doResume(transaction, suspendedResources);
+    }
+}
@@ -0,0 +1,33 @@
+package com.schoolmanagement.service.search;
+
+import java.util.Set;
+
+public class SearchDocument {
+    public enum Type {
+        STUDENT, TEACHER, SUBJECT
+    }
+    
+    private final Type type;
+    private final Long entityId;
+    private final String title;
+    private final String subtitle;
+    private final Set<String> tokens;
+    
+    public SearchDocument(Type type, Long entityId, String title, String subtitle, Set<String> tokens) {
+        this.type = type;
+        this.entityId = entityId;
+        this.title = title;
+        this.subtitle = subtitle;
+        this.tokens = tokens;
+    }
+    
+    public Type getType() { return type; }
+    public Long getEntityId() { return entityId; }
+    public String getTitle() { return title; }
+    public String getSubtitle() { return subtitle; }
+    public Set<String> getTokens() { return tokens; }
+    
+    public String getKey() {
+        return type.name() + ":" + entityId;
+    }
+}
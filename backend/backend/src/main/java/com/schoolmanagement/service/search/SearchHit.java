@@ -0,0 +1,14 @@
+package com.schoolmanagement.service.search;
+
+public class SearchHit {
+    private final SearchDocument document;
+    private final double score;
+    
+    public SearchHit(SearchDocument document, double score) {
+        this.document = document;
+        this.score = score;
+    }
+    
+    public SearchDocument getDocument() { return document; }
+    public double getScore() { return score; }
+}
@@ -0,0 +1,337 @@
+package com.schoolmanagement.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory token index. Tokens live in a sorted dictionary (prefix lookups are a
+ * range scan) and in a trigram table. The trigram table finds tokens containing a
+ * query token ("0042" in "stu20240042", "son" in "johnson") and near-miss tokens, which
+ * are then confirmed with a bounded edit distance. Infix matching only runs for query
+ * tokens with no exact or prefix match, and typo matching only when there is no infix
+ * match either. Every query token must match for a document to be returned; exact
+ * matches outrank prefix matches, which outrank infix matches, which outrank typos.
+ */
+public class SearchIndex {
+    private static final double EXACT_SCORE = 3.0;
+    private static final double PREFIX_SCORE = 2.0;
+    private static final double INFIX_SCORE = 1.5;
+    private static final double FUZZY_SCORE = 1.0;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_INFIX_LENGTH = 3;
+    private static final int MAX_FUZZY_CANDIDATES = 2_000;
+    
+    private final Map<String, SearchDocument> documents = new HashMap<>();
+    private final NavigableMap<String, Set<String>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    public static String normalize(String value) {
+        String folded = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(folded.length());
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                sb.append(' ');
+            }
+        }
+        return sb.toString();
+    }
+    
+    public static Set<String> tokenize(String... values) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String value : values) {
+            if (value == null) {
+                continue;
+            }
+            for (String token : normalize(value).split(" +")) {
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return tokens;
+    }
+    
+    public void put(SearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(document.getKey());
+            documents.put(document.getKey(), document);
+            for (String token : document.getTokens()) {
+                Set<String> keys = postings.get(token);
+                if (keys == null) {
+                    keys = new HashSet<>(2);
+                    postings.put(token, keys);
+                    for (String gram : trigramsOf(token)) {
+                        trigrams.computeIfAbsent(gram, g -> new HashSet<>()).add(token);
+                    }
+                }
+                keys.add(document.getKey());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(SearchDocument.Type type, Long entityId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(type.name() + ":" + entityId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public List<SearchHit> search(String query, int limit, SearchDocument.Type type) {
+        Set<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<String, Double> scores = null;
+            for (String queryToken : queryTokens) {
+                Map<String, Double> tokenScores = matchToken(queryToken);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    Map<String, Double> merged = new HashMap<>();
+                    for (Map.Entry<String, Double> entry : scores.entrySet()) {
+                        Double other = tokenScores.get(entry.getKey());
+                        if (other != null) {
+                            merged.put(entry.getKey(), entry.getValue() + other);
+                        }
+                    }
+                    scores = merged;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return topK(scores, limit, type);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int getDocumentCount() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int getTokenCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int getTrigramCount() {
+        lock.readLock().lock();
+        try {
+            return trigrams.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private Map<String, Double> matchToken(String queryToken) {
+        Map<String, Double> scores = new HashMap<>();
+        Set<String> exact = postings.get(queryToken);
+        if (exact != null) {
+            for (String key : exact) {
+                scores.put(key, EXACT_SCORE);
+            }
+        }
+        if (queryToken.length() >= MIN_PREFIX_LENGTH) {
+            for (Map.Entry<String, Set<String>> entry
+                    : postings.subMap(queryToken, false, queryToken + Character.MAX_VALUE, false).entrySet()) {
+                double score = PREFIX_SCORE - 0.01 * (entry.getKey().length() - queryToken.length());
+                for (String key : entry.getValue()) {
+                    scores.merge(key, score, Math::max);
+                }
+            }
+        }
+        if (scores.isEmpty() && queryToken.length() >= MIN_INFIX_LENGTH) {
+            for (String candidate : infixCandidates(queryToken)) {
+                double score = INFIX_SCORE - 0.01 * (candidate.length() - queryToken.length());
+                for (String key : postings.get(candidate)) {
+                    scores.merge(key, score, Math::max);
+                }
+            }
+        }
+        int maxEdits = queryToken.length() <= 3 ? 0 : queryToken.length() <= 6 ? 1 : 2;
+        if (maxEdits > 0 && scores.isEmpty()) {
+            for (String candidate : fuzzyCandidates(queryToken, maxEdits)) {
+                int distance = boundedDistance(queryToken, candidate, maxEdits);
+                if (distance > 0 && distance <= maxEdits) {
+                    double score = FUZZY_SCORE - 0.25 * (distance - 1);
+                    for (String key : postings.get(candidate)) {
+                        scores.merge(key, score, Math::max);
+                    }
+                }
+            }
+        }
+        return scores;
+    }
+    
+    /**
+     * Tokens containing the query token other than at their start (prefixes are already
+     * matched). Such a token holds every unpadded trigram of the query, so only the
+     * rarest trigram's tokens need checking.
+     */
+    private List<String> infixCandidates(String queryToken) {
+        Set<String> rarest = null;
+        for (int i = 0; i + 3 <= queryToken.length(); i++) {
+            Set<String> tokens = trigrams.get(queryToken.substring(i, i + 3));
+            if (tokens == null) {
+                return List.of();
+            }
+            if (rarest == null || tokens.size() < rarest.size()) {
+                rarest = tokens;
+            }
+        }
+        List<String> candidates = new ArrayList<>();
+        for (String token : rarest) {
+            if (token.length() > queryToken.length() && token.indexOf(queryToken, 1) > 0) {
+                candidates.add(token);
+            }
+        }
+        return candidates;
+    }
+    
+    /**
+     * Tokens within reach of maxEdits edits. Each edit destroys at most three trigrams, so a
+     * match must share a trigram with at least one of the rarest (n - required + 1) query
+     * trigrams; only those posting lists are scanned.
+     */
+    private Set<String> fuzzyCandidates(String queryToken, int maxEdits) {
+        List<String> queryGrams = new ArrayList<>(trigramsOf(queryToken));
+        queryGrams.sort(Comparator.comparingInt(gram -> trigrams.getOrDefault(gram, Collections.emptySet()).size()));
+        int required = Math.max(1, queryGrams.size() - 3 * maxEdits);
+        Set<String> candidates = new HashSet<>();
+        for (String gram : queryGrams.subList(0, queryGrams.size() - required + 1)) {
+            for (String token : trigrams.getOrDefault(gram, Collections.emptySet())) {
+                if (Math.abs(token.length() - queryToken.length()) <= maxEdits) {
+                    candidates.add(token);
+                    if (candidates.size() >= MAX_FUZZY_CANDIDATES) {
+                        return candidates;
+                    }
+                }
+            }
+        }
+        return candidates;
+    }
+    
+    private List<SearchHit> topK(Map<String, Double> scores, int limit, SearchDocument.Type type) {
+        Comparator<SearchHit> order = Comparator.comparingDouble(SearchHit::getScore)
+                .thenComparing(hit -> hit.getDocument().getTitle(), Comparator.reverseOrder());
+        PriorityQueue<SearchHit> heap = new PriorityQueue<>(limit + 1, order);
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            SearchDocument document = documents.get(entry.getKey());
+            if (document == null || (type != null && document.getType() != type)) {
+                continue;
+            }
+            heap.add(new SearchHit(document, entry.getValue()));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>(heap);
+        hits.sort(order.reversed());
+        return hits;
+    }
+    
+    private void removeInternal(String key) {
+        SearchDocument existing = documents.remove(key);
+        if (existing == null) {
+            return;
+        }
+        for (String token : existing.getTokens()) {
+            Set<String> keys = postings.get(token);
+            if (keys == null) {
+                continue;
+            }
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                postings.remove(token);
+                for (String gram : trigramsOf(token)) {
+                    Set<String> tokens = trigrams.get(gram);
+                    if (tokens != null) {
+                        tokens.remove(token);
+                        if (tokens.isEmpty()) {
+                            trigrams.remove(gram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    static Set<String> trigramsOf(String token) {
+        String padded = "$" + token + "$";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+    
+    /**
+     * Optimal string alignment distance, or maxEdits + 1 once it is certain to exceed maxEdits.
+     */
+    static int boundedDistance(String a, String b, int maxEdits) {
+        if (Math.abs(a.length() - b.length()) > maxEdits) {
+            return maxEdits + 1;
+        }
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previousPrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+}
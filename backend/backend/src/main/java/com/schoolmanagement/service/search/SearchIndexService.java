@@ -0,0 +1,278 @@
+package com.schoolmanagement.service.search;
+
+import com.schoolmanagement.config.HibernateEvents;
+import com.schoolmanagement.config.TenancyProperties;
+import com.schoolmanagement.dto.SearchIndexStats;
+import com.schoolmanagement.dto.SearchResult;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.Subject;
+import com.schoolmanagement.model.Teacher;
+import com.schoolmanagement.repository.StudentRepository;
+import com.schoolmanagement.repository.SubjectRepository;
+import com.schoolmanagement.repository.TeacherRepository;
+import com.schoolmanagement.service.routing.RoutingContext;
+import com.schoolmanagement.service.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Front-desk search over students, teachers and subjects. Each tenant's index is built at
+ * startup from scalar projections and kept current from committed entity changes in that
+ * tenant's schema. Changes
+ * committed while a rebuild streams are replayed onto the new index before it is
+ * swapped in; puts and removes by key are idempotent, so replaying one the stream
+ * already saw is harmless.
+ */
+@Service
+public class SearchIndexService implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexService.class);
+    private static final int MAX_RESULTS = 100;
+    
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final SubjectRepository subjectRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TenancyProperties tenancy;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Map<String, TenantIndex> tenants = new ConcurrentHashMap<>();
+    
+    public SearchIndexService(StudentRepository studentRepository, TeacherRepository teacherRepository,
+                              SubjectRepository subjectRepository, EntityManagerFactory entityManagerFactory,
+                              TenancyProperties tenancy, PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.subjectRepository = subjectRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.tenancy = tenancy;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.readOnlyTransactionTemplate.setName(RoutingContext.PRIMARY_READ);
+    }
+    
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = HibernateEvents.registry(entityManagerFactory);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (String tenant : tenancy.tenants()) {
+            TenantContext.runAs(tenant, this::rebuild);
+        }
+    }
+    
+    /**
+     * Builds a fresh index for the current tenant and swaps it in; searches keep using the
+     * old one until then.
+     */
+    public void rebuild() {
+        TenantIndex tenant = tenant(TenantContext.current());
+        tenant.rebuildLock.lock();
+        try {
+            rebuild(tenant);
+        } finally {
+            tenant.rebuildLock.unlock();
+        }
+    }
+    
+    private void rebuild(TenantIndex tenant) {
+        long start = System.nanoTime();
+        SearchIndex fresh = new SearchIndex();
+        synchronized (tenant.changeLock) {
+            tenant.replay = new ArrayList<>();
+        }
+        try {
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = studentRepository.streamSearchFields()) {
+                    rows.forEach(r -> fresh.put(studentDocument((Long) r[0], (String) r[1], (String) r[2], (String) r[3], (String) r[4])));
+                }
+                try (Stream<Object[]> rows = teacherRepository.streamSearchFields()) {
+                    rows.forEach(r -> fresh.put(teacherDocument((Long) r[0], (String) r[1], (String) r[2], (String) r[3],
+                            (String) r[4], (String) r[5])));
+                }
+                try (Stream<Object[]> rows = subjectRepository.streamSearchFields()) {
+                    rows.forEach(r -> fresh.put(subjectDocument((Long) r[0], (String) r[1], (String) r[2], (String) r[3])));
+                }
+            });
+            synchronized (tenant.changeLock) {
+                tenant.replay.forEach(change -> change.accept(fresh));
+                tenant.index = fresh;
+            }
+        } finally {
+            synchronized (tenant.changeLock) {
+                tenant.replay = null;
+            }
+        }
+        tenant.lastRebuildMillis = (System.nanoTime() - start) / 1_000_000;
+        tenant.lastRebuildAt = LocalDateTime.now();
+        log.info("Search index for {} built with {} documents in {} ms", TenantContext.current(),
+                fresh.getDocumentCount(), tenant.lastRebuildMillis);
+    }
+    
+    public List<SearchResult> search(String query, int limit, SearchDocument.Type type) {
+        return tenant(TenantContext.current()).index.search(query, Math.min(limit, MAX_RESULTS), type).stream()
+                .map(hit -> new SearchResult(hit.getDocument().getType().name(), hit.getDocument().getEntityId(),
+                        hit.getDocument().getTitle(), hit.getDocument().getSubtitle(), hit.getScore()))
+                .toList();
+    }
+    
+    public SearchIndexStats stats() {
+        TenantIndex tenant = tenant(TenantContext.current());
+        SearchIndex current = tenant.index;
+        return new SearchIndexStats(current.getDocumentCount(), current.getTokenCount(), current.getTrigramCount(),
+                tenant.lastRebuildMillis, tenant.lastRebuildAt);
+    }
+    
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        index(tenant(HibernateEvents.tenantOf(event.getSession())), event.getEntity());
+    }
+    
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        index(tenant(HibernateEvents.tenantOf(event.getSession())), event.getEntity());
+    }
+    
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        TenantIndex tenant = tenant(HibernateEvents.tenantOf(event.getSession()));
+        Object entity = event.getEntity();
+        if (entity instanceof Student student) {
+            Long id = student.getId();
+            tenant.change(i -> i.remove(SearchDocument.Type.STUDENT, id));
+        } else if (entity instanceof Teacher teacher) {
+            Long id = teacher.getId();
+            tenant.change(i -> i.remove(SearchDocument.Type.TEACHER, id));
+        } else if (entity instanceof Subject subject) {
+            Long id = subject.getId();
+            tenant.change(i -> i.remove(SearchDocument.Type.SUBJECT, id));
+        }
+    }
+    
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {}
+    
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+    
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+    
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return Student.class.isAssignableFrom(type) || Teacher.class.isAssignableFrom(type)
+                || Subject.class.isAssignableFrom(type);
+    }
+    
+    private TenantIndex tenant(String tenant) {
+        return tenants.computeIfAbsent(tenant, key -> new TenantIndex());
+    }
+    
+    private static void index(TenantIndex tenant, Object entity) {
+        SearchDocument document = null;
+        if (entity instanceof Student s) {
+            document = studentDocument(s.getId(), s.getStudentId(), s.getFirstName(), s.getLastName(), s.getParentGuardianPhone());
+        } else if (entity instanceof Teacher t) {
+            document = teacherDocument(t.getId(), t.getTeacherId(), t.getFirstName(), t.getLastName(), t.getPhoneNumber(), t.getEmail());
+        } else if (entity instanceof Subject s) {
+            document = subjectDocument(s.getId(), s.getSubjectCode(), s.getSubjectName(), s.getDepartment());
+        }
+        if (document != null) {
+            SearchDocument indexed = document;
+            tenant.change(i -> i.put(indexed));
+        }
+    }
+    
+    private static SearchDocument studentDocument(Long id, String studentId, String firstName, String lastName,
+                                                  String guardianPhone) {
+        Set<String> tokens = SearchIndex.tokenize(firstName, lastName, studentId, compact(studentId), guardianPhone,
+                localNumber(guardianPhone));
+        return new SearchDocument(SearchDocument.Type.STUDENT, id, firstName + " " + lastName, studentId, tokens);
+    }
+    
+    private static SearchDocument teacherDocument(Long id, String teacherId, String firstName, String lastName,
+                                                  String phone, String email) {
+        Set<String> tokens = SearchIndex.tokenize(firstName, lastName, teacherId, compact(teacherId), phone,
+                localNumber(phone), email);
+        return new SearchDocument(SearchDocument.Type.TEACHER, id, firstName + " " + lastName, teacherId, tokens);
+    }
+    
+    private static SearchDocument subjectDocument(Long id, String code, String name, String department) {
+        Set<String> tokens = SearchIndex.tokenize(code, compact(code), name, department);
+        return new SearchDocument(SearchDocument.Type.SUBJECT, id, name, code, tokens);
+    }
+    
+    /**
+     * "STU-2024-0042" is also indexed as "stu20240042" so it can be typed without separators.
+     */
+    private static String compact(String identifier) {
+        return identifier == null ? null : SearchIndex.normalize(identifier).replace(" ", "");
+    }
+    
+    /**
+     * The last seven digits of a phone number, so numbers can be found without the country/area code.
+     */
+    private static String localNumber(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String digits = phone.replaceAll("[^0-9]", "");
+        return digits.length() > 7 ? digits.substring(digits.length() - 7) : null;
+    }
+    
+    /**
+     * One tenant's index and rebuild state.
+     */
+    private static final class TenantIndex {
+        private final ReentrantLock rebuildLock = new ReentrantLock();
+        // serializes changes with the swap at the end of a rebuild
+        private final Object changeLock = new Object();
+        private volatile SearchIndex index = new SearchIndex();
+        // changes committed while a rebuild streams, replayed onto its result; null otherwise
+        private List<Consumer<SearchIndex>> replay;
+        private volatile long lastRebuildMillis;
+        private volatile LocalDateTime lastRebuildAt;
+        
+        /**
+         * Applies a committed change, and remembers it for replay if a rebuild is streaming.
+         */
+        void change(Consumer<SearchIndex> change) {
+            synchronized (changeLock) {
+                change.accept(index);
+                if (replay != null) {
+                    replay.add(change);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.schoolmanagement.service.tenant;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+
+/**
+ * Hands Hibernate connections from the one shared pool, switched to the tenant's schema
+ * and switched back on release. With max-connections-per-tenant set, each tenant may hold
+ * at most that many connections at once (queued fairly), so one busy school cannot drain
+ * the pool for the others; time spent waiting is recorded per tenant.
+ */
+public class TenantConnectionProvider implements MultiTenantConnectionProvider {
+    private final DataSource dataSource;
+    private final Map<String, String> schemas;
+    private final int maxConnectionsPerTenant;
+    private final long waitMillis;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TenantGate> gates = new ConcurrentHashMap<>();
+    private volatile String defaultSchema;
+    
+    public TenantConnectionProvider(DataSource dataSource, Map<String, String> schemas, int maxConnectionsPerTenant,
+                                    long waitMillis, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.schemas = Map.copyOf(schemas);
+        this.maxConnectionsPerTenant = maxConnectionsPerTenant;
+        this.waitMillis = waitMillis;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    public boolean isKnown(String tenant) {
+        return TenantContext.DEFAULT_TENANT.equals(tenant) || schemas.containsKey(tenant);
+    }
+    
+    /**
+     * Fails fast when a configured tenant schema does not exist, which can only happen
+     * when school.tenancy.provision-schemas is off and migrations have not created it.
+     */
+    public void verifySchemas() throws SQLException {
+        Set<String> existing = new HashSet<>();
+        try (Connection connection = dataSource.getConnection();
+             ResultSet rows = connection.getMetaData().getSchemas()) {
+            defaultSchema = connection.getSchema();
+            while (rows.next()) {
+                existing.add(rows.getString("TABLE_SCHEM").toUpperCase());
+            }
+        }
+        Set<String> missing = new TreeSet<>();
+        schemas.forEach((tenant, schema) -> {
+            if (!existing.contains(schema.toUpperCase())) {
+                missing.add(tenant + " -> " + schema);
+            }
+        });
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Tenant schemas do not exist: " + missing);
+        }
+    }
+    
+    @Override
+    public Connection getAnyConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+    
+    @Override
+    public void releaseAnyConnection(Connection connection) throws SQLException {
+        connection.close();
+    }
+    
+    @Override
+    public Connection getConnection(String tenant) throws SQLException {
+        String schema = schemaOf(tenant);
+        TenantGate gate = gates.computeIfAbsent(tenant, this::newGate);
+        gate.acquire(tenant);
+        try {
+            Connection connection = dataSource.getConnection();
+            if (schema != null) {
+                try {
+                    connection.setSchema(schema);
+                } catch (SQLException e) {
+                    connection.close();
+                    throw e;
+                }
+            }
+            gate.active.incrementAndGet();
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            gate.release();
+            throw e;
+        }
+    }
+    
+    @Override
+    public void releaseConnection(String tenant, Connection connection) throws SQLException {
+        TenantGate gate = gates.get(tenant);
+        try {
+            if (schemaOf(tenant) != null && defaultSchema != null) {
+                connection.setSchema(defaultSchema);
+            }
+        } finally {
+            try {
+                connection.close();
+            } finally {
+                if (gate != null) {
+                    gate.active.decrementAndGet();
+                    gate.release();
+                }
+            }
+        }
+    }
+    
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+    
+    @Override
+    @SuppressWarnings("rawtypes")
+    public boolean isUnwrappableAs(Class unwrapType) {
+        return unwrapType.isInstance(this);
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> unwrapType) {
+        if (unwrapType.isInstance(this)) {
+            return (T) this;
+        }
+        throw new IllegalArgumentException("Cannot unwrap " + getClass().getName() + " as " + unwrapType.getName());
+    }
+    
+    private String schemaOf(String tenant) {
+        if (TenantContext.DEFAULT_TENANT.equals(tenant)) {
+            return null;
+        }
+        String schema = schemas.get(tenant);
+        if (schema == null) {
+            throw new IllegalArgumentException("Unknown tenant: " + tenant);
+        }
+        return schema;
+    }
+    
+    private TenantGate newGate(String tenant) {
+        TenantGate gate = new TenantGate(maxConnectionsPerTenant > 0 ? new Semaphore(maxConnectionsPerTenant, true) : null,
+                Timer.builder("tenant.connection.wait")
+                        .description("Time a tenant waited for its share of the connection pool")
+                        .tag("tenant", tenant)
+                        .register(meterRegistry));
+        Gauge.builder("tenant.connections.active", gate.active, AtomicInteger::get)
+                .tag("tenant", tenant)
+                .register(meterRegistry);
+        return gate;
+    }
+    
+    private final class TenantGate {
+        private final Semaphore permits;
+        private final Timer waitTimer;
+        private final AtomicInteger active = new AtomicInteger();
+        
+        TenantGate(Semaphore permits, Timer waitTimer) {
+            this.permits = permits;
+            this.waitTimer = waitTimer;
+        }
+        
+        void acquire(String tenant) throws SQLException {
+            if (permits == null) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                if (!permits.tryAcquire(waitMillis, TimeUnit.MILLISECONDS)) {
+                    meterRegistry.counter("tenant.connection.timeouts", "tenant", tenant).increment();
+                    throw new SQLTransientConnectionException("Tenant " + tenant + " timed out after " + waitMillis
+                            + " ms waiting for a connection");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted while waiting for a tenant connection", e);
+            } finally {
+                waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+        
+        void release() {
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.schoolmanagement.service.tenant;
+
+import java.util.function.Supplier;
+
+/**
+ * The school the current thread is working for. Set per request by TenantFilter; code
+ * running outside a request (schedulers, startup loaders) works for the default tenant
+ * unless it switches explicitly with callAs.
+ */
+public final class TenantContext {
+    public static final String DEFAULT_TENANT = "default";
+    
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+    
+    private TenantContext() {}
+    
+    public static String current() {
+        String tenant = CURRENT.get();
+        return tenant != null ? tenant : DEFAULT_TENANT;
+    }
+    
+    public static boolean isDefault() {
+        return DEFAULT_TENANT.equals(current());
+    }
+    
+    public static <T> T callAs(String tenant, Supplier<T> action) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenant);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+    
+    public static void runAs(String tenant, Runnable action) {
+        callAs(tenant, () -> {
+            action.run();
+            return null;
+        });
+    }
+    
+    static void set(String tenant) {
+        CURRENT.set(tenant);
+    }
+    
+    static void clear() {
+        CURRENT.remove();
+    }
+}
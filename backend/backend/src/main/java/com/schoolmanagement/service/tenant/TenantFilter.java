@@ -0,0 +1,49 @@
+package com.schoolmanagement.service.tenant;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.function.Predicate;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Binds each request to the school named in the tenant header (the default tenant when
+ * absent). Unknown schools get 400.
+ */
+public class TenantFilter extends OncePerRequestFilter {
+    public static final String TENANT_ATTRIBUTE = TenantFilter.class.getName() + ".tenant";
+    
+    private final String header;
+    private final Predicate<String> knownTenant;
+    
+    public TenantFilter(String header, Predicate<String> knownTenant) {
+        this.header = header;
+        this.knownTenant = knownTenant;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String requested = request.getHeader(header);
+        String tenant = requested == null || requested.isBlank() ? TenantContext.DEFAULT_TENANT : requested.trim();
+        if (!knownTenant.test(tenant)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Unknown school: " + tenant);
+            return;
+        }
+        request.setAttribute(TENANT_ATTRIBUTE, tenant);
+        TenantContext.set(tenant);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+    
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+}
@@ -0,0 +1,16 @@
+package com.schoolmanagement.service.tenant;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver {
+    
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return TenantContext.current();
+    }
+    
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return true;
+    }
+}
@@ -0,0 +1,172 @@
+package com.schoolmanagement.service.timetable;
+
+import com.schoolmanagement.dto.RoomSpec;
+import com.schoolmanagement.dto.TimetableEntry;
+import com.schoolmanagement.dto.TimetableRequest;
+import com.schoolmanagement.model.Teacher;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps database ids and names onto a TimetableProblem's dense indexes and back. Only
+ * active teachers (never ON_LEAVE) are candidates; a (class, subject) group with no
+ * available teacher is left out and reported as unstaffed.
+ */
+final class TimetableModel {
+    private final TimetableRequest request;
+    private final TimetableProblem problem;
+    private final List<Long> classIds = new ArrayList<>();
+    private final List<String> classNames = new ArrayList<>();
+    private final List<Long> teacherIds = new ArrayList<>();
+    private final List<String> teacherNames = new ArrayList<>();
+    private final Map<Long, Integer> teacherIndex = new HashMap<>();
+    private final List<String> roomNames = new ArrayList<>();
+    private final Map<String, Integer> roomIndex = new HashMap<>();
+    private final List<Long> groupSubjectIds = new ArrayList<>();
+    private final List<String> groupSubjectCodes = new ArrayList<>();
+    private final Map<String, Integer> groupByKey = new HashMap<>();
+    private final List<String> unstaffed = new ArrayList<>();
+    
+    TimetableModel(TimetableRequest request, double hoursPerCredit, List<Object[]> classes, List<Object[]> teachers,
+                   List<Object[]> qualifications, List<Object[]> subjects, List<Object[]> gradedClassSubjects) {
+        this.request = request;
+        int slotCount = request.getDays() * request.getPeriodsPerDay();
+        TimetableProblem.Builder builder = new TimetableProblem.Builder(request.getDays(), request.getPeriodsPerDay());
+        
+        for (Object[] row : teachers) {
+            Teacher.TeacherStatus status = (Teacher.TeacherStatus) row[3];
+            if (status != null && status != Teacher.TeacherStatus.ACTIVE) {
+                continue;
+            }
+            Long id = (Long) row[0];
+            BitSet unavailable = new BitSet(slotCount);
+            for (Integer slot : request.getTeacherUnavailableSlots().getOrDefault(id, List.of())) {
+                if (slot != null && slot >= 0 && slot < slotCount) {
+                    unavailable.set(slot);
+                }
+            }
+            teacherIndex.put(id, builder.addTeacher(unavailable));
+            teacherIds.add(id);
+            teacherNames.add(row[1] + " " + row[2]);
+        }
+        Map<Long, Set<Integer>> qualified = new HashMap<>();
+        for (Object[] row : qualifications) {
+            Integer index = teacherIndex.get((Long) row[1]);
+            if (index != null) {
+                qualified.computeIfAbsent((Long) row[0], id -> new LinkedHashSet<>()).add(index);
+            }
+        }
+        Map<Long, Object[]> subjectsById = new HashMap<>();
+        for (Object[] row : subjects) {
+            subjectsById.put((Long) row[0], row);
+        }
+        Map<Long, Set<Long>> graded = new HashMap<>();
+        for (Object[] row : gradedClassSubjects) {
+            graded.computeIfAbsent((Long) row[0], id -> new LinkedHashSet<>()).add((Long) row[1]);
+        }
+        
+        for (Object[] row : classes) {
+            Long classId = (Long) row[0];
+            String className = (String) row[1];
+            int size = Math.max(1, ((Number) row[2]).intValue());
+            int classIndex = builder.addClass(size);
+            classIds.add(classId);
+            classNames.add(className);
+            if (request.getRooms() == null || request.getRooms().isEmpty()) {
+                addRoom(builder, "Room " + className, size);
+            }
+            List<Long> subjectIds = request.getClassSubjects().containsKey(classId)
+                    ? request.getClassSubjects().get(classId)
+                    : new ArrayList<>(graded.getOrDefault(classId, Set.of()));
+            for (Long subjectId : subjectIds) {
+                Object[] subject = subjectsById.get(subjectId);
+                if (subject == null) {
+                    continue;
+                }
+                Set<Integer> candidates = qualified.get(subjectId);
+                if (candidates == null || candidates.isEmpty()) {
+                    unstaffed.add(className + " " + subject[1]);
+                    continue;
+                }
+                int credits = subject[2] == null ? 1 : ((Number) subject[2]).intValue();
+                int hours = (int) Math.max(1, Math.round(credits * hoursPerCredit));
+                int group = builder.addGroup(classIndex, hours, candidates.stream().mapToInt(Integer::intValue).toArray());
+                groupSubjectIds.add(subjectId);
+                groupSubjectCodes.add((String) subject[1]);
+                groupByKey.put(classId + ":" + subjectId, group);
+            }
+        }
+        if (request.getRooms() != null) {
+            for (RoomSpec room : request.getRooms()) {
+                addRoom(builder, room.getName(), room.getCapacity());
+            }
+        }
+        this.problem = builder.build();
+    }
+    
+    private void addRoom(TimetableProblem.Builder builder, String name, int capacity) {
+        roomIndex.put(name, builder.addRoom(capacity));
+        roomNames.add(name);
+    }
+    
+    TimetableRequest getRequest() { return request; }
+    TimetableProblem getProblem() { return problem; }
+    List<String> getUnstaffed() { return unstaffed; }
+    
+    /**
+     * Carries a previous solution over to this model by (class, subject, lesson number),
+     * teacher id and room name. Groups taught by droppedTeacherId lose their teacher, so
+     * the solver re-staffs them; everything else starts where it was.
+     */
+    TimetableSolution warmStart(TimetableModel previous, TimetableSolution solution, Long droppedTeacherId) {
+        int[] slots = new int[problem.getLessonCount()];
+        int[] rooms = new int[problem.getLessonCount()];
+        int[] teachers = new int[problem.getGroupCount()];
+        Arrays.fill(slots, -1);
+        Arrays.fill(rooms, -1);
+        Arrays.fill(teachers, -1);
+        boolean sameWeek = previous.problem.getSlotCount() == problem.getSlotCount();
+        for (Map.Entry<String, Integer> group : groupByKey.entrySet()) {
+            Integer previousGroup = previous.groupByKey.get(group.getKey());
+            if (previousGroup == null) {
+                continue;
+            }
+            int g = group.getValue();
+            Long teacherId = previous.teacherIds.get(solution.groupTeacher(previousGroup));
+            if (!teacherId.equals(droppedTeacherId)) {
+                teachers[g] = teacherIndex.getOrDefault(teacherId, -1);
+            }
+            int[] lessons = problem.groupLessons(g);
+            int[] previousLessons = previous.problem.groupLessons(previousGroup);
+            for (int h = 0; h < Math.min(lessons.length, previousLessons.length); h++) {
+                int previousLesson = previousLessons[h];
+                if (sameWeek) {
+                    slots[lessons[h]] = solution.lessonSlot(previousLesson);
+                }
+                rooms[lessons[h]] = roomIndex.getOrDefault(previous.roomNames.get(solution.lessonRoom(previousLesson)), -1);
+            }
+        }
+        return new TimetableSolution(slots, rooms, teachers, 0, 0, 0);
+    }
+    
+    List<TimetableEntry> entries(TimetableSolution solution) {
+        List<TimetableEntry> entries = new ArrayList<>(problem.getLessonCount());
+        int periods = problem.getPeriodsPerDay();
+        for (int l = 0; l < problem.getLessonCount(); l++) {
+            int g = problem.lessonGroup(l);
+            int c = problem.groupClass(g);
+            int t = solution.groupTeacher(g);
+            int s = solution.lessonSlot(l);
+            entries.add(new TimetableEntry(classIds.get(c), classNames.get(c), groupSubjectIds.get(g),
+                    groupSubjectCodes.get(g), teacherIds.get(t), teacherNames.get(t),
+                    roomNames.get(solution.lessonRoom(l)), s / periods, s % periods));
+        }
+        return entries;
+    }
+}
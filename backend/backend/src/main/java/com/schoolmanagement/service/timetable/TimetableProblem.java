@@ -0,0 +1,134 @@
+package com.schoolmanagement.service.timetable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Index-based timetable model: classes, teachers and rooms are dense indexes, a week is
+ * days x periodsPerDay slots, and each (class, subject) group needs weeklyHours lessons
+ * taught by one of its candidate teachers. Built once per solve; the solver never touches
+ * entities.
+ */
+public final class TimetableProblem {
+    private final int days;
+    private final int periodsPerDay;
+    private final int[] classSizes;
+    private final int[] roomCapacities;
+    private final BitSet[] teacherUnavailable;
+    private final int[] groupClass;
+    private final int[][] groupTeachers;
+    private final int[][] groupLessons;
+    private final int[] lessonGroup;
+    private final int[][] classRooms;
+    
+    private TimetableProblem(Builder builder) {
+        this.days = builder.days;
+        this.periodsPerDay = builder.periodsPerDay;
+        this.classSizes = builder.classSizes.stream().mapToInt(Integer::intValue).toArray();
+        this.roomCapacities = builder.roomCapacities.stream().mapToInt(Integer::intValue).toArray();
+        this.teacherUnavailable = builder.teacherUnavailable.toArray(new BitSet[0]);
+        this.groupClass = builder.groupClass.stream().mapToInt(Integer::intValue).toArray();
+        this.groupTeachers = builder.groupTeachers.toArray(new int[0][]);
+        this.groupLessons = new int[groupClass.length][];
+        int lessons = builder.groupHours.stream().mapToInt(Integer::intValue).sum();
+        this.lessonGroup = new int[lessons];
+        int next = 0;
+        for (int g = 0; g < groupClass.length; g++) {
+            int hours = builder.groupHours.get(g);
+            groupLessons[g] = new int[hours];
+            for (int h = 0; h < hours; h++) {
+                groupLessons[g][h] = next;
+                lessonGroup[next++] = g;
+            }
+        }
+        // rooms large enough for each class, smallest first; every room if none is
+        Integer[] bySize = IntStream.range(0, roomCapacities.length).boxed()
+                .sorted(Comparator.comparingInt(r -> roomCapacities[r])).toArray(Integer[]::new);
+        this.classRooms = new int[classSizes.length][];
+        for (int c = 0; c < classSizes.length; c++) {
+            int size = classSizes[c];
+            int[] fitting = Arrays.stream(bySize).filter(r -> roomCapacities[r] >= size).mapToInt(Integer::intValue).toArray();
+            classRooms[c] = fitting.length > 0 ? fitting : Arrays.stream(bySize).mapToInt(Integer::intValue).toArray();
+        }
+    }
+    
+    public int getDays() { return days; }
+    public int getPeriodsPerDay() { return periodsPerDay; }
+    public int getSlotCount() { return days * periodsPerDay; }
+    public int getClassCount() { return classSizes.length; }
+    public int getTeacherCount() { return teacherUnavailable.length; }
+    public int getRoomCount() { return roomCapacities.length; }
+    public int getGroupCount() { return groupClass.length; }
+    public int getLessonCount() { return lessonGroup.length; }
+    
+    public int classSize(int classIndex) { return classSizes[classIndex]; }
+    public int roomCapacity(int room) { return roomCapacities[room]; }
+    public boolean unavailable(int teacher, int slot) { return teacherUnavailable[teacher].get(slot); }
+    public int groupClass(int group) { return groupClass[group]; }
+    public int[] groupTeachers(int group) { return groupTeachers[group]; }
+    public int[] groupLessons(int group) { return groupLessons[group]; }
+    public int lessonGroup(int lesson) { return lessonGroup[lesson]; }
+    public int lessonClass(int lesson) { return groupClass[lessonGroup[lesson]]; }
+    public int[] classRooms(int classIndex) { return classRooms[classIndex]; }
+    
+    public static class Builder {
+        private final int days;
+        private final int periodsPerDay;
+        private final List<Integer> classSizes = new ArrayList<>();
+        private final List<Integer> roomCapacities = new ArrayList<>();
+        private final List<BitSet> teacherUnavailable = new ArrayList<>();
+        private final List<Integer> groupClass = new ArrayList<>();
+        private final List<int[]> groupTeachers = new ArrayList<>();
+        private final List<Integer> groupHours = new ArrayList<>();
+        
+        public Builder(int days, int periodsPerDay) {
+            if (days <= 0 || periodsPerDay <= 0) {
+                throw new IllegalArgumentException("days and periodsPerDay must be positive");
+            }
+            this.days = days;
+            this.periodsPerDay = periodsPerDay;
+        }
+        
+        public int addClass(int size) {
+            classSizes.add(size);
+            return classSizes.size() - 1;
+        }
+        
+        public int addRoom(int capacity) {
+            roomCapacities.add(capacity);
+            return roomCapacities.size() - 1;
+        }
+        
+        /**
+         * @param unavailableSlots slots (day * periodsPerDay + period) the teacher cannot teach
+         */
+        public int addTeacher(BitSet unavailableSlots) {
+            teacherUnavailable.add(unavailableSlots == null ? new BitSet() : unavailableSlots);
+            return teacherUnavailable.size() - 1;
+        }
+        
+        /**
+         * Adds a (class, subject) group of weeklyHours lessons; returns the group index.
+         */
+        public int addGroup(int classIndex, int weeklyHours, int[] candidateTeachers) {
+            if (candidateTeachers.length == 0) {
+                throw new IllegalArgumentException("A group needs at least one candidate teacher");
+            }
+            groupClass.add(classIndex);
+            groupTeachers.add(candidateTeachers);
+            groupHours.add(Math.max(1, weeklyHours));
+            return groupClass.size() - 1;
+        }
+        
+        public TimetableProblem build() {
+            if (roomCapacities.isEmpty()) {
+                throw new IllegalArgumentException("At least one room is required");
+            }
+            return new TimetableProblem(this);
+        }
+    }
+}
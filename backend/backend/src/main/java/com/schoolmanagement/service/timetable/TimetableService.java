@@ -0,0 +1,229 @@
+package com.schoolmanagement.service.timetable;
+
+import com.schoolmanagement.config.HibernateEvents;
+import com.schoolmanagement.dto.TimetableRequest;
+import com.schoolmanagement.dto.TimetableResult;
+import com.schoolmanagement.model.Teacher;
+import com.schoolmanagement.model.TeacherSubject;
+import com.schoolmanagement.repository.TimetableRepository;
+import com.schoolmanagement.service.routing.RoutingContext;
+import com.schoolmanagement.service.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Generates weekly timetables with TimetableSolver and keeps the latest one per tenant.
+ * When a teacher's status or subject assignments change after commit, that tenant's
+ * latest timetable is repaired in the background: the teacher's groups are re-staffed and the solver starts
+ * from the previous week, so unaffected lessons stay where they were.
+ */
+@Service
+public class TimetableService implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+    private static final Logger log = LoggerFactory.getLogger(TimetableService.class);
+    
+    private final TimetableRepository timetableRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final TimetableSolver solver;
+    private final double hoursPerCredit;
+    
+    private final Map<String, TenantTimetable> tenants = new ConcurrentHashMap<>();
+    private final ExecutorService resolveExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "timetable-resolve");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public TimetableService(TimetableRepository timetableRepository, EntityManagerFactory entityManagerFactory,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${school.timetable.hours-per-credit:1.0}") double hoursPerCredit,
+                            @Value("${school.timetable.parallelism:0}") int parallelism) {
+        this.timetableRepository = timetableRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.readOnlyTransactionTemplate.setName(RoutingContext.PRIMARY_READ);
+        this.solver = new TimetableSolver(parallelism);
+        this.hoursPerCredit = hoursPerCredit;
+    }
+    
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = HibernateEvents.registry(entityManagerFactory);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        resolveExecutor.shutdownNow();
+    }
+    
+    public TimetableResult generate(TimetableRequest request) {
+        TenantTimetable tenant = tenant(TenantContext.current());
+        tenant.solveLock.lock();
+        try {
+            TimetableModel model = load(request);
+            long start = System.nanoTime();
+            TimetableSolution solution = solver.solve(model.getProblem(), null, request.getTimeLimitMillis(), request.getSeed());
+            return keep(tenant, model, solution, start);
+        } finally {
+            tenant.solveLock.unlock();
+        }
+    }
+    
+    /**
+     * Re-solves the current tenant's latest timetable after a change to one teacher; null
+     * if none was generated.
+     */
+    public TimetableResult resolveForTeacher(Long teacherId) {
+        TenantTimetable tenant = tenant(TenantContext.current());
+        tenant.solveLock.lock();
+        try {
+            Timetable previous = tenant.current;
+            if (previous == null) {
+                return null;
+            }
+            TimetableModel model = load(previous.model.getRequest());
+            TimetableSolution warmStart = model.warmStart(previous.model, previous.solution, teacherId);
+            long start = System.nanoTime();
+            TimetableSolution solution = solver.solve(model.getProblem(), warmStart,
+                    previous.model.getRequest().getTimeLimitMillis(), previous.model.getRequest().getSeed());
+            return keep(tenant, model, solution, start);
+        } finally {
+            tenant.solveLock.unlock();
+        }
+    }
+    
+    public TimetableResult latest() {
+        Timetable timetable = tenant(TenantContext.current()).current;
+        return timetable == null ? null : timetable.result;
+    }
+    
+    private TimetableModel load(TimetableRequest request) {
+        return readOnlyTransactionTemplate.execute(status -> new TimetableModel(request, hoursPerCredit,
+                timetableRepository.findClassSizes(), timetableRepository.findTeachers(),
+                timetableRepository.findQualifications(), timetableRepository.findActiveSubjects(),
+                request.getClassSubjects().isEmpty() ? timetableRepository.findGradedClassSubjects() : List.of()));
+    }
+    
+    private TimetableResult keep(TenantTimetable tenant, TimetableModel model, TimetableSolution solution, long startNanos) {
+        long solveMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        TimetableResult result = new TimetableResult(solution.isFeasible(), solution.getHardViolations(),
+                solution.getSoftPenalty(), model.getProblem().getLessonCount(), solveMillis, solver.getParallelism(),
+                solution.getIterations(), model.getUnstaffed(), model.entries(solution), LocalDateTime.now());
+        tenant.current = new Timetable(model, solution, result);
+        log.info("Timetable for {} with {} lessons solved in {} ms ({} hard violations, soft penalty {})",
+                TenantContext.current(), result.getLessons(), solveMillis, result.getHardViolations(), result.getSoftPenalty());
+        return result;
+    }
+    
+    private TenantTimetable tenant(String tenant) {
+        return tenants.computeIfAbsent(tenant, key -> new TenantTimetable());
+    }
+    
+    private void teacherChanged(SharedSessionContractImplementor session, Long teacherId) {
+        String tenant = HibernateEvents.tenantOf(session);
+        if (tenant(tenant).current != null && teacherId != null) {
+            resolveExecutor.execute(() -> TenantContext.runAs(tenant, () -> {
+                try {
+                    resolveForTeacher(teacherId);
+                } catch (RuntimeException e) {
+                    log.warn("Re-solving the timetable of {} after a change to teacher {} failed", tenant, teacherId, e);
+                }
+            }));
+        }
+    }
+    
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof TeacherSubject assignment && assignment.getTeacher() != null) {
+            teacherChanged(event.getSession(), assignment.getTeacher().getId());
+        }
+    }
+    
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Teacher teacher && event.getOldState() != null) {
+            int statusIndex = event.getPersister().getEntityMetamodel().getPropertyIndex("status");
+            if (!Objects.equals(event.getOldState()[statusIndex], teacher.getStatus())) {
+                teacherChanged(event.getSession(), teacher.getId());
+            }
+        } else if (event.getEntity() instanceof TeacherSubject assignment && assignment.getTeacher() != null) {
+            teacherChanged(event.getSession(), assignment.getTeacher().getId());
+        }
+    }
+    
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof TeacherSubject assignment && assignment.getTeacher() != null) {
+            teacherChanged(event.getSession(), assignment.getTeacher().getId());
+        } else if (event.getEntity() instanceof Teacher teacher) {
+            teacherChanged(event.getSession(), teacher.getId());
+        }
+    }
+    
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {}
+    
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+    
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+    
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return Teacher.class.isAssignableFrom(type) || TeacherSubject.class.isAssignableFrom(type);
+    }
+    
+    /**
+     * One tenant's latest timetable; solves for a tenant run one at a time. A lock rather
+     * than a monitor, so a virtual thread waiting out a multi-second solve does not pin
+     * its carrier.
+     */
+    private static final class TenantTimetable {
+        private final ReentrantLock solveLock = new ReentrantLock();
+        private volatile Timetable current;
+    }
+    
+    private static final class Timetable {
+        private final TimetableModel model;
+        private final TimetableSolution solution;
+        private final TimetableResult result;
+        
+        Timetable(TimetableModel model, TimetableSolution solution, TimetableResult result) {
+            this.model = model;
+            this.solution = solution;
+            this.result = result;
+        }
+    }
+}
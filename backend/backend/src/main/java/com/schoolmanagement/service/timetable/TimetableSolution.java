@@ -0,0 +1,45 @@
+package com.schoolmanagement.service.timetable;
+
+/**
+ * Assignment of every lesson to a slot and room, and of every group to a teacher, with
+ * its hard-constraint violations (conflicting pairs, undersized rooms, unavailable
+ * teachers) and soft penalty (same-subject lessons sharing a day, moves away from a
+ * warm start).
+ */
+public final class TimetableSolution {
+    private final int[] lessonSlot;
+    private final int[] lessonRoom;
+    private final int[] groupTeacher;
+    private final int hardViolations;
+    private final int softPenalty;
+    private final long iterations;
+    
+    public TimetableSolution(int[] lessonSlot, int[] lessonRoom, int[] groupTeacher,
+                             int hardViolations, int softPenalty, long iterations) {
+        this.lessonSlot = lessonSlot;
+        this.lessonRoom = lessonRoom;
+        this.groupTeacher = groupTeacher;
+        this.hardViolations = hardViolations;
+        this.softPenalty = softPenalty;
+        this.iterations = iterations;
+    }
+    
+    public int lessonSlot(int lesson) { return lessonSlot[lesson]; }
+    public int lessonRoom(int lesson) { return lessonRoom[lesson]; }
+    public int groupTeacher(int group) { return groupTeacher[group]; }
+    public int getHardViolations() { return hardViolations; }
+    public int getSoftPenalty() { return softPenalty; }
+    public long getIterations() { return iterations; }
+    
+    public boolean isFeasible() {
+        return hardViolations == 0;
+    }
+    
+    int[] slots() { return lessonSlot; }
+    int[] rooms() { return lessonRoom; }
+    int[] teachers() { return groupTeacher; }
+    
+    long score() {
+        return (long) hardViolations * TimetableSolver.HARD_WEIGHT + softPenalty;
+    }
+}
@@ -0,0 +1,449 @@
+package com.schoolmanagement.service.timetable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Parallel multi-start local search for TimetableProblem. Each worker builds a greedy
+ * start and then runs min-conflicts moves with a short tabu tenure: pick a violating
+ * lesson, remove it, and re-insert it at the cheapest (slot, room), occasionally
+ * switching the group's teacher or taking a random move. All costs are kept in
+ * occupancy counters so every move is evaluated incrementally.
+ *
+ * Workers run on a ForkJoinPool with one worker per core and different seeds; the
+ * best score wins, and the first worker to settle on a feasible timetable stops the rest.
+ * A warm start keeps the given assignment where it is still valid and charges a soft
+ * penalty for moving a lesson, which is how a single teacher change is re-solved
+ * without reshuffling the whole week.
+ */
+public class TimetableSolver {
+    static final int HARD_WEIGHT = 1000;
+    private static final int STABILITY_PENALTY = 2;
+    private static final int ROOM_TRIES = 6;
+    private static final int RANDOM_WALK_PERCENT = 2;
+    private static final int TEACHER_MOVE_PERCENT = 5;
+    
+    private final int parallelism;
+    
+    public TimetableSolver(int parallelism) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+    
+    public int getParallelism() { return parallelism; }
+    
+    /**
+     * @param warmStart previous assignment, -1 entries meaning "unassigned"; may be null
+     */
+    public TimetableSolution solve(TimetableProblem problem, TimetableSolution warmStart, long timeLimitMillis, long seed) {
+        long deadline = System.nanoTime() + timeLimitMillis * 1_000_000;
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Callable<TimetableSolution>> workers = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            long workerSeed = seed + i * 0x9E3779B97F4A7C15L;
+            workers.add(() -> new Search(problem, warmStart, new SplittableRandom(workerSeed), deadline, stop).run());
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            TimetableSolution best = null;
+            long iterations = 0;
+            for (Future<TimetableSolution> future : pool.invokeAll(workers)) {
+                TimetableSolution candidate = future.get();
+                iterations += candidate.getIterations();
+                if (best == null || candidate.score() < best.score()) {
+                    best = candidate;
+                }
+            }
+            TimetableSolution exact = evaluate(problem, best, warmStart);
+            return new TimetableSolution(exact.slots(), exact.rooms(), exact.teachers(),
+                    exact.getHardViolations(), exact.getSoftPenalty(), iterations);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Timetable solve interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Timetable solve failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    /**
+     * Recomputes violations and penalty from scratch.
+     */
+    public static TimetableSolution evaluate(TimetableProblem problem, TimetableSolution solution, TimetableSolution warmStart) {
+        int slots = problem.getSlotCount();
+        int[] classOcc = new int[problem.getClassCount() * slots];
+        int[] teacherOcc = new int[problem.getTeacherCount() * slots];
+        int[] roomOcc = new int[problem.getRoomCount() * slots];
+        int[] groupDay = new int[problem.getGroupCount() * problem.getDays()];
+        int hard = 0;
+        int soft = 0;
+        for (int l = 0; l < problem.getLessonCount(); l++) {
+            int g = problem.lessonGroup(l);
+            int c = problem.groupClass(g);
+            int t = solution.groupTeacher(g);
+            int s = solution.lessonSlot(l);
+            int r = solution.lessonRoom(l);
+            hard += classOcc[c * slots + s]++ + teacherOcc[t * slots + s]++ + roomOcc[r * slots + s]++;
+            if (problem.roomCapacity(r) < problem.classSize(c)) {
+                hard++;
+            }
+            if (problem.unavailable(t, s)) {
+                hard++;
+            }
+            soft += groupDay[g * problem.getDays() + s / problem.getPeriodsPerDay()]++;
+            if (warmStart != null && warmStart.lessonSlot(l) >= 0 && warmStart.lessonSlot(l) != s) {
+                soft += STABILITY_PENALTY;
+            }
+        }
+        return new TimetableSolution(solution.slots(), solution.rooms(), solution.teachers(), hard, soft,
+                solution.getIterations());
+    }
+    
+    /**
+     * One worker's search state.
+     */
+    private static final class Search {
+        private final TimetableProblem p;
+        private final TimetableSolution warm;
+        private final SplittableRandom random;
+        private final long deadline;
+        private final AtomicBoolean stop;
+        private final int slots;
+        private final int days;
+        private final int periods;
+        
+        private final int[] slot;
+        private final int[] room;
+        private final int[] teacher;
+        private final int[] classOcc;
+        private final int[] teacherOcc;
+        private final int[] roomOcc;
+        private final int[] groupDay;
+        private final int[] teacherLoad;
+        private final long[] tabuUntil;
+        private int hard;
+        private int soft;
+        private long iteration;
+        
+        private int[] bestSlot;
+        private int[] bestRoom;
+        private int[] bestTeacher;
+        private int bestHard;
+        private int bestSoft;
+        private long bestScore = Long.MAX_VALUE;
+        
+        Search(TimetableProblem p, TimetableSolution warm, SplittableRandom random, long deadline, AtomicBoolean stop) {
+            this.p = p;
+            this.warm = warm;
+            this.random = random;
+            this.deadline = deadline;
+            this.stop = stop;
+            this.slots = p.getSlotCount();
+            this.days = p.getDays();
+            this.periods = p.getPeriodsPerDay();
+            int lessons = p.getLessonCount();
+            this.slot = new int[lessons];
+            this.room = new int[lessons];
+            this.teacher = new int[p.getGroupCount()];
+            this.classOcc = new int[p.getClassCount() * slots];
+            this.teacherOcc = new int[p.getTeacherCount() * slots];
+            this.roomOcc = new int[p.getRoomCount() * slots];
+            this.groupDay = new int[p.getGroupCount() * days];
+            this.teacherLoad = new int[p.getTeacherCount()];
+            this.tabuUntil = new long[lessons * slots];
+        }
+        
+        TimetableSolution run() {
+            construct();
+            snapshot();
+            long lastImprovement = 0;
+            long idleLimit = Math.max(10_000, 5L * p.getLessonCount());
+            while (!stop.get()) {
+                iteration++;
+                if ((iteration & 255) == 0 && System.nanoTime() > deadline) {
+                    break;
+                }
+                int lesson = pickLesson();
+                if (lesson < 0) {
+                    // no violation and no penalty left: optimal
+                    stop.set(true);
+                    break;
+                }
+                int group = p.lessonGroup(lesson);
+                if (p.groupTeachers(group).length > 1 && random.nextInt(100) < TEACHER_MOVE_PERCENT) {
+                    changeTeacher(group);
+                } else {
+                    moveLesson(lesson);
+                }
+                long score = (long) hard * HARD_WEIGHT + soft;
+                if (score < bestScore) {
+                    snapshot();
+                    lastImprovement = iteration;
+                }
+                if (iteration - lastImprovement > idleLimit) {
+                    if (bestHard == 0) {
+                        stop.set(true);
+                        break;
+                    }
+                    perturb();
+                    lastImprovement = iteration;
+                }
+            }
+            return new TimetableSolution(bestSlot, bestRoom, bestTeacher, bestHard, bestSoft, iteration);
+        }
+        
+        private void construct() {
+            int[] groups = shuffled(p.getGroupCount());
+            for (int g : groups) {
+                int[] candidates = p.groupTeachers(g);
+                int chosen = -1;
+                if (warm != null) {
+                    int previous = warm.groupTeacher(g);
+                    for (int candidate : candidates) {
+                        if (candidate == previous) {
+                            chosen = previous;
+                        }
+                    }
+                }
+                if (chosen < 0) {
+                    chosen = candidates[random.nextInt(candidates.length)];
+                    for (int candidate : candidates) {
+                        if (teacherLoad[candidate] < teacherLoad[chosen]) {
+                            chosen = candidate;
+                        }
+                    }
+                }
+                teacher[g] = chosen;
+                teacherLoad[chosen] += p.groupLessons(g).length;
+            }
+            List<Integer> open = new ArrayList<>();
+            for (int l = 0; l < p.getLessonCount(); l++) {
+                int warmSlot = warm == null ? -1 : warm.lessonSlot(l);
+                int warmRoom = warm == null ? -1 : warm.lessonRoom(l);
+                if (warmSlot >= 0 && warmSlot < slots && warmRoom >= 0 && warmRoom < p.getRoomCount()) {
+                    place(l, warmSlot, warmRoom);
+                } else {
+                    open.add(l);
+                }
+            }
+            for (int l : shuffled(open)) {
+                insertBest(l, -1);
+            }
+        }
+        
+        private int pickLesson() {
+            int lessons = p.getLessonCount();
+            if (hard == 0 && soft == 0) {
+                return -1;
+            }
+            for (int attempt = 0; attempt < 64; attempt++) {
+                int l = random.nextInt(lessons);
+                if (violates(l)) {
+                    return l;
+                }
+            }
+            int start = random.nextInt(lessons);
+            for (int i = 0; i < lessons; i++) {
+                int l = (start + i) % lessons;
+                if (violates(l)) {
+                    return l;
+                }
+            }
+            return -1;
+        }
+        
+        private boolean violates(int l) {
+            int g = p.lessonGroup(l);
+            int c = p.groupClass(g);
+            int t = teacher[g];
+            int s = slot[l];
+            int r = room[l];
+            boolean hardViolation = classOcc[c * slots + s] > 1 || teacherOcc[t * slots + s] > 1 || roomOcc[r * slots + s] > 1
+                    || p.roomCapacity(r) < p.classSize(c) || p.unavailable(t, s);
+            if (hardViolation || hard > 0) {
+                return hardViolation;
+            }
+            return groupDay[g * days + s / periods] > 1 || moved(l, s);
+        }
+        
+        private boolean moved(int l, int s) {
+            return warm != null && warm.lessonSlot(l) >= 0 && warm.lessonSlot(l) != s;
+        }
+        
+        private void moveLesson(int l) {
+            int from = slot[l];
+            unplace(l);
+            if (random.nextInt(100) < RANDOM_WALK_PERCENT) {
+                int[] rooms = p.classRooms(p.lessonClass(l));
+                place(l, random.nextInt(slots), rooms[random.nextInt(rooms.length)]);
+            } else {
+                insertBest(l, room[l]);
+            }
+            tabuUntil[l * slots + from] = iteration + 7 + random.nextInt(10);
+        }
+        
+        /**
+         * Places an unplaced lesson at the cheapest non-tabu (slot, room); a tabu slot is
+         * still taken if it beats the best score seen (aspiration).
+         */
+        private void insertBest(int l, int previousRoom) {
+            int g = p.lessonGroup(l);
+            int c = p.groupClass(g);
+            int t = teacher[g];
+            int[] rooms = p.classRooms(c);
+            long current = (long) hard * HARD_WEIGHT + soft;
+            long bestCost = Long.MAX_VALUE;
+            int bestS = -1;
+            int bestR = -1;
+            int ties = 0;
+            for (int s = 0; s < slots; s++) {
+                int baseHard = classOcc[c * slots + s] + teacherOcc[t * slots + s] + (p.unavailable(t, s) ? 1 : 0);
+                int baseSoft = groupDay[g * days + s / periods] + (moved(l, s) ? STABILITY_PENALTY : 0);
+                int r = chooseRoom(rooms, s, previousRoom);
+                int roomHard = roomOcc[r * slots + s] + (p.roomCapacity(r) < p.classSize(c) ? 1 : 0);
+                long cost = (long) (baseHard + roomHard) * HARD_WEIGHT + baseSoft;
+                boolean tabu = tabuUntil[l * slots + s] > iteration;
+                if (tabu && current + cost >= bestScore) {
+                    continue;
+                }
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestS = s;
+                    bestR = r;
+                    ties = 1;
+                } else if (cost == bestCost && random.nextInt(++ties) == 0) {
+                    bestS = s;
+                    bestR = r;
+                }
+            }
+            if (bestS < 0) {
+                bestS = random.nextInt(slots);
+                bestR = rooms[random.nextInt(rooms.length)];
+            }
+            place(l, bestS, bestR);
+        }
+        
+        /**
+         * Prefers the lesson's current room, then the first free room among a few fitting
+         * rooms starting at a random offset.
+         */
+        private int chooseRoom(int[] rooms, int s, int currentRoom) {
+            if (currentRoom >= 0 && roomOcc[currentRoom * slots + s] == 0) {
+                return currentRoom;
+            }
+            int start = random.nextInt(rooms.length);
+            int best = rooms[start];
+            for (int i = 0; i < Math.min(ROOM_TRIES, rooms.length); i++) {
+                int r = rooms[(start + i) % rooms.length];
+                if (roomOcc[r * slots + s] == 0) {
+                    return r;
+                }
+                if (roomOcc[r * slots + s] < roomOcc[best * slots + s]) {
+                    best = r;
+                }
+            }
+            return best;
+        }
+        
+        private void changeTeacher(int g) {
+            int[] lessons = p.groupLessons(g);
+            int current = teacher[g];
+            int best = current;
+            int bestCost = Integer.MAX_VALUE;
+            for (int candidate : p.groupTeachers(g)) {
+                int cost = 0;
+                for (int l : lessons) {
+                    int s = slot[l];
+                    cost += teacherOcc[candidate * slots + s] - (candidate == current ? 1 : 0)
+                            + (p.unavailable(candidate, s) ? 1 : 0);
+                }
+                if (cost < bestCost || (cost == bestCost && random.nextBoolean())) {
+                    bestCost = cost;
+                    best = candidate;
+                }
+            }
+            if (best == current) {
+                return;
+            }
+            for (int l : lessons) {
+                int s = slot[l];
+                hard -= --teacherOcc[current * slots + s] + (p.unavailable(current, s) ? 1 : 0);
+            }
+            teacher[g] = best;
+            for (int l : lessons) {
+                int s = slot[l];
+                hard += teacherOcc[best * slots + s]++ + (p.unavailable(best, s) ? 1 : 0);
+            }
+        }
+        
+        private void perturb() {
+            int moves = Math.max(1, p.getLessonCount() / 50);
+            for (int i = 0; i < moves; i++) {
+                int l = random.nextInt(p.getLessonCount());
+                unplace(l);
+                int[] rooms = p.classRooms(p.lessonClass(l));
+                place(l, random.nextInt(slots), rooms[random.nextInt(rooms.length)]);
+            }
+        }
+        
+        private void place(int l, int s, int r) {
+            int g = p.lessonGroup(l);
+            int c = p.groupClass(g);
+            int t = teacher[g];
+            slot[l] = s;
+            room[l] = r;
+            hard += classOcc[c * slots + s]++ + teacherOcc[t * slots + s]++ + roomOcc[r * slots + s]++;
+            hard += (p.roomCapacity(r) < p.classSize(c) ? 1 : 0) + (p.unavailable(t, s) ? 1 : 0);
+            soft += groupDay[g * days + s / periods]++ + (moved(l, s) ? STABILITY_PENALTY : 0);
+        }
+        
+        private void unplace(int l) {
+            int g = p.lessonGroup(l);
+            int c = p.groupClass(g);
+            int t = teacher[g];
+            int s = slot[l];
+            int r = room[l];
+            hard -= --classOcc[c * slots + s] + --teacherOcc[t * slots + s] + --roomOcc[r * slots + s];
+            hard -= (p.roomCapacity(r) < p.classSize(c) ? 1 : 0) + (p.unavailable(t, s) ? 1 : 0);
+            soft -= --groupDay[g * days + s / periods] + (moved(l, s) ? STABILITY_PENALTY : 0);
+        }
+        
+        private void snapshot() {
+            bestHard = hard;
+            bestSoft = soft;
+            bestScore = (long) hard * HARD_WEIGHT + soft;
+            bestSlot = slot.clone();
+            bestRoom = room.clone();
+            bestTeacher = teacher.clone();
+        }
+        
+        private int[] shuffled(int n) {
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = order[i];
+                order[i] = order[j];
+                order[j] = tmp;
+            }
+            return order;
+        }
+        
+        private int[] shuffled(List<Integer> values) {
+            int[] order = shuffled(values.size());
+            int[] out = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                out[i] = values.get(order[i]);
+            }
+            return out;
+        }
+    }
+}
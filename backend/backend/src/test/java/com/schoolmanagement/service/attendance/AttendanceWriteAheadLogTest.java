@@ -0,0 +1,244 @@
+package com.schoolmanagement.service.attendance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolmanagement.config.TenancyProperties;
+import com.schoolmanagement.dto.AttendanceIngestStats;
+import com.schoolmanagement.dto.AttendanceSubmission;
+import com.schoolmanagement.repository.AttendanceRepository;
+import com.schoolmanagement.repository.AttendanceSubmissionKeyRepository;
+import com.schoolmanagement.service.tenant.TenantContext;
+import jakarta.persistence.EntityManager;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class AttendanceWriteAheadLogTest {
+    private static final long SEGMENT_BYTES = 1024 * 1024;
+    private static final int QUEUE_CAPACITY = 100;
+    
+    @TempDir
+    Path directory;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AttendanceRepository attendanceRepository = mock(AttendanceRepository.class);
+    private final AttendanceSubmissionKeyRepository keyRepository = mock(AttendanceSubmissionKeyRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final List<AttendanceWriteAheadLog> logs = new ArrayList<>();
+    private AttendanceIngestService service;
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        if (service != null) {
+            service.shutdown();
+        }
+        for (AttendanceWriteAheadLog log : logs) {
+            log.close();
+        }
+    }
+    
+    @Test
+    void replayStopsAtATornTailAndTruncatesIt() throws Exception {
+        write("one", "two");
+        Path segment = segmentFiles().get(0);
+        try (OutputStream out = Files.newOutputStream(segment, StandardOpenOption.APPEND);
+             DataOutputStream data = new DataOutputStream(out)) {
+            // a frame that promises 100 bytes and breaks off after 3
+            data.writeInt(100);
+            data.writeInt(0);
+            data.write(new byte[] {1, 2, 3});
+        }
+        
+        assertThat(replayAll()).containsExactly("one", "two");
+        assertThat(Files.size(segment)).isEqualTo(2 * (8 + 3));
+    }
+    
+    @Test
+    void aFailedGroupIsCutOffSoLaterRecordsSurviveReplay() throws Exception {
+        AttendanceWriteAheadLog wal = open();
+        wal.replay((segment, payload) -> false);
+        // queued before the writer starts, so both land in one group; the null payload fails it part-way
+        CompletableFuture<AttendanceWriteAheadLog.Segment> lost = wal.append(bytes("lost"));
+        CompletableFuture<AttendanceWriteAheadLog.Segment> broken = wal.append(null);
+        wal.start();
+        
+        assertThatThrownBy(() -> lost.get(10, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        assertThatThrownBy(() -> broken.get(10, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        wal.append(bytes("kept")).get(10, TimeUnit.SECONDS);
+        wal.close();
+        
+        assertThat(replayAll()).containsExactly("kept");
+    }
+    
+    @Test
+    void aSegmentIsDeletedOnlyOnceEveryRecordIsApplied() throws Exception {
+        write("one", "two");
+        Path file = segmentFiles().get(0);
+        AttendanceWriteAheadLog wal = open();
+        List<AttendanceWriteAheadLog.Segment> pending = new ArrayList<>();
+        wal.replay((segment, payload) -> pending.add(segment));
+        wal.start();
+        assertThat(wal.segmentCount()).isEqualTo(2);
+        
+        wal.applied(pending.get(0));
+        assertThat(file).exists();
+        assertThat(wal.segmentCount()).isEqualTo(2);
+        
+        wal.applied(pending.get(1));
+        assertThat(file).doesNotExist();
+        assertThat(wal.segmentCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void aReplayedSegmentWithNothingPendingIsDeletedOnStart() throws Exception {
+        write("one");
+        Path file = segmentFiles().get(0);
+        AttendanceWriteAheadLog wal = open();
+        wal.replay((segment, payload) -> false);
+        wal.start();
+        
+        assertThat(file).doesNotExist();
+        assertThat(wal.segmentCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void replayDoesNotApplyAKeyTwice() throws Exception {
+        writeRecords(record("stored"), record("pending"));
+        Path file = segmentFiles().get(0);
+        when(keyRepository.existsById("stored")).thenReturn(true);
+        service = newService(5);
+        service.recover();
+        assertThat(service.stats().getReplayed()).isEqualTo(1);
+        assertThat(service.stats().getQueuedSubmissions()).isEqualTo(1);
+        
+        // stored after replay read the log, e.g. by the run that crashed before deleting the segment
+        when(keyRepository.findExistingKeys(anyCollection())).thenReturn(List.of("pending"));
+        service.flush();
+        
+        AttendanceIngestStats stats = service.stats();
+        assertThat(stats.getQueuedSubmissions()).isZero();
+        assertThat(stats.getDuplicates()).isEqualTo(1);
+        assertThat(stats.getMarksWritten()).isZero();
+        verify(entityManager, never()).persist(any());
+        assertThat(file).doesNotExist();
+    }
+    
+    @Test
+    void aBatchThatKeepsFailingIsRetriedThenDeadLettered() throws Exception {
+        when(keyRepository.findExistingKeys(anyCollection())).thenThrow(new IllegalStateException("database down"));
+        service = newService(2);
+        service.recover();
+        service.submit(submission("bad"));
+        
+        service.flush();
+        AttendanceIngestStats retrying = service.stats();
+        assertThat(retrying.getFailedFlushes()).isEqualTo(1);
+        assertThat(retrying.getPendingBatches()).isEqualTo(1);
+        assertThat(retrying.getDeadLettered()).isZero();
+        
+        service.flush();
+        AttendanceIngestStats stats = service.stats();
+        assertThat(stats.getDeadLettered()).isEqualTo(1);
+        assertThat(stats.getPendingBatches()).isZero();
+        assertThat(stats.getQueuedSubmissions()).isZero();
+        assertThat(stats.getFreeQueueSlots()).isEqualTo(QUEUE_CAPACITY);
+        assertThat(Files.readString(directory.resolve("dead-letter.jsonl")))
+                .contains("\"bad\"")
+                .contains("database down");
+    }
+    
+    private AttendanceWriteAheadLog open() throws IOException {
+        AttendanceWriteAheadLog wal = new AttendanceWriteAheadLog(directory, SEGMENT_BYTES);
+        logs.add(wal);
+        return wal;
+    }
+    
+    private void write(String... payloads) throws Exception {
+        byte[][] bytes = new byte[payloads.length][];
+        for (int i = 0; i < payloads.length; i++) {
+            bytes[i] = bytes(payloads[i]);
+        }
+        writeBytes(bytes);
+    }
+    
+    private void writeRecords(AttendanceIngestService.LogRecord... records) throws Exception {
+        byte[][] bytes = new byte[records.length][];
+        for (int i = 0; i < records.length; i++) {
+            bytes[i] = objectMapper.writeValueAsBytes(records[i]);
+        }
+        writeBytes(bytes);
+    }
+    
+    private void writeBytes(byte[]... payloads) throws Exception {
+        AttendanceWriteAheadLog wal = open();
+        wal.replay((segment, payload) -> false);
+        wal.start();
+        for (byte[] payload : payloads) {
+            wal.append(payload).get(10, TimeUnit.SECONDS);
+        }
+        wal.close();
+    }
+    
+    private List<String> replayAll() throws IOException {
+        List<String> payloads = new ArrayList<>();
+        open().replay((segment, payload) -> payloads.add(new String(payload, StandardCharsets.UTF_8)));
+        return payloads;
+    }
+    
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("attendance-")).sorted().toList();
+        }
+    }
+    
+    private AttendanceIngestService newService(int maxAttempts) {
+        AttendanceIngestService ingest = new AttendanceIngestService(attendanceRepository, keyRepository, objectMapper,
+                new TenancyProperties(), mock(PlatformTransactionManager.class), directory.toString(), SEGMENT_BYTES,
+                QUEUE_CAPACITY, 500, 200, 2000, maxAttempts, 1000, 30);
+        ReflectionTestUtils.setField(ingest, "entityManager", entityManager);
+        return ingest;
+    }
+    
+    private static AttendanceIngestService.LogRecord record(String key) {
+        return new AttendanceIngestService.LogRecord(TenantContext.DEFAULT_TENANT, key, 1L, LocalDate.of(2024, 9, 2),
+                LocalDateTime.of(2024, 9, 2, 8, 0), List.of(new AttendanceSubmission.Mark(7L, "PRESENT")));
+    }
+    
+    private static AttendanceSubmission submission(String key) {
+        AttendanceSubmission submission = new AttendanceSubmission();
+        submission.setIdempotencyKey(key);
+        submission.setClassId(1L);
+        submission.setDate(LocalDate.of(2024, 9, 2));
+        submission.setMarks(List.of(new AttendanceSubmission.Mark(7L, "PRESENT")));
+        return submission;
+    }
+    
+    private static byte[] bytes(String payload) {
+        return payload.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,152 @@
+package com.schoolmanagement.service.enrollment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SeatCounterTest {
+    private static final int THREADS = 16;
+    
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    void concurrentAcquiresNeverExceedTheSeatsPutIn() throws Exception {
+        SeatCounter counter = new SeatCounter(500, 8);
+        AtomicInteger acquired = new AtomicInteger();
+        
+        race(() -> {
+            for (int i = 0; i < 1000; i++) {
+                if (counter.tryAcquire()) {
+                    acquired.incrementAndGet();
+                }
+            }
+        });
+        
+        assertThat(acquired.get()).isEqualTo(500);
+        assertThat(counter.available()).isZero();
+        assertThat(counter.tryAcquire()).isFalse();
+    }
+    
+    @Test
+    void heldSeatsStayWithinCapacityWhileAcquiresAndReleasesRace() throws Exception {
+        int capacity = 64;
+        SeatCounter counter = new SeatCounter(capacity, 4);
+        AtomicInteger held = new AtomicInteger();
+        AtomicInteger maxHeld = new AtomicInteger();
+        
+        race(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int mine = 0;
+            for (int i = 0; i < 20_000; i++) {
+                if (mine > 0 && random.nextInt(3) == 0) {
+                    // leave the shared total before handing the seat back, so it never counts a seat twice
+                    held.decrementAndGet();
+                    counter.release();
+                    mine--;
+                } else if (counter.tryAcquire()) {
+                    maxHeld.accumulateAndGet(held.incrementAndGet(), Math::max);
+                    mine++;
+                }
+            }
+            for (; mine > 0; mine--) {
+                held.decrementAndGet();
+                counter.release();
+            }
+        });
+        
+        assertThat(maxHeld.get()).isLessThanOrEqualTo(capacity);
+        assertThat(counter.available()).isEqualTo(capacity);
+    }
+    
+    @Test
+    void shrinkingBelowFreeSeatsIsPaidOffByLaterReleases() {
+        SeatCounter counter = new SeatCounter(4, 2);
+        assertThat(counter.tryAcquire()).isTrue();
+        assertThat(counter.tryAcquire()).isTrue();
+        assertThat(counter.tryAcquire()).isTrue();
+        
+        // capacity 4 -> 1 with three seats held: one free seat removed, two owed
+        counter.adjust(-3);
+        assertThat(counter.available()).isZero();
+        assertThat(counter.tryAcquire()).isFalse();
+        
+        counter.release();
+        counter.release();
+        assertThat(counter.available()).isZero();
+        counter.release();
+        assertThat(counter.available()).isEqualTo(1);
+    }
+    
+    @Test
+    void noSeatIsHandedOutOnceAShrinkToZeroHasReturned() throws Exception {
+        int capacity = 32;
+        for (int round = 0; round < 200; round++) {
+            SeatCounter counter = new SeatCounter(capacity, 4);
+            AtomicInteger arrivals = new AtomicInteger();
+            AtomicBoolean shrunk = new AtomicBoolean();
+            AtomicInteger lateAcquires = new AtomicInteger();
+            
+            race(() -> {
+                if (arrivals.getAndIncrement() == 0) {
+                    counter.adjust(-capacity);
+                    shrunk.set(true);
+                    return;
+                }
+                int mine = 0;
+                for (int i = 0; i < 2_000; i++) {
+                    if (mine > 0 && (i & 1) == 0) {
+                        counter.release();
+                        mine--;
+                    } else {
+                        boolean afterShrink = shrunk.get();
+                        if (counter.tryAcquire()) {
+                            mine++;
+                            if (afterShrink) {
+                                lateAcquires.incrementAndGet();
+                            }
+                        }
+                    }
+                }
+                for (; mine > 0; mine--) {
+                    counter.release();
+                }
+            });
+            
+            assertThat(lateAcquires.get()).isZero();
+            assertThat(counter.available()).isZero();
+            counter.adjust(capacity);
+            assertThat(counter.available()).isEqualTo(capacity);
+        }
+    }
+    
+    private void race(Runnable work) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                work.run();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+}
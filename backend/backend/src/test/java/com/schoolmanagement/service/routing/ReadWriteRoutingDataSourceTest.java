@@ -0,0 +1,168 @@
+package com.schoolmanagement.service.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReadWriteRoutingDataSourceTest {
+    private static final long MAX_LAG = 5000;
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReadWriteRoutingDataSource routing;
+    
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", mock(DataSource.class));
+        replicas.put("replica-2", mock(DataSource.class));
+        routing = new ReadWriteRoutingDataSource(mock(DataSource.class), replicas, MAX_LAG, List.of(), meterRegistry);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        // no test opens more than two nested transactions; ending an empty stack is a no-op
+        RoutingContext.endTransaction();
+        RoutingContext.endTransaction();
+        RoutingContext.clear();
+    }
+    
+    @Test
+    void writesAndNonTransactionalWorkGoToPrimary() {
+        heartbeat(1000, 1000);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+        
+        RoutingContext.beginTransaction(RoutingContext.Intent.READ_WRITE);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+        assertThat(routed(ReadWriteRoutingDataSource.PRIMARY, "write")).isEqualTo(2);
+    }
+    
+    @Test
+    void readOnlyTransactionsRoundRobinOverHealthyReplicas() {
+        heartbeat(1000, 1000);
+        RoutingContext.beginTransaction(RoutingContext.Intent.READ_ONLY);
+        
+        Object first = routing.determineCurrentLookupKey();
+        Object second = routing.determineCurrentLookupKey();
+        
+        assertThat(List.of(first, second)).containsExactlyInAnyOrder("replica-1", "replica-2");
+        assertThat(routed("replica-1", "read") + routed("replica-2", "read")).isEqualTo(2);
+    }
+    
+    @Test
+    void primaryReadsStayOnPrimaryEvenWithHealthyReplicas() {
+        heartbeat(1000, 1000);
+        RoutingContext.beginTransaction(RoutingContext.Intent.PRIMARY_READ);
+        
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+        assertThat(routed(ReadWriteRoutingDataSource.PRIMARY, "primary-read")).isEqualTo(1);
+    }
+    
+    @Test
+    void nestedReadOnlyInsideWriteUsesInnermostIntent() {
+        heartbeat(1000, 1000);
+        RoutingContext.beginTransaction(RoutingContext.Intent.READ_WRITE);
+        RoutingContext.beginTransaction(RoutingContext.Intent.READ_ONLY);
+        assertThat(routing.determineCurrentLookupKey()).isNotEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+        
+        RoutingContext.endTransaction();
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+    
+    @Test
+    void laggingReplicaIsSkipped() {
+        heartbeat(1000, 1000);
+        replica("replica-1").lagMillis = MAX_LAG + 1;
+        RoutingContext.beginTransaction(RoutingContext.Intent.READ_ONLY);
+        
+        for (int i = 0; i < 4; i++) {
+            assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica-2");
+        }
+    }
+    
+    @Test
+    void allReplicasLaggingFallsBackToPrimary() {
+        heartbeat(1000, 1000);
+        routing.replicas().forEach(r -> r.lagMillis = MAX_LAG + 1);
+        RoutingContext.beginTransaction(RoutingContext.Intent.READ_ONLY);
+        
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+        assertThat(routed(ReadWriteRoutingDataSource.PRIMARY, "no-replica")).isEqualTo(1);
+    }
+    
+    @Test
+    void replicasAreNotUsedBeforeTheFirstHeartbeat() {
+        RoutingContext.beginTransaction(RoutingContext.Intent.READ_ONLY);
+        
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+    
+    @Test
+    void replicaBehindReadFloorIsSkipped() {
+        heartbeat(2000, 2000);
+        replica("replica-1").replayedUpTo = 1500;
+        RoutingContext.bind(1800, null);
+        RoutingContext.beginTransaction(RoutingContext.Intent.READ_ONLY);
+        
+        for (int i = 0; i < 4; i++) {
+            assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica-2");
+        }
+    }
+    
+    @Test
+    void readFloorAheadOfEveryReplicaFallsBackToPrimary() {
+        heartbeat(2000, 2000);
+        RoutingContext.bind(2500, null);
+        RoutingContext.beginTransaction(RoutingContext.Intent.READ_ONLY);
+        
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+        assertThat(routed(ReadWriteRoutingDataSource.PRIMARY, "read-your-writes")).isEqualTo(1);
+    }
+    
+    @Test
+    void committedWriteRaisesTheFloor() {
+        heartbeat(2000, 2000);
+        RoutingContext.recordWrite(2500);
+        RoutingContext.beginTransaction(RoutingContext.Intent.READ_ONLY);
+        
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+    
+    @Test
+    void replicaThatIsDownIsSkipped() {
+        heartbeat(1000, 1000);
+        replica("replica-2").up = false;
+        RoutingContext.beginTransaction(RoutingContext.Intent.READ_ONLY);
+        
+        for (int i = 0; i < 4; i++) {
+            assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica-1");
+        }
+    }
+    
+    /**
+     * Marks every replica up as of a heartbeat at {@code beat} that it replayed up to {@code replayed}.
+     */
+    private void heartbeat(long beat, long replayed) {
+        for (ReadWriteRoutingDataSource.Replica replica : routing.replicas()) {
+            replica.up = true;
+            replica.replayedUpTo = replayed;
+            replica.lagMillis = beat - replayed;
+        }
+    }
+    
+    private ReadWriteRoutingDataSource.Replica replica(String name) {
+        return routing.replicas().stream().filter(r -> r.name.equals(name)).findFirst().orElseThrow();
+    }
+    
+    private double routed(String route, String reason) {
+        var counter = meterRegistry.find("school.datasource.connections.routed").tag("route", route).tag("reason", reason).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
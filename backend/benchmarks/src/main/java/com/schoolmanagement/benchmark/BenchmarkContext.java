@@ -0,0 +1,30 @@
+package com.schoolmanagement.benchmark;
+
+import com.schoolmanagement.SchoolManagementApplication;
+import java.util.UUID;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the backend against a private in-memory H2 database without the web layer.
+ */
+public final class BenchmarkContext {
+    
+    private BenchmarkContext() {}
+    
+    public static ConfigurableApplicationContext start(String... extraProperties) {
+        String[] properties = new String[] {
+            "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+            "spring.jpa.hibernate.ddl-auto=create-drop",
+            "spring.jpa.open-in-view=false",
+            "spring.main.banner-mode=off",
+            "logging.level.root=WARN"
+        };
+        return new SpringApplicationBuilder(SchoolManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .properties(extraProperties)
+                .run();
+    }
+}
@@ -0,0 +1,35 @@
+package com.schoolmanagement.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the suites matching the given regex (default: all) and writes JMH JSON results to
+ * target/jmh-results/, one timestamped file per run, so runs can be diffed.
+ */
+public final class BenchmarkRunner {
+    
+    private BenchmarkRunner() {}
+    
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = args.length > 0 ? args[0] : ".*";
+        Path resultDir = Path.of("target", "jmh-results");
+        Files.createDirectories(resultDir);
+        Path result = resultDir.resolve("jmh-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build();
+        new Runner(options).run();
+        System.out.println("Results written to " + result.toAbsolutePath());
+    }
+}
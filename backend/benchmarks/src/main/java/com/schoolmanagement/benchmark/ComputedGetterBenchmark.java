@@ -0,0 +1,49 @@
+package com.schoolmanagement.benchmark;
+
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.Teacher;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComputedGetterBenchmark {
+    private Student student;
+    private Teacher teacher;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticSchoolData data = new SyntheticSchoolData(3);
+        student = data.student(1);
+        teacher = data.teacher(1);
+    }
+    
+    @Benchmark
+    public String studentFullName() {
+        return student.getFullName();
+    }
+    
+    @Benchmark
+    public int studentAge() {
+        return student.getAge();
+    }
+    
+    @Benchmark
+    public String teacherFullName() {
+        return teacher.getFullName();
+    }
+}
@@ -0,0 +1,144 @@
+package com.schoolmanagement.benchmark;
+
+import com.schoolmanagement.dto.EnrollmentResult;
+import com.schoolmanagement.dto.SlotAvailability;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.Subject;
+import com.schoolmanagement.service.enrollment.EnrollmentService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Contended elective registration: 32 threads reserve seats in a few popular slots for
+ * a stream of distinct students, confirming most reservations and releasing some, so
+ * the reserve, waitlist, confirm, release and promotion paths all race each other.
+ * After every iteration the database is checked: a slot holding more reserved plus
+ * confirmed enrollments than its capacity fails the run.
+ *
+ * No build runs this check; it is a manual one, made by running the benchmark. The
+ * counter's own guarantee (no more acquires than seats, under contention) is covered by
+ * SeatCounterTest in the backend's unit tests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class EnrollmentStressBenchmark {
+    private static final int STUDENTS = 50_000;
+    
+    @Param({"4"})
+    public int slotCount;
+    
+    @Param({"500"})
+    public int capacity;
+    
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private EnrollmentService enrollmentService;
+    private List<Long> slotIds;
+    private List<Long> studentIds;
+    private final AtomicInteger nextStudent = new AtomicInteger();
+    
+    @Setup(Level.Trial)
+    public void load() {
+        context = BenchmarkContext.start("spring.datasource.hikari.maximum-pool-size=32");
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        enrollmentService = context.getBean(EnrollmentService.class);
+        SyntheticSchoolData data = new SyntheticSchoolData(13);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        List<Subject> subjects = new ArrayList<>();
+        for (int i = 0; i < slotCount; i++) {
+            Subject subject = data.subject(i);
+            entityManager.persist(subject);
+            subjects.add(subject);
+        }
+        studentIds = new ArrayList<>(STUDENTS);
+        List<Student> students = data.students(STUDENTS, 1);
+        for (int i = 0; i < students.size(); i++) {
+            entityManager.persist(students.get(i));
+            if (i % 50 == 49) {
+                entityManager.flush();
+            }
+        }
+        entityManager.getTransaction().commit();
+        students.forEach(student -> studentIds.add(student.getId()));
+        entityManager.close();
+        slotIds = new ArrayList<>();
+        for (Subject subject : subjects) {
+            slotIds.add(enrollmentService.createSlot(null, subject.getId(), capacity).getSlotId());
+        }
+    }
+    
+    @Benchmark
+    public EnrollmentResult reserveConfirmRelease() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long slotId = slotIds.get(random.nextInt(slotIds.size()));
+        Long studentId = studentIds.get(Math.floorMod(nextStudent.getAndIncrement(), studentIds.size()));
+        EnrollmentResult result = enrollmentService.reserve(slotId, studentId);
+        if ("RESERVED".equals(result.getStatus())) {
+            int roll = random.nextInt(10);
+            if (roll < 7) {
+                return enrollmentService.confirm(result.getEnrollmentId());
+            }
+            if (roll < 9) {
+                return enrollmentService.release(result.getEnrollmentId());
+            }
+        } else if ("CONFIRMED".equals(result.getStatus()) && random.nextInt(4) == 0) {
+            return enrollmentService.release(result.getEnrollmentId());
+        }
+        return result;
+    }
+    
+    @TearDown(Level.Iteration)
+    public void verifyNoOversell() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            for (Long slotId : slotIds) {
+                long held = entityManager.createQuery("select count(e) from Enrollment e where e.slot.id = :slotId "
+                                + "and e.status in (com.schoolmanagement.model.Enrollment.EnrollmentStatus.RESERVED, "
+                                + "com.schoolmanagement.model.Enrollment.EnrollmentStatus.CONFIRMED)", Long.class)
+                        .setParameter("slotId", slotId)
+                        .getSingleResult();
+                SlotAvailability availability = enrollmentService.availability(slotId);
+                if (held > capacity) {
+                    throw new IllegalStateException("Slot " + slotId + " oversold: " + held + " seats held of " + capacity);
+                }
+                if (held + availability.getAvailable() != capacity) {
+                    throw new IllegalStateException("Slot " + slotId + " counter drifted: " + held + " held, "
+                            + availability.getAvailable() + " free, capacity " + capacity);
+                }
+            }
+        } finally {
+            entityManager.close();
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+}
@@ -0,0 +1,128 @@
+package com.schoolmanagement.benchmark;
+
+import com.schoolmanagement.model.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Flush of a persistence context holding wide {@link Student} rows with realistic long
+ * text columns, where every {@code dirtyEvery}-th instance gets a one-column change (0
+ * leaves all of them clean). Only the flush is timed; loading and the rollback happen in
+ * per-invocation fixtures. The {@code updateBytes}/{@code updateStatements} counters
+ * report what the UPDATEs carried, via {@link UpdateBytesDataSource}.
+ *
+ * Compare a default build of the backend (bytecode-enhanced dirty tracking, lazy text
+ * columns, dynamic-update SQL) against one built with -Dhibernate.enhance.skip, or against
+ * the revision before enhancement was enabled for full-row UPDATEs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlushBenchmark {
+    private static final String LONG_TEXT = "Asthma, mild; carries inhaler. Peanut allergy, epinephrine on file with nurse. "
+            .repeat(10);
+    
+    @Param({"200", "1000"})
+    public int loaded;
+    
+    @Param({"0", "10"})
+    public int dirtyEvery;
+    
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private List<Long> ids;
+    private EntityManager entityManager;
+    private int round;
+    
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WriteCounters {
+        public long updateBytes;
+        public long updateStatements;
+        
+        @Setup(Level.Iteration)
+        public void clear() {
+            UpdateBytesDataSource.reset();
+        }
+        
+        @TearDown(Level.Iteration)
+        public void collect() {
+            updateBytes = UpdateBytesDataSource.bytes();
+            updateStatements = UpdateBytesDataSource.statements();
+        }
+    }
+    
+    @Setup(Level.Trial)
+    public void load() {
+        context = BenchmarkContext.start("spring.datasource.type=" + UpdateBytesDataSource.class.getName());
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        SyntheticSchoolData data = new SyntheticSchoolData(42);
+        EntityManager setup = entityManagerFactory.createEntityManager();
+        setup.getTransaction().begin();
+        for (int i = 0; i < loaded; i++) {
+            Student student = data.student(i);
+            student.setAddress(student.getAddress() + ", " + LONG_TEXT.substring(0, 300));
+            student.setMedicalConditions(LONG_TEXT);
+            student.setProfileImageUrl("https://cdn.example.org/profiles/" + student.getStudentId() + ".jpg");
+            setup.persist(student);
+            if (i % 50 == 49) {
+                setup.flush();
+                setup.clear();
+            }
+        }
+        setup.getTransaction().commit();
+        ids = setup.createQuery("select s.id from Student s order by s.id", Long.class).getResultList();
+        setup.close();
+    }
+    
+    @Setup(Level.Invocation)
+    public void openContext() {
+        entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        List<Student> students = entityManager.createQuery("select s from Student s where s.id in :ids", Student.class)
+                .setParameter("ids", ids)
+                .getResultList();
+        if (dirtyEvery > 0) {
+            round++;
+            for (int i = 0; i < students.size(); i += dirtyEvery) {
+                students.get(i).setEmergencyContactPhone(String.format("+1555%07d", (round + i) % 10_000_000));
+            }
+        }
+    }
+    
+    @Benchmark
+    public void flush(WriteCounters counters) {
+        entityManager.flush();
+    }
+    
+    @TearDown(Level.Invocation)
+    public void closeContext() {
+        entityManager.getTransaction().rollback();
+        entityManager.close();
+    }
+    
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+}
@@ -0,0 +1,65 @@
+package com.schoolmanagement.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.Teacher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Jackson serialization of detached entities, configured as Spring Boot configures the
+ * web layer (ISO dates rather than timestamps).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    @Param({"1", "50"})
+    public int count;
+    
+    private ObjectMapper objectMapper;
+    private List<Student> students;
+    private List<Teacher> teachers;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        SyntheticSchoolData data = new SyntheticSchoolData(11);
+        students = data.students(count, 0);
+        teachers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            teachers.add(data.teacher(i));
+        }
+    }
+    
+    @Benchmark
+    public byte[] students() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(students);
+    }
+    
+    @Benchmark
+    public byte[] teachers() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(teachers);
+    }
+}
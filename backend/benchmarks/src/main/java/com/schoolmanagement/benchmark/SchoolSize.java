@@ -0,0 +1,20 @@
+package com.schoolmanagement.benchmark;
+
+/**
+ * Scale presets for synthetic data. Ratios follow a typical school: about 20 students
+ * per teacher and 30 per class, with a fixed subject catalogue.
+ */
+public enum SchoolSize {
+    SMALL(500), MEDIUM(2_000), LARGE(10_000);
+    
+    private final int students;
+    
+    SchoolSize(int students) {
+        this.students = students;
+    }
+    
+    public int students() { return students; }
+    public int teachers() { return Math.max(5, students / 20); }
+    public int classes() { return Math.max(1, students / 30); }
+    public int subjects() { return 40; }
+}
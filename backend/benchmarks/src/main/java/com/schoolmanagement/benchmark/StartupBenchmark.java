@@ -0,0 +1,189 @@
+package com.schoolmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time-to-ready and resident memory of the backend started as a standard jar, an
+ * AOT-processed jar, a CDS-backed launch and a native image. Not a JMH suite: every
+ * sample is a fresh process. Each run starts the variant on a free port, polls
+ * /actuator/health/readiness until it answers 200 (the elapsed wall time is the sample),
+ * then reads the process RSS and stops it. Readiness waits for the ApplicationReadyEvent
+ * loaders, which /actuator/health does not: it is UP while they still run. Variants whose
+ * artifact is missing are skipped.
+ *
+ *   mvn -f backend/pom.xml -Pstartup package && backend/scripts/startup/cds-archive.sh
+ *   mvn -f backend/benchmarks/pom.xml package exec:java \
+ *       -Dexec.mainClass=com.schoolmanagement.benchmark.StartupBenchmark [-Dstartup.runs=5]
+ *
+ * Results go to target/startup-results/ as JSON, one timestamped file per run.
+ */
+public final class StartupBenchmark {
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(3);
+    private static final HttpClient HTTP = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+    
+    private StartupBenchmark() {}
+    
+    public static void main(String[] args) throws Exception {
+        Path backend = backendDir();
+        int runs = Integer.getInteger("startup.runs", 5);
+        List<String> selected = Arrays.asList(System.getProperty("startup.variants", "jar,aot,cds,native").split(","));
+        Path jar = backend.resolve("target/school-management-backend-0.0.1-SNAPSHOT-exec.jar");
+        
+        Map<String, Variant> variants = new LinkedHashMap<>();
+        variants.put("jar", new Variant(jar, List.of("java", "-jar", jar.toString())));
+        variants.put("aot", new Variant(jar, List.of("java", "-Dspring.aot.enabled=true",
+                "-Dspring.profiles.active=startup", "-jar", jar.toString())));
+        Path cds = backend.resolve("scripts/startup/run-cds.sh");
+        variants.put("cds", new Variant(backend.resolve("target/startup/app.jsa"), List.of(cds.toString())));
+        Path nativeImage = backend.resolve("target/school-management-backend");
+        variants.put("native", new Variant(nativeImage, List.of(nativeImage.toString(),
+                "--spring.profiles.active=startup")));
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", LocalDateTime.now().toString());
+        report.put("runs", runs);
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Variant> entry : variants.entrySet()) {
+            if (!selected.contains(entry.getKey())) {
+                continue;
+            }
+            if (!Files.exists(entry.getValue().artifact())) {
+                System.out.printf("%-7s skipped (%s not built)%n", entry.getKey(), entry.getValue().artifact());
+                continue;
+            }
+            double[] ready = new double[runs];
+            double[] rss = new double[runs];
+            for (int run = 0; run < runs; run++) {
+                Sample sample = measure(entry.getValue().command());
+                ready[run] = sample.readyMillis();
+                rss[run] = sample.rssMiB();
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("timeToReadyMs", summary(ready));
+            result.put("rssMiB", summary(rss));
+            results.put(entry.getKey(), result);
+            System.out.printf("%-7s ready %8.0f ms (median)   RSS %7.1f MiB (median)%n",
+                    entry.getKey(), median(ready), median(rss));
+        }
+        report.put("variants", results);
+        
+        Path resultDir = Path.of("target", "startup-results");
+        Files.createDirectories(resultDir);
+        Path result = resultDir.resolve("startup-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(result.toFile(), report);
+        System.out.println("Results written to " + result.toAbsolutePath());
+    }
+    
+    private static Sample measure(List<String> command) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> full = new ArrayList<>(command);
+        full.add("--server.port=" + port);
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(full)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            HttpRequest readiness = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/readiness"))
+                    .timeout(Duration.ofSeconds(2))
+                    .build();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Exited with " + process.exitValue() + " before serving: " + command);
+                }
+                if (System.nanoTime() - start > START_TIMEOUT.toNanos()) {
+                    throw new IllegalStateException("Not ready within " + START_TIMEOUT + ": " + command);
+                }
+                try {
+                    // 503 while the startup loaders run
+                    if (HTTP.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            double ready = (System.nanoTime() - start) / 1_000_000.0;
+            return new Sample(ready, rssMiB(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+    
+    private static double rssMiB(long pid) throws IOException, InterruptedException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (Files.exists(status)) {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) / 1024.0;
+                }
+            }
+        }
+        Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", Long.toString(pid)).start();
+        String kib = new String(ps.getInputStream().readAllBytes()).trim();
+        ps.waitFor();
+        return kib.isEmpty() ? Double.NaN : Long.parseLong(kib) / 1024.0;
+    }
+    
+    private static Map<String, Double> summary(double[] samples) {
+        double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        Map<String, Double> summary = new LinkedHashMap<>();
+        summary.put("min", sorted[0]);
+        summary.put("median", median(sorted));
+        summary.put("max", sorted[sorted.length - 1]);
+        return summary;
+    }
+    
+    private static double median(double[] samples) {
+        double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+    
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+    
+    private static Path backendDir() {
+        String configured = System.getProperty("startup.backend-dir");
+        if (configured != null) {
+            return Path.of(configured).toAbsolutePath();
+        }
+        for (Path candidate : List.of(Path.of(".."), Path.of("backend"), Path.of("."))) {
+            if (Files.exists(candidate.resolve("scripts/startup/run-cds.sh"))) {
+                return candidate.toAbsolutePath().normalize();
+            }
+        }
+        throw new IllegalStateException("Set -Dstartup.backend-dir to the backend directory");
+    }
+    
+    private record Variant(Path artifact, List<String> command) {}
+    
+    private record Sample(double readyMillis, double rssMiB) {}
+}
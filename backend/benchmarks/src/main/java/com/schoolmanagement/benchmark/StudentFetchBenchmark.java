@@ -0,0 +1,129 @@
+package com.schoolmanagement.benchmark;
+
+import com.schoolmanagement.model.Attendance;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.Subject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Loading a page of students with their grades and attendances: lazy collection
+ * navigation (one query per collection per student) against fetch joins (two queries,
+ * one per bag, since two List fetch joins cannot be combined).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentFetchBenchmark {
+    private static final int SUBJECTS_PER_STUDENT = 8;
+    private static final int ATTENDANCE_WEEKS = 12;
+    
+    @Param({"SMALL", "MEDIUM"})
+    public SchoolSize size;
+    
+    @Param({"50", "200"})
+    public int pageSize;
+    
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private List<Long> pageIds;
+    
+    @Setup(Level.Trial)
+    public void load() {
+        context = BenchmarkContext.start();
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        SyntheticSchoolData data = new SyntheticSchoolData(42);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        List<Subject> subjects = new ArrayList<>();
+        for (int i = 0; i < size.subjects(); i++) {
+            Subject subject = data.subject(i);
+            entityManager.persist(subject);
+            subjects.add(subject);
+        }
+        for (int i = 0; i < size.students(); i++) {
+            Student student = data.student(i);
+            entityManager.persist(student);
+            for (int s = 0; s < SUBJECTS_PER_STUDENT; s++) {
+                entityManager.persist(data.grade(student, subjects.get((i + s) % subjects.size())));
+            }
+            for (Attendance attendance : data.attendance(student, ATTENDANCE_WEEKS)) {
+                entityManager.persist(attendance);
+            }
+            if (i % 50 == 49) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.getTransaction().commit();
+        pageIds = entityManager.createQuery("select s.id from Student s order by s.lastName, s.id", Long.class)
+                .setMaxResults(pageSize)
+                .getResultList();
+        entityManager.close();
+    }
+    
+    @Benchmark
+    public long lazyNavigation() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            List<Student> students = entityManager
+                    .createQuery("select s from Student s where s.id in :ids", Student.class)
+                    .setParameter("ids", pageIds)
+                    .getResultList();
+            long total = 0;
+            for (Student student : students) {
+                total += student.getGrades().size() + student.getAttendances().size();
+            }
+            return total;
+        } finally {
+            entityManager.close();
+        }
+    }
+    
+    @Benchmark
+    public long fetchJoined() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            List<Student> students = entityManager
+                    .createQuery("select distinct s from Student s left join fetch s.grades where s.id in :ids", Student.class)
+                    .setParameter("ids", pageIds)
+                    .getResultList();
+            entityManager.createQuery("select distinct s from Student s left join fetch s.attendances where s in :students",
+                            Student.class)
+                    .setParameter("students", students)
+                    .getResultList();
+            long total = 0;
+            for (Student student : students) {
+                total += student.getGrades().size() + student.getAttendances().size();
+            }
+            return total;
+        } finally {
+            entityManager.close();
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+}
@@ -0,0 +1,79 @@
+package com.schoolmanagement.benchmark;
+
+import com.schoolmanagement.model.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Bulk insert of one school's roster in a single transaction, flushing every batch_size rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StudentInsertBenchmark {
+    private static final int FLUSH_EVERY = 50;
+    
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public SchoolSize size;
+    
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private List<Student> roster;
+    private int nextNumber;
+    
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContext.start();
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+    }
+    
+    @Setup(Level.Invocation)
+    public void generateRoster() {
+        roster = new SyntheticSchoolData(nextNumber).students(size.students(), nextNumber);
+        nextNumber += size.students();
+    }
+    
+    @Benchmark
+    public int insertRoster() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            int n = 0;
+            for (Student student : roster) {
+                entityManager.persist(student);
+                if (++n % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.getTransaction().commit();
+            return n;
+        } finally {
+            entityManager.close();
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+}
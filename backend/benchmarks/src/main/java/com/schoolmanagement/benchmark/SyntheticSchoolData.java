@@ -0,0 +1,114 @@
+package com.schoolmanagement.benchmark;
+
+import com.schoolmanagement.model.Attendance;
+import com.schoolmanagement.model.Grade;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.Subject;
+import com.schoolmanagement.model.Teacher;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of valid entities (every Jakarta constraint satisfied) so runs
+ * with the same seed are comparable.
+ */
+public class SyntheticSchoolData {
+    private static final String[] FIRST_NAMES = {
+        "Amara", "Ben", "Chen", "Dana", "Elif", "Farid", "Grace", "Hiro", "Ines", "Jonas",
+        "Kofi", "Lena", "Mateo", "Nadia", "Omar", "Priya", "Quinn", "Rosa", "Sami", "Tara"
+    };
+    private static final String[] LAST_NAMES = {
+        "Anderson", "Baptiste", "Carvalho", "Dubois", "Eriksen", "Fischer", "Gonzalez", "Haddad",
+        "Ivanova", "Jensen", "Kowalski", "Larsen", "Moreau", "Nakamura", "Okafor", "Petrov",
+        "Quispe", "Rossi", "Schmidt", "Tanaka", "Usman", "Virtanen", "Wong", "Yilmaz", "Zhang"
+    };
+    private static final String[] CITIES = {"Springfield", "Riverton", "Lakeside", "Hillview", "Brookfield"};
+    private static final String[] DEPARTMENTS = {"Mathematics", "Science", "Languages", "Humanities", "Arts"};
+    private static final String[] QUALIFICATIONS = {"B.Ed", "M.Ed", "M.Sc", "PhD"};
+    
+    private final SplittableRandom random;
+    
+    public SyntheticSchoolData(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+    
+    public Student student(int n) {
+        Student student = new Student(String.format("STU%07d", n), pick(FIRST_NAMES), pick(LAST_NAMES),
+                LocalDate.now().minusYears(6 + random.nextInt(12)).minusDays(random.nextInt(365)),
+                (1 + random.nextInt(999)) + " Main Street", pick(FIRST_NAMES) + " " + pick(LAST_NAMES),
+                phone(), Student.Gender.values()[random.nextInt(2)]);
+        student.setCity(pick(CITIES));
+        student.setPostalCode(String.format("%05d", random.nextInt(100_000)));
+        student.setEnrollmentDate(LocalDate.now().minusDays(random.nextInt(2_000)));
+        student.setParentGuardianEmail("guardian" + n + "@example.org");
+        student.setBloodGroup(pick(new String[] {"A+", "B+", "O+", "AB+", "O-"}));
+        return student;
+    }
+    
+    public Teacher teacher(int n) {
+        Teacher teacher = new Teacher(String.format("TCH%05d", n), pick(FIRST_NAMES), pick(LAST_NAMES),
+                "teacher" + n + "@example.org", phone(), LocalDate.now().minusYears(25 + random.nextInt(35)),
+                (1 + random.nextInt(999)) + " College Road", LocalDate.now().minusDays(random.nextInt(7_000)),
+                pick(QUALIFICATIONS), random.nextInt(30), 30_000 + random.nextInt(50_000) * 1.0,
+                Teacher.Gender.values()[random.nextInt(2)]);
+        teacher.setCity(pick(CITIES));
+        teacher.setSpecialization(pick(DEPARTMENTS));
+        return teacher;
+    }
+    
+    public Subject subject(int n) {
+        String department = DEPARTMENTS[n % DEPARTMENTS.length];
+        Subject subject = new Subject(String.format("SUB%03d", n), department + " " + (n / DEPARTMENTS.length + 1),
+                "Synthetic subject " + n, 1 + random.nextInt(6), department);
+        subject.setSubjectType(Subject.SubjectType.values()[random.nextInt(Subject.SubjectType.values().length)]);
+        return subject;
+    }
+    
+    public List<Student> students(int count, int firstNumber) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(student(firstNumber + i));
+        }
+        return students;
+    }
+    
+    public Grade grade(Student student, Subject subject) {
+        Grade grade = new Grade();
+        grade.setStudent(student);
+        grade.setSubject(subject);
+        grade.setScore(Math.round((35 + random.nextDouble() * 65) * 10) / 10.0);
+        return grade;
+    }
+    
+    /**
+     * One attendance row per school day (Monday-Friday) for the given number of weeks back from today.
+     */
+    public List<Attendance> attendance(Student student, int weeks) {
+        List<Attendance> rows = new ArrayList<>();
+        LocalDate day = LocalDate.now().minusWeeks(weeks);
+        for (; day.isBefore(LocalDate.now()); day = day.plusDays(1)) {
+            if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            Attendance attendance = new Attendance();
+            attendance.setStudent(student);
+            attendance.setDate(day);
+            int roll = random.nextInt(100);
+            attendance.setStatus(roll < 90 ? Attendance.AttendanceStatus.PRESENT
+                    : roll < 95 ? Attendance.AttendanceStatus.LATE : Attendance.AttendanceStatus.ABSENT);
+            rows.add(attendance);
+        }
+        return rows;
+    }
+    
+    private String phone() {
+        return "+1" + (2_000_000_000L + random.nextLong(7_999_999_999L));
+    }
+    
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,125 @@
+package com.schoolmanagement.benchmark;
+
+import com.schoolmanagement.service.timetable.TimetableProblem;
+import com.schoolmanagement.service.timetable.TimetableSolution;
+import com.schoolmanagement.service.timetable.TimetableSolver;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Timetable solve time per school size, from scratch and as a warm-start repair after
+ * one teacher's groups lose their teacher. Each class takes 9 of the 40 subjects at 3-4
+ * hours a week (about 31 of 40 slots), every teacher is qualified for 3 subjects and a
+ * fifth of teachers are unavailable for one day. Fails the run if a solve is infeasible.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TimetableSolveBenchmark {
+    private static final int DAYS = 5;
+    private static final int PERIODS = 8;
+    private static final int SUBJECTS_PER_CLASS = 9;
+    private static final long TIME_LIMIT_MILLIS = 60_000;
+    
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public SchoolSize size;
+    
+    @Param({"0"})
+    public int parallelism;
+    
+    private TimetableProblem problem;
+    private TimetableSolver solver;
+    private TimetableSolution repairStart;
+    
+    @Setup(Level.Trial)
+    public void build() {
+        problem = syntheticProblem(size, 42);
+        solver = new TimetableSolver(parallelism);
+        TimetableSolution solved = solver.solve(problem, null, TIME_LIMIT_MILLIS, 1);
+        int[] slots = new int[problem.getLessonCount()];
+        int[] rooms = new int[problem.getLessonCount()];
+        int[] teachers = new int[problem.getGroupCount()];
+        for (int l = 0; l < slots.length; l++) {
+            slots[l] = solved.lessonSlot(l);
+            rooms[l] = solved.lessonRoom(l);
+        }
+        int dropped = solved.groupTeacher(0);
+        for (int g = 0; g < teachers.length; g++) {
+            teachers[g] = solved.groupTeacher(g) == dropped ? -1 : solved.groupTeacher(g);
+        }
+        repairStart = new TimetableSolution(slots, rooms, teachers, 0, 0, 0);
+    }
+    
+    @Benchmark
+    public TimetableSolution solveFromScratch() {
+        return feasible(solver.solve(problem, null, TIME_LIMIT_MILLIS, 7));
+    }
+    
+    @Benchmark
+    public TimetableSolution repairAfterTeacherChange() {
+        return feasible(solver.solve(problem, repairStart, TIME_LIMIT_MILLIS, 7));
+    }
+    
+    private static TimetableSolution feasible(TimetableSolution solution) {
+        if (!solution.isFeasible()) {
+            throw new IllegalStateException("Infeasible timetable: " + solution.getHardViolations() + " violations");
+        }
+        return solution;
+    }
+    
+    static TimetableProblem syntheticProblem(SchoolSize size, long seed) {
+        Random random = new Random(seed);
+        int subjects = size.subjects();
+        TimetableProblem.Builder builder = new TimetableProblem.Builder(DAYS, PERIODS);
+        for (int r = 0; r < size.classes() * 21 / 20 + 1; r++) {
+            builder.addRoom(25 + random.nextInt(16));
+        }
+        List<List<Integer>> teachersBySubject = new ArrayList<>();
+        for (int s = 0; s < subjects; s++) {
+            teachersBySubject.add(new ArrayList<>());
+        }
+        for (int t = 0; t < size.teachers(); t++) {
+            BitSet unavailable = new BitSet();
+            if (random.nextInt(5) == 0) {
+                int day = random.nextInt(DAYS);
+                unavailable.set(day * PERIODS, (day + 1) * PERIODS);
+            }
+            builder.addTeacher(unavailable);
+            teachersBySubject.get(t % subjects).add(t);
+            teachersBySubject.get((t + 13) % subjects).add(t);
+            teachersBySubject.get((t + 27) % subjects).add(t);
+        }
+        for (int c = 0; c < size.classes(); c++) {
+            int classIndex = builder.addClass(24 + random.nextInt(10));
+            Set<Integer> chosen = new LinkedHashSet<>();
+            while (chosen.size() < SUBJECTS_PER_CLASS) {
+                chosen.add(random.nextInt(subjects));
+            }
+            for (int subject : chosen) {
+                int[] candidates = teachersBySubject.get(subject).stream().mapToInt(Integer::intValue).toArray();
+                builder.addGroup(classIndex, 3 + random.nextInt(2), candidates);
+            }
+        }
+        return builder.build();
+    }
+}
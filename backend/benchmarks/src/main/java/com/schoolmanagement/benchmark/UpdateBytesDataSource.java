@@ -0,0 +1,88 @@
+package com.schoolmanagement.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hikari pool that counts UPDATE statements and the bytes of the values bound to them,
+ * enabled with spring.datasource.type. Strings count their UTF-8 length, other non-null
+ * values eight bytes, so the figure tracks how much each row rewrite carries rather than
+ * the database's on-disk format.
+ */
+public class UpdateBytesDataSource extends HikariDataSource {
+    private static final LongAdder STATEMENTS = new LongAdder();
+    private static final LongAdder BYTES = new LongAdder();
+    
+    public static long statements() { return STATEMENTS.sum(); }
+    public static long bytes() { return BYTES.sum(); }
+    
+    public static void reset() {
+        STATEMENTS.reset();
+        BYTES.reset();
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (method.getName().equals("prepareStatement") && args[0] instanceof String sql
+                            && sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("update")) {
+                        return countingStatement((PreparedStatement) result);
+                    }
+                    return result;
+                });
+    }
+    
+    private static PreparedStatement countingStatement(PreparedStatement statement) {
+        InvocationHandler handler = new InvocationHandler() {
+            private long bound;
+            
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if (name.startsWith("set") && !name.equals("setNull") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    bound += size(args[1]);
+                } else if (name.equals("addBatch") || name.equals("executeUpdate") || name.equals("execute")) {
+                    STATEMENTS.increment();
+                    BYTES.add(bound);
+                    bound = 0;
+                }
+                return UpdateBytesDataSource.invoke(statement, method, args);
+            }
+        };
+        return (PreparedStatement) Proxy.newProxyInstance(UpdateBytesDataSource.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, handler);
+    }
+    
+    private static long size(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String text) {
+            return text.getBytes(StandardCharsets.UTF_8).length;
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        return 8;
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
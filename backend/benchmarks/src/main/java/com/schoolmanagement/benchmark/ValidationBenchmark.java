@@ -0,0 +1,77 @@
+package com.schoolmanagement.benchmark;
+
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.Teacher;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private Student validStudent;
+    private Student invalidStudent;
+    private Teacher validTeacher;
+    private Teacher invalidTeacher;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        SyntheticSchoolData data = new SyntheticSchoolData(7);
+        validStudent = data.student(1);
+        invalidStudent = data.student(2);
+        invalidStudent.setParentGuardianPhone("not-a-phone");
+        invalidStudent.setFirstName("X");
+        validTeacher = data.teacher(1);
+        invalidTeacher = data.teacher(2);
+        invalidTeacher.setEmail("nobody");
+        invalidTeacher.setSalary(-1.0);
+    }
+    
+    @Benchmark
+    public Set<ConstraintViolation<Student>> validStudent() {
+        return validator.validate(validStudent);
+    }
+    
+    @Benchmark
+    public Set<ConstraintViolation<Student>> invalidStudent() {
+        return validator.validate(invalidStudent);
+    }
+    
+    @Benchmark
+    public Set<ConstraintViolation<Teacher>> validTeacher() {
+        return validator.validate(validTeacher);
+    }
+    
+    @Benchmark
+    public Set<ConstraintViolation<Teacher>> invalidTeacher() {
+        return validator.validate(invalidTeacher);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+}
@@ -0,0 +1,250 @@
+package com.schoolmanagement.benchmark.loadtest;
+
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Version;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Past;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the unset, constrained fields of an entity with random values that satisfy their
+ * Jakarta constraints, for models without a hand-written factory in SyntheticSchoolData
+ * (SchoolClass). Identifiers, associations, collections and unconstrained fields are left
+ * alone unless given as overrides. The result is validated, so a constraint this class
+ * does not understand fails the seeding run instead of producing rows the application
+ * would reject.
+ */
+final class ConstraintFiller {
+    private static final List<Class<? extends Annotation>> SKIPPED = List.of(Id.class, GeneratedValue.class,
+            Version.class, ManyToOne.class, OneToMany.class, OneToOne.class, ManyToMany.class);
+    private static final List<Class<? extends Annotation>> CONSTRAINTS = List.of(NotNull.class, NotBlank.class,
+            NotEmpty.class, Size.class, Pattern.class, Email.class, Min.class, Max.class, DecimalMin.class,
+            DecimalMax.class, Positive.class, PositiveOrZero.class, Past.class, PastOrPresent.class, Future.class,
+            FutureOrPresent.class);
+    private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    
+    private final SplittableRandom random;
+    private final Validator validator;
+    private long sequence;
+    
+    ConstraintFiller(SplittableRandom random, Validator validator) {
+        this.random = random;
+        this.validator = validator;
+    }
+    
+    <T> T fill(T entity, Map<String, Object> overrides) {
+        try {
+            for (Class<?> type = entity.getClass(); type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic() || field.getName().startsWith("$$_")) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    if (overrides.containsKey(field.getName())) {
+                        field.set(entity, overrides.get(field.getName()));
+                    } else if (fillable(field) && (field.getType().isPrimitive() || field.get(entity) == null)) {
+                        Object value = generate(field);
+                        if (value != null) {
+                            field.set(entity, value);
+                        }
+                    }
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot fill " + entity.getClass().getSimpleName(), e);
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(entity);
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("Generated an invalid " + entity.getClass().getSimpleName() + ": " + violations);
+        }
+        return entity;
+    }
+    
+    private static boolean fillable(Field field) {
+        if (Collection.class.isAssignableFrom(field.getType()) || Map.class.isAssignableFrom(field.getType())) {
+            return false;
+        }
+        for (Class<? extends Annotation> skipped : SKIPPED) {
+            if (field.isAnnotationPresent(skipped)) {
+                return false;
+            }
+        }
+        for (Class<? extends Annotation> constraint : CONSTRAINTS) {
+            if (field.isAnnotationPresent(constraint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private Object generate(Field field) {
+        Class<?> type = field.getType();
+        if (type == String.class) {
+            return string(field);
+        }
+        if (type == Integer.class || type == int.class) {
+            return (int) integral(field, Integer.MAX_VALUE);
+        }
+        if (type == Long.class || type == long.class) {
+            return integral(field, Long.MAX_VALUE);
+        }
+        if (type == Short.class || type == short.class) {
+            return (short) integral(field, Short.MAX_VALUE);
+        }
+        if (type == Double.class || type == double.class) {
+            return decimal(field);
+        }
+        if (type == Float.class || type == float.class) {
+            return (float) decimal(field);
+        }
+        if (type == BigDecimal.class) {
+            return BigDecimal.valueOf(decimal(field)).setScale(2, RoundingMode.DOWN);
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return random.nextBoolean();
+        }
+        if (type == LocalDate.class) {
+            return date(field);
+        }
+        if (type == LocalDateTime.class) {
+            return date(field).atTime(random.nextInt(24), random.nextInt(60));
+        }
+        if (type.isEnum()) {
+            Object[] constants = type.getEnumConstants();
+            return constants[random.nextInt(constants.length)];
+        }
+        return null;
+    }
+    
+    private String string(Field field) {
+        long n = ++sequence;
+        if (field.isAnnotationPresent(Email.class)) {
+            return field.getName().toLowerCase() + n + "@example.org";
+        }
+        Pattern pattern = field.getAnnotation(Pattern.class);
+        if (pattern != null) {
+            java.util.regex.Pattern regex = java.util.regex.Pattern.compile(pattern.regexp());
+            for (String candidate : List.of("+1" + (2_000_000_000L + random.nextLong(7_999_999_999L)),
+                    Long.toString(1_000_000_000L + random.nextLong(8_999_999_999L)), letters(8), letters(3) + n)) {
+                if (regex.matcher(candidate).matches()) {
+                    return candidate;
+                }
+            }
+            throw new IllegalStateException("No generator for " + field.getName() + " matching " + pattern.regexp());
+        }
+        Size size = field.getAnnotation(Size.class);
+        int min = size != null ? size.min() : 1;
+        int max = size != null ? size.max() : 40;
+        String value = capitalize(field.getName()) + " " + n;
+        if (value.length() > max) {
+            value = value.substring(value.length() - max);
+        }
+        return value.length() >= min ? value : value + letters(min - value.length());
+    }
+    
+    private long integral(Field field, long typeMax) {
+        long min = Long.MIN_VALUE;
+        long max = typeMax;
+        if (field.isAnnotationPresent(Positive.class)) {
+            min = 1;
+        }
+        if (field.isAnnotationPresent(PositiveOrZero.class)) {
+            min = 0;
+        }
+        Min lower = field.getAnnotation(Min.class);
+        if (lower != null) {
+            min = Math.max(min, lower.value());
+        }
+        Max upper = field.getAnnotation(Max.class);
+        if (upper != null) {
+            max = Math.min(max, upper.value());
+        }
+        if (min == Long.MIN_VALUE) {
+            min = max >= 0 ? 0 : max - 100;
+        }
+        long span = Math.min(max - min, 100);
+        return min + random.nextLong(span + 1);
+    }
+    
+    private double decimal(Field field) {
+        double min = 1;
+        double max = 1_000;
+        DecimalMin lower = field.getAnnotation(DecimalMin.class);
+        if (lower != null) {
+            min = Double.parseDouble(lower.value()) + (lower.inclusive() ? 0 : 0.01);
+        }
+        DecimalMax upper = field.getAnnotation(DecimalMax.class);
+        if (upper != null) {
+            max = Double.parseDouble(upper.value()) - (upper.inclusive() ? 0 : 0.01);
+        }
+        Min minValue = field.getAnnotation(Min.class);
+        if (minValue != null) {
+            min = Math.max(min, minValue.value());
+        }
+        Max maxValue = field.getAnnotation(Max.class);
+        if (maxValue != null) {
+            max = Math.min(max, maxValue.value());
+        }
+        if (max < min) {
+            max = min;
+        } else if (lower != null && upper == null && maxValue == null) {
+            max = min + 1_000;
+        }
+        return Math.round((min + random.nextDouble() * (max - min)) * 100) / 100.0;
+    }
+    
+    private LocalDate date(Field field) {
+        LocalDate today = LocalDate.now();
+        if (field.isAnnotationPresent(Future.class) || field.isAnnotationPresent(FutureOrPresent.class)) {
+            return today.plusDays(1 + random.nextInt(365));
+        }
+        if (field.isAnnotationPresent(Past.class)) {
+            return today.minusDays(1 + random.nextInt(3_650));
+        }
+        return today.minusDays(random.nextInt(365));
+    }
+    
+    private String letters(int length) {
+        StringBuilder value = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            value.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        return value.toString();
+    }
+    
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
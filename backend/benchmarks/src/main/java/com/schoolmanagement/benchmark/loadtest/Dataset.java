@@ -0,0 +1,10 @@
+package com.schoolmanagement.benchmark.loadtest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Identifiers of the seeded rows that scenarios pick their targets from.
+ */
+record Dataset(long[] studentIds, long[] subjectIds, long[] classIds, Map<Long, long[]> studentsByClass,
+               List<String> lastNames) {}
@@ -0,0 +1,214 @@
+package com.schoolmanagement.benchmark.loadtest;
+
+import com.schoolmanagement.benchmark.SyntheticSchoolData;
+import com.schoolmanagement.model.Attendance;
+import com.schoolmanagement.model.SchoolClass;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.Subject;
+import com.schoolmanagement.model.Teacher;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Seeds a deterministic multi-school dataset through JPA, so every entity listener of
+ * the application sees it exactly as it would see real writes. Each school gets its own
+ * block of teachers, classes (one homeroom teacher each) and students, and its own city;
+ * the subject catalogue is shared. Enum values follow fixed distributions rather than the
+ * uniform picks of SyntheticSchoolData, so status filters and breakdowns see realistic
+ * selectivity. The same spec always produces the same rows.
+ */
+final class DatasetSeeder {
+    private static final Logger log = LoggerFactory.getLogger(DatasetSeeder.class);
+    private static final int STUDENTS_PER_CLASS = 30;
+    private static final int STUDENTS_PER_TEACHER = 20;
+    private static final int SUBJECTS = 40;
+    private static final int FLUSH_EVERY = 500;
+    private static final int COMMIT_EVERY = 5_000;
+    
+    private static final Student.StudentStatus[] STUDENT_STATUSES = {
+        Student.StudentStatus.ACTIVE, Student.StudentStatus.INACTIVE, Student.StudentStatus.SUSPENDED,
+        Student.StudentStatus.GRADUATED, Student.StudentStatus.TRANSFERRED, Student.StudentStatus.EXPELLED
+    };
+    private static final double[] STUDENT_STATUS_WEIGHTS = {90, 3, 1, 3, 2.5, 0.5};
+    private static final Student.Gender[] GENDERS = {Student.Gender.MALE, Student.Gender.FEMALE, Student.Gender.OTHER};
+    private static final double[] GENDER_WEIGHTS = {49, 49, 2};
+    private static final Teacher.TeacherStatus[] TEACHER_STATUSES = {
+        Teacher.TeacherStatus.ACTIVE, Teacher.TeacherStatus.ON_LEAVE, Teacher.TeacherStatus.INACTIVE,
+        Teacher.TeacherStatus.TERMINATED
+    };
+    private static final double[] TEACHER_STATUS_WEIGHTS = {90, 5, 3, 2};
+    
+    private final EntityManagerFactory entityManagerFactory;
+    private final Validator validator;
+    
+    record Spec(int schools, int students, int gradesPerStudent, int attendanceWeeks, long seed) {
+        Spec {
+            if (schools < 1 || students < schools || students > 1_000_000) {
+                throw new IllegalArgumentException("Need 1 <= schools <= students <= 1,000,000");
+            }
+        }
+    }
+    
+    DatasetSeeder(EntityManagerFactory entityManagerFactory, Validator validator) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.validator = validator;
+    }
+    
+    /**
+     * Seeds the spec into an empty database, or checks that the database already holds
+     * it, then returns the identifiers the scenarios need.
+     */
+    Dataset prepare(Spec spec) {
+        long existing = count("select count(s) from Student s");
+        if (existing == 0) {
+            seed(spec);
+        } else if (existing != spec.students()) {
+            throw new IllegalStateException("Database holds " + existing + " students, not " + spec.students()
+                    + "; point loadtest.db-dir elsewhere or delete it");
+        }
+        return load();
+    }
+    
+    private void seed(Spec spec) {
+        long start = System.nanoTime();
+        SyntheticSchoolData data = new SyntheticSchoolData(spec.seed());
+        SplittableRandom random = new SplittableRandom(spec.seed() ^ 0x5EED);
+        ConstraintFiller filler = new ConstraintFiller(new SplittableRandom(spec.seed() ^ 0xC1A55), validator);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            List<Long> subjectIds = new ArrayList<>();
+            for (int i = 0; i < SUBJECTS; i++) {
+                Subject subject = data.subject(i);
+                entityManager.persist(subject);
+                entityManager.flush();
+                subjectIds.add(subject.getId());
+            }
+            entityManager.getTransaction().commit();
+            
+            int nextStudent = 0;
+            int nextTeacher = 0;
+            long persisted = 0;
+            for (int school = 0; school < spec.schools(); school++) {
+                int students = spec.students() / spec.schools() + (school < spec.students() % spec.schools() ? 1 : 0);
+                String city = "School " + (school + 1) + " City";
+                entityManager.getTransaction().begin();
+                List<Teacher> teachers = new ArrayList<>();
+                for (int i = 0; i < Math.max(1, students / STUDENTS_PER_TEACHER); i++) {
+                    Teacher teacher = data.teacher(nextTeacher++);
+                    teacher.setCity(city);
+                    teacher.setStatus(pick(random, TEACHER_STATUSES, TEACHER_STATUS_WEIGHTS));
+                    entityManager.persist(teacher);
+                    teachers.add(teacher);
+                }
+                List<Long> classIds = new ArrayList<>();
+                int classCount = Math.max(1, (students + STUDENTS_PER_CLASS - 1) / STUDENTS_PER_CLASS);
+                for (int i = 0; i < classCount; i++) {
+                    SchoolClass schoolClass = filler.fill(new SchoolClass(), Map.of(
+                            "className", "S" + (school + 1) + " Class " + (i + 1),
+                            "teacher", teachers.get(i % teachers.size())));
+                    entityManager.persist(schoolClass);
+                    entityManager.flush();
+                    classIds.add(schoolClass.getId());
+                }
+                entityManager.getTransaction().commit();
+                entityManager.clear();
+                
+                entityManager.getTransaction().begin();
+                for (int i = 0; i < students; i++) {
+                    Student student = data.student(nextStudent++);
+                    student.setCity(city);
+                    student.setStatus(pick(random, STUDENT_STATUSES, STUDENT_STATUS_WEIGHTS));
+                    student.setGender(pick(random, GENDERS, GENDER_WEIGHTS));
+                    student.setSchoolClass(entityManager.getReference(SchoolClass.class, classIds.get(i % classIds.size())));
+                    entityManager.persist(student);
+                    for (int g = 0; g < spec.gradesPerStudent(); g++) {
+                        Subject subject = entityManager.getReference(Subject.class,
+                                subjectIds.get((i + g * 7) % subjectIds.size()));
+                        entityManager.persist(data.grade(student, subject));
+                    }
+                    for (Attendance attendance : data.attendance(student, spec.attendanceWeeks())) {
+                        entityManager.persist(attendance);
+                    }
+                    persisted++;
+                    if (persisted % FLUSH_EVERY == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                    if (persisted % COMMIT_EVERY == 0) {
+                        entityManager.getTransaction().commit();
+                        entityManager.getTransaction().begin();
+                        log.info("Seeded {} of {} students", persisted, spec.students());
+                    }
+                }
+                entityManager.getTransaction().commit();
+                entityManager.clear();
+            }
+        } finally {
+            if (entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+            }
+            entityManager.close();
+        }
+        log.info("Seeded {} students in {} schools in {} s", spec.students(), spec.schools(),
+                (System.nanoTime() - start) / 1_000_000_000);
+    }
+    
+    private Dataset load() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            Map<Long, List<Long>> byClass = new HashMap<>();
+            List<Object[]> rows = entityManager.createQuery(
+                    "select s.id, c.id from Student s left join s.schoolClass c order by s.id", Object[].class).getResultList();
+            long[] studentIds = new long[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                studentIds[i] = (Long) rows.get(i)[0];
+                if (rows.get(i)[1] != null) {
+                    byClass.computeIfAbsent((Long) rows.get(i)[1], id -> new ArrayList<>()).add(studentIds[i]);
+                }
+            }
+            Map<Long, long[]> studentsByClass = new HashMap<>();
+            byClass.forEach((classId, ids) -> studentsByClass.put(classId, ids.stream().mapToLong(Long::longValue).toArray()));
+            long[] classIds = studentsByClass.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            long[] subjectIds = entityManager.createQuery("select s.id from Subject s order by s.id", Long.class)
+                    .getResultList().stream().mapToLong(Long::longValue).toArray();
+            List<String> lastNames = entityManager.createQuery(
+                    "select distinct s.lastName from Student s order by s.lastName", String.class).getResultList();
+            return new Dataset(studentIds, subjectIds, classIds, studentsByClass, lastNames);
+        } finally {
+            entityManager.close();
+        }
+    }
+    
+    private long count(String jpql) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery(jpql, Long.class).getSingleResult();
+        } finally {
+            entityManager.close();
+        }
+    }
+    
+    static <E> E pick(SplittableRandom random, E[] values, double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double roll = random.nextDouble() * total;
+        for (int i = 0; i < values.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+}
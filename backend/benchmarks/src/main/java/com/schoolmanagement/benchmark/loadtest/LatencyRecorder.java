@@ -0,0 +1,76 @@
+package com.schoolmanagement.benchmark.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latency samples of one worker in one phase, per scenario. Each worker records into its
+ * own instance and the phase merges them at the end, so recording takes no locks.
+ */
+final class LatencyRecorder {
+    private final Map<String, Samples> samples = new LinkedHashMap<>();
+    
+    void record(String scenario, long nanos, boolean success) {
+        samples.computeIfAbsent(scenario, s -> new Samples()).add(nanos, success);
+    }
+    
+    void mergeInto(LatencyRecorder target) {
+        samples.forEach((scenario, own) -> target.samples.computeIfAbsent(scenario, s -> new Samples()).addAll(own));
+    }
+    
+    /**
+     * Per-scenario statistics over the phase's elapsed time.
+     */
+    Map<String, Map<String, Object>> summarize(double elapsedSeconds) {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        samples.forEach((scenario, recorded) -> {
+            long[] sorted = Arrays.copyOf(recorded.nanos, recorded.size);
+            Arrays.sort(sorted);
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", recorded.size);
+            stats.put("errors", recorded.errors);
+            stats.put("errorRate", recorded.size == 0 ? 0.0 : (double) recorded.errors / recorded.size);
+            stats.put("throughputPerSecond", recorded.size / elapsedSeconds);
+            stats.put("p50Ms", percentile(sorted, 0.50));
+            stats.put("p90Ms", percentile(sorted, 0.90));
+            stats.put("p99Ms", percentile(sorted, 0.99));
+            stats.put("maxMs", sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1_000_000.0);
+            result.put(scenario, stats);
+        });
+        return result;
+    }
+    
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+    
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+        
+        void add(long value, boolean success) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            if (!success) {
+                errors++;
+            }
+        }
+        
+        void addAll(Samples other) {
+            if (size + other.size > nanos.length) {
+                nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, size + other.size));
+            }
+            System.arraycopy(other.nanos, 0, nanos, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+    }
+}
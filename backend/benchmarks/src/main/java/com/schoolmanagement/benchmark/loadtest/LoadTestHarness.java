@@ -0,0 +1,263 @@
+package com.schoolmanagement.benchmark.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.schoolmanagement.SchoolManagementApplication;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Replays a workload script (a school day by default) against the backend started in
+ * this JVM on a random port, over a seeded synthetic dataset of several schools. The
+ * dataset is written once to a file H2 database named after its spec; every run works on a
+ * fresh copy of it, with its own ingest log directory and idempotency keys, so runs with
+ * the same spec compare like with like. The same seed and script give every worker the
+ * same sequence of targets.
+ *
+ *   mvn -f backend/benchmarks/pom.xml package exec:java \
+ *       -Dexec.mainClass=com.schoolmanagement.benchmark.loadtest.LoadTestHarness \
+ *       [-Dloadtest.students=10000] [-Dloadtest.schools=4] [-Dloadtest.seed=42] \
+ *       [-Dloadtest.grades-per-student=8] [-Dloadtest.attendance-weeks=4] \
+ *       [-Dloadtest.script=path/to/script.json] [-Dloadtest.duration-scale=1.0] \
+ *       [-Dloadtest.baseline=target/loadtest-results/loadtest-....json] [-Dloadtest.max-regression=0.2]
+ *
+ * Results go to target/loadtest-results/ as JSON, one timestamped file per run. With a
+ * baseline the p99 of every phase and scenario is compared against it and the run exits
+ * with status 1 when one is more than max-regression slower.
+ */
+public final class LoadTestHarness {
+    private static final String H2_SUFFIX = ".mv.db";
+    
+    private LoadTestHarness() {}
+    
+    public static void main(String[] args) throws Exception {
+        DatasetSeeder.Spec spec = new DatasetSeeder.Spec(
+                Integer.getInteger("loadtest.schools", 4),
+                Integer.getInteger("loadtest.students", 10_000),
+                Integer.getInteger("loadtest.grades-per-student", 8),
+                Integer.getInteger("loadtest.attendance-weeks", 4),
+                Long.getLong("loadtest.seed", 42L));
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        WorkloadScript script = WorkloadScript.load(System.getProperty("loadtest.script"), objectMapper)
+                .scaled(Double.parseDouble(System.getProperty("loadtest.duration-scale", "1.0")));
+        
+        Path dbDir = Path.of(System.getProperty("loadtest.db-dir", "target/loadtest-db"));
+        String dbName = "school-" + spec.schools() + "x" + spec.students() + "-g" + spec.gradesPerStudent()
+                + "-a" + spec.attendanceWeeks() + "-s" + spec.seed();
+        Files.createDirectories(dbDir);
+        Path pristine = dbDir.resolve(dbName + H2_SUFFIX);
+        if (!Files.exists(pristine)) {
+            // seeded under a scratch name and moved into place only once complete
+            Path seeding = dbDir.resolve(dbName + "-seeding");
+            Files.deleteIfExists(seeding.resolveSibling(seeding.getFileName() + H2_SUFFIX));
+            try (ConfigurableApplicationContext context = start(WebApplicationType.NONE, seeding, dbDir.resolve("seed-wal"))) {
+                new DatasetSeeder(context.getBean(EntityManagerFactory.class), context.getBean(Validator.class)).prepare(spec);
+            }
+            deleteRecursively(dbDir.resolve("seed-wal"));
+            Files.move(seeding.resolveSibling(seeding.getFileName() + H2_SUFFIX), pristine);
+        }
+        
+        // Every run writes (grades, attendance, idempotency keys, the ingest log) into its own copy of
+        // the seeded database and its own log directory, so no run starts from another's leftovers
+        String runId = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path runDir = Path.of("target", "loadtest", "run-" + runId);
+        Files.createDirectories(runDir);
+        Files.copy(pristine, runDir.resolve(dbName + H2_SUFFIX));
+        
+        boolean passed = true;
+        try (ConfigurableApplicationContext context = start(WebApplicationType.SERVLET, runDir.resolve(dbName),
+                runDir.resolve("attendance-wal"))) {
+            EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+            Dataset dataset = new DatasetSeeder(entityManagerFactory, context.getBean(Validator.class)).prepare(spec);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Map<String, Scenario> scenarios = Scenarios.create("http://localhost:" + port, dataset,
+                    entityManagerFactory, objectMapper, runId, spec.seed());
+            
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("timestamp", LocalDateTime.now().toString());
+            report.put("runId", runId);
+            report.put("dataset", spec);
+            report.put("script", script);
+            report.put("jvm", Map.of(
+                    "version", Runtime.version().toString(),
+                    "processors", Runtime.getRuntime().availableProcessors(),
+                    "maxHeapMiB", Runtime.getRuntime().maxMemory() / (1024 * 1024)));
+            Map<String, Object> phases = new LinkedHashMap<>();
+            for (int index = 0; index < script.phases().size(); index++) {
+                WorkloadScript.Phase phase = script.phases().get(index);
+                LatencyRecorder recorder = runPhase(phase, scenarios, spec.seed() + 31L * index);
+                Map<String, Map<String, Object>> stats = recorder.summarize(phase.seconds());
+                if (phase.record()) {
+                    phases.put(phase.name(), stats);
+                }
+                print(phase, stats);
+            }
+            report.put("phases", phases);
+            
+            Path resultDir = Path.of("target", "loadtest-results");
+            Files.createDirectories(resultDir);
+            Path result = resultDir.resolve("loadtest-" + runId + ".json");
+            objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(result.toFile(), report);
+            System.out.println("Results written to " + result.toAbsolutePath());
+            
+            String baseline = System.getProperty("loadtest.baseline");
+            if (baseline != null) {
+                passed = compare(objectMapper.readTree(Path.of(baseline).toFile()), objectMapper.valueToTree(phases),
+                        Double.parseDouble(System.getProperty("loadtest.max-regression", "0.2")));
+            }
+        } finally {
+            deleteRecursively(runDir);
+        }
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+    
+    private static ConfigurableApplicationContext start(WebApplicationType type, Path database, Path walDir) {
+        return new SpringApplicationBuilder(SchoolManagementApplication.class)
+                .web(type)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:file:" + database.toAbsolutePath() + ";DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.jpa.open-in-view=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "school.archive.enabled=false",
+                        "school.attendance.ingest.log-dir=" + walDir)
+                .run();
+    }
+    
+    private static void deleteRecursively(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+    
+    private static LatencyRecorder runPhase(WorkloadScript.Phase phase, Map<String, Scenario> scenarios, long seed)
+            throws Exception {
+        List<Scenario> mix = new ArrayList<>();
+        double[] weights = new double[phase.mix().size()];
+        for (Map.Entry<String, Double> entry : phase.mix().entrySet()) {
+            Scenario scenario = scenarios.get(entry.getKey());
+            if (scenario == null) {
+                throw new IllegalArgumentException("Unknown scenario '" + entry.getKey() + "' in phase " + phase.name()
+                        + "; known: " + scenarios.keySet());
+            }
+            weights[mix.size()] = entry.getValue();
+            mix.add(scenario);
+        }
+        Scenario[] choices = mix.toArray(Scenario[]::new);
+        int workers = phase.concurrency();
+        // Gap between a worker's scheduled starts; zero means back to back
+        long interval = phase.ratePerSecond() > 0 ? Math.round(workers * 1_000_000_000.0 / phase.ratePerSecond()) : 0;
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(phase.seconds());
+        
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        List<Future<LatencyRecorder>> futures = new ArrayList<>();
+        for (int worker = 0; worker < workers; worker++) {
+            SplittableRandom random = new SplittableRandom(seed * 1_000_003L + worker);
+            long firstStart = start + (interval == 0 ? 0 : interval * worker / workers);
+            futures.add(executor.submit(() -> {
+                LatencyRecorder own = new LatencyRecorder();
+                long scheduled = firstStart;
+                while (true) {
+                    long now = System.nanoTime();
+                    if (interval > 0 && scheduled > now) {
+                        LockSupport.parkNanos(scheduled - now);
+                    }
+                    long begin = interval > 0 ? scheduled : System.nanoTime();
+                    if (begin >= deadline) {
+                        return own;
+                    }
+                    Scenario scenario = DatasetSeeder.pick(random, choices, weights);
+                    boolean success;
+                    try {
+                        success = scenario.execute(random);
+                    } catch (Exception e) {
+                        success = false;
+                    }
+                    own.record(scenario.name(), System.nanoTime() - begin, success);
+                    scheduled += interval;
+                }
+            }));
+        }
+        LatencyRecorder merged = new LatencyRecorder();
+        try {
+            for (Future<LatencyRecorder> future : futures) {
+                future.get().mergeInto(merged);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return merged;
+    }
+    
+    private static void print(WorkloadScript.Phase phase, Map<String, Map<String, Object>> stats) {
+        System.out.printf("%n%s (%ds, %d workers%s)%s%n", phase.name(), phase.seconds(), phase.concurrency(),
+                phase.ratePerSecond() > 0 ? ", " + phase.ratePerSecond() + "/s" : "", phase.record() ? "" : " [not recorded]");
+        System.out.printf("  %-15s %9s %7s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        stats.forEach((scenario, s) -> System.out.printf("  %-15s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                scenario, s.get("requests"), s.get("errors"), s.get("throughputPerSecond"),
+                s.get("p50Ms"), s.get("p90Ms"), s.get("p99Ms"), s.get("maxMs")));
+    }
+    
+    /**
+     * Prints the p99 change of every phase and scenario present in both runs.
+     *
+     * @return false when any p99 regressed by more than the allowed fraction
+     */
+    private static boolean compare(JsonNode baseline, JsonNode current, double maxRegression) {
+        JsonNode baselinePhases = baseline.path("phases");
+        boolean ok = true;
+        System.out.printf("%nAgainst baseline (p99, allowed regression %.0f%%)%n", maxRegression * 100);
+        var phaseNames = current.fieldNames();
+        while (phaseNames.hasNext()) {
+            String phase = phaseNames.next();
+            var scenarioNames = current.get(phase).fieldNames();
+            while (scenarioNames.hasNext()) {
+                String scenario = scenarioNames.next();
+                JsonNode before = baselinePhases.path(phase).path(scenario).path("p99Ms");
+                if (before.isMissingNode() || before.asDouble() <= 0) {
+                    continue;
+                }
+                double after = current.get(phase).get(scenario).get("p99Ms").asDouble();
+                double change = after / before.asDouble() - 1;
+                boolean regressed = change > maxRegression;
+                ok &= !regressed;
+                System.out.printf("  %-26s %-15s %9.1f -> %9.1f ms %+7.1f%%%s%n", phase, scenario,
+                        before.asDouble(), after, change * 100, regressed ? "  REGRESSED" : "");
+            }
+        }
+        return ok;
+    }
+}
@@ -0,0 +1,17 @@
+package com.schoolmanagement.benchmark.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * One kind of user action. Targets are drawn from the worker's random source, so a run
+ * with the same seed and script issues the same sequence of requests per worker.
+ */
+interface Scenario {
+    
+    String name();
+    
+    /**
+     * @return whether the action succeeded; exceptions count as errors too
+     */
+    boolean execute(SplittableRandom random) throws Exception;
+}
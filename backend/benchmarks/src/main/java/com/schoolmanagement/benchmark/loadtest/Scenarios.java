@@ -0,0 +1,139 @@
+package com.schoolmanagement.benchmark.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolmanagement.dto.AttendanceSubmission;
+import com.schoolmanagement.model.Grade;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.Subject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The scenarios a workload script can mix, by name:
+ * <ul>
+ *   <li>attendance: a teacher submits today's marks for a whole class
+ *       (POST /api/attendance/submissions, 202 expected)</li>
+ *   <li>roster-search: a name search (GET /api/search) or a class roster page
+ *       (GET /api/students), half each</li>
+ *   <li>report-export: one class's report cards as CSV (GET /api/exports/report-cards),
+ *       reading the whole stream</li>
+ *   <li>grade-entry: a teacher records one score. There is no HTTP endpoint for grade
+ *       entry, so this persists a Grade through JPA in the server process, which still runs
+ *       every entity listener the write would trigger.</li>
+ * </ul>
+ */
+final class Scenarios {
+    private static final String[] MARKS = {"PRESENT", "ABSENT", "LATE", "EXCUSED"};
+    private static final double[] MARK_WEIGHTS = {92, 4, 3, 1};
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    
+    private Scenarios() {}
+    
+    static Map<String, Scenario> create(String baseUrl, Dataset dataset, EntityManagerFactory entityManagerFactory,
+                                        ObjectMapper objectMapper, String runId, long seed) {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        AtomicLong submissions = new AtomicLong();
+        Map<String, Scenario> scenarios = new LinkedHashMap<>();
+        
+        scenarios.put("attendance", scenario("attendance", random -> {
+            long classId = dataset.classIds()[random.nextInt(dataset.classIds().length)];
+            AttendanceSubmission submission = new AttendanceSubmission();
+            submission.setClassId(classId);
+            submission.setDate(LocalDate.now());
+            for (long studentId : dataset.studentsByClass().get(classId)) {
+                submission.getMarks().add(new AttendanceSubmission.Mark(studentId,
+                        DatasetSeeder.pick(random, MARKS, MARK_WEIGHTS)));
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/attendance/submissions"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .header("Idempotency-Key", "loadtest-" + runId + "-" + seed + "-" + submissions.incrementAndGet())
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(submission)))
+                    .build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 202;
+        }));
+        
+        scenarios.put("roster-search", scenario("roster-search", random -> {
+            String path;
+            if (random.nextBoolean()) {
+                String lastName = dataset.lastNames().get(random.nextInt(dataset.lastNames().size()));
+                String prefix = lastName.substring(0, Math.min(lastName.length(), 2 + random.nextInt(3)));
+                path = "/api/search?limit=10&q=" + URLEncoder.encode(prefix, StandardCharsets.UTF_8);
+            } else {
+                long classId = dataset.classIds()[random.nextInt(dataset.classIds().length)];
+                path = "/api/students?size=50&includeClass=true&classId=" + classId;
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET().build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        }));
+        
+        scenarios.put("report-export", scenario("report-export", random -> {
+            long classId = dataset.classIds()[random.nextInt(dataset.classIds().length)];
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/exports/report-cards?format=CSV&classId=" + classId))
+                    .timeout(REQUEST_TIMEOUT)
+                    .GET()
+                    .build();
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+            return response.statusCode() == 200;
+        }));
+        
+        scenarios.put("grade-entry", scenario("grade-entry", random -> {
+            long studentId = dataset.studentIds()[random.nextInt(dataset.studentIds().length)];
+            long subjectId = dataset.subjectIds()[random.nextInt(dataset.subjectIds().length)];
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            try {
+                entityManager.getTransaction().begin();
+                Grade grade = new Grade();
+                grade.setStudent(entityManager.getReference(Student.class, studentId));
+                grade.setSubject(entityManager.getReference(Subject.class, subjectId));
+                grade.setScore(Math.round((35 + random.nextDouble() * 65) * 10) / 10.0);
+                entityManager.persist(grade);
+                entityManager.getTransaction().commit();
+                return true;
+            } finally {
+                if (entityManager.getTransaction().isActive()) {
+                    entityManager.getTransaction().rollback();
+                }
+                entityManager.close();
+            }
+        }));
+        return scenarios;
+    }
+    
+    private static Scenario scenario(String name, Action action) {
+        return new Scenario() {
+            @Override
+            public String name() { return name; }
+            
+            @Override
+            public boolean execute(SplittableRandom random) throws Exception {
+                return action.run(random);
+            }
+        };
+    }
+    
+    @FunctionalInterface
+    private interface Action {
+        boolean run(SplittableRandom random) throws Exception;
+    }
+}
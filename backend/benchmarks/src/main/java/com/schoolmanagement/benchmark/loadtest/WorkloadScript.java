@@ -0,0 +1,42 @@
+package com.schoolmanagement.benchmark.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A sequence of load phases, read from JSON (see loadtest/school-day.json). Each phase
+ * runs for a fixed time with a fixed number of workers picking scenarios by weight.
+ * With ratePerSecond above zero requests are issued on a fixed schedule (open model) and
+ * latency is measured from the scheduled start, so a stalled server shows up as latency
+ * instead of as fewer requests; otherwise workers send back to back. Phases with
+ * record=false (warm-up) are left out of the report.
+ */
+record WorkloadScript(String name, List<Phase> phases) {
+    
+    record Phase(String name, int seconds, int concurrency, double ratePerSecond, boolean record,
+                 Map<String, Double> mix) {}
+    
+    static WorkloadScript load(String location, ObjectMapper objectMapper) throws IOException {
+        if (location == null || location.isBlank()) {
+            try (InputStream in = WorkloadScript.class.getResourceAsStream("/loadtest/school-day.json")) {
+                return objectMapper.readValue(in, WorkloadScript.class);
+            }
+        }
+        return objectMapper.readValue(Files.readAllBytes(Path.of(location)), WorkloadScript.class);
+    }
+    
+    /**
+     * The same script with every phase duration multiplied by the factor (at least one second).
+     */
+    WorkloadScript scaled(double factor) {
+        return new WorkloadScript(name, phases.stream()
+                .map(p -> new Phase(p.name(), Math.max(1, (int) Math.round(p.seconds() * factor)), p.concurrency(),
+                        p.ratePerSecond(), p.record(), p.mix()))
+                .toList());
+    }
+}
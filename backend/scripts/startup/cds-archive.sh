@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Builds a class-data sharing archive for the startup build.
+#
+#   mvn -f backend/pom.xml -Pstartup package
+#   backend/scripts/startup/cds-archive.sh [exec-jar] [output-dir]
+#
+# The jar is unpacked and relaunched from a plain classpath (classes loaded through Spring
+# Boot's nested-jar loader cannot be archived), trained until it answers its health check,
+# and stopped; the JVM writes the archive on exit. Launch with run-cds.sh afterwards.
+set -euo pipefail
+
+BACKEND_DIR="$(cd "$(dirname "$0")/../.." && pwd)"
+JAR="${1:-$BACKEND_DIR/target/school-management-backend-0.0.1-SNAPSHOT-exec.jar}"
+OUT="${2:-$BACKEND_DIR/target/startup}"
+PORT="${CDS_TRAINING_PORT:-18080}"
+
+rm -rf "$OUT"
+mkdir -p "$OUT"
+java -Djarmode=layertools -jar "$JAR" extract --destination "$OUT/exploded"
+
+# CDS only archives classes that come from jar files, so the application classes are re-jarred
+jar --create --file "$OUT/application.jar" -C "$OUT/exploded/application/BOOT-INF/classes" .
+{
+    echo "$OUT/application.jar"
+    find "$OUT/exploded/dependencies/BOOT-INF/lib" "$OUT/exploded/snapshot-dependencies/BOOT-INF/lib" \
+        -name '*.jar' 2>/dev/null | sort
+} | paste -sd: - > "$OUT/classpath"
+
+java -XX:ArchiveClassesAtExit="$OUT/app.jsa" -Dspring.aot.enabled=true -Dspring.profiles.active=startup \
+    -cp "$(cat "$OUT/classpath")" com.schoolmanagement.SchoolManagementApplication \
+    --server.port="$PORT" > "$OUT/training.log" 2>&1 &
+PID=$!
+
+for _ in $(seq 1 120); do
+    if curl -fs "http://localhost:$PORT/actuator/health" > /dev/null; then
+        break
+    fi
+    sleep 1
+done
+# a request through the MVC stack so its classes end up in the archive too
+curl -fs "http://localhost:$PORT/api/students" > /dev/null || true
+kill -TERM "$PID"
+wait "$PID" || true
+
+if [[ ! -s "$OUT/app.jsa" ]]; then
+    echo "No archive written; see $OUT/training.log" >&2
+    exit 1
+fi
+echo "Archive written to $OUT/app.jsa"
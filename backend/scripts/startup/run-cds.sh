@@ -0,0 +1,11 @@
+#!/usr/bin/env bash
+# Starts the startup build from the classpath and archive prepared by cds-archive.sh.
+# Extra arguments are passed to the application, e.g. --server.port=8081.
+set -euo pipefail
+
+BACKEND_DIR="$(cd "$(dirname "$0")/../.." && pwd)"
+OUT="${CDS_DIR:-$BACKEND_DIR/target/startup}"
+
+exec java -XX:SharedArchiveFile="$OUT/app.jsa" -Xshare:auto -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=startup -cp "$(cat "$OUT/classpath")" \
+    com.schoolmanagement.SchoolManagementApplication "$@"